@@ -4,18 +4,18 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class CloudflareClient {
 
     private static final String BASE_URL = "https://api.cloudflare.com/client/v4";
@@ -26,7 +26,12 @@ public class CloudflareClient {
     @Value("${cloudflare.zone-id}")
     private String zoneId;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+
+    // Pooled client, see HttpClientConfig
+    public CloudflareClient(@Qualifier("cloudflareRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
 
     /**
      * Create a DNS A record
@@ -144,6 +149,37 @@ public class CloudflareClient {
         return null;
     }
 
+    /**
+     * List all DNS records of a type in the zone, following pagination
+     */
+    @CircuitBreaker(name = "cloudflare")
+    @Retry(name = "cloudflare")
+    public List<DnsRecord> listDnsRecords(String type) {
+        HttpHeaders headers = createHeaders();
+        HttpEntity<?> entity = new HttpEntity<>(headers);
+
+        List<DnsRecord> records = new ArrayList<>();
+        int page = 1;
+        int totalPages = 1;
+        while (page <= totalPages) {
+            ResponseEntity<ListDnsResponse> response = restTemplate.exchange(
+                    BASE_URL + "/zones/" + zoneId + "/dns_records?type=" + type + "&per_page=100&page=" + page,
+                    HttpMethod.GET,
+                    entity,
+                    ListDnsResponse.class
+            );
+
+            ListDnsResponse body = response.getBody();
+            if (body == null || !body.isSuccess() || body.getResult() == null) {
+                throw new RuntimeException("Failed to list DNS records");
+            }
+            records.addAll(body.getResult());
+            totalPages = body.getResultInfo() != null ? body.getResultInfo().getTotalPages() : page;
+            page++;
+        }
+        return records;
+    }
+
     private HttpHeaders createHeaders() {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -175,6 +211,15 @@ public class CloudflareClient {
         private boolean success;
         private List<String> errors;
         private List<DnsRecord> result;
+        @JsonProperty("result_info")
+        private ResultInfo resultInfo;
+    }
+
+    @Data
+    public static class ResultInfo {
+        private int page;
+        @JsonProperty("total_pages")
+        private int totalPages;
     }
 
     @Data
@@ -0,0 +1,132 @@
+package com.pgcluster.api.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps concurrent requests to one upstream API, the equivalent of a per-host connection pool limit.
+ *
+ * A permit is held until the response is closed (after the body has been read), so the limit
+ * covers the whole exchange. Callers that can't get a permit within the acquire timeout fail with
+ * a ResourceAccessException, like a connection pool timeout would. Active and waiting request
+ * counts are exported as gauges tagged with the client name.
+ */
+public class ConnectionLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String name;
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public ConnectionLimitInterceptor(String name, int maxConcurrent, long acquireTimeoutMs,
+                                      MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        Gauge.builder("pgcluster.http.client.active", active, AtomicInteger::get)
+                .description("Requests in progress per upstream API")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("pgcluster.http.client.waiting", waiting, AtomicInteger::get)
+                .description("Requests waiting for a free connection slot per upstream API")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("pgcluster.http.client.max", () -> maxConcurrent)
+                .description("Maximum concurrent requests per upstream API")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        acquire();
+        active.incrementAndGet();
+        try {
+            return new PermitReleasingResponse(execution.execute(request, body));
+        } catch (IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    int activeRequests() {
+        return active.get();
+    }
+
+    private void acquire() {
+        waiting.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ResourceAccessException("No free connection to " + name + " within " + acquireTimeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for a connection to " + name);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private void release() {
+        active.decrementAndGet();
+        permits.release();
+    }
+
+    private class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    release();
+                }
+            }
+        }
+    }
+}
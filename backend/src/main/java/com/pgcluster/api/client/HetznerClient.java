@@ -4,8 +4,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
@@ -13,10 +13,12 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class HetznerClient {
 
     private static final String BASE_URL = "https://api.hetzner.cloud/v1";
@@ -30,7 +32,15 @@ public class HetznerClient {
     @Value("${hetzner.snapshot-id:ubuntu-24.04}")
     private String snapshotId;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+
+    // Identical GETs in flight share one request
+    private final Map<String, CompletableFuture<ResponseEntity<?>>> inFlightGets = new ConcurrentHashMap<>();
+
+    // Pooled client with the rate limiter installed, see HttpClientConfig
+    public HetznerClient(@Qualifier("hetznerRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
 
     /**
      * Create a new server
@@ -86,23 +96,28 @@ public class HetznerClient {
     @CircuitBreaker(name = "hetzner")
     @Retry(name = "hetzner")
     public List<ServerResponse> listServersByLabel(String labelSelector) {
-        HttpHeaders headers = createHeaders();
-        HttpEntity<?> entity = new HttpEntity<>(headers);
-
         log.info("Listing Hetzner servers with label: {}", labelSelector);
 
-        ResponseEntity<ServerListResponse> response = restTemplate.exchange(
-                BASE_URL + "/servers?label_selector=" + labelSelector,
-                HttpMethod.GET,
-                entity,
-                ServerListResponse.class
-        );
-
-        if (response.getBody() != null && response.getBody().getServers() != null) {
-            log.info("Found {} servers with label: {}", response.getBody().getServers().size(), labelSelector);
-            return response.getBody().getServers();
+        // Hetzner returns 25 servers per page by default
+        List<ServerResponse> servers = new java.util.ArrayList<>();
+        Integer page = 1;
+        while (page != null) {
+            ResponseEntity<ServerListResponse> response = get(
+                    BASE_URL + "/servers?label_selector=" + labelSelector + "&per_page=50&page=" + page,
+                    ServerListResponse.class);
+
+            ServerListResponse body = response.getBody();
+            if (body == null || body.getServers() == null) {
+                break;
+            }
+            servers.addAll(body.getServers());
+            page = body.getMeta() != null && body.getMeta().getPagination() != null
+                    ? body.getMeta().getPagination().getNextPage()
+                    : null;
         }
-        return List.of();
+
+        log.info("Found {} servers with label: {}", servers.size(), labelSelector);
+        return servers;
     }
 
     /**
@@ -111,15 +126,9 @@ public class HetznerClient {
     @CircuitBreaker(name = "hetzner")
     @Retry(name = "hetzner")
     public ServerResponse getServer(Long serverId) {
-        HttpHeaders headers = createHeaders();
-        HttpEntity<?> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<GetServerResponse> response = restTemplate.exchange(
+        ResponseEntity<GetServerResponse> response = get(
                 BASE_URL + "/servers/" + serverId,
-                HttpMethod.GET,
-                entity,
-                GetServerResponse.class
-        );
+                GetServerResponse.class);
 
         if (response.getBody() != null) {
             return response.getBody().getServer();
@@ -133,17 +142,11 @@ public class HetznerClient {
     @CircuitBreaker(name = "hetzner")
     @Retry(name = "hetzner")
     public List<LocationInfo> getLocations() {
-        HttpHeaders headers = createHeaders();
-        HttpEntity<?> entity = new HttpEntity<>(headers);
-
         log.info("Fetching Hetzner locations");
 
-        ResponseEntity<LocationListResponse> response = restTemplate.exchange(
+        ResponseEntity<LocationListResponse> response = get(
                 BASE_URL + "/locations",
-                HttpMethod.GET,
-                entity,
-                LocationListResponse.class
-        );
+                LocationListResponse.class);
 
         if (response.getBody() != null && response.getBody().getLocations() != null) {
             log.info("Found {} locations", response.getBody().getLocations().size());
@@ -189,6 +192,43 @@ public class HetznerClient {
         );
     }
 
+    /**
+     * GET a resource, joining an identical request that is already in flight instead of
+     * spending another request of the rate limit budget.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> get(String url, Class<T> responseType) {
+        CompletableFuture<ResponseEntity<?>> request = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> inFlight = inFlightGets.putIfAbsent(url, request);
+        if (inFlight != null) {
+            log.debug("Joining in-flight Hetzner request: {}", url);
+            try {
+                return (ResponseEntity<T>) inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            ResponseEntity<T> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    new HttpEntity<>(createHeaders()),
+                    responseType
+            );
+            request.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightGets.remove(url, request);
+        }
+    }
+
     private HttpHeaders createHeaders() {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -248,6 +288,7 @@ public class HetznerClient {
     @Data
     public static class ServerListResponse {
         private List<ServerResponse> servers;
+        private Meta meta;
     }
 
     @Data
@@ -260,6 +301,7 @@ public class HetznerClient {
         @JsonProperty("server_type")
         private ServerType serverType;
         private Datacenter datacenter;
+        private Map<String, String> labels;
     }
 
     @Data
@@ -305,17 +347,11 @@ public class HetznerClient {
     @CircuitBreaker(name = "hetzner")
     @Retry(name = "hetzner")
     public ServerTypeInfo getServerType(String serverTypeName) {
-        HttpHeaders headers = createHeaders();
-        HttpEntity<?> entity = new HttpEntity<>(headers);
-
         log.info("Fetching server type info for: {}", serverTypeName);
 
-        ResponseEntity<ServerTypeListResponse> response = restTemplate.exchange(
+        ResponseEntity<ServerTypeListResponse> response = get(
                 BASE_URL + "/server_types?name=" + serverTypeName,
-                HttpMethod.GET,
-                entity,
-                ServerTypeListResponse.class
-        );
+                ServerTypeListResponse.class);
 
         if (response.getBody() != null && response.getBody().getServerTypes() != null
                 && !response.getBody().getServerTypes().isEmpty()) {
@@ -325,32 +361,34 @@ public class HetznerClient {
     }
 
     /**
-     * Get set of location names where a server type is available (real-time stock).
-     * Uses /datacenters endpoint which has current availability.
+     * List all server types, following pagination
      */
-    public java.util.Set<String> getAvailableLocationsForServerType(String serverTypeName) {
-        // First get the server type ID
-        ServerTypeInfo serverType = getServerType(serverTypeName);
-        Long serverTypeId = serverType.getId();
-
-        // Then check real-time availability from datacenters endpoint
-        java.util.Set<String> availableLocations = new java.util.HashSet<>();
-        List<DatacenterInfo> datacenters = getDatacenters();
-
-        for (DatacenterInfo dc : datacenters) {
-            if (dc.getServerTypes() != null &&
-                dc.getServerTypes().getAvailable() != null &&
-                dc.getServerTypes().getAvailable().contains(serverTypeId)) {
-                // Use location name from datacenter
-                if (dc.getLocation() != null && dc.getLocation().getName() != null) {
-                    availableLocations.add(dc.getLocation().getName());
-                }
+    @CircuitBreaker(name = "hetzner")
+    @Retry(name = "hetzner")
+    public List<ServerTypeInfo> listServerTypes() {
+        log.debug("Fetching Hetzner server types");
+
+        List<ServerTypeInfo> serverTypes = new java.util.ArrayList<>();
+        Integer page = 1;
+        while (page != null) {
+            ResponseEntity<ServerTypeListResponse> response = get(
+                    BASE_URL + "/server_types?per_page=50&page=" + page,
+                    ServerTypeListResponse.class);
+
+            ServerTypeListResponse body = response.getBody();
+            if (body == null || body.getServerTypes() == null) {
+                break;
             }
+            serverTypes.addAll(body.getServerTypes());
+            page = body.getMeta() != null && body.getMeta().getPagination() != null
+                    ? body.getMeta().getPagination().getNextPage()
+                    : null;
         }
 
-        log.info("Server type {} (id={}) is available in {} locations: {}",
-                serverTypeName, serverTypeId, availableLocations.size(), availableLocations);
-        return availableLocations;
+        if (serverTypes.isEmpty()) {
+            throw new RuntimeException("Failed to fetch server types");
+        }
+        return serverTypes;
     }
 
     /**
@@ -359,17 +397,11 @@ public class HetznerClient {
     @CircuitBreaker(name = "hetzner")
     @Retry(name = "hetzner")
     public List<DatacenterInfo> getDatacenters() {
-        HttpHeaders headers = createHeaders();
-        HttpEntity<?> entity = new HttpEntity<>(headers);
-
         log.debug("Fetching Hetzner datacenters for availability");
 
-        ResponseEntity<DatacenterListResponse> response = restTemplate.exchange(
+        ResponseEntity<DatacenterListResponse> response = get(
                 BASE_URL + "/datacenters",
-                HttpMethod.GET,
-                entity,
-                DatacenterListResponse.class
-        );
+                DatacenterListResponse.class);
 
         if (response.getBody() != null && response.getBody().getDatacenters() != null) {
             return response.getBody().getDatacenters();
@@ -399,6 +431,18 @@ public class HetznerClient {
     public static class ServerTypeListResponse {
         @JsonProperty("server_types")
         private List<ServerTypeInfo> serverTypes;
+        private Meta meta;
+    }
+
+    @Data
+    public static class Meta {
+        private Pagination pagination;
+    }
+
+    @Data
+    public static class Pagination {
+        @JsonProperty("next_page")
+        private Integer nextPage;
     }
 
     @Data
@@ -407,7 +451,7 @@ public class HetznerClient {
         private String name;
         private String description;
         private int cores;
-        private int memory;       // in MB
+        private int memory;       // in GB
         private int disk;         // in GB
         private List<ServerTypePrice> prices;
         private List<ServerTypeLocation> locations;  // Location availability with deprecation
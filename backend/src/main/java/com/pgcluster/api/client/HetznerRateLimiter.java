@@ -0,0 +1,228 @@
+package com.pgcluster.api.client;
+
+import com.pgcluster.api.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Client-side token bucket for the Hetzner API budget (3600 requests/hour per project token,
+ * refilling one per second).
+ *
+ * The bucket is corrected from the RateLimit-Limit/RateLimit-Remaining headers on every response,
+ * since other instances spend the same budget, and emptied on 429 until RateLimit-Reset or
+ * Retry-After. Requests run in the interactive lane unless wrapped in {@link #background};
+ * background requests leave a reserve untouched so user-facing creates and deletes still get through.
+ */
+@Slf4j
+@Component
+public class HetznerRateLimiter implements ClientHttpRequestInterceptor {
+
+    public enum Lane { INTERACTIVE, BACKGROUND }
+
+    private static final ThreadLocal<Lane> LANE = ThreadLocal.withInitial(() -> Lane.INTERACTIVE);
+
+    @Value("${hetzner.rate-limit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${hetzner.rate-limit.limit:3600}")
+    private int limit;
+
+    // Tokens only the interactive lane may spend
+    @Value("${hetzner.rate-limit.background-reserve:600}")
+    private int backgroundReserve;
+
+    @Value("${hetzner.rate-limit.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    private final MeterRegistry meterRegistry;
+
+    private double tokens;
+    private long lastRefillNanos;
+    // Set after a 429: nothing is sent before this point
+    private long blockedUntilNanos;
+
+    private Counter interactiveRequests;
+    private Counter backgroundRequests;
+    private Counter throttledResponses;
+    private Timer waitTimer;
+
+    public HetznerRateLimiter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        tokens = limit;
+        lastRefillNanos = System.nanoTime();
+        blockedUntilNanos = lastRefillNanos;
+
+        Gauge.builder("pgcluster.hetzner.ratelimit.remaining", this, HetznerRateLimiter::remaining)
+                .description("Estimated Hetzner API requests left in the current budget")
+                .register(meterRegistry);
+        Gauge.builder("pgcluster.hetzner.ratelimit.limit", this, limiter -> limiter.limit)
+                .description("Hetzner API request budget per hour")
+                .register(meterRegistry);
+        interactiveRequests = Counter.builder("pgcluster.hetzner.requests")
+                .tag("lane", "interactive")
+                .register(meterRegistry);
+        backgroundRequests = Counter.builder("pgcluster.hetzner.requests")
+                .tag("lane", "background")
+                .register(meterRegistry);
+        throttledResponses = Counter.builder("pgcluster.hetzner.ratelimit.throttled")
+                .description("Hetzner responses with status 429")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("pgcluster.hetzner.ratelimit.wait")
+                .description("Time requests waited for rate limit budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run Hetzner calls made by the supplier in the background lane.
+     */
+    public <T> T background(Supplier<T> call) {
+        Lane previous = LANE.get();
+        LANE.set(Lane.BACKGROUND);
+        try {
+            return call.get();
+        } finally {
+            LANE.set(previous);
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        Lane lane = LANE.get();
+        (lane == Lane.BACKGROUND ? backgroundRequests : interactiveRequests).increment();
+        if (enabled) {
+            acquire(lane);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        update(response.getStatusCode().value(), response.getHeaders());
+        return response;
+    }
+
+    /**
+     * Take one token, waiting for the bucket to refill if needed.
+     *
+     * @throws RateLimitExceededException (503) if the wait would exceed the configured maximum
+     */
+    void acquire(Lane lane) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        synchronized (this) {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                double required = lane == Lane.BACKGROUND ? Math.min(1 + backgroundReserve, limit) : 1;
+                long waitNanos = Math.max(blockedUntilNanos - now, 0);
+                if (waitNanos == 0 && tokens >= required) {
+                    tokens -= 1;
+                    break;
+                }
+                if (waitNanos == 0) {
+                    waitNanos = (long) Math.ceil((required - tokens) / refillPerNano());
+                }
+                if (now + waitNanos - deadline > 0) {
+                    long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos));
+                    log.warn("Hetzner API budget exhausted ({} lane), next request possible in {}s",
+                            lane.name().toLowerCase(), retryAfterSeconds);
+                    throw new RateLimitExceededException(
+                            "Hetzner API rate limit reached, retry in " + retryAfterSeconds + "s");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RateLimitExceededException("Interrupted while waiting for Hetzner API budget");
+                }
+            }
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Correct the bucket from Hetzner's view of the budget.
+     */
+    synchronized void update(int status, HttpHeaders headers) {
+        long now = System.nanoTime();
+        refill(now);
+
+        Integer headerLimit = parseInt(headers.getFirst("RateLimit-Limit"));
+        if (headerLimit != null && headerLimit > 0) {
+            limit = headerLimit;
+        }
+        Integer remaining = parseInt(headers.getFirst("RateLimit-Remaining"));
+        if (remaining != null) {
+            tokens = Math.min(remaining, limit);
+        }
+
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            throttledResponses.increment();
+            tokens = 0;
+            long waitSeconds = retryAfterSeconds(headers);
+            blockedUntilNanos = now + TimeUnit.SECONDS.toNanos(waitSeconds);
+            log.warn("Hetzner API returned 429, pausing requests for {}s", waitSeconds);
+        }
+        notifyAll();
+    }
+
+    synchronized double remaining() {
+        refill(System.nanoTime());
+        return tokens;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(limit, tokens + elapsed * refillPerNano());
+            lastRefillNanos = now;
+        }
+    }
+
+    private double refillPerNano() {
+        // The whole budget refills over an hour
+        return limit / (double) TimeUnit.HOURS.toNanos(1);
+    }
+
+    private static long retryAfterSeconds(HttpHeaders headers) {
+        Integer retryAfter = parseInt(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        if (retryAfter != null) {
+            return Math.max(1, retryAfter);
+        }
+        // RateLimit-Reset is the Unix time at which the budget is full again; one token is enough
+        Integer reset = parseInt(headers.getFirst("RateLimit-Reset"));
+        if (reset != null) {
+            long untilReset = reset - System.currentTimeMillis() / 1000;
+            return Math.max(1, Math.min(untilReset, 60));
+        }
+        return 1;
+    }
+
+    private static Integer parseInt(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return (int) Math.min(Long.parseLong(value.trim()), Integer.MAX_VALUE);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
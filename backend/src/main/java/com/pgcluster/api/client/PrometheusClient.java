@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.pgcluster.api.util.NetworkUtils;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
@@ -28,7 +29,12 @@ public class PrometheusClient {
     @Value("${prometheus.url:http://localhost:9090}")
     private String prometheusUrl;
 
-    private final RestClient restClient = RestClient.create();
+    private final RestClient restClient;
+
+    // Pooled client with timeouts, see HttpClientConfig
+    public PrometheusClient(@Qualifier("prometheusRestClient") RestClient restClient) {
+        this.restClient = restClient;
+    }
 
     /**
      * Execute an instant query against Prometheus
@@ -0,0 +1,114 @@
+package com.pgcluster.api.config;
+
+import com.pgcluster.api.client.ConnectionLimitInterceptor;
+import com.pgcluster.api.client.HetznerRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Shared HTTP clients for the external APIs (Hetzner, Cloudflare, Prometheus).
+ *
+ * All of them run on JDK HttpClients, which keep connections alive and reuse TLS sessions,
+ * instead of a fresh HttpURLConnection (and handshake) per call. The HTTPS APIs negotiate HTTP/2
+ * and multiplex requests over one connection per host. Each API gets its own read timeout and
+ * concurrency limit; request timings are recorded by Spring Boot as http.client.requests.
+ */
+@Slf4j
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http-client.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${http-client.acquire-timeout-ms:10000}")
+    private long acquireTimeoutMs;
+
+    @Value("${http-client.hetzner.read-timeout-ms:30000}")
+    private long hetznerReadTimeoutMs;
+
+    @Value("${http-client.hetzner.max-connections:10}")
+    private int hetznerMaxConnections;
+
+    @Value("${http-client.cloudflare.read-timeout-ms:15000}")
+    private long cloudflareReadTimeoutMs;
+
+    @Value("${http-client.cloudflare.max-connections:5}")
+    private int cloudflareMaxConnections;
+
+    @Value("${http-client.prometheus.read-timeout-ms:10000}")
+    private long prometheusReadTimeoutMs;
+
+    @Value("${http-client.prometheus.max-connections:20}")
+    private int prometheusMaxConnections;
+
+    /**
+     * Client for the public cloud APIs, shared so connections and TLS sessions are pooled.
+     */
+    @Bean
+    public HttpClient cloudApiHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Client for Prometheus, which is plain HTTP inside the private network.
+     */
+    @Bean
+    public HttpClient prometheusHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate hetznerRestTemplate(RestTemplateBuilder builder, HttpClient cloudApiHttpClient,
+                                            HetznerRateLimiter hetznerRateLimiter, MeterRegistry meterRegistry) {
+        log.info("Hetzner HTTP client: maxConnections={}, readTimeoutMs={}", hetznerMaxConnections, hetznerReadTimeoutMs);
+        return builder
+                .requestFactory(() -> requestFactory(cloudApiHttpClient, hetznerReadTimeoutMs))
+                // Wait for rate limit budget before taking a connection slot
+                .additionalInterceptors(hetznerRateLimiter,
+                        new ConnectionLimitInterceptor("hetzner", hetznerMaxConnections, acquireTimeoutMs, meterRegistry))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate cloudflareRestTemplate(RestTemplateBuilder builder, HttpClient cloudApiHttpClient,
+                                               MeterRegistry meterRegistry) {
+        return builder
+                .requestFactory(() -> requestFactory(cloudApiHttpClient, cloudflareReadTimeoutMs))
+                .additionalInterceptors(new ConnectionLimitInterceptor(
+                        "cloudflare", cloudflareMaxConnections, acquireTimeoutMs, meterRegistry))
+                .build();
+    }
+
+    @Bean
+    public RestClient prometheusRestClient(RestClient.Builder builder, HttpClient prometheusHttpClient,
+                                           MeterRegistry meterRegistry) {
+        return builder
+                .requestFactory(requestFactory(prometheusHttpClient, prometheusReadTimeoutMs))
+                .requestInterceptor(new ConnectionLimitInterceptor(
+                        "prometheus", prometheusMaxConnections, acquireTimeoutMs, meterRegistry))
+                .build();
+    }
+
+    private static JdkClientHttpRequestFactory requestFactory(HttpClient httpClient, long readTimeoutMs) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return factory;
+    }
+}
@@ -9,20 +9,26 @@ import com.pgcluster.api.service.AuditLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/admin")
@@ -47,10 +53,30 @@ public class AdminController {
     // ==================== Clusters ====================
 
     @GetMapping("/clusters")
-    @Operation(summary = "List all clusters across all users")
+    @Operation(summary = "List clusters across all users (keyset pagination via cursor, filterable and sortable)")
     public ResponseEntity<AdminClusterListResponse> listAllClusters(
-            @RequestParam(defaultValue = "true") boolean includeDeleted) {
-        AdminClusterListResponse response = adminService.listAllClusters(includeDeleted);
+            @RequestParam(defaultValue = "true") boolean includeDeleted,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) UUID ownerId,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "created_at") String sort,
+            @RequestParam(defaultValue = "desc") String order) {
+
+        if (!"asc".equals(order) && !"desc".equals(order)) {
+            throw new IllegalArgumentException("order must be 'asc' or 'desc'");
+        }
+
+        AdminClusterFilter filter = new AdminClusterFilter();
+        filter.setIncludeDeleted(includeDeleted);
+        filter.setStatus(status);
+        filter.setOwnerId(ownerId);
+        filter.setRegion(region);
+        filter.setSearch(search);
+
+        AdminClusterListResponse response = adminService.listAllClusters(filter, sort, "asc".equals(order), cursor, size);
         return ResponseEntity.ok(response);
     }
 
@@ -99,6 +125,13 @@ public class AdminController {
         return ResponseEntity.ok(Map.of("message", "Backup deleted successfully"));
     }
 
+    @PostMapping("/backups/config-rollout")
+    @Operation(summary = "Push the current pgBackRest config to all running clusters")
+    public ResponseEntity<Map<String, String>> rolloutBackupConfig(@AuthenticationPrincipal User admin) {
+        adminService.rolloutBackupConfig(admin);
+        return ResponseEntity.accepted().body(Map.of("message", "pgBackRest config rollout started"));
+    }
+
     @GetMapping("/clusters/{id}/exports")
     @Operation(summary = "List exports for any cluster (admin access)")
     public ResponseEntity<List<ExportResponse>> getClusterExports(@PathVariable UUID id) {
@@ -198,10 +231,12 @@ public class AdminController {
     // ==================== Audit Logs ====================
 
     @GetMapping("/audit-logs")
-    @Operation(summary = "Get audit logs with filters")
+    @Operation(summary = "Get audit logs with filters (keyset pagination via cursor, page > 0 uses offset paging)")
     public ResponseEntity<AuditLogListResponse> getAuditLogs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "estimated") String count,
             @RequestParam(required = false) UUID userId,
             @RequestParam(required = false) UUID clusterId,
             @RequestParam(required = false) String action,
@@ -223,19 +258,28 @@ public class AdminController {
             filter.setEndDate(Instant.parse(endDate));
         }
 
-        AuditLogListResponse response = auditLogService.getAuditLogs(filter, page, size);
+        if (!"estimated".equals(count) && !"exact".equals(count)) {
+            throw new IllegalArgumentException("count must be 'estimated' or 'exact'");
+        }
+
+        // Page numbers beyond the first still work for older clients, at OFFSET cost
+        AuditLogListResponse response = (cursor == null && page > 0)
+                ? auditLogService.getAuditLogs(filter, page, size)
+                : auditLogService.getAuditLogsPage(filter, cursor, size, "estimated".equals(count));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/audit-logs/export")
-    @Operation(summary = "Export audit logs as CSV")
-    public ResponseEntity<byte[]> exportAuditLogs(
+    @Operation(summary = "Export audit logs as CSV (optionally gzip-compressed)")
+    public void exportAuditLogs(
             @RequestParam(required = false) UUID userId,
             @RequestParam(required = false) UUID clusterId,
             @RequestParam(required = false) String action,
             @RequestParam(required = false) String resourceType,
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
+            @RequestParam(required = false) String endDate,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
 
         AuditLogFilterRequest filter = new AuditLogFilterRequest();
         filter.setUserId(userId);
@@ -250,13 +294,16 @@ public class AdminController {
             filter.setEndDate(Instant.parse(endDate));
         }
 
-        String csv = auditLogService.exportAuditLogsCsv(filter);
-        String filename = "audit-logs-" + Instant.now().toString().substring(0, 10) + ".csv";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        String filename = "audit-logs-" + Instant.now().toString().substring(0, 10) + (gzip ? ".csv.gz" : ".csv");
+        response.setContentType(gzip ? "application/gzip" : "text/csv");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
 
-        return ResponseEntity.ok().headers(headers).body(csv.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        // Rows are written to the response as they are read, so the export never sits in memory
+        OutputStream target = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024) : response.getOutputStream();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+        auditLogService.exportAuditLogsCsv(filter, writer);
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
     }
 }
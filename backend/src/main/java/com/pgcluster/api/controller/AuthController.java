@@ -40,9 +40,12 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    @Operation(summary = "Logout (client-side token removal)")
-    public ResponseEntity<Map<String, String>> logout() {
-        // handled client-side (JWT)
+    @Operation(summary = "Logout (revokes the current token)")
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            authService.logout(authorization.substring(7));
+        }
         return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
     }
 }
@@ -3,9 +3,11 @@ package com.pgcluster.api.controller;
 import com.pgcluster.api.model.dto.BackupDeletionInfo;
 import com.pgcluster.api.model.dto.BackupListResponse;
 import com.pgcluster.api.model.dto.BackupResponse;
+import com.pgcluster.api.model.dto.ExportRequest;
 import com.pgcluster.api.model.dto.ExportResponse;
 import com.pgcluster.api.model.dto.PitrRestoreRequest;
 import com.pgcluster.api.model.dto.PitrWindowResponse;
+import com.pgcluster.api.model.dto.RestoreEstimateResponse;
 import com.pgcluster.api.model.dto.RestoreJobResponse;
 import com.pgcluster.api.model.dto.RestoreRequest;
 import com.pgcluster.api.model.entity.Backup;
@@ -18,12 +20,14 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -109,6 +113,17 @@ public class BackupController {
         return ResponseEntity.ok(window);
     }
 
+    @GetMapping("/restore-estimates")
+    @Operation(summary = "Estimate restore duration for each candidate backup")
+    public ResponseEntity<RestoreEstimateResponse> getRestoreEstimates(
+            @PathVariable UUID clusterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant targetTime,
+            @RequestParam(required = false) String nodeSize,
+            @AuthenticationPrincipal User user) {
+        RestoreEstimateResponse estimates = backupService.getRestoreEstimates(clusterId, targetTime, nodeSize, user);
+        return ResponseEntity.ok(estimates);
+    }
+
     @PostMapping("/pitr/restore")
     @Operation(summary = "Restore cluster to a selected PITR time (creates a new cluster)")
     public ResponseEntity<RestoreJobResponse> restoreFromPitr(
@@ -159,8 +174,9 @@ public class BackupController {
     @Operation(summary = "Create a database export (pg_dump)")
     public ResponseEntity<ExportResponse> createExport(
             @PathVariable UUID clusterId,
+            @Valid @RequestBody(required = false) ExportRequest request,
             @AuthenticationPrincipal User user) {
-        Export export = exportService.createExport(clusterId, user);
+        Export export = exportService.createExport(clusterId, user, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(ExportResponse.fromEntity(export));
     }
 
@@ -4,6 +4,7 @@ import com.pgcluster.api.client.PrometheusClient;
 import com.pgcluster.api.model.entity.Cluster;
 import com.pgcluster.api.model.entity.VpsNode;
 import com.pgcluster.api.repository.ClusterRepository;
+import com.pgcluster.api.service.PlatformStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
@@ -28,6 +29,7 @@ public class MonitoringController {
 
     private final ClusterRepository clusterRepository;
     private final PrometheusClient prometheusClient;
+    private final PlatformStatsService platformStatsService;
 
     /**
      * Returns all cluster nodes as Prometheus scrape targets.
@@ -86,9 +88,9 @@ public class MonitoringController {
                 Cluster.STATUS_DELETING
         };
 
+        PlatformStatsService.Snapshot stats = platformStatsService.getSnapshot();
         for (String status : statuses) {
-            List<Cluster> clusters = clusterRepository.findByStatus(status);
-            statusCounts.put(status, clusters.size());
+            statusCounts.put(status, (int) stats.clusters(status));
         }
 
         Map<String, Object> result = new HashMap<>();
@@ -1,6 +1,7 @@
 package com.pgcluster.api.event;
 
 import com.pgcluster.api.service.BackupService;
+import com.pgcluster.api.service.BackupVerificationService;
 import com.pgcluster.api.service.ExportService;
 import com.pgcluster.api.service.ProvisioningService;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,7 @@ public class AsyncOperationEventListener {
     private final ProvisioningService provisioningService;
     private final BackupService backupService;
     private final ExportService exportService;
+    private final BackupVerificationService backupVerificationService;
 
     /**
      * Handle cluster creation - trigger async provisioning.
@@ -54,6 +56,26 @@ public class AsyncOperationEventListener {
         backupService.executeBackupAsync(event.getBackupId());
     }
 
+    /**
+     * Handle pgBackRest config rollout request - push config to all running clusters.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleBackupConfigRolloutRequested(BackupConfigRolloutRequestedEvent event) {
+        log.debug("Handling BackupConfigRolloutRequestedEvent");
+        backupService.rolloutPgBackRestConfig();
+    }
+
+    /**
+     * Handle backup verification claim - run the test restore.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleBackupVerificationRequested(BackupVerificationRequestedEvent event) {
+        log.debug("Handling BackupVerificationRequestedEvent for backup: {}", event.getBackupId());
+        backupVerificationService.verifyBackup(event.getBackupId());
+    }
+
     /**
      * Handle restore request - trigger async restore execution.
      */
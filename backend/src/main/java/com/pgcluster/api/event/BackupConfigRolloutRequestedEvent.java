@@ -0,0 +1,14 @@
+package com.pgcluster.api.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published when an admin requests pgBackRest config to be re-rendered on all running clusters.
+ * Used to trigger the async rollout after transaction commit.
+ */
+public class BackupConfigRolloutRequestedEvent extends ApplicationEvent {
+
+    public BackupConfigRolloutRequestedEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,21 @@
+package com.pgcluster.api.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Event published when a completed backup has been claimed for a test restore.
+ * Used to run the verification asynchronously after the claim commits.
+ */
+@Getter
+public class BackupVerificationRequestedEvent extends ApplicationEvent {
+
+    private final UUID backupId;
+
+    public BackupVerificationRequestedEvent(Object source, UUID backupId) {
+        super(source);
+        this.backupId = backupId;
+    }
+}
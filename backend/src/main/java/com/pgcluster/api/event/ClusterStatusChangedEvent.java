@@ -0,0 +1,35 @@
+package com.pgcluster.api.event;
+
+import com.pgcluster.api.model.entity.Cluster;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published when a cluster is created or its status changes.
+ * Used to keep the in-memory platform stats current after the change commits.
+ */
+@Getter
+public class ClusterStatusChangedEvent extends ApplicationEvent {
+
+    private final Cluster cluster;
+
+    // Captured at publish time, the entity may be modified again before listeners run
+    private final String status;
+
+    private final boolean created;
+
+    public ClusterStatusChangedEvent(Object source, Cluster cluster, String status, boolean created) {
+        super(source);
+        this.cluster = cluster;
+        this.status = status;
+        this.created = created;
+    }
+
+    public static ClusterStatusChangedEvent created(Object source, Cluster cluster) {
+        return new ClusterStatusChangedEvent(source, cluster, cluster.getStatus(), true);
+    }
+
+    public static ClusterStatusChangedEvent changed(Object source, Cluster cluster) {
+        return new ClusterStatusChangedEvent(source, cluster, cluster.getStatus(), false);
+    }
+}
@@ -0,0 +1,14 @@
+package com.pgcluster.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a request is refused locally because the upstream API budget is exhausted.
+ * The upstream was never called, so circuit breakers ignore it.
+ */
+public class RateLimitExceededException extends ApiException {
+
+    public RateLimitExceededException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
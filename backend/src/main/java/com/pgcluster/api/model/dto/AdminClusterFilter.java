@@ -0,0 +1,20 @@
+package com.pgcluster.api.model.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class AdminClusterFilter {
+
+    private String status;
+
+    private UUID ownerId;
+
+    private String region;
+
+    // Case-insensitive substring of cluster name, slug or owner email
+    private String search;
+
+    private boolean includeDeleted;
+}
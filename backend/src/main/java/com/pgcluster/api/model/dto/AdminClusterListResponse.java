@@ -1,5 +1,6 @@
 package com.pgcluster.api.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,5 +13,19 @@ import java.util.List;
 public class AdminClusterListResponse {
 
     private List<AdminClusterResponse> clusters;
+
+    // Clusters on this page
     private int count;
+
+    private int size;
+
+    @JsonProperty("total_elements")
+    private long totalElements;
+
+    // Opaque cursor for the next page with keyset pagination, null on the last page
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    @JsonProperty("has_more")
+    private boolean hasMore;
 }
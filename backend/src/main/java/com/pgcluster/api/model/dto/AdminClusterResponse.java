@@ -49,6 +49,16 @@ public class AdminClusterResponse {
     // Nodes
     private List<NodeInfo> nodes;
 
+    // Totals (listings only)
+    @JsonProperty("provisioned_nodes")
+    private Integer provisionedNodes;
+
+    @JsonProperty("backup_count")
+    private Long backupCount;
+
+    @JsonProperty("backup_size_bytes")
+    private Long backupSizeBytes;
+
     // Error info
     @JsonProperty("error_message")
     private String errorMessage;
@@ -115,7 +125,7 @@ public class AdminClusterResponse {
                     .hostname(cluster.getHostname())
                     .port(cluster.getPort())
                     .username("postgres")
-                    .credentialsAvailable(cluster.getPostgresPassword() != null)
+                    .credentialsAvailable(cluster.hasPostgresPassword())
                     .build();
         }
 
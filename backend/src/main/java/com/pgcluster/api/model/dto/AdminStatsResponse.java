@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.Instant;
+import java.util.Map;
+
 @Data
 @Builder
 @AllArgsConstructor
@@ -18,4 +21,36 @@ public class AdminStatsResponse {
 
     @JsonProperty("total_users")
     private long totalUsers;
+
+    @JsonProperty("clusters_by_status")
+    private Map<String, Long> clustersByStatus;
+
+    @JsonProperty("clusters_by_region")
+    private Map<String, Long> clustersByRegion;
+
+    @JsonProperty("clusters_by_node_size")
+    private Map<String, Long> clustersByNodeSize;
+
+    @JsonProperty("total_nodes")
+    private long totalNodes;
+
+    // Disk across all nodes of non-deleted clusters
+    @JsonProperty("provisioned_storage_gb")
+    private long provisionedStorageGb;
+
+    // Time from creation to running, over recent provisions observed by the instance serving the request.
+    // Kept in memory only: other instances report their own provisions and a restart starts over, null until
+    // one completes. Samples says how many provisions the percentiles cover.
+    @JsonProperty("provisioning_p50_seconds")
+    private Long provisioningP50Seconds;
+
+    @JsonProperty("provisioning_p95_seconds")
+    private Long provisioningP95Seconds;
+
+    @JsonProperty("provisioning_samples")
+    private int provisioningSamples;
+
+    // When the stats were last reconciled with the database
+    @JsonProperty("reconciled_at")
+    private Instant reconciledAt;
 }
@@ -23,4 +23,15 @@ public class AuditLogListResponse {
 
     @JsonProperty("total_pages")
     private int totalPages;
+
+    // True when total_elements comes from the planner's row estimate rather than a COUNT
+    @JsonProperty("count_estimated")
+    private boolean countEstimated;
+
+    // Opaque cursor for the next page with keyset pagination, null on the last page
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    @JsonProperty("has_more")
+    private boolean hasMore;
 }
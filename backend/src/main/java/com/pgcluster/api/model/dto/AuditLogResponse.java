@@ -33,6 +33,9 @@ public class AuditLogResponse {
     @JsonProperty("resource_id")
     private UUID resourceId;
 
+    @JsonProperty("cluster_id")
+    private UUID clusterId;
+
     private Map<String, Object> details;
 
     @JsonProperty("ip_address")
@@ -47,6 +50,7 @@ public class AuditLogResponse {
                 .action(log.getAction())
                 .resourceType(log.getResourceType())
                 .resourceId(log.getResourceId())
+                .clusterId(log.getClusterId())
                 .details(log.getDetails())
                 .ipAddress(log.getIpAddress())
                 .build();
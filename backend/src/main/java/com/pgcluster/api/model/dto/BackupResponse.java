@@ -21,6 +21,10 @@ public class BackupResponse {
     private String status;
     private String currentStep;
     private Integer progressPercent;
+    private Long bytesDone;
+    private Long bytesTotal;
+    private Long throughputBytesPerSec;
+    private Instant estimatedCompletionAt;
     private Long sizeBytes;
     private String formattedSize;
     private String s3BasePath;
@@ -31,11 +35,20 @@ public class BackupResponse {
     private String retentionType;
     private Instant expiresAt;
     private String errorMessage;
+    private Instant scheduledAt;
     private Instant startedAt;
     private Instant completedAt;
     private Instant createdAt;
     private Instant updatedAt;
     private String pgbackrestLabel;
+    private String sourceNode;
+    private String verifyStatus;
+    private Instant verifiedAt;
+    private Long verifyDurationSeconds;
+    private Long verifyRestoreThroughputBytesPerSec;
+    private Integer verifyTableCount;
+    private Long verifyRowCount;
+    private String verifyError;
 
     public static BackupResponse fromEntity(Backup backup) {
         return BackupResponse.builder()
@@ -46,6 +59,10 @@ public class BackupResponse {
                 .status(backup.getStatus())
                 .currentStep(backup.getCurrentStep())
                 .progressPercent(backup.getProgressPercent())
+                .bytesDone(backup.getBytesDone())
+                .bytesTotal(backup.getBytesTotal())
+                .throughputBytesPerSec(backup.getThroughputBytesPerSec())
+                .estimatedCompletionAt(backup.getEstimatedCompletionAt())
                 .sizeBytes(backup.getSizeBytes())
                 .formattedSize(FormatUtils.formatBytes(backup.getSizeBytes()))
                 .s3BasePath(backup.getS3BasePath())
@@ -56,11 +73,20 @@ public class BackupResponse {
                 .retentionType(backup.getRetentionType())
                 .expiresAt(backup.getExpiresAt())
                 .errorMessage(backup.getErrorMessage())
+                .scheduledAt(backup.getScheduledAt())
                 .startedAt(backup.getStartedAt())
                 .completedAt(backup.getCompletedAt())
                 .createdAt(backup.getCreatedAt())
                 .updatedAt(backup.getUpdatedAt())
                 .pgbackrestLabel(backup.getPgbackrestLabel())
+                .sourceNode(backup.getSourceNode())
+                .verifyStatus(backup.getVerifyStatus())
+                .verifiedAt(backup.getVerifiedAt())
+                .verifyDurationSeconds(backup.getVerifyDurationSeconds())
+                .verifyRestoreThroughputBytesPerSec(backup.getVerifyRestoreThroughputBytesPerSec())
+                .verifyTableCount(backup.getVerifyTableCount())
+                .verifyRowCount(backup.getVerifyRowCount())
+                .verifyError(backup.getVerifyError())
                 .build();
     }
 }
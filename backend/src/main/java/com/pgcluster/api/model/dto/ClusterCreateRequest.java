@@ -31,6 +31,10 @@ public class ClusterCreateRequest {
     @Size(min = 1, max = 3, message = "Must specify 1 to 3 node regions")
     private List<String> nodeRegions;
 
+    @Pattern(regexp = "^([01][0-9]|2[0-3]):[0-5][0-9]$",
+            message = "Backup window start must be a UTC time in HH:mm format")
+    private String backupWindowStart;
+
     /**
      * Custom validation: only 1 or 3 nodes allowed.
      * 2 nodes is disallowed because etcd quorum would be 2, meaning ANY failure breaks the cluster.
@@ -26,6 +26,7 @@ public class ClusterResponse {
     private int nodeCount;
     private String nodeSize;
     private String region;
+    private String backupWindowStart;
 
     // Connection info
     private ConnectionInfo connection;
@@ -87,7 +88,7 @@ public class ClusterResponse {
                     .hostname(cluster.getHostname())
                     .port(cluster.getPort())
                     .username("postgres")
-                    .credentialsAvailable(cluster.getPostgresPassword() != null)
+                    .credentialsAvailable(cluster.hasPostgresPassword())
                     .build();
         }
 
@@ -116,6 +117,7 @@ public class ClusterResponse {
                 .nodeCount(cluster.getNodeCount())
                 .nodeSize(cluster.getNodeSize())
                 .region(cluster.getRegion())
+                .backupWindowStart(cluster.getBackupWindowStart())
                 .connection(connInfo)
                 .resources(Resources.builder()
                         .storageGb(cluster.getStorageGb())
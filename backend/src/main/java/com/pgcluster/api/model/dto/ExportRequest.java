@@ -0,0 +1,48 @@
+package com.pgcluster.api.model.dto;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportRequest {
+
+    /**
+     * Dump format. "pg_dump" (default) is a plain SQL dump compressed with gzip.
+     * "directory" is pg_dump -Fd with parallel jobs and zstd compression, delivered
+     * as a tar archive that can be restored in parallel with pg_restore -j.
+     * "csv" is implied by incremental exports.
+     */
+    @Pattern(regexp = "^(pg_dump|directory|csv)$", message = "Format must be pg_dump, directory or csv")
+    private String format;
+
+    /**
+     * Only export these schemas (pg_dump -n). Names may contain * wildcards.
+     */
+    private List<String> schemas;
+
+    /**
+     * Only export these tables (pg_dump -t), optionally schema-qualified. Names may contain * wildcards.
+     */
+    private List<String> tables;
+
+    /**
+     * Incremental mode: export only the rows of the single table in {@code tables} whose value
+     * in this column is above the previous export's high-water mark, as gzipped CSV.
+     * The column must only ever increase for new rows (serial ID, insert timestamp).
+     */
+    private String watermarkColumn;
+
+    /**
+     * Lower bound for an incremental export. Defaults to the high-water mark of the
+     * last completed export of the same table and column (everything on the first run).
+     */
+    private String since;
+}
@@ -20,6 +20,13 @@ public class ExportResponse {
     private String format;
     private Long sizeBytes;
     private String formattedSize;
+    private Long bytesUploaded;
+    private String sourceNode;
+    private String includeSchemas;
+    private String includeTables;
+    private String watermarkColumn;
+    private String watermarkFrom;
+    private String watermarkTo;
     private String downloadUrl;
     private Instant downloadExpiresAt;
     private String errorMessage;
@@ -36,6 +43,13 @@ public class ExportResponse {
                 .format(export.getFormat())
                 .sizeBytes(export.getSizeBytes())
                 .formattedSize(FormatUtils.formatBytes(export.getSizeBytes()))
+                .bytesUploaded(export.getBytesUploaded())
+                .sourceNode(export.getSourceNode())
+                .includeSchemas(export.getIncludeSchemas())
+                .includeTables(export.getIncludeTables())
+                .watermarkColumn(export.getWatermarkColumn())
+                .watermarkFrom(export.getWatermarkFrom())
+                .watermarkTo(export.getWatermarkTo())
                 .downloadUrl(export.getDownloadUrl())
                 .downloadExpiresAt(export.getDownloadExpiresAt())
                 .errorMessage(export.getErrorMessage())
@@ -37,6 +37,11 @@ public class PgBackRestBackupInfo {
      */
     private Long backupSizeBytes;
 
+    /**
+     * Bytes copied by this backup (the changed data for diff/incr backups)
+     */
+    private Long deltaBytes;
+
     /**
      * WAL start position
      */
@@ -0,0 +1,44 @@
+package com.pgcluster.api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestoreEstimateResponse {
+
+    private Instant targetTime;
+    private String nodeSize;
+    private UUID recommendedBackupId;
+    private Long throughputBytesPerSec;
+    private String throughputSource;
+    private Long overheadSeconds;
+    @Builder.Default
+    private List<BackupEstimate> estimates = List.of();
+    private Instant asOf;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BackupEstimate {
+        private UUID backupId;
+        private String pgbackrestLabel;
+        private String backupType;
+        private Instant earliestRecoveryTime;
+        private Instant latestRecoveryTime;
+        private Long restoreBytes;
+        private Long walReplayBytes;
+        private Long dataRestoreSeconds;
+        private Long walReplaySeconds;
+        private Long estimatedSeconds;
+    }
+}
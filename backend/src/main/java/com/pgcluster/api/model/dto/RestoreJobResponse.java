@@ -22,6 +22,10 @@ public class RestoreJobResponse {
     private String status;
     private String currentStep;
     private Integer progress;
+    private Long bytesRestored;
+    private Long bytesTotal;
+    private Long throughputBytesPerSec;
+    private Instant estimatedCompletionAt;
     private String errorMessage;
     private Instant createdAt;
     private Instant updatedAt;
@@ -38,6 +42,10 @@ public class RestoreJobResponse {
                 .status(job.getStatus())
                 .currentStep(job.getCurrentStep())
                 .progress(job.getProgress())
+                .bytesRestored(job.getBytesRestored())
+                .bytesTotal(job.getBytesTotal())
+                .throughputBytesPerSec(job.getThroughputBytesPerSec())
+                .estimatedCompletionAt(job.getEstimatedCompletionAt())
                 .errorMessage(job.getErrorMessage())
                 .createdAt(job.getCreatedAt())
                 .updatedAt(job.getUpdatedAt())
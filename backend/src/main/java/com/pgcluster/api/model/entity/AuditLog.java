@@ -39,6 +39,7 @@ public class AuditLog {
     public static final String BACKUP_INITIATED = "BACKUP_INITIATED";
     public static final String BACKUP_DELETED = "BACKUP_DELETED";
     public static final String BACKUP_RESTORE_INITIATED = "BACKUP_RESTORE_INITIATED";
+    public static final String BACKUP_CONFIG_ROLLOUT = "BACKUP_CONFIG_ROLLOUT";
 
     // Export actions
     public static final String EXPORT_INITIATED = "EXPORT_INITIATED";
@@ -70,6 +71,10 @@ public class AuditLog {
     @Column(name = "resource_id")
     private UUID resourceId;
 
+    // Cluster the entry relates to (the resource itself or details.cluster_id), indexed for filtering
+    @Column(name = "cluster_id")
+    private UUID clusterId;
+
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
     private Map<String, Object> details;
@@ -71,6 +71,9 @@ public class Backup {
     @Column(name = "requested_backup_type", length = 20)
     private String requestedBackupType;
 
+    @Column(name = "source_node")
+    private String sourceNode;
+
     @Column(name = "current_step", length = 50)
     private String currentStep;
 
@@ -78,6 +81,42 @@ public class Backup {
     @Builder.Default
     private Integer progressPercent = 0;
 
+    @Column(name = "bytes_done")
+    private Long bytesDone;
+
+    @Column(name = "bytes_total")
+    private Long bytesTotal;
+
+    @Column(name = "throughput_bytes_per_sec")
+    private Long throughputBytesPerSec;
+
+    @Column(name = "estimated_completion_at")
+    private Instant estimatedCompletionAt;
+
+    @Column(name = "scheduled_at")
+    private Instant scheduledAt;
+
+    @Column(name = "verify_status", length = 20)
+    private String verifyStatus;
+
+    @Column(name = "verified_at")
+    private Instant verifiedAt;
+
+    @Column(name = "verify_duration_seconds")
+    private Long verifyDurationSeconds;
+
+    @Column(name = "verify_restore_throughput_bytes_per_sec")
+    private Long verifyRestoreThroughputBytesPerSec;
+
+    @Column(name = "verify_table_count")
+    private Integer verifyTableCount;
+
+    @Column(name = "verify_row_count")
+    private Long verifyRowCount;
+
+    @Column(name = "verify_error", columnDefinition = "TEXT")
+    private String verifyError;
+
     @Column(name = "started_at")
     private Instant startedAt;
 
@@ -117,6 +156,11 @@ public class Backup {
     public static final String BACKUP_TYPE_DIFF = "diff";
     public static final String BACKUP_TYPE_INCR = "incr";
 
+    // Test restore (verification) results
+    public static final String VERIFY_STATUS_RUNNING = "running";
+    public static final String VERIFY_STATUS_PASSED = "passed";
+    public static final String VERIFY_STATUS_FAILED = "failed";
+
     // Backup progress steps
     public static final String STEP_PENDING = "pending";
     public static final String STEP_PREPARING = "preparing";
@@ -1,6 +1,7 @@
 package com.pgcluster.api.model.entity;
 
-import com.pgcluster.api.security.EncryptedStringConverter;
+import com.pgcluster.api.security.EncryptedString;
+import com.pgcluster.api.security.LazyEncryptedStringConverter;
 import com.pgcluster.api.util.StringListConverter;
 import jakarta.persistence.*;
 import lombok.*;
@@ -66,9 +67,12 @@ public class Cluster {
     @Builder.Default
     private int port = 5432;
 
+    // Decrypted on first access, see the String accessors below
     @Column(name = "postgres_password", length = 512)
-    @Convert(converter = EncryptedStringConverter.class)
-    private String postgresPassword;
+    @Convert(converter = LazyEncryptedStringConverter.class)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private EncryptedString postgresPassword;
 
     // Resource tracking
     @Column(name = "storage_gb")
@@ -99,6 +103,10 @@ public class Cluster {
     @Convert(converter = StringListConverter.class)
     private List<String> nodeRegions;
 
+    // Preferred backup window start in UTC ("HH:mm"), null for fleet default
+    @Column(name = "backup_window_start", length = 5)
+    private String backupWindowStart;
+
     // Relationships
     @OneToMany(mappedBy = "cluster", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
@@ -112,6 +120,28 @@ public class Cluster {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    public String getPostgresPassword() {
+        return postgresPassword != null ? postgresPassword.get() : null;
+    }
+
+    public void setPostgresPassword(String postgresPassword) {
+        this.postgresPassword = EncryptedString.of(postgresPassword);
+    }
+
+    /**
+     * Whether a password is stored, without decrypting it.
+     */
+    public boolean hasPostgresPassword() {
+        return postgresPassword != null;
+    }
+
+    public static class ClusterBuilder {
+        public ClusterBuilder postgresPassword(String postgresPassword) {
+            this.postgresPassword = EncryptedString.of(postgresPassword);
+            return this;
+        }
+    }
+
     // Cluster statuses
     public static final String STATUS_PENDING = "pending";
     public static final String STATUS_CREATING = "creating";
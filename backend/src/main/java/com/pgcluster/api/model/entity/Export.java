@@ -36,6 +36,27 @@ public class Export {
     @Column(name = "size_bytes")
     private Long sizeBytes;
 
+    @Column(name = "bytes_uploaded")
+    private Long bytesUploaded;
+
+    @Column(name = "include_schemas", columnDefinition = "TEXT")
+    private String includeSchemas;
+
+    @Column(name = "include_tables", columnDefinition = "TEXT")
+    private String includeTables;
+
+    @Column(name = "watermark_column")
+    private String watermarkColumn;
+
+    @Column(name = "watermark_from", length = 500)
+    private String watermarkFrom;
+
+    @Column(name = "watermark_to", length = 500)
+    private String watermarkTo;
+
+    @Column(name = "source_node")
+    private String sourceNode;
+
     @Column(name = "s3_path", length = 500)
     private String s3Path;
 
@@ -72,4 +93,5 @@ public class Export {
     public static final String FORMAT_PG_DUMP = "pg_dump";
     public static final String FORMAT_CUSTOM = "custom";
     public static final String FORMAT_DIRECTORY = "directory";
+    public static final String FORMAT_CSV = "csv";
 }
@@ -50,6 +50,18 @@ public class RestoreJob {
     @Builder.Default
     private Integer progress = 0;
 
+    @Column(name = "bytes_restored")
+    private Long bytesRestored;
+
+    @Column(name = "bytes_total")
+    private Long bytesTotal;
+
+    @Column(name = "throughput_bytes_per_sec")
+    private Long throughputBytesPerSec;
+
+    @Column(name = "estimated_completion_at")
+    private Instant estimatedCompletionAt;
+
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
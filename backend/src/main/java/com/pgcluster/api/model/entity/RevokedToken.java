@@ -0,0 +1,31 @@
+package com.pgcluster.api.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * A logged-out JWT, rejected by every control plane instance until it expires.
+ * Identified by the token's SHA-256 hash; the raw token is never stored.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "revoked_at", nullable = false, updatable = false)
+    private Instant revokedAt;
+}
@@ -0,0 +1,209 @@
+package com.pgcluster.api.repository;
+
+import com.pgcluster.api.model.dto.AdminClusterFilter;
+import com.pgcluster.api.model.dto.AdminClusterResponse;
+import com.pgcluster.api.model.entity.Cluster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Projection queries behind the admin cluster listings.
+ *
+ * Selects only the columns {@link AdminClusterResponse} needs (no entity loading, so no password
+ * decryption), with node and backup totals computed as correlated subqueries in the same
+ * statement. Pages are keyset-paginated on (sort column, id); node details for a page are
+ * fetched in one batched query.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AdminClusterQueryRepository {
+
+    public enum Sort {
+        CREATED_AT("c.created_at"),
+        NAME("c.name"),
+        STATUS("c.status");
+
+        private final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+
+        public static Sort parse(String value) {
+            try {
+                return Sort.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("sort must be one of created_at, name, status");
+            }
+        }
+    }
+
+    static final String SELECT = """
+            SELECT c.id, c.name, c.slug, c.plan, c.status, c.user_id, u.email AS owner_email,
+                   c.postgres_version, c.node_count, c.node_size, c.region, c.hostname, c.port,
+                   CASE WHEN c.postgres_password IS NOT NULL THEN TRUE ELSE FALSE END AS has_password,
+                   c.storage_gb, c.memory_mb, c.cpu_cores, c.error_message, c.provisioning_step,
+                   c.provisioning_progress, c.created_at, c.updated_at,
+                   (SELECT COUNT(*) FROM vps_nodes v WHERE v.cluster_id = c.id) AS provisioned_nodes,
+                   (SELECT COUNT(*) FROM backups b
+                     WHERE b.cluster_id = c.id AND b.status = 'completed') AS backup_count,
+                   (SELECT COALESCE(SUM(b.size_bytes), 0) FROM backups b
+                     WHERE b.cluster_id = c.id AND b.status = 'completed') AS backup_size_bytes
+            FROM clusters c
+            JOIN users u ON u.id = c.user_id
+            """;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Up to {@code limit} clusters matching the filter, strictly after the (sort value, id)
+     * position when one is given.
+     *
+     * @param afterValue sort column value of the last row of the previous page
+     *                   ({@link Instant} for CREATED_AT, String otherwise), or null for the first page
+     */
+    public List<AdminClusterResponse> findPage(AdminClusterFilter filter, Sort sort, boolean ascending,
+                                               Object afterValue, UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(SELECT).append(where(filter, params));
+
+        if (afterValue != null && afterId != null) {
+            sql.append(" AND (").append(sort.column).append(", c.id) ")
+                    .append(ascending ? ">" : "<").append(" (:afterValue, :afterId)");
+            params.addValue("afterValue", afterValue instanceof Instant instant ? Timestamp.from(instant) : afterValue);
+            params.addValue("afterId", afterId);
+        }
+
+        String direction = ascending ? "ASC" : "DESC";
+        sql.append(" ORDER BY ").append(sort.column).append(' ').append(direction)
+                .append(", c.id ").append(direction)
+                .append(" LIMIT :limit");
+        params.addValue("limit", limit);
+
+        List<AdminClusterResponse> clusters = namedParameterJdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+        attachNodes(clusters);
+        return clusters;
+    }
+
+    public long count(AdminClusterFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT COUNT(*) FROM clusters c JOIN users u ON u.id = c.user_id" + where(filter, params);
+        Long count = namedParameterJdbcTemplate.queryForObject(sql, params, Long.class);
+        return count != null ? count : 0;
+    }
+
+    static String where(AdminClusterFilter filter, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (!filter.isIncludeDeleted()) {
+            where.append(" AND c.status <> :deletedStatus");
+            params.addValue("deletedStatus", Cluster.STATUS_DELETED);
+        }
+        if (filter.getStatus() != null && !filter.getStatus().isBlank()) {
+            where.append(" AND c.status = :status");
+            params.addValue("status", filter.getStatus());
+        }
+        if (filter.getOwnerId() != null) {
+            where.append(" AND c.user_id = :ownerId");
+            params.addValue("ownerId", filter.getOwnerId());
+        }
+        if (filter.getRegion() != null && !filter.getRegion().isBlank()) {
+            where.append(" AND c.region = :region");
+            params.addValue("region", filter.getRegion());
+        }
+        if (filter.getSearch() != null && !filter.getSearch().isBlank()) {
+            where.append(" AND (LOWER(c.name) LIKE :search ESCAPE '\\' OR LOWER(c.slug) LIKE :search ESCAPE '\\'")
+                    .append(" OR LOWER(u.email) LIKE :search ESCAPE '\\')");
+            params.addValue("search", "%" + escapeLike(filter.getSearch().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        return where.toString();
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private void attachNodes(List<AdminClusterResponse> clusters) {
+        if (clusters.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<AdminClusterResponse.NodeInfo>> nodesByCluster = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT v.cluster_id, v.id, v.name, v.public_ip, v.status, v.role, v.server_type, v.location " +
+                "FROM vps_nodes v WHERE v.cluster_id IN (:clusterIds) ORDER BY v.name",
+                new MapSqlParameterSource("clusterIds", clusters.stream().map(AdminClusterResponse::getId).toList()),
+                rs -> {
+                    nodesByCluster.computeIfAbsent(rs.getObject("cluster_id", UUID.class), id -> new ArrayList<>())
+                            .add(AdminClusterResponse.NodeInfo.builder()
+                                    .id(rs.getObject("id", UUID.class))
+                                    .name(rs.getString("name"))
+                                    .publicIp(rs.getString("public_ip"))
+                                    .status(rs.getString("status"))
+                                    .role(rs.getString("role"))
+                                    .serverType(rs.getString("server_type"))
+                                    .location(rs.getString("location"))
+                                    .build());
+                });
+        for (AdminClusterResponse cluster : clusters) {
+            cluster.setNodes(nodesByCluster.get(cluster.getId()));
+        }
+    }
+
+    private static final RowMapper<AdminClusterResponse> ROW_MAPPER = (rs, rowNum) -> {
+        String hostname = rs.getString("hostname");
+        AdminClusterResponse.ConnectionInfo connection = hostname == null ? null
+                : AdminClusterResponse.ConnectionInfo.builder()
+                        .hostname(hostname)
+                        .port(rs.getInt("port"))
+                        .username("postgres")
+                        .credentialsAvailable(rs.getBoolean("has_password"))
+                        .build();
+
+        return AdminClusterResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .name(rs.getString("name"))
+                .slug(rs.getString("slug"))
+                .plan(rs.getString("plan"))
+                .status(rs.getString("status"))
+                .ownerId(rs.getObject("user_id", UUID.class))
+                .ownerEmail(rs.getString("owner_email"))
+                .postgresVersion(rs.getString("postgres_version"))
+                .nodeCount(rs.getInt("node_count"))
+                .nodeSize(rs.getString("node_size"))
+                .region(rs.getString("region"))
+                .connection(connection)
+                .resources(AdminClusterResponse.Resources.builder()
+                        .storageGb(rs.getInt("storage_gb"))
+                        .memoryMb(rs.getInt("memory_mb"))
+                        .cpuCores(rs.getInt("cpu_cores"))
+                        .build())
+                .provisionedNodes(rs.getInt("provisioned_nodes"))
+                .backupCount(rs.getLong("backup_count"))
+                .backupSizeBytes(rs.getLong("backup_size_bytes"))
+                .errorMessage(rs.getString("error_message"))
+                .provisioningStep(rs.getString("provisioning_step"))
+                .provisioningProgress(rs.getObject("provisioning_progress", Integer.class))
+                .totalSteps(Cluster.TOTAL_PROVISIONING_STEPS)
+                .createdAt(toInstant(rs, "created_at"))
+                .updatedAt(toInstant(rs, "updated_at"))
+                .build();
+    };
+
+    private static Instant toInstant(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
@@ -1,16 +1,20 @@
 package com.pgcluster.api.repository;
 
 import com.pgcluster.api.model.entity.AuditLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
@@ -21,25 +25,25 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
 
     Page<AuditLog> findByActionOrderByTimestampDesc(String action, Pageable pageable);
 
-    @Query(value = "SELECT * FROM audit_logs a WHERE " +
+    /**
+     * WHERE conditions shared by the filtered audit log queries (table alias "a").
+     * Each condition is skipped when its parameter is null.
+     */
+    String FILTER_CONDITIONS =
            "(CAST(:userId AS UUID) IS NULL OR a.user_id = CAST(:userId AS UUID)) AND " +
-           "(CAST(:clusterId AS VARCHAR) IS NULL OR " +
-           "  (a.details IS NOT NULL AND a.details->>'cluster_id' = CAST(:clusterId AS VARCHAR)) OR " +
-           "  (a.resource_type = 'cluster' AND CAST(a.resource_id AS VARCHAR) = CAST(:clusterId AS VARCHAR))) AND " +
+           "(CAST(:clusterId AS UUID) IS NULL OR a.cluster_id = CAST(:clusterId AS UUID)) AND " +
            "(CAST(:action AS VARCHAR) IS NULL OR a.action = CAST(:action AS VARCHAR)) AND " +
            "(CAST(:resourceType AS VARCHAR) IS NULL OR a.resource_type = CAST(:resourceType AS VARCHAR)) AND " +
-           "(CAST(:startDate AS TIMESTAMP) IS NULL OR a.timestamp >= CAST(:startDate AS TIMESTAMP)) AND " +
-           "(CAST(:endDate AS TIMESTAMP) IS NULL OR a.timestamp <= CAST(:endDate AS TIMESTAMP)) " +
-           "ORDER BY a.timestamp DESC",
-           countQuery = "SELECT COUNT(*) FROM audit_logs a WHERE " +
-           "(CAST(:userId AS UUID) IS NULL OR a.user_id = CAST(:userId AS UUID)) AND " +
-           "(CAST(:clusterId AS VARCHAR) IS NULL OR " +
-           "  (a.details IS NOT NULL AND a.details->>'cluster_id' = CAST(:clusterId AS VARCHAR)) OR " +
-           "  (a.resource_type = 'cluster' AND CAST(a.resource_id AS VARCHAR) = CAST(:clusterId AS VARCHAR))) AND " +
-           "(CAST(:action AS VARCHAR) IS NULL OR a.action = CAST(:action AS VARCHAR)) AND " +
-           "(CAST(:resourceType AS VARCHAR) IS NULL OR a.resource_type = CAST(:resourceType AS VARCHAR)) AND " +
-           "(CAST(:startDate AS TIMESTAMP) IS NULL OR a.timestamp >= CAST(:startDate AS TIMESTAMP)) AND " +
-           "(CAST(:endDate AS TIMESTAMP) IS NULL OR a.timestamp <= CAST(:endDate AS TIMESTAMP))",
+           "(CAST(:startDate AS TIMESTAMPTZ) IS NULL OR a.timestamp >= CAST(:startDate AS TIMESTAMPTZ)) AND " +
+           "(CAST(:endDate AS TIMESTAMPTZ) IS NULL OR a.timestamp <= CAST(:endDate AS TIMESTAMPTZ))";
+
+    /**
+     * Offset-paginated filtered query. Deep pages and the exact count get slower as the table grows;
+     * prefer {@link #findPageWithFilters} for new callers.
+     */
+    @Query(value = "SELECT * FROM audit_logs a WHERE " + FILTER_CONDITIONS +
+           " ORDER BY a.timestamp DESC, a.id DESC",
+           countQuery = "SELECT COUNT(*) FROM audit_logs a WHERE " + FILTER_CONDITIONS,
            nativeQuery = true)
     Page<AuditLog> findWithFilters(
             @Param("userId") UUID userId,
@@ -50,18 +54,49 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
             @Param("endDate") Instant endDate,
             Pageable pageable);
 
-    @Query(value = "SELECT * FROM audit_logs a WHERE " +
-           "(CAST(:userId AS UUID) IS NULL OR a.user_id = CAST(:userId AS UUID)) AND " +
-           "(CAST(:clusterId AS VARCHAR) IS NULL OR " +
-           "  (a.details IS NOT NULL AND a.details->>'cluster_id' = CAST(:clusterId AS VARCHAR)) OR " +
-           "  (a.resource_type = 'cluster' AND CAST(a.resource_id AS VARCHAR) = CAST(:clusterId AS VARCHAR))) AND " +
-           "(CAST(:action AS VARCHAR) IS NULL OR a.action = CAST(:action AS VARCHAR)) AND " +
-           "(CAST(:resourceType AS VARCHAR) IS NULL OR a.resource_type = CAST(:resourceType AS VARCHAR)) AND " +
-           "(CAST(:startDate AS TIMESTAMP) IS NULL OR a.timestamp >= CAST(:startDate AS TIMESTAMP)) AND " +
-           "(CAST(:endDate AS TIMESTAMP) IS NULL OR a.timestamp <= CAST(:endDate AS TIMESTAMP)) " +
-           "ORDER BY a.timestamp DESC LIMIT 50000",
+    /**
+     * Keyset-paginated filtered query: up to {@code limit} rows strictly after the (timestamp, id)
+     * cursor in newest-first order, or the first rows when the cursor is null.
+     * Served by the (timestamp, id) index on each partition regardless of page depth.
+     */
+    @Query(value = "SELECT * FROM audit_logs a WHERE " + FILTER_CONDITIONS + " AND " +
+           "(CAST(:cursorTimestamp AS TIMESTAMPTZ) IS NULL OR " +
+           "  (a.timestamp, a.id) < (CAST(:cursorTimestamp AS TIMESTAMPTZ), CAST(:cursorId AS UUID))) " +
+           "ORDER BY a.timestamp DESC, a.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<AuditLog> findPageWithFilters(
+            @Param("userId") UUID userId,
+            @Param("clusterId") String clusterId,
+            @Param("action") String action,
+            @Param("resourceType") String resourceType,
+            @Param("startDate") Instant startDate,
+            @Param("endDate") Instant endDate,
+            @Param("cursorTimestamp") Instant cursorTimestamp,
+            @Param("cursorId") UUID cursorId,
+            @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM audit_logs a WHERE " + FILTER_CONDITIONS, nativeQuery = true)
+    long countWithFilters(
+            @Param("userId") UUID userId,
+            @Param("clusterId") String clusterId,
+            @Param("action") String action,
+            @Param("resourceType") String resourceType,
+            @Param("startDate") Instant startDate,
+            @Param("endDate") Instant endDate);
+
+    /**
+     * Stream matching audit logs for CSV export. Rows are fetched through a server-side cursor in
+     * batches of the fetch size, so callers must consume the stream inside a transaction and close it.
+     */
+    @Query(value = "SELECT * FROM audit_logs a WHERE " + FILTER_CONDITIONS +
+           " ORDER BY a.timestamp DESC, a.id DESC",
            nativeQuery = true)
-    List<AuditLog> findWithFiltersForExport(
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<AuditLog> streamWithFiltersForExport(
             @Param("userId") UUID userId,
             @Param("clusterId") String clusterId,
             @Param("action") String action,
@@ -2,10 +2,14 @@ package com.pgcluster.api.repository;
 
 import com.pgcluster.api.model.entity.Backup;
 import com.pgcluster.api.model.entity.Cluster;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -43,4 +47,76 @@ public interface BackupRepository extends JpaRepository<Backup, UUID> {
 
     @Query("SELECT DISTINCT b.cluster FROM Backup b WHERE b.status = 'completed'")
     List<Cluster> findClustersWithBackups();
+
+    // Used once the cluster's pgBackRest repository has been purged from S3. Transactional on its own
+    // because deletion runs from @Async code that never enters a service transaction.
+    @Transactional
+    @Modifying
+    @Query("UPDATE Backup b SET b.status = 'deleted' WHERE b.cluster = :cluster AND b.status <> 'deleted'")
+    int markAllDeleted(@Param("cluster") Cluster cluster);
+
+    // Same, for the orphan reconciler, which only knows the cluster ID from the S3 prefix
+    @Transactional
+    @Modifying
+    @Query("UPDATE Backup b SET b.status = 'deleted' WHERE b.cluster.id = :clusterId AND b.status <> 'deleted'")
+    int markAllDeletedByClusterId(@Param("clusterId") UUID clusterId);
+
+    // Backup scheduler queries
+    @Query("SELECT b FROM Backup b WHERE b.status = 'pending' AND b.scheduledAt IS NOT NULL ORDER BY b.scheduledAt ASC")
+    List<Backup> findQueuedScheduledBackups();
+
+    // Same rows, locked until the dispatch transaction commits so dispatchers on other instances
+    // wait and then count this one's claims against the concurrency caps
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Backup b WHERE b.status = 'pending' AND b.scheduledAt IS NOT NULL ORDER BY b.scheduledAt ASC")
+    List<Backup> lockQueuedScheduledBackups();
+
+    @Query("SELECT b FROM Backup b WHERE b.status = 'in_progress' AND b.startedAt > :since")
+    List<Backup> findRunningBackupsStartedAfter(@Param("since") Instant since);
+
+    @Modifying
+    @Query("UPDATE Backup b SET b.status = 'in_progress', b.currentStep = 'preparing', b.startedAt = :now " +
+           "WHERE b.id = :id AND b.status = 'pending'")
+    int claimPendingBackup(@Param("id") UUID id, @Param("now") Instant now);
+
+    // Backup verification queries
+    @Query("SELECT b FROM Backup b WHERE b.status = 'completed' AND b.cluster.status = 'running' " +
+           "AND b.pgbackrestLabel IS NOT NULL AND b.verifyStatus IS NULL " +
+           "AND NOT EXISTS (SELECT v FROM Backup v WHERE v.cluster = b.cluster AND v.verifiedAt > :since) " +
+           "ORDER BY b.completedAt DESC")
+    List<Backup> findVerificationCandidates(@Param("since") Instant since);
+
+    long countByVerifyStatus(String verifyStatus);
+
+    List<Backup> findTop5ByClusterAndVerifyStatusAndVerifyRestoreThroughputBytesPerSecIsNotNullOrderByVerifiedAtDesc(
+            Cluster cluster, String verifyStatus);
+
+    List<Backup> findTop20ByVerifyStatusAndVerifyRestoreThroughputBytesPerSecIsNotNullOrderByVerifiedAtDesc(
+            String verifyStatus);
+
+    @Modifying
+    @Query("UPDATE Backup b SET b.verifyStatus = 'running', b.verifiedAt = :now " +
+           "WHERE b.id = :id AND b.verifyStatus IS NULL")
+    int claimVerification(@Param("id") UUID id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE Backup b SET b.verifyStatus = 'failed', b.verifyError = 'Verification timed out' " +
+           "WHERE b.verifyStatus = 'running' AND b.verifiedAt < :cutoff")
+    int failStaleVerifications(@Param("cutoff") Instant cutoff);
+
+    // Writes only the verification columns: the test restore takes hours, and a save of the entity
+    // loaded at its start would overwrite status changes made since (deletion, expiry)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Backup b SET b.verifyStatus = :status, b.verifyError = :error, " +
+           "b.verifyDurationSeconds = :durationSeconds, b.verifyTableCount = :tableCount, " +
+           "b.verifyRowCount = :rowCount, b.verifyRestoreThroughputBytesPerSec = :throughput " +
+           "WHERE b.id = :id")
+    int recordVerification(@Param("id") UUID id,
+                           @Param("status") String status,
+                           @Param("error") String error,
+                           @Param("durationSeconds") Long durationSeconds,
+                           @Param("tableCount") Integer tableCount,
+                           @Param("rowCount") Long rowCount,
+                           @Param("throughput") Long throughput);
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,16 +36,35 @@ public interface ClusterRepository extends JpaRepository<Cluster, UUID> {
     // Admin queries
     long countByStatus(String status);
 
-    long countByStatusNot(String status);
-
-    @Query("SELECT c FROM Cluster c LEFT JOIN FETCH c.user WHERE c.status != 'deleted' ORDER BY c.createdAt DESC")
-    List<Cluster> findAllWithUser();
-
-    @Query("SELECT c FROM Cluster c LEFT JOIN FETCH c.user ORDER BY c.createdAt DESC")
-    List<Cluster> findAllWithUserIncludingDeleted();
-
     @Query("SELECT c FROM Cluster c LEFT JOIN FETCH c.user LEFT JOIN FETCH c.nodes WHERE c.id = :id")
     Optional<Cluster> findByIdWithUserAndNodes(@Param("id") UUID id);
 
-    List<Cluster> findByUserAndStatusNotOrderByCreatedAtDesc(User user, String status);
+    // Orphan reconciler queries: deleted clusters keep their rows, so these cover every cluster ever created
+    @Query("SELECT c.slug FROM Cluster c")
+    List<String> findAllSlugs();
+
+    @Query("SELECT c.slug FROM Cluster c WHERE c.status != 'deleted'")
+    List<String> findLiveSlugs();
+
+    @Query("SELECT c.id FROM Cluster c")
+    List<UUID> findAllIds();
+
+    @Query("SELECT c.id FROM Cluster c WHERE c.status != 'deleted'")
+    List<UUID> findLiveIds();
+
+    // Platform stats: the columns the in-memory counters are built from
+    interface StatsRow {
+        UUID getId();
+        String getStatus();
+        String getRegion();
+        String getNodeSize();
+        int getNodeCount();
+        int getStorageGb();
+        Instant getCreatedAt();
+    }
+
+    @Query("SELECT c.id AS id, c.status AS status, c.region AS region, c.nodeSize AS nodeSize, " +
+           "c.nodeCount AS nodeCount, c.storageGb AS storageGb, c.createdAt AS createdAt " +
+           "FROM Cluster c WHERE c.status != 'deleted'")
+    List<StatsRow> findLiveStatsRows();
 }
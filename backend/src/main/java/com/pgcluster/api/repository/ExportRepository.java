@@ -2,9 +2,15 @@ package com.pgcluster.api.repository;
 
 import com.pgcluster.api.model.entity.Cluster;
 import com.pgcluster.api.model.entity.Export;
+import com.pgcluster.api.model.entity.VpsNode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,4 +25,24 @@ public interface ExportRepository extends JpaRepository<Export, UUID> {
     Optional<Export> findByIdAndCluster(UUID id, Cluster cluster);
 
     long countByClusterAndStatus(Cluster cluster, String status);
+
+    Optional<Export> findFirstByClusterAndIncludeTablesAndWatermarkColumnAndStatusOrderByCreatedAtDesc(
+            Cluster cluster, String includeTables, String watermarkColumn, String status);
+
+    /**
+     * Nodes that exports updated since {@code since} dumped from, on clusters with no export
+     * pending or in progress since {@code activeSince}.
+     */
+    @Query("SELECT DISTINCT n FROM Export e JOIN e.cluster c JOIN c.nodes n " +
+           "WHERE n.name = e.sourceNode AND e.updatedAt > :since AND c.status NOT IN ('deleting', 'deleted') " +
+           "AND NOT EXISTS (SELECT a FROM Export a WHERE a.cluster = c " +
+           "AND a.status IN ('pending', 'in_progress') AND a.updatedAt > :activeSince)")
+    List<VpsNode> findIdleExportSourceNodes(@Param("since") Instant since, @Param("activeSince") Instant activeSince);
+
+    // Used once the cluster's exports have been purged from S3. Export rows go with their file,
+    // as when one is deleted by hand.
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Export e WHERE e.cluster.id = :clusterId")
+    int deleteByClusterId(@Param("clusterId") UUID clusterId);
 }
@@ -33,4 +33,10 @@ public interface RestoreJobRepository extends JpaRepository<RestoreJob, UUID> {
 
     @Query("SELECT r FROM RestoreJob r WHERE r.sourceCluster.id = :clusterId AND r.status IN ('pending', 'in_progress')")
     List<RestoreJob> findPendingJobsForCluster(@Param("clusterId") UUID clusterId);
+
+    // Restore time estimation: observed throughput and timings of finished restores
+    List<RestoreJob> findTop5BySourceClusterAndStatusAndThroughputBytesPerSecIsNotNullOrderByCompletedAtDesc(
+            Cluster sourceCluster, String status);
+
+    List<RestoreJob> findTop20ByStatusAndThroughputBytesPerSecIsNotNullOrderByCompletedAtDesc(String status);
 }
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +19,9 @@ public interface SshHostKeyRepository extends JpaRepository<SshHostKey, UUID> {
 
     boolean existsByHost(String host);
 
+    @Query("SELECT k.host FROM SshHostKey k")
+    List<String> findAllHosts();
+
     @Modifying
     @Query("DELETE FROM SshHostKey k WHERE k.host = :host")
     void deleteByHost(@Param("host") String host);
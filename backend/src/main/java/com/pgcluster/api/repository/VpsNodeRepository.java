@@ -3,6 +3,7 @@ package com.pgcluster.api.repository;
 import com.pgcluster.api.model.entity.Cluster;
 import com.pgcluster.api.model.entity.VpsNode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +22,7 @@ public interface VpsNodeRepository extends JpaRepository<VpsNode, UUID> {
     List<VpsNode> findByStatus(String status);
 
     Optional<VpsNode> findByClusterAndRole(Cluster cluster, String role);
+
+    @Query("SELECT n.publicIp FROM VpsNode n WHERE n.cluster.status != 'deleted' AND n.publicIp IS NOT NULL")
+    List<String> findLivePublicIps();
 }
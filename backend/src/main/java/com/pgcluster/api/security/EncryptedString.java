@@ -0,0 +1,86 @@
+package com.pgcluster.api.security;
+
+import org.hibernate.annotations.Immutable;
+
+import java.util.Objects;
+
+/**
+ * Encrypted field value that is only decrypted when read.
+ *
+ * Values loaded from the database keep their ciphertext and decrypt on the first {@link #get()},
+ * so entities loaded for listings never pay for secrets they don't return, and unchanged values
+ * are written back as-is instead of being re-encrypted. Immutable, so Hibernate dirty-checks it
+ * by reference rather than snapshotting it through the converter.
+ */
+@Immutable
+public final class EncryptedString {
+
+    private final String ciphertext;
+    private final FieldEncryptor fieldEncryptor;
+    private volatile String plaintext;
+
+    private EncryptedString(String ciphertext, FieldEncryptor fieldEncryptor, String plaintext) {
+        this.ciphertext = ciphertext;
+        this.fieldEncryptor = fieldEncryptor;
+        this.plaintext = plaintext;
+    }
+
+    /**
+     * Wrap a plaintext value; it is encrypted when written to the database.
+     */
+    public static EncryptedString of(String plaintext) {
+        return plaintext != null ? new EncryptedString(null, null, plaintext) : null;
+    }
+
+    static EncryptedString fromDatabase(String ciphertext, FieldEncryptor fieldEncryptor) {
+        return new EncryptedString(ciphertext, fieldEncryptor, null);
+    }
+
+    /**
+     * The plaintext, decrypted on first access.
+     */
+    public String get() {
+        String value = plaintext;
+        if (value == null) {
+            value = fieldEncryptor.decrypt(ciphertext);
+            plaintext = value;
+        }
+        return value;
+    }
+
+    String ciphertext() {
+        return ciphertext;
+    }
+
+    boolean isDecrypted() {
+        return plaintext != null;
+    }
+
+    /**
+     * Loaded values compare by ciphertext and new values by plaintext, so comparing never decrypts.
+     * A loaded value and a new one are never equal, even if they hold the same secret.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EncryptedString other)) {
+            return false;
+        }
+        if (ciphertext != null || other.ciphertext != null) {
+            return Objects.equals(ciphertext, other.ciphertext);
+        }
+        return Objects.equals(plaintext, other.plaintext);
+    }
+
+    @Override
+    public int hashCode() {
+        return ciphertext != null ? ciphertext.hashCode() : Objects.hashCode(plaintext);
+    }
+
+    @Override
+    public String toString() {
+        return "EncryptedString[****]";
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Base64;
 /**
  * AES-256-GCM field-level encryption for sensitive data like passwords.
  * Each encryption operation uses a unique IV for security.
+ * Cipher instances are reused per thread; every operation re-initializes them with a fresh IV.
  */
 @Slf4j
 @Component
@@ -31,6 +32,15 @@ public class FieldEncryptor {
     private SecretKey secretKey;
     private final SecureRandom secureRandom = new SecureRandom();
 
+    // Cipher.getInstance does a provider lookup on every call; Cipher itself isn't thread-safe
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(ALGORITHM);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cipher " + ALGORITHM + " not available", e);
+        }
+    });
+
     @PostConstruct
     public void init() {
         if (base64Key == null || base64Key.isBlank()) {
@@ -76,7 +86,7 @@ public class FieldEncryptor {
             secureRandom.nextBytes(iv);
 
             // Initialize cipher
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
+            Cipher cipher = CIPHER.get();
             GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
             cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
 
@@ -116,7 +126,7 @@ public class FieldEncryptor {
             byteBuffer.get(ciphertext);
 
             // Initialize cipher
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
+            Cipher cipher = CIPHER.get();
             GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
             cipher.init(Cipher.DECRYPT_MODE, secretKey, parameterSpec);
 
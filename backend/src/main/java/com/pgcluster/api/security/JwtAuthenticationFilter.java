@@ -2,6 +2,7 @@ package com.pgcluster.api.security;
 
 import com.pgcluster.api.model.entity.User;
 import com.pgcluster.api.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,6 +28,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -42,10 +44,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                UUID userId = tokenProvider.getUserIdFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.validateAndGetClaims(jwt) : null;
 
-                User user = userRepository.findById(userId).orElse(null);
+            if (claims != null) {
+                UUID userId = UUID.fromString(claims.getSubject());
+
+                User user = principalCache.get(userId, id -> userRepository.findById(id).orElse(null));
 
                 if (user != null && user.isActive()) {
                     var authorities = Collections.singletonList(
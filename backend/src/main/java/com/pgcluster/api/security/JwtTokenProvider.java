@@ -5,12 +5,19 @@ import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
@@ -22,8 +29,26 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    // Verified tokens are kept until they expire, so polling clients skip signature verification
+    @Value("${jwt.verification-cache.max-entries:10000}")
+    private int verificationCacheMaxEntries;
+
     private SecretKey key;
 
+    private final RevokedTokenStore revokedTokenStore;
+
+    // Keyed by SHA-256 of the token so raw bearer tokens aren't held in memory
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    // Logged-out tokens (hash -> expiry millis), rejected until they would have expired anyway.
+    // Shared with other instances through the RevokedTokenStore.
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {}
+
+    public JwtTokenProvider(RevokedTokenStore revokedTokenStore) {
+        this.revokedTokenStore = revokedTokenStore;
+    }
+
     @PostConstruct
     public void init() {
         // Validate JWT secret is properly configured
@@ -70,6 +95,84 @@ public class JwtTokenProvider {
                 .getPayload();
     }
 
+    /**
+     * Validate a token and return its claims in a single pass, or null if the token is invalid,
+     * expired or revoked. Tokens that verified before are served from the cache until they expire.
+     */
+    public Claims validateAndGetClaims(String token) {
+        if (token == null || token.isBlank()) {
+            log.error("JWT claims string is empty");
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        String tokenHash = hash(token);
+        Long revokedUntil = revokedTokens.get(tokenHash);
+        if (revokedUntil != null && now < revokedUntil) {
+            log.debug("Rejected revoked JWT token");
+            return null;
+        }
+
+        VerifiedToken cached = verifiedTokens.get(tokenHash);
+        if (cached != null) {
+            if (now < cached.expiresAtMillis()) {
+                return cached.claims();
+            }
+            verifiedTokens.remove(tokenHash);
+        }
+
+        Claims claims = parseAndVerify(token);
+        if (claims != null && claims.getExpiration() != null && verificationCacheMaxEntries > 0) {
+            if (verifiedTokens.size() >= verificationCacheMaxEntries) {
+                evictExpired(now);
+            }
+            verifiedTokens.put(tokenHash, new VerifiedToken(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
+    }
+
+    /**
+     * Reject a token from now until its expiry (logout), on this instance and all others.
+     * Invalid tokens are ignored.
+     */
+    public void revokeToken(String token) {
+        Claims claims = validateAndGetClaims(token);
+        if (claims == null || claims.getExpiration() == null) {
+            return;
+        }
+        String tokenHash = hash(token);
+        long expiresAt = claims.getExpiration().getTime();
+        revokeLocal(tokenHash, expiresAt);
+        revokedTokenStore.save(tokenHash, expiresAt);
+    }
+
+    /**
+     * Load revocations made by any instance, at startup and whenever broadcasts may have been missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        try {
+            Map<String, Long> revoked = revokedTokenStore.findActive();
+            revoked.forEach(this::revokeLocal);
+            log.debug("Loaded {} token revocation(s)", revoked.size());
+        } catch (Exception e) {
+            log.warn("Failed to load token revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reject a token on this instance only, identified by its hash.
+     */
+    void revokeLocal(String tokenHash, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        revokedTokens.put(tokenHash, expiresAtMillis);
+        verifiedTokens.remove(tokenHash);
+    }
+
     public String getRoleFromToken(String token) {
         Claims claims = getAllClaims(token);
         return claims.get("role", String.class);
@@ -81,32 +184,30 @@ public class JwtTokenProvider {
     }
 
     public UUID getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
+        Claims claims = getAllClaims(token);
         return UUID.fromString(claims.getSubject());
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
+        Claims claims = getAllClaims(token);
         return claims.get("email", String.class);
     }
 
     public boolean validateToken(String token) {
+        return validateAndGetClaims(token) != null;
+    }
+
+    public long getExpirationMs() {
+        return jwtExpiration;
+    }
+
+    int verificationCacheSize() {
+        return verifiedTokens.size();
+    }
+
+    private Claims parseAndVerify(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return getAllClaims(token);
         } catch (io.jsonwebtoken.security.SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -118,10 +219,23 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
 
-    public long getExpirationMs() {
-        return jwtExpiration;
+    private void evictExpired(long now) {
+        verifiedTokens.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        if (verifiedTokens.size() >= verificationCacheMaxEntries) {
+            // Still full of live tokens; start over rather than track recency
+            verifiedTokens.clear();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
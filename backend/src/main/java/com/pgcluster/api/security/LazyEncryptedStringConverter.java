@@ -0,0 +1,44 @@
+package com.pgcluster.api.security;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA AttributeConverter for encrypted fields that are decrypted on demand.
+ * Reads keep the ciphertext in an {@link EncryptedString}; writes reuse the stored ciphertext
+ * unless the value was replaced.
+ *
+ * Usage: Add @Convert(converter = LazyEncryptedStringConverter.class) to EncryptedString entity fields.
+ */
+@Converter
+@Component
+public class LazyEncryptedStringConverter implements AttributeConverter<EncryptedString, String> {
+
+    private static FieldEncryptor fieldEncryptor;
+
+    @Autowired
+    public void setFieldEncryptor(FieldEncryptor encryptor) {
+        LazyEncryptedStringConverter.fieldEncryptor = encryptor;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(EncryptedString attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        if (attribute.ciphertext() != null) {
+            return attribute.ciphertext();
+        }
+        return fieldEncryptor.encrypt(attribute.get());
+    }
+
+    @Override
+    public EncryptedString convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        return EncryptedString.fromDatabase(dbData, fieldEncryptor);
+    }
+}
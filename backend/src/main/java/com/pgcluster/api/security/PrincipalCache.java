@@ -0,0 +1,122 @@
+package com.pgcluster.api.security;
+
+import com.pgcluster.api.model.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated users, so JWT authentication doesn't query the users table
+ * on every request (the dashboard polls every few seconds per tab).
+ *
+ * Entries expire after the TTL and are evicted explicitly when an admin changes a user's status,
+ * role or password. Evictions are broadcast to the other control plane instances with
+ * Postgres NOTIFY and picked up by {@link PrincipalCacheListener}.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    public static final String NOTIFY_CHANNEL = "principal_cache_invalidation";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${security.principal-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${security.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    private record Entry(User user, long expiresAtNanos) {}
+
+    public PrincipalCache(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Get a copy of the cached user, loading it on a miss. Unknown users are not cached.
+     */
+    public User get(UUID userId, Function<UUID, User> loader) {
+        if (ttlSeconds <= 0) {
+            return loader.apply(userId);
+        }
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.expiresAtNanos() < 0) {
+            return snapshot(entry.user());
+        }
+
+        User user = loader.apply(userId);
+        if (user == null) {
+            entries.remove(userId);
+            return null;
+        }
+        if (entries.size() >= maxEntries) {
+            evictExpired(now);
+        }
+        entries.put(userId, new Entry(snapshot(user), now + ttlSeconds * 1_000_000_000L));
+        return user;
+    }
+
+    /**
+     * Evict a user on this instance and, once the surrounding transaction commits, on all others.
+     */
+    public void invalidate(UUID userId) {
+        evictLocal(userId);
+        if (datasourceUrl.startsWith("jdbc:postgresql:")) {
+            try {
+                // NOTIFY is delivered on commit, after the user change is visible
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, NOTIFY_CHANNEL, userId.toString());
+            } catch (Exception e) {
+                log.warn("Failed to broadcast principal cache invalidation for {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    void evictLocal(UUID userId) {
+        entries.remove(userId);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        entries.entrySet().removeIf(e -> now - e.getValue().expiresAtNanos() >= 0);
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Each request gets its own copy so changes to a principal never leak into the cache.
+     */
+    private static User snapshot(User user) {
+        return User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .passwordHash(user.getPasswordHash())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .role(user.getRole())
+                .active(user.isActive())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+}
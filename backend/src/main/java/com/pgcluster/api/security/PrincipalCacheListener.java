@@ -0,0 +1,124 @@
+package com.pgcluster.api.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Applies principal cache invalidations and token revocations broadcast by other control plane instances.
+ *
+ * Holds one dedicated connection (outside the Hikari pool, so it isn't reported as a leak) that
+ * LISTENs on {@link PrincipalCache#NOTIFY_CHANNEL} and {@link RevokedTokenStore#NOTIFY_CHANNEL}.
+ * Whenever the connection drops, the whole cache is cleared and revocations are reloaded because
+ * notifications may have been missed, and the listener reconnects.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheListener {
+
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final PrincipalCache principalCache;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final DataSourceProperties dataSourceProperties;
+
+    @Value("${security.principal-cache.listen.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @PostConstruct
+    public void start() {
+        String url = dataSourceProperties.determineUrl();
+        if (!enabled || url == null || !url.startsWith("jdbc:postgresql:")) {
+            log.debug("Principal cache invalidation listener not started");
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::run, "principal-cache-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + PrincipalCache.NOTIFY_CHANNEL);
+                    statement.execute("LISTEN " + RevokedTokenStore.NOTIFY_CHANNEL);
+                }
+                // Anything cached before LISTEN took effect may have missed an invalidation
+                principalCache.clear();
+                jwtTokenProvider.loadRevocations();
+                log.info("Listening for principal cache invalidations and token revocations");
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        if (RevokedTokenStore.NOTIFY_CHANNEL.equals(notification.getName())) {
+                            revoke(notification.getParameter());
+                        } else {
+                            evict(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                principalCache.clear();
+                log.warn("Principal cache listener disconnected, retrying in {}ms: {}", RECONNECT_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void revoke(String payload) {
+        String[] parts = payload.split(":", 2);
+        try {
+            jwtTokenProvider.revokeLocal(parts[1], Long.parseLong(parts[0]));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring invalid token revocation payload");
+        }
+    }
+
+    private void evict(String payload) {
+        try {
+            principalCache.evictLocal(UUID.fromString(payload));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid principal cache invalidation payload: {}", payload);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.pgcluster.api.security;
+
+import com.pgcluster.api.model.entity.RevokedToken;
+import com.pgcluster.api.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Revoked (logged-out) tokens shared by all control plane instances.
+ *
+ * Revocations are stored until the token expires, so an instance that starts later or missed a
+ * notification can load them, and are broadcast with Postgres NOTIFY so running instances reject
+ * the token right away (picked up by {@link PrincipalCacheListener}).
+ */
+@Slf4j
+@Component
+public class RevokedTokenStore {
+
+    public static final String NOTIFY_CHANNEL = "token_revocation";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    public RevokedTokenStore(RevokedTokenRepository revokedTokenRepository, JdbcTemplate jdbcTemplate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Store a revocation and notify the other instances.
+     */
+    public void save(String tokenHash, long expiresAtMillis) {
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenHash(tokenHash)
+                .expiresAt(Instant.ofEpochMilli(expiresAtMillis))
+                .build());
+        if (datasourceUrl.startsWith("jdbc:postgresql:")) {
+            try {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, NOTIFY_CHANNEL, payload(tokenHash, expiresAtMillis));
+            } catch (Exception e) {
+                // Stored, so other instances still pick it up when their listener reconnects
+                log.warn("Failed to broadcast token revocation: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Revocations of tokens that haven't expired yet (hash -> expiry millis).
+     */
+    public Map<String, Long> findActive() {
+        Map<String, Long> revoked = new HashMap<>();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(Instant.now())) {
+            revoked.put(token.getTokenHash(), token.getExpiresAt().toEpochMilli());
+        }
+        return revoked;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocations.purge-interval-ms:3600000}",
+               initialDelayString = "${jwt.revocations.purge-interval-ms:3600000}")
+    public void deleteExpired() {
+        try {
+            int deleted = revokedTokenRepository.deleteExpired(Instant.now());
+            if (deleted > 0) {
+                log.debug("Deleted {} expired token revocation(s)", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to delete expired token revocations: {}", e.getMessage());
+        }
+    }
+
+    static String payload(String tokenHash, long expiresAtMillis) {
+        return expiresAtMillis + ":" + tokenHash;
+    }
+}
@@ -1,10 +1,12 @@
 package com.pgcluster.api.service;
 
+import com.pgcluster.api.event.BackupConfigRolloutRequestedEvent;
 import com.pgcluster.api.event.ClusterDeleteRequestedEvent;
 import com.pgcluster.api.exception.ApiException;
 import com.pgcluster.api.model.dto.*;
 import com.pgcluster.api.model.entity.*;
 import com.pgcluster.api.repository.*;
+import com.pgcluster.api.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -13,6 +15,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -22,6 +27,9 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AdminService {
 
+    // Also caps the clusters listed on a user's detail page
+    private static final int MAX_CLUSTER_PAGE_SIZE = 200;
+
     private final ClusterRepository clusterRepository;
     private final UserRepository userRepository;
     private final BackupRepository backupRepository;
@@ -35,40 +43,65 @@ public class AdminService {
     private final VpsNodeRepository vpsNodeRepository;
     private final SshService sshService;
     private final PatroniService patroniService;
+    private final PrincipalCache principalCache;
+    private final AdminClusterQueryRepository adminClusterQueryRepository;
+    private final PlatformStatsService platformStatsService;
 
     /**
-     * Get platform-wide statistics (excludes deleted clusters)
+     * Get platform-wide statistics (excludes deleted clusters), served from memory
      */
-    @Transactional(readOnly = true)
     public AdminStatsResponse getStats() {
-        long totalClusters = clusterRepository.countByStatusNot(Cluster.STATUS_DELETED);
-        long runningClusters = clusterRepository.countByStatus(Cluster.STATUS_RUNNING);
-        long totalUsers = userRepository.count();
+        PlatformStatsService.Snapshot stats = platformStatsService.getSnapshot();
 
         return AdminStatsResponse.builder()
-                .totalClusters(totalClusters)
-                .runningClusters(runningClusters)
-                .totalUsers(totalUsers)
+                .totalClusters(stats.totalClusters())
+                .runningClusters(stats.clusters(Cluster.STATUS_RUNNING))
+                .totalUsers(stats.totalUsers())
+                .clustersByStatus(stats.clustersByStatus())
+                .clustersByRegion(stats.clustersByRegion())
+                .clustersByNodeSize(stats.clustersByNodeSize())
+                .totalNodes(stats.totalNodes())
+                .provisionedStorageGb(stats.provisionedStorageGb())
+                .provisioningP50Seconds(stats.provisioningP50Seconds())
+                .provisioningP95Seconds(stats.provisioningP95Seconds())
+                .provisioningSamples(stats.provisioningSamples())
+                .reconciledAt(stats.reconciledAt())
                 .build();
     }
 
     /**
-     * List all clusters across all users
-     * @param includeDeleted if true, includes deleted clusters for audit purposes
+     * List clusters across all users, one keyset-paginated page at a time.
+     * Rows come from a projection query, so no entities are loaded and no passwords decrypted.
+     *
+     * @param sort   created_at, name or status
+     * @param cursor next_cursor of the previous page, or null for the first page
      */
     @Transactional(readOnly = true)
-    public AdminClusterListResponse listAllClusters(boolean includeDeleted) {
-        List<Cluster> clusters = includeDeleted
-                ? clusterRepository.findAllWithUserIncludingDeleted()
-                : clusterRepository.findAllWithUser();
+    public AdminClusterListResponse listAllClusters(AdminClusterFilter filter, String sort, boolean ascending,
+                                                    String cursor, int size) {
+        AdminClusterQueryRepository.Sort sortBy = AdminClusterQueryRepository.Sort.parse(sort);
+        int pageSize = Math.max(1, Math.min(size, MAX_CLUSTER_PAGE_SIZE));
+        AdminClusterCursor after = cursor != null && !cursor.isBlank() ? AdminClusterCursor.decode(cursor) : null;
+        if (after != null && (after.sort() != sortBy || after.ascending() != ascending)) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
 
-        List<AdminClusterResponse> responses = clusters.stream()
-                .map(AdminClusterResponse::fromEntity)
-                .toList();
+        List<AdminClusterResponse> clusters = adminClusterQueryRepository.findPage(filter, sortBy, ascending,
+                after != null ? after.sortValue() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        boolean hasMore = clusters.size() > pageSize;
+        List<AdminClusterResponse> page = hasMore ? clusters.subList(0, pageSize) : clusters;
+        AdminClusterResponse last = page.isEmpty() ? null : page.get(page.size() - 1);
 
         return AdminClusterListResponse.builder()
-                .clusters(responses)
-                .count(responses.size())
+                .clusters(page)
+                .count(page.size())
+                .size(pageSize)
+                .totalElements(adminClusterQueryRepository.count(filter))
+                .nextCursor(hasMore && last != null ? AdminClusterCursor.after(last, sortBy, ascending).encode() : null)
+                .hasMore(hasMore)
                 .build();
     }
 
@@ -145,10 +178,13 @@ public class AdminService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
 
-        List<Cluster> userClusters = clusterRepository.findByUserAndStatusNotOrderByCreatedAtDesc(user, Cluster.STATUS_DELETED);
-        List<AdminClusterResponse> clusterResponses = userClusters.stream()
-                .map(AdminClusterResponse::fromEntity)
-                .toList();
+        AdminClusterFilter filter = new AdminClusterFilter();
+        filter.setOwnerId(user.getId());
+        List<AdminClusterResponse> clusterResponses = adminClusterQueryRepository.findPage(filter,
+                AdminClusterQueryRepository.Sort.CREATED_AT, false, null, null, MAX_CLUSTER_PAGE_SIZE);
+        long clusterCount = clusterResponses.size() < MAX_CLUSTER_PAGE_SIZE
+                ? clusterResponses.size()
+                : adminClusterQueryRepository.count(filter);
 
         return AdminUserDetailResponse.builder()
                 .id(user.getId())
@@ -160,7 +196,7 @@ public class AdminService {
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
                 .clusters(clusterResponses)
-                .clusterCount(clusterResponses.size())
+                .clusterCount((int) clusterCount)
                 .build();
     }
 
@@ -178,6 +214,7 @@ public class AdminService {
 
         user.setActive(false);
         user = userRepository.save(user);
+        principalCache.invalidate(user.getId());
         log.info("Admin {} disabled user: {}", admin.getEmail(), user.getEmail());
 
         auditLogService.log(AuditLog.USER_DISABLED, admin, "user", user.getId(),
@@ -196,6 +233,7 @@ public class AdminService {
 
         user.setActive(true);
         user = userRepository.save(user);
+        principalCache.invalidate(user.getId());
         log.info("Admin {} enabled user: {}", admin.getEmail(), user.getEmail());
 
         auditLogService.log(AuditLog.USER_ENABLED, admin, "user", user.getId(),
@@ -219,6 +257,7 @@ public class AdminService {
 
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCache.invalidate(user.getId());
         log.info("Admin {} reset password for user: {}", admin.getEmail(), user.getEmail());
 
         auditLogService.log(AuditLog.USER_PASSWORD_RESET, admin, "user", user.getId(),
@@ -337,6 +376,23 @@ public class AdminService {
                 Map.of("cluster_slug", cluster.getSlug(), "admin_action", true));
     }
 
+    /**
+     * Push the current pgBackRest config (including the per-server-type tuning profile)
+     * to all running clusters. Runs asynchronously after commit.
+     */
+    @Transactional
+    public void rolloutBackupConfig(User admin) {
+        long runningClusters = clusterRepository.countByStatus(Cluster.STATUS_RUNNING);
+
+        log.info("Admin {} requested pgBackRest config rollout to {} running clusters",
+                admin.getEmail(), runningClusters);
+
+        auditLogService.log(AuditLog.BACKUP_CONFIG_ROLLOUT, admin, "cluster", null,
+                Map.of("running_clusters", runningClusters, "admin_action", true));
+
+        eventPublisher.publishEvent(new BackupConfigRolloutRequestedEvent(this));
+    }
+
     /**
      * Get cluster exports as admin (for any cluster)
      */
@@ -462,4 +518,38 @@ public class AdminService {
                 .nodes(nodeHealths)
                 .build();
     }
+
+    /**
+     * Position of the last row of a cluster page in (sort column, id) order, encoded as URL-safe base64.
+     * The sort value goes last since names may contain the separator.
+     */
+    record AdminClusterCursor(AdminClusterQueryRepository.Sort sort, boolean ascending, Object sortValue, UUID id) {
+
+        static AdminClusterCursor after(AdminClusterResponse cluster, AdminClusterQueryRepository.Sort sort,
+                                        boolean ascending) {
+            Object value = switch (sort) {
+                case CREATED_AT -> cluster.getCreatedAt();
+                case NAME -> cluster.getName();
+                case STATUS -> cluster.getStatus();
+            };
+            return new AdminClusterCursor(sort, ascending, value, cluster.getId());
+        }
+
+        String encode() {
+            String raw = sort + "|" + (ascending ? "asc" : "desc") + "|" + id + "|" + sortValue;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static AdminClusterCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|", 4);
+                AdminClusterQueryRepository.Sort sort = AdminClusterQueryRepository.Sort.valueOf(parts[0]);
+                Object value = sort == AdminClusterQueryRepository.Sort.CREATED_AT ? Instant.parse(parts[3]) : parts[3];
+                return new AdminClusterCursor(sort, "asc".equals(parts[1]), value, UUID.fromString(parts[2]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cluster cursor");
+            }
+        }
+    }
 }
@@ -0,0 +1,147 @@
+package com.pgcluster.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of the audit_logs table (see V25 migration).
+ *
+ * Creates partitions for the current month and a few months ahead so inserts never land in the
+ * default partition, and detaches (optionally drops) partitions older than the retention period.
+ * Only runs on the database primary, like DnsSyncService.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditLogPartitionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("^audit_logs_y(\\d{4})m(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.partitions.enabled:false}")
+    private boolean enabled;
+
+    @Value("${audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 keeps every partition
+    @Value("${audit.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    // Detached partitions are kept as standalone tables for archiving unless this is set
+    @Value("${audit.partitions.drop-expired:false}")
+    private boolean dropExpired;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${audit.partitions.cron:0 30 1 * * *}")
+    public void maintainPartitions() {
+        if (!enabled || !isLocalNodeLeader() || !isPartitioned()) {
+            return;
+        }
+
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        if (retentionMonths > 0) {
+            applyRetention(current.minusMonths(retentionMonths));
+        }
+    }
+
+    void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF audit_logs " +
+                    "FOR VALUES FROM ('" + from + " 00:00:00+00') TO ('" + to + " 00:00:00+00')");
+        } catch (Exception e) {
+            // Usually rows for that month already sit in the default partition
+            log.warn("Failed to create audit log partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Detach (and optionally drop) every monthly partition that ends on or before the first
+     * month that is still retained.
+     */
+    void applyRetention(YearMonth oldestRetained) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'audit_logs'", String.class);
+
+        for (String partition : partitions) {
+            YearMonth month = parsePartitionMonth(partition);
+            if (month == null || !month.isBefore(oldestRetained)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition);
+                if (dropExpired) {
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                    log.info("Dropped expired audit log partition {}", partition);
+                } else {
+                    log.info("Detached expired audit log partition {}", partition);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to expire audit log partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("audit_logs_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    static YearMonth parsePartitionMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    private boolean isPartitioned() {
+        try {
+            Boolean partitioned = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt " +
+                    "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = 'audit_logs')", Boolean.class);
+            return Boolean.TRUE.equals(partitioned);
+        } catch (Exception e) {
+            log.debug("Could not check audit_logs partitioning: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isLocalNodeLeader() {
+        try {
+            Boolean isInRecovery = jdbcTemplate.queryForObject(
+                "SELECT pg_is_in_recovery()", Boolean.class);
+            return isInRecovery != null && !isInRecovery;
+        } catch (Exception e) {
+            log.debug("Could not determine leader status: {}", e.getMessage());
+            return false;
+        }
+    }
+}
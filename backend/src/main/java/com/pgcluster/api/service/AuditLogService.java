@@ -6,22 +6,34 @@ import com.pgcluster.api.model.dto.AuditLogResponse;
 import com.pgcluster.api.model.entity.AuditLog;
 import com.pgcluster.api.model.entity.User;
 import com.pgcluster.api.repository.AuditLogRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -29,12 +41,19 @@ import java.util.UUID;
 public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
+    private final EntityManager entityManager;
+    private final AuditLogWriter auditLogWriter;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    // Below this many estimated rows the count is cheap enough to run exactly
+    @Value("${audit.count.exact-threshold:10000}")
+    private long exactCountThreshold;
 
     /**
-     * Log an audit event asynchronously to avoid blocking the main request.
+     * Log an audit event without blocking the main request (entries are written in batches by {@link AuditLogWriter}).
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logAsync(String action, User user, String resourceType, UUID resourceId, Map<String, Object> details) {
         doLog(action, user, resourceType, resourceId, details);
     }
@@ -43,8 +62,6 @@ public class AuditLogService {
      * Log an audit event asynchronously with pre-captured IP and user-agent.
      * Use this when calling from async context where HTTP request context is lost.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logAsync(String action, User user, String resourceType, UUID resourceId, Map<String, Object> details, String ipAddress, String userAgent) {
         doLogWithIp(action, user, resourceType, resourceId, details, ipAddress, userAgent);
     }
@@ -74,9 +91,9 @@ public class AuditLogService {
     }
 
     /**
-     * Log an audit event synchronously.
+     * Log an audit event. The entry is handed to {@link AuditLogWriter}, which commits it
+     * independently of the caller's transaction.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void log(String action, User user, String resourceType, UUID resourceId, Map<String, Object> details) {
         doLog(action, user, resourceType, resourceId, details);
     }
@@ -117,20 +134,39 @@ public class AuditLogService {
                 .action(action)
                 .resourceType(resourceType)
                 .resourceId(resourceId)
+                .clusterId(resolveClusterId(resourceType, resourceId, details))
                 .details(details)
                 .ipAddress(ipAddress)
                 .userAgent(userAgent)
                 .build();
 
-        auditLogRepository.save(auditLog);
-        log.debug("Audit log saved: action={}, user={}, resource={}/{}",
+        auditLogWriter.write(auditLog);
+        log.debug("Audit log queued: action={}, user={}, resource={}/{}",
                 action, user != null ? user.getEmail() : "anonymous", resourceType, resourceId);
     }
 
+    /**
+     * Cluster an entry relates to: the resource itself for cluster actions, otherwise the
+     * cluster_id recorded in the details (backups, exports, restores).
+     */
+    private UUID resolveClusterId(String resourceType, UUID resourceId, Map<String, Object> details) {
+        if ("cluster".equals(resourceType) && resourceId != null) {
+            return resourceId;
+        }
+        Object clusterId = details != null ? details.get("cluster_id") : null;
+        if (clusterId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(clusterId.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
      * Log authentication event (used when user may not be authenticated yet).
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logAuth(String action, String email, boolean success, String failureReason) {
         try {
             String ipAddress = null;
@@ -157,14 +193,15 @@ public class AuditLogService {
                     .userAgent(userAgent)
                     .build();
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.write(auditLog);
         } catch (Exception e) {
             log.error("Failed to save auth audit log: {}", e.getMessage());
         }
     }
 
     /**
-     * Get paginated audit logs with filters.
+     * Get offset-paginated audit logs with filters and an exact count.
+     * Kept for page-number clients; {@link #getAuditLogsPage} stays fast at any depth.
      */
     @Transactional(readOnly = true)
     public AuditLogListResponse getAuditLogs(AuditLogFilterRequest filter, int page, int size) {
@@ -193,43 +230,169 @@ public class AuditLogService {
                 .build();
     }
 
+    /**
+     * Get a page of audit logs with keyset pagination.
+     * Pages are addressed by an opaque (timestamp, id) cursor, so each page costs an index range scan
+     * regardless of depth. With estimated counting the total comes from the query planner and is
+     * only counted exactly when the estimate is small enough for COUNT(*) to be cheap.
+     *
+     * @param cursor next_cursor of the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public AuditLogListResponse getAuditLogsPage(AuditLogFilterRequest filter, String cursor, int size,
+                                                 boolean estimateCount) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        AuditLogCursor after = cursor != null && !cursor.isBlank() ? AuditLogCursor.decode(cursor) : null;
+        String clusterId = filter.getClusterId() != null ? filter.getClusterId().toString() : null;
+
+        List<AuditLog> logs = auditLogRepository.findPageWithFilters(
+                filter.getUserId(),
+                clusterId,
+                filter.getAction(),
+                filter.getResourceType(),
+                filter.getStartDate(),
+                filter.getEndDate(),
+                after != null ? after.timestamp() : null,
+                after != null ? after.id() : null,
+                pageSize + 1
+        );
+
+        boolean hasMore = logs.size() > pageSize;
+        List<AuditLog> pageLogs = hasMore ? logs.subList(0, pageSize) : logs;
+
+        long total = -1;
+        boolean estimated = false;
+        if (estimateCount) {
+            long estimate = estimateFilteredCount(filter, clusterId);
+            if (estimate >= exactCountThreshold) {
+                total = estimate;
+                estimated = true;
+            }
+        }
+        if (total < 0) {
+            total = auditLogRepository.countWithFilters(filter.getUserId(), clusterId, filter.getAction(),
+                    filter.getResourceType(), filter.getStartDate(), filter.getEndDate());
+        }
+
+        AuditLog last = pageLogs.isEmpty() ? null : pageLogs.get(pageLogs.size() - 1);
+        return AuditLogListResponse.builder()
+                .logs(pageLogs.stream().map(AuditLogResponse::fromEntity).toList())
+                .page(0)
+                .size(pageSize)
+                .totalElements(total)
+                .totalPages((int) ((total + pageSize - 1) / pageSize))
+                .countEstimated(estimated)
+                .nextCursor(hasMore && last != null ? new AuditLogCursor(last.getTimestamp(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Planner row estimate for the filtered query, or -1 if it can't be obtained.
+     */
+    private long estimateFilteredCount(AuditLogFilterRequest filter, String clusterId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", filter.getUserId())
+                .addValue("clusterId", clusterId)
+                .addValue("action", filter.getAction())
+                .addValue("resourceType", filter.getResourceType())
+                .addValue("startDate", toOffsetDateTime(filter.getStartDate()))
+                .addValue("endDate", toOffsetDateTime(filter.getEndDate()));
+        try {
+            List<String> plan = namedParameterJdbcTemplate.queryForList(
+                    "EXPLAIN SELECT 1 FROM audit_logs a WHERE " + AuditLogRepository.FILTER_CONDITIONS,
+                    params, String.class);
+            return plan.isEmpty() ? -1 : parsePlanRows(plan.get(0));
+        } catch (Exception e) {
+            log.debug("Could not estimate audit log count: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Row estimate from the top line of a text EXPLAIN plan ("... rows=1234 width=4)").
+     */
+    static long parsePlanRows(String planLine) {
+        Matcher matcher = PLAN_ROWS.matcher(planLine);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Instant instant) {
+        return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Position of the last row of a page in (timestamp, id) order, encoded as URL-safe base64.
+     */
+    record AuditLogCursor(Instant timestamp, UUID id) {
+
+        String encode() {
+            String raw = timestamp + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static AuditLogCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new AuditLogCursor(Instant.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid audit log cursor");
+            }
+        }
+    }
+
     /**
      * Export audit logs as CSV (no pagination, includes user_agent).
+     * Rows are streamed from a database cursor straight to the writer and detached once written,
+     * so memory stays constant regardless of how many rows match.
+     *
+     * @return Number of rows written
      */
     @Transactional(readOnly = true)
-    public String exportAuditLogsCsv(AuditLogFilterRequest filter) {
-        List<AuditLog> logs = auditLogRepository.findWithFiltersForExport(
+    public long exportAuditLogsCsv(AuditLogFilterRequest filter, Writer writer) throws IOException {
+        writer.write("timestamp,user_email,action,resource_type,resource_id,ip_address,user_agent,details\n");
+
+        long rows = 0;
+        try (Stream<AuditLog> logs = auditLogRepository.streamWithFiltersForExport(
                 filter.getUserId(),
                 filter.getClusterId() != null ? filter.getClusterId().toString() : null,
                 filter.getAction(),
                 filter.getResourceType(),
                 filter.getStartDate(),
                 filter.getEndDate()
-        );
-
-        StringBuilder csv = new StringBuilder();
-        csv.append("timestamp,user_email,action,resource_type,resource_id,ip_address,user_agent,details\n");
-
-        for (AuditLog entry : logs) {
-            csv.append(escapeCsv(entry.getTimestamp() != null ? entry.getTimestamp().toString() : ""));
-            csv.append(',');
-            csv.append(escapeCsv(entry.getUserEmail() != null ? entry.getUserEmail() : ""));
-            csv.append(',');
-            csv.append(escapeCsv(entry.getAction() != null ? entry.getAction() : ""));
-            csv.append(',');
-            csv.append(escapeCsv(entry.getResourceType() != null ? entry.getResourceType() : ""));
-            csv.append(',');
-            csv.append(escapeCsv(entry.getResourceId() != null ? entry.getResourceId().toString() : ""));
-            csv.append(',');
-            csv.append(escapeCsv(entry.getIpAddress() != null ? entry.getIpAddress() : ""));
-            csv.append(',');
-            csv.append(escapeCsv(entry.getUserAgent() != null ? entry.getUserAgent() : ""));
-            csv.append(',');
-            csv.append(escapeCsv(entry.getDetails() != null ? entry.getDetails().toString() : ""));
-            csv.append('\n');
+        )) {
+            Iterator<AuditLog> iterator = logs.iterator();
+            while (iterator.hasNext()) {
+                AuditLog entry = iterator.next();
+                writeCsvRow(writer, entry);
+                entityManager.detach(entry);
+                rows++;
+            }
         }
 
-        return csv.toString();
+        writer.flush();
+        return rows;
+    }
+
+    private void writeCsvRow(Writer writer, AuditLog entry) throws IOException {
+        writer.write(escapeCsv(entry.getTimestamp() != null ? entry.getTimestamp().toString() : ""));
+        writer.write(',');
+        writer.write(escapeCsv(entry.getUserEmail() != null ? entry.getUserEmail() : ""));
+        writer.write(',');
+        writer.write(escapeCsv(entry.getAction() != null ? entry.getAction() : ""));
+        writer.write(',');
+        writer.write(escapeCsv(entry.getResourceType() != null ? entry.getResourceType() : ""));
+        writer.write(',');
+        writer.write(escapeCsv(entry.getResourceId() != null ? entry.getResourceId().toString() : ""));
+        writer.write(',');
+        writer.write(escapeCsv(entry.getIpAddress() != null ? entry.getIpAddress() : ""));
+        writer.write(',');
+        writer.write(escapeCsv(entry.getUserAgent() != null ? entry.getUserAgent() : ""));
+        writer.write(',');
+        writer.write(escapeCsv(entry.getDetails() != null ? entry.getDetails().toString() : ""));
+        writer.write('\n');
     }
 
     private String escapeCsv(String value) {
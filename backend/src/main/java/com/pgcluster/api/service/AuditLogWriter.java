@@ -0,0 +1,245 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.model.entity.AuditLog;
+import com.pgcluster.api.repository.AuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit log entries in batches from a dedicated thread.
+ *
+ * Entries go into a bounded queue and are flushed every flush interval or once a batch fills up,
+ * in a single transaction per batch (inserts are JDBC-batched by Hibernate). When the queue is full
+ * the caller writes its entry itself. If a batch fails, its entries are written one at a time so one
+ * bad entry doesn't lose the rest; entries that still fail are requeued and dropped (and counted in
+ * pgcluster.audit.dropped) only after max-attempts. Remaining entries are flushed synchronously on
+ * shutdown. When disabled, every entry is written immediately.
+ */
+@Slf4j
+@Service
+public class AuditLogWriter {
+
+    // Upper bound on a single blocking wait, so the writer thread notices shutdown promptly
+    private static final long MAX_POLL_MS = 100;
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter droppedCounter;
+
+    // Failed writes per requeued entry
+    private final Map<AuditLog, Integer> failedAttempts = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    @Value("${audit.writer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${audit.writer.capacity:10000}")
+    private int capacity;
+
+    @Value("${audit.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.writer.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${audit.writer.enqueue-timeout-ms:50}")
+    private long enqueueTimeoutMs;
+
+    @Value("${audit.writer.max-attempts:3}")
+    private int maxAttempts;
+
+    private BlockingQueue<AuditLog> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository, PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Audit entries must not roll back with (or join) the caller's transaction
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.droppedCounter = Counter.builder("pgcluster.audit.dropped")
+                .description("Audit log entries dropped after repeated write failures")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Batched audit log writer disabled, entries are written synchronously");
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        running = true;
+        writerThread = new Thread(this::run, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Batched audit log writer started: capacity={}, batchSize={}, flushIntervalMs={}",
+                capacity, batchSize, flushIntervalMs);
+    }
+
+    /**
+     * Queue an entry for the next batch, or write it directly if the writer is stopped or the
+     * queue stays full for the enqueue timeout.
+     */
+    public void write(AuditLog auditLog) {
+        if (running) {
+            try {
+                if (queue.offer(auditLog, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                log.warn("Audit log queue full ({} entries), writing in caller thread", capacity);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        persist(List.of(auditLog));
+    }
+
+    /**
+     * Write everything queued so far in the calling thread.
+     */
+    public void flush() {
+        if (queue == null) {
+            return;
+        }
+        while (!queue.isEmpty()) {
+            List<AuditLog> batch = new ArrayList<>(batchSize);
+            queue.drainTo(batch, batchSize);
+            persistQuietly(batch);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(flushIntervalMs + 10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Batched audit log writer stopped");
+    }
+
+    int queueSize() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                AuditLog first = queue.poll(Math.min(flushIntervalMs, MAX_POLL_MS), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<AuditLog> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                collectBatch(batch);
+                persistQuietly(batch);
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Audit log writer loop failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Fill the batch until it is full, the flush interval since its first entry has passed,
+     * or the writer is stopping.
+     */
+    private void collectBatch(List<AuditLog> batch) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            try {
+                AuditLog next = queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(MAX_POLL_MS)),
+                        TimeUnit.NANOSECONDS);
+                if (next != null) {
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Still write what was collected; the run loop exits on the interrupt flag
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void persistQuietly(List<AuditLog> batch) {
+        try {
+            persist(batch);
+            if (!failedAttempts.isEmpty()) {
+                batch.forEach(failedAttempts::remove);
+            }
+            return;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                retryLater(batch.get(0), e);
+                return;
+            }
+            log.warn("Failed to write batch of {} audit logs, writing them one at a time: {}",
+                    batch.size(), e.getMessage());
+        }
+
+        for (AuditLog entry : batch) {
+            // Assigned by the rolled-back insert
+            entry.setId(null);
+            try {
+                persist(List.of(entry));
+                failedAttempts.remove(entry);
+            } catch (Exception e) {
+                retryLater(entry, e);
+            }
+        }
+    }
+
+    /**
+     * Requeue an entry that failed to write, or drop it once it has used up its attempts
+     * or the queue has no room.
+     */
+    private void retryLater(AuditLog entry, Exception error) {
+        entry.setId(null);
+        int attempts = failedAttempts.merge(entry, 1, Integer::sum);
+        if (attempts < maxAttempts && queue != null && queue.offer(entry)) {
+            return;
+        }
+        failedAttempts.remove(entry);
+        droppedCounter.increment();
+        log.error("Dropped audit log {} on {} {} after {} failed attempt(s): {}", entry.getAction(),
+                entry.getResourceType(), entry.getResourceId(), attempts, error.getMessage());
+    }
+
+    private void persist(List<AuditLog> batch) {
+        transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveAll(batch));
+        log.debug("Wrote {} audit log(s)", batch.size());
+    }
+}
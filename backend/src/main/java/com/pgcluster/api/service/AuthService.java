@@ -54,6 +54,15 @@ public class AuthService {
         return createAuthResponse(user);
     }
 
+    /**
+     * Revoke the presented token so it stops authenticating before it expires.
+     */
+    public void logout(String token) {
+        if (token != null && !token.isBlank()) {
+            jwtTokenProvider.revokeToken(token);
+        }
+    }
+
     public AuthResponse.UserInfo getCurrentUser(User user) {
         return AuthResponse.UserInfo.builder()
                 .id(user.getId())
@@ -0,0 +1,253 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.event.BackupCreatedEvent;
+import com.pgcluster.api.model.entity.Backup;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.repository.BackupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fleet-wide scheduler for scheduled (daily/weekly/monthly) backups.
+ *
+ * Instead of starting every cluster's backup at the cron instant, each scheduled
+ * backup is persisted as a pending row with a {@code scheduledAt} slot spread across
+ * the backup window (hash-based or random jitter), or across the cluster's preferred
+ * window if one is set. A dispatcher then claims due backups while honouring a global
+ * concurrency cap and a per-S3-endpoint cap, so object storage sees a steady stream
+ * instead of a nightly spike.
+ *
+ * Claiming is an atomic pending -> in_progress update, so every control plane
+ * instance can run the dispatcher without double-starting a backup. The queued rows
+ * are read with a row lock, so dispatchers on different instances take turns and
+ * the caps hold across the fleet rather than per instance.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackupSchedulerService {
+
+    public static final String SLOTTING_HASH = "hash";
+    public static final String SLOTTING_JITTER = "jitter";
+
+    private final BackupRepository backupRepository;
+    private final S3StorageService s3StorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${backup.scheduler.window-minutes:180}")
+    private int windowMinutes;
+
+    @Value("${backup.scheduler.cluster-window-minutes:60}")
+    private int clusterWindowMinutes;
+
+    @Value("${backup.scheduler.slotting:hash}")
+    private String slotting;
+
+    @Value("${backup.scheduler.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${backup.scheduler.max-concurrent-per-endpoint:3}")
+    private int maxConcurrentPerEndpoint;
+
+    @Value("${timeouts.backup:3600000}")
+    private long backupTimeoutMs;
+
+    // Queue state exposed as gauges, refreshed on every dispatch tick
+    private final AtomicInteger queuedBackups = new AtomicInteger();
+    private final AtomicInteger dueBackups = new AtomicInteger();
+    private final AtomicInteger runningBackups = new AtomicInteger();
+    private final AtomicLong maxLagSeconds = new AtomicLong();
+
+    private Counter dispatchedCounter;
+    private Timer dispatchLagTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("pgcluster.backup.queue.size", queuedBackups, AtomicInteger::get)
+                .description("Scheduled backups waiting for dispatch")
+                .register(meterRegistry);
+        Gauge.builder("pgcluster.backup.queue.due", dueBackups, AtomicInteger::get)
+                .description("Scheduled backups past their slot but not yet dispatched")
+                .register(meterRegistry);
+        Gauge.builder("pgcluster.backup.running", runningBackups, AtomicInteger::get)
+                .description("Backups currently in progress")
+                .register(meterRegistry);
+        Gauge.builder("pgcluster.backup.queue.lag.seconds", maxLagSeconds, AtomicLong::get)
+                .description("Age of the oldest due backup that is still queued")
+                .register(meterRegistry);
+        dispatchedCounter = Counter.builder("pgcluster.backup.dispatched")
+                .description("Scheduled backups dispatched for execution")
+                .register(meterRegistry);
+        dispatchLagTimer = Timer.builder("pgcluster.backup.dispatch.lag")
+                .description("Delay between a backup's slot and its dispatch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compute the slot at which a scheduled backup for a cluster becomes eligible.
+     *
+     * @param cluster The cluster to back up
+     * @param windowStart Start of the fleet backup window (the cron fire time)
+     * @return The instant at which the backup may start
+     */
+    public Instant computeSlot(Cluster cluster, Instant windowStart) {
+        Instant base = windowStart;
+        long spanSeconds = windowMinutes * 60L;
+
+        LocalTime preferredStart = parseWindowStart(cluster.getBackupWindowStart());
+        if (preferredStart != null) {
+            // Next occurrence of the preferred window at or after the fleet window start
+            ZonedDateTime start = windowStart.atZone(ZoneOffset.UTC).with(preferredStart);
+            if (start.toInstant().isBefore(windowStart)) {
+                start = start.plusDays(1);
+            }
+            base = start.toInstant();
+            spanSeconds = clusterWindowMinutes * 60L;
+        }
+
+        if (spanSeconds <= 0) {
+            return base;
+        }
+
+        long offsetSeconds;
+        if (SLOTTING_JITTER.equalsIgnoreCase(slotting)) {
+            offsetSeconds = ThreadLocalRandom.current().nextLong(spanSeconds);
+        } else {
+            // Hash slotting keeps each cluster at a stable time night after night
+            int hash = cluster.getId() != null ? cluster.getId().hashCode() : cluster.getSlug().hashCode();
+            offsetSeconds = Math.floorMod(hash, spanSeconds);
+        }
+
+        return base.plusSeconds(offsetSeconds);
+    }
+
+    /**
+     * Dispatch due scheduled backups within the configured concurrency caps.
+     * Running backups include manual ones, so user-triggered work counts against the caps too.
+     */
+    @Scheduled(fixedDelayString = "${backup.scheduler.dispatch-interval-ms:15000}")
+    @Transactional
+    public void dispatchDueBackups() {
+        Instant now = Instant.now();
+        // Locked first: another instance's dispatch commits before this one counts running backups
+        List<Backup> queued = backupRepository.lockQueuedScheduledBackups();
+
+        // Backups older than the backup timeout are treated as abandoned and don't hold a slot
+        List<Backup> running = backupRepository.findRunningBackupsStartedAfter(now.minusMillis(backupTimeoutMs));
+
+        int globalRunning = running.size();
+        Map<String, Integer> runningPerEndpoint = new HashMap<>();
+        Set<UUID> busyClusters = new HashSet<>();
+        for (Backup backup : running) {
+            runningPerEndpoint.merge(endpointFor(backup), 1, Integer::sum);
+            busyClusters.add(backup.getCluster().getId());
+        }
+
+        int dispatched = 0;
+        int dropped = 0;
+        int waiting = 0;
+        long lagSeconds = 0;
+
+        for (Backup backup : queued) {
+            if (backup.getScheduledAt().isAfter(now)) {
+                break; // Ordered by slot - everything after this is not due yet
+            }
+
+            Cluster cluster = backup.getCluster();
+            if (!Cluster.STATUS_RUNNING.equals(cluster.getStatus())) {
+                backup.setStatus(Backup.STATUS_FAILED);
+                backup.setCurrentStep(Backup.STEP_FAILED);
+                backup.setErrorMessage("Cluster is no longer running (status: " + cluster.getStatus() + ")");
+                backupRepository.save(backup);
+                dropped++;
+                continue;
+            }
+
+            String endpoint = endpointFor(backup);
+            boolean hasCapacity = globalRunning < maxConcurrent
+                    && runningPerEndpoint.getOrDefault(endpoint, 0) < maxConcurrentPerEndpoint;
+
+            if (!hasCapacity || busyClusters.contains(cluster.getId())) {
+                waiting++;
+                lagSeconds = Math.max(lagSeconds, Duration.between(backup.getScheduledAt(), now).toSeconds());
+                continue;
+            }
+
+            if (backupRepository.claimPendingBackup(backup.getId(), now) == 0) {
+                // Claimed by another instance or cancelled in the meantime
+                continue;
+            }
+
+            globalRunning++;
+            runningPerEndpoint.merge(endpoint, 1, Integer::sum);
+            busyClusters.add(cluster.getId());
+            dispatched++;
+
+            dispatchedCounter.increment();
+            dispatchLagTimer.record(Duration.between(backup.getScheduledAt(), now));
+            log.info("Dispatching {} backup {} for cluster {} (slot {})",
+                    backup.getType(), backup.getId(), cluster.getSlug(), backup.getScheduledAt());
+
+            // Executed asynchronously after this transaction commits
+            eventPublisher.publishEvent(new BackupCreatedEvent(this, backup.getId()));
+        }
+
+        queuedBackups.set(Math.max(0, queued.size() - dispatched - dropped));
+        dueBackups.set(waiting);
+        runningBackups.set(globalRunning);
+        maxLagSeconds.set(lagSeconds);
+
+        if (dispatched > 0 || waiting > 0) {
+            log.debug("Backup dispatch: {} dispatched, {} due and waiting, {} running, max lag {}s",
+                    dispatched, waiting, globalRunning, lagSeconds);
+        }
+    }
+
+    /**
+     * The S3 endpoint a backup's repository lives on.
+     * All pgBackRest repositories currently use the configured endpoint.
+     */
+    private String endpointFor(Backup backup) {
+        String endpoint = s3StorageService.getEndpoint();
+        return endpoint != null ? endpoint : "";
+    }
+
+    private LocalTime parseWindowStart(String windowStart) {
+        if (windowStart == null || windowStart.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalTime.parse(windowStart.trim());
+        } catch (DateTimeParseException e) {
+            log.warn("Ignoring invalid backup window start '{}'", windowStart);
+            return null;
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package com.pgcluster.api.service;
 
-import com.pgcluster.api.client.HetznerClient;
 import com.pgcluster.api.exception.ApiException;
 import com.pgcluster.api.exception.PitrValidationException;
 import com.pgcluster.api.model.dto.PgBackRestBackupInfo;
 import com.pgcluster.api.model.dto.PitrRestoreRequest;
 import com.pgcluster.api.model.dto.PitrWindowResponse;
+import com.pgcluster.api.model.dto.RestoreEstimateResponse;
 import com.pgcluster.api.model.dto.RestoreRequest;
 import com.pgcluster.api.util.FormatUtils;
 import com.pgcluster.api.model.entity.AuditLog;
@@ -18,12 +18,12 @@ import com.pgcluster.api.repository.BackupRepository;
 import com.pgcluster.api.repository.ClusterRepository;
 import com.pgcluster.api.repository.RestoreJobRepository;
 import com.pgcluster.api.repository.VpsNodeRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Lazy;
 import com.pgcluster.api.event.BackupCreatedEvent;
+import com.pgcluster.api.event.ClusterStatusChangedEvent;
 import com.pgcluster.api.event.RestoreRequestedEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
@@ -38,6 +38,10 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import com.pgcluster.api.util.PasswordGenerator;
@@ -62,14 +66,11 @@ public class BackupService {
     private final ProvisioningService provisioningService;
     private final PatroniService patroniService;
     private final SshService sshService;
-    private final HetznerClient hetznerClient;
+    private final HetznerCatalogService hetznerCatalogService;
     private final ApplicationEventPublisher eventPublisher;
     private final AuditLogService auditLogService;
-
-    // Self-injection to enable @Async to work (Spring proxy requirement)
-    @Autowired
-    @Lazy
-    private BackupService self;
+    private final BackupSchedulerService backupSchedulerService;
+    private final RestoreEstimatorService restoreEstimatorService;
 
     @Value("${backup.enabled:false}")
     private boolean backupEnabled;
@@ -83,6 +84,23 @@ public class BackupService {
     @Value("${backup.retention.monthly:12}")
     private int retentionMonthly;
 
+    @Value("${backup.from-standby.max-lag-bytes:16777216}")
+    private long standbyMaxLagBytes;
+
+    @Value("${backup.progress.poll-interval-ms:15000}")
+    private long progressPollIntervalMs;
+
+    // "closest" restores from the latest backup before the target, "fastest" from the one with the lowest estimate
+    @Value("${restore.backup-selection:closest}")
+    private String restoreBackupSelection;
+
+    // Polls pgBackRest for live progress while backup commands block on SSH
+    private final ScheduledExecutorService progressExecutor = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "backup-progress");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * Create a manual backup for a cluster (defaults to incremental)
      */
@@ -111,9 +129,13 @@ public class BackupService {
             throw new IllegalStateException("Cluster must be running to create a backup");
         }
 
-        // Check for in-progress or pending backups to prevent concurrent backup corruption
+        // Check for in-progress or pending backups to prevent concurrent backup corruption.
+        // Scheduled backups queued for a later slot don't count: the dispatcher waits for this one to finish.
         List<Backup> inProgressBackups = backupRepository.findByClusterAndStatusOrderByCreatedAtDesc(cluster, Backup.STATUS_IN_PROGRESS);
-        List<Backup> pendingBackups = backupRepository.findByClusterAndStatusOrderByCreatedAtDesc(cluster, Backup.STATUS_PENDING);
+        List<Backup> pendingBackups = backupRepository.findByClusterAndStatusOrderByCreatedAtDesc(cluster, Backup.STATUS_PENDING)
+                .stream()
+                .filter(pending -> pending.getScheduledAt() == null)
+                .toList();
         if (!inProgressBackups.isEmpty() || !pendingBackups.isEmpty()) {
             throw new IllegalStateException("A backup is already in progress for this cluster. Please wait for it to complete.");
         }
@@ -223,30 +245,39 @@ public class BackupService {
 
             // Determine backup type: use requestedBackupType if set, otherwise infer from schedule
             // Note: pgBackRest auto-promotes to full if no prior backup exists
-            PgBackRestBackupInfo result;
             String effectiveType = determineEffectiveBackupType(backup);
 
-            result = switch (effectiveType) {
-                case Backup.BACKUP_TYPE_FULL -> {
-                    log.info("Executing full backup for cluster {}", cluster.getSlug());
-                    yield pgBackRestService.executeFullBackup(cluster, leaderNode);
-                }
-                case Backup.BACKUP_TYPE_DIFF -> {
-                    log.info("Executing differential backup for cluster {}", cluster.getSlug());
-                    yield pgBackRestService.executeDifferentialBackup(cluster, leaderNode);
+            // Prefer a healthy replica when enabled; fall back to the primary
+            PgBackRestBackupInfo result = executeBackupFromStandby(backup, cluster, effectiveType);
+            if (result == null) {
+                backup.setSourceNode(leaderNode.getName());
+                BackupProgressTracker tracker = startProgressTracking(backup, cluster, leaderNode);
+                try {
+                    result = switch (effectiveType) {
+                        case Backup.BACKUP_TYPE_FULL -> {
+                            log.info("Executing full backup for cluster {}", cluster.getSlug());
+                            yield pgBackRestService.executeFullBackup(cluster, leaderNode);
+                        }
+                        case Backup.BACKUP_TYPE_DIFF -> {
+                            log.info("Executing differential backup for cluster {}", cluster.getSlug());
+                            yield pgBackRestService.executeDifferentialBackup(cluster, leaderNode);
+                        }
+                        default -> {
+                            log.info("Executing incremental backup for cluster {}", cluster.getSlug());
+                            yield pgBackRestService.executeIncrementalBackup(cluster, leaderNode);
+                        }
+                    };
+                } finally {
+                    tracker.stop();
                 }
-                default -> {
-                    log.info("Executing incremental backup for cluster {}", cluster.getSlug());
-                    yield pgBackRestService.executeIncrementalBackup(cluster, leaderNode);
-                }
-            };
+            }
 
             // Set actual backup type from pgBackRest result (may differ from requested)
             backup.setBackupType(mapPgBackRestType(result.getType()));
 
             // Update to UPLOADING step (pgBackRest handles upload during backup)
             backup.setCurrentStep(Backup.STEP_UPLOADING);
-            backup.setProgressPercent(70);
+            backup.setProgressPercent(Math.max(70, backup.getProgressPercent()));
             backupRepository.save(backup);
 
             // Update backup metadata from pgBackRest result
@@ -254,6 +285,7 @@ public class BackupService {
             backup.setSizeBytes(result.getBackupSizeBytes() != null ? result.getBackupSizeBytes() : 0L);
             backup.setWalStartLsn(result.getWalStartLsn());
             backup.setWalEndLsn(result.getWalStopLsn());
+            recordThroughput(backup, result);
 
             // Update to VERIFYING step
             backup.setCurrentStep(Backup.STEP_VERIFYING);
@@ -274,8 +306,9 @@ public class BackupService {
             backup.setCompletedAt(Instant.now());
             backupRepository.save(backup);
 
-            log.info("Backup {} completed successfully. Type: {}, Label: {}, Size: {} bytes",
-                    backupId, backup.getBackupType(), backup.getPgbackrestLabel(), backup.getSizeBytes());
+            log.info("Backup {} completed successfully. Type: {}, Label: {}, Size: {} bytes, Throughput: {}/s",
+                    backupId, backup.getBackupType(), backup.getPgbackrestLabel(), backup.getSizeBytes(),
+                    FormatUtils.formatBytes(backup.getThroughputBytesPerSec()));
 
         } catch (Exception e) {
             log.error("Backup execution failed: {}", e.getMessage(), e);
@@ -287,6 +320,229 @@ public class BackupService {
         }
     }
 
+    /**
+     * Re-render pgbackrest.conf on every running cluster so tuning profile changes
+     * reach clusters provisioned before them. Failures are logged per cluster.
+     *
+     * @return Number of clusters updated
+     */
+    public int rolloutPgBackRestConfig() {
+        if (!backupEnabled) {
+            log.info("Backups disabled, skipping pgBackRest config rollout");
+            return 0;
+        }
+
+        List<Cluster> clusters = clusterRepository.findByStatus(Cluster.STATUS_RUNNING);
+        int updated = 0;
+        for (Cluster cluster : clusters) {
+            try {
+                List<VpsNode> nodes = vpsNodeRepository.findByCluster(cluster);
+                pgBackRestService.pushConfig(cluster, nodes);
+                updated++;
+            } catch (Exception e) {
+                log.warn("Failed to push pgBackRest config to cluster {}: {}", cluster.getSlug(), e.getMessage());
+            }
+        }
+
+        log.info("pgBackRest config rolled out to {}/{} running clusters", updated, clusters.size());
+        return updated;
+    }
+
+    /**
+     * Try to run the backup on the least-lagged healthy replica (pgBackRest --backup-standby).
+     * Returns null when standby backups are disabled, no replica qualifies, or the standby
+     * backup fails, in which case the caller runs the backup on the primary.
+     */
+    private PgBackRestBackupInfo executeBackupFromStandby(Backup backup, Cluster cluster, String backupType) {
+        if (!pgBackRestService.isStandbyBackupEnabled() || cluster.getNodeCount() < 2) {
+            return null;
+        }
+
+        VpsNode standby = patroniService.findBestReplica(cluster, standbyMaxLagBytes);
+        if (standby == null) {
+            log.info("No healthy replica for cluster {}, backing up from the primary", cluster.getSlug());
+            return null;
+        }
+
+        BackupProgressTracker tracker = startProgressTracking(backup, cluster, standby);
+        try {
+            log.info("Executing {} backup for cluster {} from standby {}", backupType, cluster.getSlug(), standby.getName());
+            PgBackRestBackupInfo result = pgBackRestService.executeBackup(cluster, standby, backupType, true);
+            backup.setSourceNode(standby.getName());
+            return result;
+        } catch (Exception e) {
+            log.warn("Backup from standby {} failed for cluster {}, falling back to the primary: {}",
+                    standby.getName(), cluster.getSlug(), e.getMessage());
+            return null;
+        } finally {
+            tracker.stop();
+        }
+    }
+
+    /**
+     * Start polling pgBackRest for the progress of a backup running on a node.
+     * Disabled when the poll interval is not positive.
+     */
+    private BackupProgressTracker startProgressTracking(Backup backup, Cluster cluster, VpsNode node) {
+        BackupProgressTracker tracker = new BackupProgressTracker(backup, cluster, node, Instant.now());
+        if (progressPollIntervalMs > 0) {
+            tracker.future = progressExecutor.scheduleWithFixedDelay(
+                    tracker, progressPollIntervalMs, progressPollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        return tracker;
+    }
+
+    /**
+     * Apply a progress sample to a running backup.
+     * The copy phase is mapped onto 30-89% so the later steps never move progress backwards.
+     *
+     * @return true if anything user-visible changed and the backup should be saved
+     */
+    boolean applyProgress(Backup backup, PgBackRestService.BackupProgress progress, Instant copyStartedAt, Instant now) {
+        long done = progress.bytesDone();
+        long total = progress.bytesTotal();
+        int percent = 30 + (int) (59 * done / total);
+
+        long elapsedSeconds = Math.max(1, ChronoUnit.SECONDS.between(copyStartedAt, now));
+        long throughput = done / elapsedSeconds;
+
+        boolean changed = !Integer.valueOf(percent).equals(backup.getProgressPercent());
+        backup.setProgressPercent(percent);
+        backup.setBytesDone(done);
+        backup.setBytesTotal(total);
+        backup.setThroughputBytesPerSec(throughput);
+        backup.setEstimatedCompletionAt(throughput > 0 ? now.plusSeconds((total - done) / throughput) : null);
+        return changed;
+    }
+
+    /**
+     * Record final throughput from pgBackRest's own timings and copied bytes.
+     */
+    private void recordThroughput(Backup backup, PgBackRestBackupInfo result) {
+        backup.setEstimatedCompletionAt(null);
+        Long copied = result.getDeltaBytes() != null ? result.getDeltaBytes() : result.getDatabaseSizeBytes();
+        if (copied == null) {
+            return;
+        }
+        backup.setBytesDone(copied);
+        backup.setBytesTotal(copied);
+        if (result.getStartTime() != null && result.getStopTime() != null) {
+            long seconds = Math.max(1, ChronoUnit.SECONDS.between(result.getStartTime(), result.getStopTime()));
+            backup.setThroughputBytesPerSec(copied / seconds);
+        }
+    }
+
+    @PreDestroy
+    void shutdownProgressExecutor() {
+        progressExecutor.shutdownNow();
+    }
+
+    /**
+     * Periodically reads pgBackRest progress while the blocking backup command runs.
+     * The backup thread is blocked in SSH meanwhile, so the tracker is the only writer;
+     * stop() waits for an in-flight sample so the two never save concurrently.
+     */
+    private final class BackupProgressTracker implements Runnable {
+
+        private final Backup backup;
+        private final Cluster cluster;
+        private final VpsNode node;
+        private final Instant copyStartedAt;
+        private ScheduledFuture<?> future;
+        private boolean stopped;
+
+        private BackupProgressTracker(Backup backup, Cluster cluster, VpsNode node, Instant copyStartedAt) {
+            this.backup = backup;
+            this.cluster = cluster;
+            this.node = node;
+            this.copyStartedAt = copyStartedAt;
+        }
+
+        @Override
+        public synchronized void run() {
+            if (stopped) {
+                return;
+            }
+            try {
+                PgBackRestService.BackupProgress progress = pgBackRestService.getBackupProgress(cluster, node);
+                // Only write when the visible percentage moves, to keep DB writes down on long backups
+                if (progress != null && applyProgress(backup, progress, copyStartedAt, Instant.now())) {
+                    backupRepository.save(backup);
+                }
+            } catch (Exception e) {
+                log.debug("Failed to poll backup progress for cluster {}: {}", cluster.getSlug(), e.getMessage());
+            }
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Start polling the pgBackRest restore log of an in-place restore.
+     * The data restore is mapped onto 40-79% of the job's progress.
+     */
+    private RestoreProgressTracker startRestoreProgressTracking(RestoreJob job, String stanzaName, VpsNode node,
+                                                                Long totalBytes) {
+        RestoreProgressTracker tracker = new RestoreProgressTracker(job, stanzaName, node, totalBytes, Instant.now());
+        if (progressPollIntervalMs > 0) {
+            tracker.future = progressExecutor.scheduleWithFixedDelay(
+                    tracker, progressPollIntervalMs, progressPollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        return tracker;
+    }
+
+    /**
+     * Periodically reads restore progress while the blocking restore command runs.
+     * Like {@link BackupProgressTracker}, it is the only writer of the job until stopped.
+     */
+    private final class RestoreProgressTracker implements Runnable {
+
+        private final RestoreJob job;
+        private final String stanzaName;
+        private final VpsNode node;
+        private final Long totalBytes;
+        private final Instant restoreStartedAt;
+        private ScheduledFuture<?> future;
+        private boolean stopped;
+
+        private RestoreProgressTracker(RestoreJob job, String stanzaName, VpsNode node, Long totalBytes,
+                                       Instant restoreStartedAt) {
+            this.job = job;
+            this.stanzaName = stanzaName;
+            this.node = node;
+            this.totalBytes = totalBytes;
+            this.restoreStartedAt = restoreStartedAt;
+        }
+
+        @Override
+        public synchronized void run() {
+            if (stopped) {
+                return;
+            }
+            try {
+                PgBackRestService.RestoreProgress progress = pgBackRestService.getRestoreProgress(stanzaName, node);
+                if (progress != null && pgBackRestService.applyRestoreProgress(
+                        job, progress, totalBytes, restoreStartedAt, Instant.now(), 40, 79)) {
+                    restoreJobRepository.save(job);
+                }
+            } catch (Exception e) {
+                log.debug("Failed to poll restore progress for {}: {}", stanzaName, e.getMessage());
+            }
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
     /**
      * Check if this is a weekly scheduled backup
      */
@@ -578,6 +834,30 @@ public class BackupService {
                 .build();
     }
 
+    /**
+     * Estimate how long restoring each candidate backup into a new cluster takes.
+     * With a target time, candidates are the backups that precede it; without one, each backup
+     * is estimated to its end.
+     */
+    @Transactional(readOnly = true)
+    public RestoreEstimateResponse getRestoreEstimates(UUID clusterId, Instant targetTime, String nodeSize, User user) {
+        Cluster cluster = clusterRepository.findByIdAndUser(clusterId, user)
+                .orElseThrow(() -> new IllegalArgumentException("Cluster not found"));
+
+        if (nodeSize != null && !nodeSize.matches(RESTORE_NODE_SIZE_PATTERN)) {
+            throw new IllegalArgumentException("Invalid node size: " + nodeSize);
+        }
+        String targetNodeSize = nodeSize != null ? nodeSize : cluster.getNodeSize();
+
+        List<Backup> completedBackups = getCompletedNonDeletedBackups(cluster);
+        List<Backup> candidates = completedBackups.stream()
+                .filter(this::hasValidBackupStartTime)
+                .filter(b -> targetTime == null || !targetTime.isBefore(b.getEarliestRecoveryTime()))
+                .toList();
+
+        return restoreEstimatorService.estimate(cluster, candidates, completedBackups, targetTime, targetNodeSize);
+    }
+
     /**
      * Initiate PITR restore using cluster-level endpoint.
      * The source backup is resolved automatically from the selected target time.
@@ -637,7 +917,8 @@ public class BackupService {
             );
         }
 
-        Backup resolvedBackup = resolveBackupForTargetTime(completedBackups, targetTime);
+        String targetNodeSize = request.getNodeSize() != null ? request.getNodeSize() : sourceCluster.getNodeSize();
+        Backup resolvedBackup = resolveBackupForTargetTime(sourceCluster, completedBackups, targetTime, targetNodeSize);
         if (resolvedBackup == null) {
             throw buildPitrValidationException(
                     "Selected target time is not recoverable from available PITR intervals",
@@ -774,6 +1055,7 @@ public class BackupService {
                     .build();
 
             targetCluster = clusterRepository.save(targetCluster);
+            eventPublisher.publishEvent(ClusterStatusChangedEvent.created(this, targetCluster));
             log.info("Created target cluster for restore: {} ({})", targetCluster.getName(), targetCluster.getSlug());
         }
 
@@ -839,6 +1121,8 @@ public class BackupService {
 
     private static final long PITR_MERGE_GAP_SECONDS = 1L;
 
+    private static final String RESTORE_NODE_SIZE_PATTERN = "^(cx[2345]3|ccx[123456]3|cpx[123]1|cpx[345]1|cax[123]1)$";
+
     private static final class PitrInterval {
         private final Instant start;
         private final Instant end;
@@ -1011,16 +1295,31 @@ public class BackupService {
         );
     }
 
-    private Backup resolveBackupForTargetTime(List<Backup> completedBackups, Instant targetTime) {
+    private Backup resolveBackupForTargetTime(Cluster cluster, List<Backup> completedBackups,
+                                              Instant targetTime, String nodeSize) {
         Comparator<Backup> byClosestPreceding = Comparator
                 .comparing(Backup::getEarliestRecoveryTime, Comparator.nullsLast(Comparator.naturalOrder()))
                 .thenComparing(Backup::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
 
-        return completedBackups.stream()
+        List<Backup> candidates = completedBackups.stream()
                 .filter(this::hasValidBackupStartTime)
                 .filter(b -> !targetTime.isBefore(b.getEarliestRecoveryTime()))
-                .max(byClosestPreceding)
-                .orElse(null);
+                .toList();
+
+        if ("fastest".equalsIgnoreCase(restoreBackupSelection) && !candidates.isEmpty()) {
+            try {
+                Backup fastest = restoreEstimatorService.findFastestBackup(
+                        cluster, candidates, completedBackups, targetTime, nodeSize);
+                if (fastest != null) {
+                    return fastest;
+                }
+            } catch (Exception e) {
+                log.warn("Restore estimate failed for cluster {}, using closest backup: {}",
+                        cluster.getSlug(), e.getMessage());
+            }
+        }
+
+        return candidates.stream().max(byClosestPreceding).orElse(null);
     }
 
     private boolean hasValidBackupStartTime(Backup backup) {
@@ -1121,6 +1420,7 @@ public class BackupService {
             targetCluster.setStatus(Cluster.STATUS_ERROR);
             targetCluster.setErrorMessage("Restore failed: " + e.getMessage());
             clusterRepository.save(targetCluster);
+            eventPublisher.publishEvent(ClusterStatusChangedEvent.changed(this, targetCluster));
 
             throw new RuntimeException("Restore to new cluster failed: " + e.getMessage(), e);
         }
@@ -1167,13 +1467,21 @@ public class BackupService {
             job.setProgress(40);
             restoreJobRepository.save(job);
 
-            // Execute the restore using pgBackRest
-            pgBackRestService.executeRestore(
-                    sourceCluster,
-                    leaderNode,
-                    backup.getPgbackrestLabel(),
-                    job.getTargetTime()
-            );
+            // Execute the restore using pgBackRest, reporting progress and throughput while it runs
+            Long restoreBytes = pgBackRestService.getBackupDatabaseSize(
+                    sourceCluster.getSlug(), leaderNode, backup.getPgbackrestLabel());
+            RestoreProgressTracker tracker = startRestoreProgressTracking(job, sourceCluster.getSlug(), leaderNode, restoreBytes);
+            try {
+                pgBackRestService.executeRestore(
+                        sourceCluster,
+                        leaderNode,
+                        backup.getPgbackrestLabel(),
+                        job.getTargetTime()
+                );
+            } finally {
+                tracker.stop();
+            }
+            job.setEstimatedCompletionAt(null);
 
             // Update progress: restore complete
             job.setCurrentStep("VERIFYING_RESTORE");
@@ -1396,8 +1704,14 @@ public class BackupService {
         log.info("Cleanup completed. Processed {} expired backups.", expiredBackups.size());
     }
 
+    /**
+     * Queue a scheduled backup for every running cluster.
+     * Each backup gets a slot within the backup window; BackupSchedulerService
+     * dispatches them as slots come due and concurrency allows.
+     */
     private void createScheduledBackups(String type, String retentionType) {
         List<Cluster> runningClusters = clusterRepository.findByStatus(Cluster.STATUS_RUNNING);
+        Instant windowStart = Instant.now();
 
         for (Cluster cluster : runningClusters) {
             try {
@@ -1405,13 +1719,15 @@ public class BackupService {
                         .cluster(cluster)
                         .type(type)
                         .status(Backup.STATUS_PENDING)
+                        .currentStep(Backup.STEP_PENDING)
+                        .progressPercent(0)
                         .retentionType(retentionType)
+                        .scheduledAt(backupSchedulerService.computeSlot(cluster, windowStart))
                         .build();
 
                 backup = backupRepository.save(backup);
-                log.info("Created {} backup {} for cluster {}", type, backup.getId(), cluster.getSlug());
-
-                self.executeBackupAsync(backup.getId());
+                log.info("Queued {} backup {} for cluster {} at {}",
+                        type, backup.getId(), cluster.getSlug(), backup.getScheduledAt());
             } catch (Exception e) {
                 log.error("Failed to create scheduled backup for cluster {}: {}",
                         cluster.getSlug(), e.getMessage());
@@ -1448,7 +1764,7 @@ public class BackupService {
      * Throws ApiException with BAD_REQUEST if any region is unavailable.
      */
     private void validateNodeRegions(List<String> nodeRegions, String serverType) {
-        Set<String> availableLocations = hetznerClient.getAvailableLocationsForServerType(serverType);
+        Set<String> availableLocations = hetznerCatalogService.getAvailableLocations(serverType);
 
         List<String> unavailableRegions = nodeRegions.stream()
                 .filter(region -> !availableLocations.contains(region))
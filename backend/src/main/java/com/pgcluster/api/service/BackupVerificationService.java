@@ -0,0 +1,409 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.event.BackupVerificationRequestedEvent;
+import com.pgcluster.api.model.entity.Backup;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.model.entity.VpsNode;
+import com.pgcluster.api.repository.BackupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled test restores of completed backups.
+ *
+ * Once per verification interval, the most recent completed backup of each cluster is restored
+ * into a throwaway container on one of the cluster's replicas, recovered to consistency and checked
+ * with pg_amcheck plus a table and row count. The outcome, duration and restore throughput are
+ * recorded on the backup, so restore time estimates are based on measured restores.
+ *
+ * Verification stays out of the way of production: it is only dispatched while no backup is running
+ * or due, runs on a replica (never the primary) at low CPU priority, and is capped fleet-wide.
+ * Single-node clusters are not verified.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackupVerificationService {
+
+    private static final String WORK_DIR_PREFIX = "/data/verify-";
+    private static final String CONTAINER_PREFIX = "pgcluster-verify-";
+    private static final int VERIFY_PORT = 54329;
+
+    // Free disk required on the replica, relative to the backup's database size (restore plus WAL replay)
+    private static final double DISK_HEADROOM = 2.0;
+
+    private final BackupRepository backupRepository;
+    private final PgBackRestService pgBackRestService;
+    private final PatroniService patroniService;
+    private final SshService sshService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${backup.verification.enabled:false}")
+    private boolean enabled;
+
+    @Value("${backup.verification.interval-hours:168}")
+    private int intervalHours;
+
+    @Value("${backup.verification.max-concurrent:1}")
+    private int maxConcurrent;
+
+    @Value("${backup.verification.timeout-ms:7200000}")
+    private long timeoutMs;
+
+    @Value("${backup.verification.poll-interval-ms:15000}")
+    private long pollIntervalMs;
+
+    @Value("${timeouts.backup:3600000}")
+    private long backupTimeoutMs;
+
+    /**
+     * Outcome of a test restore, as reported by the verification script.
+     */
+    record VerifyResult(boolean passed, Long restoreSeconds, Long checkSeconds, Integer tables, Long rows,
+                        String error) {}
+
+    /**
+     * Claim backups for verification within the concurrency cap.
+     * At most one backup per cluster is verified per interval.
+     */
+    @Scheduled(fixedDelayString = "${backup.verification.dispatch-interval-ms:900000}",
+               initialDelayString = "${backup.verification.initial-delay-ms:300000}")
+    @Transactional
+    public void dispatchVerifications() {
+        if (!enabled) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        int stale = backupRepository.failStaleVerifications(now.minusMillis(timeoutMs));
+        if (stale > 0) {
+            log.warn("Marked {} stale backup verifications as failed", stale);
+        }
+
+        // Production backups always win: don't start while any is running or waiting for a slot
+        boolean backupsBusy = !backupRepository.findRunningBackupsStartedAfter(now.minusMillis(backupTimeoutMs)).isEmpty()
+                || backupRepository.findQueuedScheduledBackups().stream().anyMatch(b -> !b.getScheduledAt().isAfter(now));
+        if (backupsBusy) {
+            log.debug("Backups running or due, deferring verification");
+            return;
+        }
+
+        long running = backupRepository.countByVerifyStatus(Backup.VERIFY_STATUS_RUNNING);
+        if (running >= maxConcurrent) {
+            return;
+        }
+
+        List<Backup> candidates = backupRepository.findVerificationCandidates(now.minus(intervalHours, ChronoUnit.HOURS));
+        Set<UUID> claimedClusters = new HashSet<>();
+        for (Backup backup : candidates) {
+            if (running >= maxConcurrent) {
+                break;
+            }
+            Cluster cluster = backup.getCluster();
+            if (cluster.getNodeCount() < 2 || !claimedClusters.add(cluster.getId())) {
+                continue;
+            }
+            if (backupRepository.claimVerification(backup.getId(), now) == 0) {
+                continue; // Claimed by another instance
+            }
+            running++;
+            log.info("Dispatching verification of backup {} ({}) for cluster {}",
+                    backup.getId(), backup.getPgbackrestLabel(), cluster.getSlug());
+            eventPublisher.publishEvent(new BackupVerificationRequestedEvent(this, backup.getId()));
+        }
+    }
+
+    /**
+     * Run the test restore of a claimed backup and record the result.
+     */
+    public void verifyBackup(UUID backupId) {
+        Backup backup = backupRepository.findById(backupId).orElse(null);
+        if (backup == null || !Backup.VERIFY_STATUS_RUNNING.equals(backup.getVerifyStatus())) {
+            log.warn("Backup {} is not claimed for verification, skipping", backupId);
+            return;
+        }
+
+        Cluster cluster = backup.getCluster();
+        Instant startedAt = Instant.now();
+        VpsNode node = null;
+        String shortId = backupId.toString().substring(0, 8);
+        String workDir = WORK_DIR_PREFIX + shortId;
+        String container = CONTAINER_PREFIX + shortId;
+
+        try {
+            // Any streaming replica will do; lag doesn't matter for a restore from the repository
+            node = patroniService.findBestReplica(cluster, Long.MAX_VALUE);
+            if (node == null) {
+                throw new IllegalStateException("No healthy replica available for a test restore");
+            }
+
+            Long databaseBytes = pgBackRestService.getBackupDatabaseSize(cluster.getSlug(), node,
+                    backup.getPgbackrestLabel());
+            if (databaseBytes == null) {
+                throw new IllegalStateException("Backup " + backup.getPgbackrestLabel() + " not found in the repository");
+            }
+            ensureDiskSpace(node, databaseBytes);
+
+            startVerifyContainer(cluster, backup, node, workDir, container);
+            VerifyResult result = awaitResult(node, workDir, container);
+
+            long duration = Math.max(1, Duration.between(startedAt, Instant.now()).toSeconds());
+            backup.setVerifyDurationSeconds(duration);
+            backup.setVerifyTableCount(result.tables());
+            backup.setVerifyRowCount(result.rows());
+            if (result.restoreSeconds() != null) {
+                backup.setVerifyRestoreThroughputBytesPerSec(databaseBytes / Math.max(1, result.restoreSeconds()));
+            }
+            backup.setVerifyStatus(result.passed() ? Backup.VERIFY_STATUS_PASSED : Backup.VERIFY_STATUS_FAILED);
+            backup.setVerifyError(result.passed() ? null : result.error());
+            recordVerification(backup);
+
+            meterRegistry.timer("pgcluster.backup.verification.duration", "result", backup.getVerifyStatus())
+                    .record(duration, TimeUnit.SECONDS);
+            if (result.passed()) {
+                log.info("Backup {} of cluster {} verified in {}s: {} tables, ~{} rows, restore {} B/s",
+                        backup.getPgbackrestLabel(), cluster.getSlug(), duration, result.tables(), result.rows(),
+                        backup.getVerifyRestoreThroughputBytesPerSec());
+            } else {
+                log.warn("Backup {} of cluster {} failed verification: {}",
+                        backup.getPgbackrestLabel(), cluster.getSlug(), result.error());
+            }
+        } catch (Exception e) {
+            log.error("Verification of backup {} failed: {}", backupId, e.getMessage());
+            backup.setVerifyStatus(Backup.VERIFY_STATUS_FAILED);
+            backup.setVerifyError(e.getMessage());
+            backup.setVerifyDurationSeconds(Duration.between(startedAt, Instant.now()).toSeconds());
+            recordVerification(backup);
+            meterRegistry.counter("pgcluster.backup.verification.errors").increment();
+        } finally {
+            if (node != null) {
+                cleanup(node, workDir, container);
+            }
+        }
+    }
+
+    private void ensureDiskSpace(VpsNode node, long databaseBytes) {
+        SshService.CommandResult result = sshService.executeCommand(node.getPublicIp(),
+                "df -B1 --output=avail /data | tail -1", 15000);
+        if (!result.isSuccess()) {
+            throw new RuntimeException("Could not read free disk space on " + node.getName());
+        }
+        long available;
+        try {
+            available = Long.parseLong(result.getStdout().trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Unexpected df output on " + node.getName() + ": " + result.getStdout());
+        }
+        if (available < databaseBytes * DISK_HEADROOM) {
+            throw new IllegalStateException(String.format(
+                    "Not enough free disk on %s for a test restore (%d bytes free, %d needed)",
+                    node.getName(), available, (long) (databaseBytes * DISK_HEADROOM)));
+        }
+    }
+
+    private void startVerifyContainer(Cluster cluster, Backup backup, VpsNode node, String workDir, String container) {
+        String ip = node.getPublicIp();
+        int processMax = pgBackRestService.resolveProfile(cluster.getNodeSize()).processMax();
+
+        SshService.CommandResult prepared = sshService.executeCommand(ip,
+                "rm -rf " + workDir + " && mkdir -p " + workDir + "/pgdata && chmod 700 " + workDir + "/pgdata"
+                        + " && chown -R 999:999 " + workDir, 30000);
+        if (!prepared.isSuccess()) {
+            throw new RuntimeException("Failed to prepare " + workDir + ": " + prepared.getStderr());
+        }
+        sshService.uploadContent(ip, buildVerifyScript(cluster.getSlug(), backup.getPgbackrestLabel(),
+                cluster.getPostgresVersion()), workDir + "/verify.sh");
+        sshService.executeCommand(ip, "chmod 755 " + workDir + "/verify.sh");
+
+        // Low CPU shares so the production Postgres on this replica keeps priority.
+        // Log and spool paths are redirected into the work dir so the node's own pgBackRest state is untouched.
+        String run = "docker rm -f " + container + " >/dev/null 2>&1; "
+                + "docker run -d --name " + container
+                + " --network host --user 999:999 --cpu-shares 256 --entrypoint /bin/sh"
+                + " -e PGBACKREST_PROCESS_MAX=" + processMax
+                + " -e PGBACKREST_LOG_PATH=/verify/log"
+                + " -e PGBACKREST_SPOOL_PATH=/verify/spool"
+                + " -v " + workDir + "/pgdata:/var/lib/postgresql/data"
+                + " -v " + workDir + ":/verify"
+                + " -v /etc/pgbackrest/pgbackrest.conf:/etc/pgbackrest/pgbackrest.conf:ro"
+                + " denysd1/patroni:" + cluster.getPostgresVersion() + " /verify/verify.sh";
+        SshService.CommandResult started = sshService.executeCommand(ip, run, 300000);
+        if (!started.isSuccess()) {
+            throw new RuntimeException("Failed to start test restore container: " + started.getStderr());
+        }
+    }
+
+    private VerifyResult awaitResult(VpsNode node, String workDir, String container) throws InterruptedException {
+        String resultFile = workDir + "/result";
+        // The result once written, "running" while the container is up, "gone" if it died without one
+        String check = "cat " + resultFile + " 2>/dev/null"
+                + " || (docker inspect -f '{{.State.Running}}' " + container + " 2>/dev/null | grep -q true && echo running)"
+                + " || cat " + resultFile + " 2>/dev/null"
+                + " || echo gone";
+        Instant deadline = Instant.now().plusMillis(timeoutMs);
+
+        while (Instant.now().isBefore(deadline)) {
+            Thread.sleep(pollIntervalMs);
+            SshService.CommandResult result = sshService.executeCommand(node.getPublicIp(), check, 15000);
+            if (!result.isSuccess()) {
+                continue;
+            }
+            String output = result.getStdout().trim();
+            if ("running".equals(output)) {
+                continue;
+            }
+            if ("gone".equals(output)) {
+                SshService.CommandResult logs = sshService.executeCommand(node.getPublicIp(),
+                        "docker logs --tail 20 " + container + " 2>&1");
+                throw new RuntimeException("Test restore container exited without a result: " + logs.getStdout());
+            }
+            return parseVerifyResult(output);
+        }
+        throw new RuntimeException("Test restore did not finish within " + timeoutMs / 1000 + " seconds");
+    }
+
+    private void cleanup(VpsNode node, String workDir, String container) {
+        try {
+            sshService.executeCommand(node.getPublicIp(), "docker rm -f " + container + " >/dev/null 2>&1; rm -rf " + workDir,
+                    120000);
+        } catch (Exception e) {
+            log.warn("Failed to clean up test restore on {}: {}", node.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Build the script run inside the test restore container.
+     * It restores the backup, recovers to the end of the backup and promotes, then checks every
+     * database with pg_amcheck and counts user tables and their estimated rows. Postgres only
+     * listens on a socket in the work dir, with trust auth from a private pg_hba.conf.
+     * The result is written as key=value lines and moved into place atomically.
+     */
+    String buildVerifyScript(String stanza, String backupLabel, String postgresVersion) {
+        if (stanza == null || !stanza.matches("^[a-z0-9-]+$")) {
+            throw new IllegalArgumentException("Invalid stanza: " + stanza);
+        }
+        if (backupLabel == null || !backupLabel.matches("^[A-Za-z0-9_-]+$")) {
+            throw new IllegalArgumentException("Invalid pgBackRest backup label: " + backupLabel);
+        }
+        if (postgresVersion == null || !postgresVersion.matches("^[0-9]+$")) {
+            throw new IllegalArgumentException("Invalid PostgreSQL version: " + postgresVersion);
+        }
+
+        return """
+            #!/bin/sh
+            set -u
+            PGDATA=/var/lib/postgresql/data
+            BIN=/usr/lib/postgresql/%3$s/bin
+            OUT=/verify/result
+            PSQL="$BIN/psql -h /verify -p %4$d -U postgres -X -At"
+            : > "$OUT.tmp"
+
+            fail() {
+              echo "error=$1" >> "$OUT.tmp"
+              echo "status=failed" >> "$OUT.tmp"
+              mv "$OUT.tmp" "$OUT"
+              "$BIN/pg_ctl" -D "$PGDATA" -m immediate stop >/dev/null 2>&1
+              exit 1
+            }
+
+            start=$(date +%%s)
+            pgbackrest --stanza=%1$s --set=%2$s --archive-mode=off --type=immediate --target-action=promote restore \\
+              || fail "pgBackRest restore failed"
+            echo "restore_seconds=$(( $(date +%%s) - start ))" >> "$OUT.tmp"
+
+            rm -f "$PGDATA/patroni.dynamic.json" "$PGDATA/standby.signal"
+            echo "local all all trust" > /verify/pg_hba.conf
+            "$BIN/pg_ctl" -D "$PGDATA" -l /verify/postgres.log -w -t 3600 -o "-c port=%4$d -c listen_addresses='' \\
+              -c unix_socket_directories=/verify -c hba_file=/verify/pg_hba.conf -c archive_mode=off \\
+              -c hot_standby=off -c ssl=off -c shared_buffers=256MB -c primary_conninfo=''" start \\
+              || fail "PostgreSQL did not start: $(tail -c 300 /verify/postgres.log | tr '\\n' ' ')"
+
+            check_start=$(date +%%s)
+            if [ -x "$BIN/pg_amcheck" ]; then
+              "$BIN/pg_amcheck" -h /verify -p %4$d -U postgres --all --install-missing > /verify/amcheck.log 2>&1 \\
+                || fail "pg_amcheck reported problems: $(tail -c 500 /verify/amcheck.log | tr '\\n' ' ')"
+            fi
+
+            tables=0
+            rows=0
+            dbs=$($PSQL -d postgres -c "select datname from pg_database where datallowconn and datname <> 'template1'") \\
+              || fail "Could not list databases"
+            OLD_IFS=$IFS
+            IFS='
+            '
+            for db in $dbs; do
+              IFS=$OLD_IFS
+              counts=$($PSQL -d "$db" -F ' ' -c "select count(*), coalesce(sum(greatest(c.reltuples, 0)), 0)::bigint \\
+                from pg_class c join pg_namespace n on n.oid = c.relnamespace where c.relkind = 'r' \\
+                and n.nspname not in ('pg_catalog', 'information_schema') and n.nspname not like 'pg_toast%%'") \\
+                || fail "Could not count tables in $db"
+              tables=$((tables + ${counts%% *}))
+              rows=$((rows + ${counts##* }))
+            done
+
+            echo "check_seconds=$(( $(date +%%s) - check_start ))" >> "$OUT.tmp"
+            echo "tables=$tables" >> "$OUT.tmp"
+            echo "rows=$rows" >> "$OUT.tmp"
+            echo "status=passed" >> "$OUT.tmp"
+            mv "$OUT.tmp" "$OUT"
+            "$BIN/pg_ctl" -D "$PGDATA" -m fast stop >/dev/null 2>&1
+            exit 0
+            """.formatted(stanza, backupLabel, postgresVersion, VERIFY_PORT);
+    }
+
+    private void recordVerification(Backup backup) {
+        backupRepository.recordVerification(backup.getId(), backup.getVerifyStatus(), backup.getVerifyError(),
+                backup.getVerifyDurationSeconds(), backup.getVerifyTableCount(), backup.getVerifyRowCount(),
+                backup.getVerifyRestoreThroughputBytesPerSec());
+    }
+
+    /**
+     * Parse the key=value result written by the verification script.
+     */
+    VerifyResult parseVerifyResult(String output) {
+        Map<String, String> values = new HashMap<>();
+        for (String line : output.split("\n")) {
+            int eq = line.indexOf('=');
+            if (eq > 0) {
+                values.put(line.substring(0, eq).trim(), line.substring(eq + 1).trim());
+            }
+        }
+        boolean passed = "passed".equals(values.get("status"));
+        String error = values.get("error");
+        if (!passed && error == null) {
+            error = "Test restore reported no status";
+        }
+        Long tables = parseLong(values.get("tables"));
+        return new VerifyResult(passed, parseLong(values.get("restore_seconds")), parseLong(values.get("check_seconds")),
+                tables != null ? tables.intValue() : null, parseLong(values.get("rows")), error);
+    }
+
+    private Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
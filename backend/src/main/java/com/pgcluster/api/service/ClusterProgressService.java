@@ -1,9 +1,11 @@
 package com.pgcluster.api.service;
 
+import com.pgcluster.api.event.ClusterStatusChangedEvent;
 import com.pgcluster.api.model.entity.Cluster;
 import com.pgcluster.api.repository.ClusterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +23,7 @@ import java.util.UUID;
 public class ClusterProgressService {
 
     private final ClusterRepository clusterRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Update cluster provisioning progress.
@@ -54,6 +57,7 @@ public class ClusterProgressService {
                 cluster.setErrorMessage(errorMessage);
             }
             clusterRepository.save(cluster);
+            eventPublisher.publishEvent(ClusterStatusChangedEvent.changed(this, cluster));
         });
     }
 }
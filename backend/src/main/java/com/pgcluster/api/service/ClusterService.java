@@ -20,6 +20,7 @@ import com.pgcluster.api.util.PasswordGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.pgcluster.api.event.ClusterDeleteRequestedEvent;
+import com.pgcluster.api.event.ClusterStatusChangedEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
@@ -42,7 +43,7 @@ public class ClusterService {
 
     private final ClusterRepository clusterRepository;
     private final VpsNodeRepository vpsNodeRepository;
-    private final HetznerClient hetznerClient;
+    private final HetznerCatalogService hetznerCatalogService;
     @Lazy
     private final ProvisioningService provisioningService;
     private final SshService sshService;
@@ -65,7 +66,7 @@ public class ClusterService {
 
     /**
      * Get available Hetzner locations for node placement.
-     * Fetches locations from Hetzner API and transforms them with country names and flags.
+     * Reads locations from the Hetzner catalog and transforms them with country names and flags.
      * Also checks which locations have the default server type available.
      */
     public List<LocationDto> getAvailableLocations() {
@@ -76,12 +77,12 @@ public class ClusterService {
      * Get available Hetzner locations for a specific server type.
      */
     public List<LocationDto> getAvailableLocations(String serverType) {
-        List<HetznerClient.LocationInfo> hetznerLocations = hetznerClient.getLocations();
+        List<HetznerClient.LocationInfo> hetznerLocations = hetznerCatalogService.getLocations();
 
         // Get set of locations where the server type is available
         java.util.Set<String> availableLocations;
         try {
-            availableLocations = hetznerClient.getAvailableLocationsForServerType(serverType);
+            availableLocations = hetznerCatalogService.getAvailableLocations(serverType);
         } catch (Exception e) {
             log.warn("Failed to check server type availability, marking all as available: {}", e.getMessage());
             availableLocations = null; // Will mark all as available
@@ -104,7 +105,7 @@ public class ClusterService {
 
     /**
      * Get available server types grouped by category (shared/dedicated).
-     * Fetches specs from Hetzner API and checks availability per location.
+     * Specs and per-location availability come from the in-memory Hetzner catalog.
      */
     public ServerTypesResponse getServerTypes() {
         List<String> sharedTypes = List.of("cx23", "cx33", "cx43", "cx53");
@@ -117,15 +118,15 @@ public class ClusterService {
     }
 
     /**
-     * Fetch server type info from Hetzner API for a list of server type names.
+     * Look up server type info in the Hetzner catalog for a list of server type names.
      */
     private List<ServerTypeDto> fetchServerTypes(List<String> names) {
         List<ServerTypeDto> result = new ArrayList<>();
 
         for (String name : names) {
             try {
-                HetznerClient.ServerTypeInfo info = hetznerClient.getServerType(name);
-                java.util.Set<String> locations = hetznerClient.getAvailableLocationsForServerType(name);
+                HetznerClient.ServerTypeInfo info = hetznerCatalogService.getServerType(name);
+                java.util.Set<String> locations = hetznerCatalogService.getAvailableLocations(name);
 
                 result.add(ServerTypeDto.builder()
                         .name(info.getName())
@@ -146,7 +147,7 @@ public class ClusterService {
      * Validate that all requested node regions are available for the server type.
      */
     private void validateNodeRegions(List<String> nodeRegions, String serverType) {
-        java.util.Set<String> availableLocations = hetznerClient.getAvailableLocationsForServerType(serverType);
+        java.util.Set<String> availableLocations = hetznerCatalogService.getAvailableLocations(serverType);
 
         List<String> unavailableRegions = nodeRegions.stream()
                 .filter(region -> !availableLocations.contains(region))
@@ -256,6 +257,7 @@ public class ClusterService {
                 .region(request.getNodeRegions().get(0)) // Store first region as primary for display
                 .postgresPassword(postgresPassword)
                 .nodeRegions(request.getNodeRegions()) // Store all regions for provisioning
+                .backupWindowStart(request.getBackupWindowStart())
                 .provisioningStep(Cluster.STEP_CREATING_SERVERS)
                 .provisioningProgress(1)
                 .build();
@@ -273,6 +275,8 @@ public class ClusterService {
             // ASYNC: Continue provisioning (SSH, containers, DNS)
             provisioningService.continueProvisioningFromServers(cluster, nodes);
 
+            eventPublisher.publishEvent(ClusterStatusChangedEvent.created(this, cluster));
+
             // Audit log with pre-captured IP and user-agent
             auditLogService.logAsync(AuditLog.CLUSTER_CREATED, user, "cluster", cluster.getId(),
                     java.util.Map.of(
@@ -0,0 +1,248 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.client.CloudflareClient;
+import com.pgcluster.api.client.HetznerClient;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.model.entity.VpsNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Removes everything a cluster owns outside the database: Hetzner servers (including ones only
+ * found by label), the DNS record, the pgBackRest and export prefixes in S3, and trusted host keys.
+ *
+ * Each step runs as its own task on the teardown executor and is retried with backoff; one step
+ * failing doesn't stop the others. S3 is only purged once every server is confirmed gone, since a
+ * node still running keeps archiving WAL into the pgBackRest prefix. The caller gets a
+ * {@link Result} listing what succeeded and what didn't, instead of an exception.
+ */
+@Slf4j
+@Service
+public class ClusterTeardownService {
+
+    private final HetznerClient hetznerClient;
+    private final CloudflareClient cloudflareClient;
+    private final S3StorageService s3StorageService;
+    private final HostKeyVerifier hostKeyVerifier;
+    private final Executor teardownExecutor;
+
+    @Value("${cluster.base-domain}")
+    private String baseDomain;
+
+    // Off by default so an unconfigured environment never deletes backups
+    @Value("${cluster.teardown.purge-storage:false}")
+    private boolean purgeStorage;
+
+    @Value("${cluster.teardown.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${cluster.teardown.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${cluster.teardown.timeout-seconds:300}")
+    private long timeoutSeconds;
+
+    public ClusterTeardownService(HetznerClient hetznerClient,
+                                  CloudflareClient cloudflareClient,
+                                  S3StorageService s3StorageService,
+                                  HostKeyVerifier hostKeyVerifier,
+                                  @Qualifier("teardownExecutor") Executor teardownExecutor) {
+        this.hetznerClient = hetznerClient;
+        this.cloudflareClient = cloudflareClient;
+        this.s3StorageService = s3StorageService;
+        this.hostKeyVerifier = hostKeyVerifier;
+        this.teardownExecutor = teardownExecutor;
+    }
+
+    /**
+     * Outcome of a teardown, keyed by step name (e.g. "server 42", "dns", "s3 exports").
+     */
+    public record Result(List<String> completed, Map<String, String> failed) {
+
+        public boolean isClean() {
+            return failed.isEmpty();
+        }
+
+        public boolean succeeded(String step) {
+            return completed.contains(step);
+        }
+
+        Result merge(Result other) {
+            List<String> allCompleted = new ArrayList<>(completed);
+            allCompleted.addAll(other.completed());
+            Map<String, String> allFailed = new LinkedHashMap<>(failed);
+            allFailed.putAll(other.failed());
+            return new Result(List.copyOf(allCompleted), Collections.unmodifiableMap(allFailed));
+        }
+    }
+
+    static final String STEP_PGBACKREST = "s3 pgbackrest";
+    static final String STEP_EXPORTS = "s3 exports";
+    static final String STEP_ORPHAN_SWEEP = "orphan sweep";
+    private static final String SERVER_STEP_PREFIX = "server ";
+
+    /**
+     * Tear down the cluster's external resources in parallel and wait for every step to finish.
+     */
+    public Result teardown(Cluster cluster, List<VpsNode> nodes) {
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<Void>> steps = new LinkedHashMap<>();
+
+        Set<Long> knownServerIds = nodes.stream()
+                .map(VpsNode::getHetznerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        for (Long serverId : knownServerIds) {
+            String step = SERVER_STEP_PREFIX + serverId;
+            steps.put(step, submit(step, () -> deleteServer(serverId)));
+        }
+
+        // Servers created but not yet saved with their Hetzner ID only show up by label
+        steps.put(STEP_ORPHAN_SWEEP, submit(STEP_ORPHAN_SWEEP, () -> sweepOrphans(cluster, knownServerIds)));
+
+        steps.put("dns", submit("dns", () -> deleteDnsRecord(cluster)));
+
+        List<String> hosts = nodes.stream()
+                .map(VpsNode::getPublicIp)
+                .filter(ip -> ip != null && !ip.isBlank())
+                .toList();
+        if (!hosts.isEmpty()) {
+            steps.put("host keys", submit("host keys", () -> hosts.forEach(hostKeyVerifier::removeHost)));
+        }
+
+        Result result = collect(steps);
+
+        if (purgeStorage && s3StorageService.isConfigured()) {
+            result = result.merge(purgeStorage(cluster, result));
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (result.isClean()) {
+            log.info("Teardown of cluster {} finished in {}ms ({} steps)",
+                    cluster.getSlug(), elapsedMs, result.completed().size());
+        } else {
+            log.warn("Teardown of cluster {} finished in {}ms with {} failed step(s): {}",
+                    cluster.getSlug(), elapsedMs, result.failed().size(), result.failed());
+        }
+        return result;
+    }
+
+    private Result purgeStorage(Cluster cluster, Result serverResult) {
+        List<String> serversLeft = serverResult.failed().keySet().stream()
+                .filter(step -> step.startsWith(SERVER_STEP_PREFIX) || step.equals(STEP_ORPHAN_SWEEP))
+                .toList();
+        if (!serversLeft.isEmpty()) {
+            log.warn("Keeping S3 data of cluster {}: servers may still be running ({})",
+                    cluster.getSlug(), serversLeft);
+            String reason = "skipped, servers not deleted";
+            return new Result(List.of(), Map.of(STEP_PGBACKREST, reason, STEP_EXPORTS, reason));
+        }
+
+        String pgBackRestPrefix = "pgbackrest/" + cluster.getId() + "/";
+        String exportPrefix = "exports/" + cluster.getId() + "/";
+        Map<String, CompletableFuture<Void>> steps = new LinkedHashMap<>();
+        steps.put(STEP_PGBACKREST, submit(STEP_PGBACKREST, () -> s3StorageService.deleteDirectory(pgBackRestPrefix)));
+        steps.put(STEP_EXPORTS, submit(STEP_EXPORTS, () -> s3StorageService.deleteDirectory(exportPrefix)));
+        return collect(steps);
+    }
+
+    private CompletableFuture<Void> submit(String step, Runnable action) {
+        return CompletableFuture.runAsync(() -> withRetries(step, action), teardownExecutor);
+    }
+
+    private Result collect(Map<String, CompletableFuture<Void>> steps) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(steps.values().toArray(new CompletableFuture[0]));
+        try {
+            all.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Teardown steps still running after {}s", timeoutSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Individual failures are read from each future below
+        }
+
+        List<String> completed = new ArrayList<>();
+        Map<String, String> failed = new LinkedHashMap<>();
+        steps.forEach((step, future) -> {
+            if (!future.isDone()) {
+                failed.put(step, "timed out");
+            } else if (future.isCompletedExceptionally()) {
+                Throwable cause = future.exceptionNow();
+                failed.put(step, cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+            } else {
+                completed.add(step);
+            }
+        });
+        return new Result(List.copyOf(completed), Collections.unmodifiableMap(failed));
+    }
+
+    private void withRetries(String step, Runnable action) {
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                action.run();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Teardown step '{}' failed after {} attempt(s): {}", step, attempt, e.getMessage());
+                    throw e;
+                }
+                log.debug("Teardown step '{}' failed (attempt {}), retrying in {}ms: {}",
+                        step, attempt, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoff *= 2;
+            }
+        }
+    }
+
+    private void deleteServer(Long serverId) {
+        try {
+            hetznerClient.deleteServer(serverId);
+            log.info("Deleted Hetzner server: {}", serverId);
+        } catch (HttpClientErrorException.NotFound e) {
+            log.debug("Hetzner server {} already gone", serverId);
+        }
+    }
+
+    private void sweepOrphans(Cluster cluster, Set<Long> knownServerIds) {
+        // Hetzner rejects concurrent deletes of the same server, so skip the ones deleted by ID
+        Set<Long> deleted = new HashSet<>(knownServerIds);
+        for (HetznerClient.ServerResponse server : hetznerClient.listServersByLabel("cluster=" + cluster.getSlug())) {
+            if (deleted.add(server.getId())) {
+                deleteServer(server.getId());
+                log.info("Deleted orphaned Hetzner server found by label: {} ({})", server.getName(), server.getId());
+            }
+        }
+    }
+
+    private void deleteDnsRecord(Cluster cluster) {
+        String hostname = cluster.getSlug() + "." + baseDomain;
+        CloudflareClient.DnsRecord record = cloudflareClient.findDnsRecord(hostname);
+        if (record != null) {
+            cloudflareClient.deleteDnsRecord(record.getId());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.pgcluster.api.service;
 
+import com.pgcluster.api.model.dto.ExportRequest;
 import com.pgcluster.api.model.entity.AuditLog;
 import com.pgcluster.api.model.entity.Cluster;
 import com.pgcluster.api.model.entity.Export;
@@ -12,16 +13,23 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import com.pgcluster.api.event.ExportCreatedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Service for creating database exports (pg_dump).
@@ -61,11 +69,90 @@ public class ExportService {
     @Value("${export.retry-delay-seconds:10}")
     private int retryDelaySeconds;
 
+    @Value("${export.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    @Value("${export.streaming.part-size-mb:64}")
+    private int partSizeMb;
+
+    @Value("${export.streaming.upload-concurrency:3}")
+    private int uploadConcurrency;
+
+    @Value("${export.streaming.poll-interval-ms:5000}")
+    private long pollIntervalMs;
+
+    @Value("${export.from-replica.enabled:false}")
+    private boolean replicaExportEnabled;
+
+    @Value("${export.from-replica.max-lag-bytes:16777216}")
+    private long replicaMaxLagBytes;
+
+    // Replay resumes on its own this long after the export timeout if nothing resumed it
+    @Value("${export.from-replica.resume-grace-ms:600000}")
+    private long replicaResumeGraceMs;
+
+    // How far back the periodic sweep looks for replicas exports dumped from
+    @Value("${export.from-replica.sweep-lookback-ms:86400000}")
+    private long replicaSweepLookbackMs;
+
+    // How far behind now() the high-water mark of a timestamp column is held for late commits
+    @Value("${export.incremental.watermark-lag-seconds:300}")
+    private long watermarkLagSeconds;
+
+    @Value("${export.directory.max-jobs:8}")
+    private int directoryMaxJobs;
+
+    @Value("${export.directory.zstd-level:3}")
+    private int zstdLevel;
+
+    // S3 multipart limits: parts 1..10000, at least 5 MiB each except the last
+    static final int MAX_PARTS = 10000;
+    private static final long MIN_PART_SIZE_BYTES = 5L * 1024 * 1024;
+
+    // Directory dumps are staged on the data volume, mounted from /data/export-staging. It is kept
+    // out of PGDATA so backups and replica clones taken during an export don't copy the dump.
+    private static final String CONTAINER_STAGING_DIR = "/var/lib/pgcluster/export-staging";
+    private static final String CONTAINER_DUMP_PREFIX = CONTAINER_STAGING_DIR + "/export-";
+    // Line the incremental export script reports its high-water mark on, in pg_dump_err.log
+    private static final String WATERMARK_MARKER = "PGCLUSTER_WATERMARK";
+    // Aim to stay well below MAX_PARTS so a dump larger than the estimate still fits
+    private static final int TARGET_PARTS = 4000;
+    private static final long MIB = 1024L * 1024;
+
+    // Pid of the in-container timer that resumes WAL replay if the export never does
+    private static final String REPLAY_WATCHDOG_PID = "/tmp/wal-replay-watchdog.pid";
+    // Resumes replay only on a paused standby (pg_is_wal_replay_paused() errors on a primary),
+    // printing 1 if it did
+    private static final String RESUME_IF_PAUSED_SQL = "select case when pg_is_in_recovery() then "
+            + "case when pg_is_wal_replay_paused() then (select 1 from pg_wal_replay_resume()) end end";
+
+    /**
+     * Part layout for a streaming export.
+     *
+     * @param partSizeBytes Size each part is cut at
+     * @param partCount Number of presigned part URLs to hand to the node
+     */
+    record PartPlan(long partSizeBytes, int partCount) {}
+
+    // Table/schema filters are passed to pg_dump -t/-n and may contain * wildcards
+    private static final Pattern FILTER_PATTERN = Pattern.compile("^[A-Za-z0-9_*]+(\\.[A-Za-z0-9_*]+)?$");
+    // Incremental exports interpolate the table and column into SQL, so no wildcards
+    private static final Pattern TABLE_PATTERN = Pattern.compile("^[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?$");
+    private static final Pattern COLUMN_PATTERN = Pattern.compile("^[A-Za-z_][A-Za-z0-9_]*$");
+
     /**
      * Create a database export (pg_dump)
      */
     @Transactional
     public Export createExport(UUID clusterId, User user) {
+        return createExport(clusterId, user, null);
+    }
+
+    /**
+     * Create a database export with the requested format
+     */
+    @Transactional
+    public Export createExport(UUID clusterId, User user, ExportRequest request) {
         if (!s3StorageService.isConfigured()) {
             throw new IllegalStateException("Export functionality is not configured. Please configure S3 storage.");
         }
@@ -87,11 +174,8 @@ public class ExportService {
             throw new IllegalStateException("An export is already in progress for this cluster. Please wait for it to complete.");
         }
 
-        Export export = Export.builder()
-                .cluster(cluster)
-                .status(Export.STATUS_PENDING)
-                .format(Export.FORMAT_PG_DUMP)
-                .build();
+        Export export = buildExport(cluster, request);
+        String format = export.getFormat();
 
         export = exportRepository.save(export);
         log.info("Created export {} for cluster {}", export.getId(), cluster.getSlug());
@@ -105,7 +189,9 @@ public class ExportService {
                 java.util.Map.of(
                         "cluster_id", cluster.getId().toString(),
                         "cluster_name", cluster.getName(),
-                        "cluster_slug", cluster.getSlug()
+                        "cluster_slug", cluster.getSlug(),
+                        "format", format,
+                        "scope", describeScope(export)
                 ), clientIp, userAgent);
 
         // Publish event to trigger async export after transaction commits
@@ -114,6 +200,80 @@ public class ExportService {
         return export;
     }
 
+    /**
+     * Build a pending export from the request, validating its scope.
+     * Incremental exports pick up the high-water mark of the last completed export
+     * of the same table and column unless an explicit lower bound is given.
+     */
+    private Export buildExport(Cluster cluster, ExportRequest request) {
+        if (request == null) {
+            return Export.builder()
+                    .cluster(cluster)
+                    .status(Export.STATUS_PENDING)
+                    .format(Export.FORMAT_PG_DUMP)
+                    .build();
+        }
+
+        List<String> schemas = request.getSchemas() != null ? request.getSchemas() : List.of();
+        List<String> tables = request.getTables() != null ? request.getTables() : List.of();
+        for (String filter : Stream.concat(schemas.stream(), tables.stream()).toList()) {
+            if (filter == null || !FILTER_PATTERN.matcher(filter).matches()) {
+                throw new IllegalArgumentException("Invalid schema or table name: " + filter);
+            }
+        }
+
+        String format = request.getFormat() != null ? request.getFormat() : Export.FORMAT_PG_DUMP;
+        Export export = Export.builder()
+                .cluster(cluster)
+                .status(Export.STATUS_PENDING)
+                .format(format)
+                .includeSchemas(schemas.isEmpty() ? null : String.join(",", schemas))
+                .includeTables(tables.isEmpty() ? null : String.join(",", tables))
+                .build();
+
+        String watermarkColumn = request.getWatermarkColumn();
+        if (watermarkColumn == null || watermarkColumn.isBlank()) {
+            return export;
+        }
+
+        if (tables.size() != 1 || !schemas.isEmpty() || !TABLE_PATTERN.matcher(tables.get(0)).matches()) {
+            throw new IllegalArgumentException("Incremental exports require exactly one table and no schema filter");
+        }
+        if (!COLUMN_PATTERN.matcher(watermarkColumn).matches()) {
+            throw new IllegalArgumentException("Invalid watermark column: " + watermarkColumn);
+        }
+        if (request.getFormat() != null && !Export.FORMAT_CSV.equals(request.getFormat())) {
+            throw new IllegalArgumentException("Incremental exports are always delivered as CSV");
+        }
+
+        String watermarkFrom = request.getSince();
+        if (watermarkFrom == null) {
+            watermarkFrom = exportRepository
+                    .findFirstByClusterAndIncludeTablesAndWatermarkColumnAndStatusOrderByCreatedAtDesc(
+                            cluster, tables.get(0), watermarkColumn, Export.STATUS_COMPLETED)
+                    .map(Export::getWatermarkTo)
+                    .orElse(null);
+        }
+
+        export.setFormat(Export.FORMAT_CSV);
+        export.setWatermarkColumn(watermarkColumn);
+        export.setWatermarkFrom(watermarkFrom);
+        return export;
+    }
+
+    private String describeScope(Export export) {
+        if (export.getWatermarkColumn() != null) {
+            return String.format("%s since %s > %s", export.getIncludeTables(), export.getWatermarkColumn(),
+                    export.getWatermarkFrom() != null ? export.getWatermarkFrom() : "start");
+        }
+        if (export.getIncludeSchemas() == null && export.getIncludeTables() == null) {
+            return "database";
+        }
+        return String.format("schemas=%s tables=%s",
+                export.getIncludeSchemas() != null ? export.getIncludeSchemas() : "*",
+                export.getIncludeTables() != null ? export.getIncludeTables() : "*");
+    }
+
     /**
      * Execute export asynchronously with auto-retry on transient failures
      */
@@ -194,111 +354,605 @@ public class ExportService {
 
             // Generate S3 path for the export
             String timestamp = Instant.now().toString().replace(":", "-").replace(".", "-");
-            String s3Path = String.format("exports/%s/%s_%s.sql.gz", cluster.getId(), cluster.getSlug(), timestamp);
+            boolean directoryFormat = Export.FORMAT_DIRECTORY.equals(export.getFormat());
+            boolean csvFormat = Export.FORMAT_CSV.equals(export.getFormat());
+            String s3Path = String.format("exports/%s/%s_%s.%s", cluster.getId(), cluster.getSlug(), timestamp,
+                    directoryFormat ? "tar" : csvFormat ? "csv.gz" : "sql.gz");
             export.setS3Path(s3Path);
 
-            // Execute pg_dump with piped gzip (use pipefail to catch pg_dump errors)
-            // --no-owner and --no-privileges ensure portability to other DBaaS providers
-            String pgDumpCommand = "docker exec patroni bash -c 'set -o pipefail; pg_dump -U postgres -h localhost -Fp --no-owner --no-privileges postgres 2>/tmp/pg_dump_err.log | gzip > /tmp/export.sql.gz || { cat /tmp/pg_dump_err.log; exit 1; }'";
+            VpsNode sourceNode = selectExportSource(cluster, leaderNode);
+            export.setSourceNode(sourceNode.getName());
+            try {
+                // Directory dumps and CSV deltas are only produced by the streaming pipeline
+                if (streamingEnabled || directoryFormat || csvFormat) {
+                    streamExportToS3(export, sourceNode, s3Path);
+                } else {
+                    dumpAndUploadExport(export, sourceNode, s3Path);
+                }
+            } finally {
+                if (sourceNode != leaderNode) {
+                    setWalReplayPaused(sourceNode, false);
+                }
+            }
 
-            SshService.CommandResult dumpResult = sshService.executeCommand(
-                    leaderNode.getPublicIp(),
-                    pgDumpCommand,
-                    exportTimeoutMs
-            );
+            // Generate presigned download URL
+            Instant expiresAt = Instant.now().plus(downloadExpiryHours, ChronoUnit.HOURS);
+            String downloadUrl = s3StorageService.generatePresignedUrl(s3Path, downloadExpiryHours);
+            export.setDownloadUrl(downloadUrl);
+            export.setDownloadExpiresAt(expiresAt);
 
-            log.info("pg_dump result - exitCode: {}, stdout: '{}', stderr: '{}'",
-                    dumpResult.getExitCode(),
-                    dumpResult.getStdout().length() > 200 ? dumpResult.getStdout().substring(0, 200) + "..." : dumpResult.getStdout(),
-                    dumpResult.getStderr());
+            // Mark as completed
+            export.setStatus(Export.STATUS_COMPLETED);
+            export.setCompletedAt(Instant.now());
+            exportRepository.save(export);
 
-            if (!dumpResult.isSuccess()) {
-                throw new RuntimeException("pg_dump failed: " + dumpResult.getStderr() + " | stdout: " + dumpResult.getStdout());
-            }
+            log.info("Export {} completed successfully. Size: {} bytes", exportId, export.getSizeBytes());
 
-            // Get file size (run inside container where the file is)
-            SshService.CommandResult sizeResult = sshService.executeCommand(
-                    leaderNode.getPublicIp(),
-                    "docker exec patroni sh -c 'wc -c < /tmp/export.sql.gz' 2>/dev/null || echo 0",
-                    30000
-            );
+        } catch (Exception e) {
+            log.error("Export execution failed: {}", e.getMessage(), e);
+            export.setStatus(Export.STATUS_FAILED);
+            export.setErrorMessage(e.getMessage());
+            exportRepository.save(export);
+            throw e;
+        }
+    }
 
-            log.info("stat result - exitCode: {}, stdout: '{}', stderr: '{}'",
-                    sizeResult.getExitCode(), sizeResult.getStdout(), sizeResult.getStderr());
+    /**
+     * Pick the node to dump from. With replica exports enabled, multi-node clusters are
+     * dumped from the lowest-lag streaming replica with WAL replay paused, so the dump
+     * neither loads the primary nor gets cancelled by recovery conflicts. pg_dump's own
+     * snapshot keeps the dump consistent. Falls back to the leader if no replica qualifies.
+     */
+    private VpsNode selectExportSource(Cluster cluster, VpsNode leaderNode) {
+        if (!replicaExportEnabled || cluster.getNodeCount() < 2) {
+            return leaderNode;
+        }
 
-            if (sizeResult.isSuccess() && !sizeResult.getStdout().isBlank()) {
-                try {
-                    export.setSizeBytes(Long.parseLong(sizeResult.getStdout().trim()));
-                } catch (NumberFormatException e) {
-                    log.warn("Could not parse file size: {}", sizeResult.getStdout());
-                }
-            }
+        VpsNode replica = patroniService.findBestReplica(cluster, replicaMaxLagBytes);
+        if (replica == null) {
+            log.info("No healthy replica for cluster {}, exporting from the primary", cluster.getSlug());
+            return leaderNode;
+        }
 
-            // Validate file is not empty
-            if (export.getSizeBytes() == null || export.getSizeBytes() == 0) {
-                // Try to get the actual pg_dump error from the error log file (inside container)
-                SshService.CommandResult errResult = sshService.executeCommand(
-                        leaderNode.getPublicIp(),
-                        "docker exec patroni sh -c 'cat /tmp/pg_dump_err.log 2>/dev/null || echo No error log found'",
-                        10000
-                );
-                String pgDumpError = errResult.getStdout();
-                throw new RuntimeException("Export file is empty. pg_dump error: " + pgDumpError);
+        if (!setWalReplayPaused(replica, true)) {
+            log.warn("Could not pause WAL replay on {}, exporting from the primary", replica.getName());
+            return leaderNode;
+        }
+
+        log.info("Exporting cluster {} from replica {} ({})", cluster.getSlug(), replica.getName(), replica.getPublicIp());
+        return replica;
+    }
+
+    /**
+     * Pause or resume WAL replay on a replica. Pausing also starts a timer inside the container
+     * that resumes replay once the export can no longer be running, so a crash of this instance
+     * can't leave the replica paused and its lag growing; resuming stops that timer.
+     */
+    private boolean setWalReplayPaused(VpsNode node, boolean paused) {
+        String function = paused ? "pg_wal_replay_pause()" : "pg_wal_replay_resume()";
+        String stopWatchdog = "kill $(cat " + REPLAY_WATCHDOG_PID + ") 2>/dev/null; rm -f " + REPLAY_WATCHDOG_PID;
+        String command;
+        if (paused) {
+            long watchdogSeconds = (exportTimeoutMs + replicaResumeGraceMs) / 1000;
+            command = "docker exec patroni sh -c '" + stopWatchdog + "'"
+                    + " && docker exec patroni psql -U postgres -h localhost -tAc \"select " + function + "\""
+                    + " && docker exec -d patroni sh -c 'echo $$ > " + REPLAY_WATCHDOG_PID + "; sleep " + watchdogSeconds
+                    + "; rm -f " + REPLAY_WATCHDOG_PID
+                    + "; psql -U postgres -h localhost -tAc \"" + RESUME_IF_PAUSED_SQL + "\"'";
+        } else {
+            command = "docker exec patroni sh -c '" + stopWatchdog + "'"
+                    + " && docker exec patroni psql -U postgres -h localhost -tAc \"select " + function + "\"";
+        }
+        SshService.CommandResult result = sshService.executeCommand(node.getPublicIp(), command, 30000);
+        if (!result.isSuccess()) {
+            log.warn("Failed to run {} on {}: {}", function, node.getName(), result.getStderr());
+        }
+        return result.isSuccess();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeReplayOnStartup() {
+        // An export interrupted by a restart of this instance may have left its replica paused
+        resumeIdleReplicaReplay(Instant.now().minusMillis(replicaSweepLookbackMs));
+    }
+
+    @Scheduled(fixedDelayString = "${export.from-replica.sweep-interval-ms:600000}",
+               initialDelayString = "${export.from-replica.sweep-interval-ms:600000}")
+    public void sweepPausedReplicas() {
+        if (!replicaExportEnabled) {
+            return;
+        }
+        resumeIdleReplicaReplay(Instant.now().minusMillis(replicaSweepLookbackMs));
+    }
+
+    /**
+     * Resume WAL replay on nodes recent exports dumped from, unless their cluster has an export
+     * that may still be running. Nodes that aren't paused standbys are left untouched.
+     */
+    void resumeIdleReplicaReplay(Instant since) {
+        List<VpsNode> nodes;
+        try {
+            nodes = exportRepository.findIdleExportSourceNodes(since, Instant.now().minusMillis(exportTimeoutMs));
+        } catch (Exception e) {
+            log.warn("Failed to look up export source nodes: {}", e.getMessage());
+            return;
+        }
+
+        for (VpsNode node : nodes) {
+            if (node.getPublicIp() == null) {
+                continue;
+            }
+            SshService.CommandResult result = sshService.executeCommand(node.getPublicIp(),
+                    "docker exec patroni psql -U postgres -h localhost -tAc \"" + RESUME_IF_PAUSED_SQL + "\"",
+                    30000);
+            if (!result.isSuccess()) {
+                log.warn("Failed to check WAL replay on {}: {}", node.getName(), result.getStderr());
+            } else if ("1".equals(result.getStdout().trim())) {
+                log.warn("Resumed WAL replay left paused on {} with no export running", node.getName());
             }
+        }
+    }
 
-            // Upload directly to S3 from container using presigned URL (streaming - no memory loading)
-            log.info("Uploading export to S3: {}", s3Path);
-            String presignedPutUrl = s3StorageService.generatePresignedPutUrl(s3Path, 60); // 60 minute expiry
+    /**
+     * Legacy export path: dump to a temp file inside the container, then upload it with a single PUT
+     */
+    private void dumpAndUploadExport(Export export, VpsNode node, String s3Path) {
+        // Execute pg_dump with piped gzip (use pipefail to catch pg_dump errors)
+        // --no-owner and --no-privileges ensure portability to other DBaaS providers
+        String pgDumpCommand = "docker exec patroni bash -c 'set -o pipefail; pg_dump -U postgres -h localhost -Fp --no-owner --no-privileges"
+                + scopeArgs(export) + " postgres 2>/tmp/pg_dump_err.log | gzip > /tmp/export.sql.gz || { cat /tmp/pg_dump_err.log; exit 1; }'";
+
+        SshService.CommandResult dumpResult = sshService.executeCommand(
+                node.getPublicIp(),
+                pgDumpCommand,
+                exportTimeoutMs
+        );
+
+        log.info("pg_dump result - exitCode: {}, stdout: '{}', stderr: '{}'",
+                dumpResult.getExitCode(),
+                dumpResult.getStdout().length() > 200 ? dumpResult.getStdout().substring(0, 200) + "..." : dumpResult.getStdout(),
+                dumpResult.getStderr());
+
+        if (!dumpResult.isSuccess()) {
+            throw new RuntimeException("pg_dump failed: " + dumpResult.getStderr() + " | stdout: " + dumpResult.getStdout());
+        }
 
-            // Use curl on the remote server to upload directly to S3
-            // This avoids loading the entire file into API server memory
-            String uploadCommand = String.format(
-                    "docker exec patroni sh -c 'curl -s -X PUT -T /tmp/export.sql.gz \"%s\"'",
-                    presignedPutUrl.replace("\"", "\\\"")
-            );
+        // Get file size (run inside container where the file is)
+        SshService.CommandResult sizeResult = sshService.executeCommand(
+                node.getPublicIp(),
+                "docker exec patroni sh -c 'wc -c < /tmp/export.sql.gz' 2>/dev/null || echo 0",
+                30000
+        );
+
+        log.info("stat result - exitCode: {}, stdout: '{}', stderr: '{}'",
+                sizeResult.getExitCode(), sizeResult.getStdout(), sizeResult.getStderr());
+
+        if (sizeResult.isSuccess() && !sizeResult.getStdout().isBlank()) {
+            try {
+                export.setSizeBytes(Long.parseLong(sizeResult.getStdout().trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Could not parse file size: {}", sizeResult.getStdout());
+            }
+        }
 
-            SshService.CommandResult uploadResult = sshService.executeCommand(
-                    leaderNode.getPublicIp(),
-                    uploadCommand,
-                    exportTimeoutMs
+        // Validate file is not empty
+        if (export.getSizeBytes() == null || export.getSizeBytes() == 0) {
+            // Try to get the actual pg_dump error from the error log file (inside container)
+            SshService.CommandResult errResult = sshService.executeCommand(
+                    node.getPublicIp(),
+                    "docker exec patroni sh -c 'cat /tmp/pg_dump_err.log 2>/dev/null || echo No error log found'",
+                    10000
             );
+            String pgDumpError = errResult.getStdout();
+            throw new RuntimeException("Export file is empty. pg_dump error: " + pgDumpError);
+        }
+
+        // Upload directly to S3 from container using presigned URL (streaming - no memory loading)
+        log.info("Uploading export to S3: {}", s3Path);
+        String presignedPutUrl = s3StorageService.generatePresignedPutUrl(s3Path, 60); // 60 minute expiry
+
+        // Use curl on the remote server to upload directly to S3
+        // This avoids loading the entire file into API server memory
+        String uploadCommand = String.format(
+                "docker exec patroni sh -c 'curl -s -X PUT -T /tmp/export.sql.gz \"%s\"'",
+                presignedPutUrl.replace("\"", "\\\"")
+        );
+
+        SshService.CommandResult uploadResult = sshService.executeCommand(
+                node.getPublicIp(),
+                uploadCommand,
+                exportTimeoutMs
+        );
+
+        if (!uploadResult.isSuccess()) {
+            throw new RuntimeException("Failed to upload export to S3: " + uploadResult.getStderr());
+        }
+
+        // Verify upload and get file size from S3
+        long fileSize = s3StorageService.getFileSize(s3Path);
+        if (fileSize <= 0) {
+            throw new RuntimeException("Export upload verification failed - file not found in S3");
+        }
+
+        log.info("Export uploaded to S3: {} ({} bytes)", s3Path, fileSize);
+        export.setSizeBytes(fileSize);
+
+        // Clean up temp file
+        sshService.executeCommand(node.getPublicIp(), "rm -f /tmp/export.sql.gz", 10000);
+    }
+
+    /**
+     * Streaming export path: the dump stream (pg_dump | gzip, or a tar of a directory-format
+     * dump) is cut into parts on the node and each part is PUT to a presigned S3 multipart URL
+     * while the dump is still running.
+     *
+     * Parts are buffered in /dev/shm (at most upload-concurrency + 1 at a time), so the
+     * stream never touches the disk and upload overlaps the dump. The pipeline runs detached
+     * on the node; we poll the list of uploaded parts and report it as bytesUploaded.
+     */
+    private void streamExportToS3(Export export, VpsNode node, String s3Path) {
+        String ip = node.getPublicIp();
+        String workDir = "/tmp/pgcluster-export-" + export.getId();
+        String shmPrefix = "/dev/shm/pgcluster-export-" + export.getId() + "-";
+
+        PartPlan plan = planParts(estimateDumpSize(ip));
+        log.info("Streaming export {} to S3: {} ({} MiB parts, {} part URLs)",
+                export.getId(), s3Path, plan.partSizeBytes() / MIB, plan.partCount());
+
+        String uploadId = s3StorageService.createMultipartUpload(s3Path);
+        boolean completed = false;
+        try {
+            List<String> partUrls = s3StorageService.generatePresignedUploadPartUrls(
+                    s3Path, uploadId, plan.partCount(), Duration.ofMillis(exportTimeoutMs));
+
+            SshService.CommandResult mkdirResult = sshService.executeCommand(ip, "mkdir -p " + workDir, 10000);
+            if (!mkdirResult.isSuccess()) {
+                throw new RuntimeException("Failed to prepare export directory: " + mkdirResult.getStderr());
+            }
 
-            if (!uploadResult.isSuccess()) {
-                throw new RuntimeException("Failed to upload export to S3: " + uploadResult.getStderr());
+            String dumpCommand = switch (export.getFormat()) {
+                case Export.FORMAT_DIRECTORY -> buildDirectoryDumpCommand(export, ip);
+                case Export.FORMAT_CSV -> buildDeltaDumpCommand(export, ip, workDir);
+                default -> buildPlainDumpCommand(export);
+            };
+            sshService.uploadContent(ip, String.join("\n", partUrls) + "\n", workDir + "/urls");
+            sshService.uploadContent(ip, buildPartScript(workDir, shmPrefix), workDir + "/part.sh");
+            sshService.uploadContent(ip, buildPipelineScript(workDir, shmPrefix, plan.partSizeBytes(), dumpCommand),
+                    workDir + "/run.sh");
+
+            // Detach into its own session so the whole pipeline can be killed as one process group
+            SshService.CommandResult startResult = sshService.executeCommand(ip,
+                    String.format("setsid nohup bash %1$s/run.sh > %1$s/run.log 2>&1 < /dev/null &", workDir),
+                    10000);
+            if (!startResult.isSuccess()) {
+                throw new RuntimeException("Failed to start export pipeline: " + startResult.getStderr());
             }
 
+            int exitCode = awaitPipeline(export, ip, workDir);
+            if (exitCode != 0) {
+                SshService.CommandResult errResult = sshService.executeCommand(ip,
+                        String.format("cat %1$s/pg_dump_err.log %1$s/run.log 2>/dev/null | tail -c 2000", workDir),
+                        10000);
+                throw new RuntimeException("pg_dump failed: " + errResult.getStdout().trim());
+            }
+            if (Export.FORMAT_CSV.equals(export.getFormat())) {
+                readDeltaWatermark(export, ip, workDir);
+            }
+
+            int parts = s3StorageService.completeMultipartUpload(s3Path, uploadId);
+            completed = true;
+
             // Verify upload and get file size from S3
             long fileSize = s3StorageService.getFileSize(s3Path);
             if (fileSize <= 0) {
                 throw new RuntimeException("Export upload verification failed - file not found in S3");
             }
 
-            log.info("Export uploaded to S3: {} ({} bytes)", s3Path, fileSize);
+            log.info("Export uploaded to S3: {} ({} bytes in {} parts)", s3Path, fileSize, parts);
             export.setSizeBytes(fileSize);
+            export.setBytesUploaded(fileSize);
+        } finally {
+            if (!completed) {
+                s3StorageService.abortMultipartUpload(s3Path, uploadId);
+            }
+            // Kill the pipeline if it is still running, on the node and inside the container (killing
+            // docker exec leaves pg_dump running), then drop scripts, buffered parts and dump directory
+            sshService.executeCommand(ip, String.format(
+                    "[ -f %1$s/exit ] || { docker exec patroni sh -c 'kill $(cat %4$s) 2>/dev/null'; "
+                            + "kill -- -$(cat %1$s/pid 2>/dev/null) 2>/dev/null; }; rm -rf %1$s %2$s*; "
+                            + "docker exec patroni rm -rf %3$s %4$s",
+                    workDir, shmPrefix, containerDumpDir(export), containerPidFile(export)), 10000);
+        }
+    }
 
-            // Generate presigned download URL
-            Instant expiresAt = Instant.now().plus(downloadExpiryHours, ChronoUnit.HOURS);
-            String downloadUrl = s3StorageService.generatePresignedUrl(s3Path, downloadExpiryHours);
-            export.setDownloadUrl(downloadUrl);
-            export.setDownloadExpiresAt(expiresAt);
+    /**
+     * Wait for the detached pipeline to exit, saving upload progress on every poll.
+     *
+     * @return The pipeline's exit code
+     */
+    private int awaitPipeline(Export export, String ip, String workDir) {
+        String statusCommand = String.format(
+                "cat %1$s/exit 2>/dev/null || echo running; awk '{s+=$1} END {print s+0}' %1$s/done", workDir);
+        long deadline = System.currentTimeMillis() + exportTimeoutMs;
 
-            // Clean up temp file
-            sshService.executeCommand(leaderNode.getPublicIp(), "rm -f /tmp/export.sql.gz", 10000);
+        while (true) {
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Export interrupted");
+            }
 
-            // Mark as completed
-            export.setStatus(Export.STATUS_COMPLETED);
-            export.setCompletedAt(Instant.now());
-            exportRepository.save(export);
+            SshService.CommandResult status = sshService.executeCommand(ip, statusCommand, 10000);
+            String[] lines = status.getStdout().trim().split("\\s+");
+            if (status.isSuccess() && lines.length >= 2) {
+                try {
+                    long uploaded = Long.parseLong(lines[1]);
+                    if (export.getBytesUploaded() == null || uploaded != export.getBytesUploaded()) {
+                        export.setBytesUploaded(uploaded);
+                        exportRepository.save(export);
+                    }
+                    if (!"running".equals(lines[0])) {
+                        return Integer.parseInt(lines[0]);
+                    }
+                } catch (NumberFormatException e) {
+                    log.warn("Could not parse export pipeline status: {}", status.getStdout());
+                }
+            }
 
-            log.info("Export {} completed successfully. Size: {} bytes", exportId, export.getSizeBytes());
+            if (System.currentTimeMillis() > deadline) {
+                throw new RuntimeException("Export timed out after " + exportTimeoutMs / 1000 + " seconds");
+            }
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("Export execution failed: {}", e.getMessage(), e);
-            export.setStatus(Export.STATUS_FAILED);
-            export.setErrorMessage(e.getMessage());
-            exportRepository.save(export);
-            throw e;
+    /**
+     * Estimate the uncompressed dump size from the database size, 0 if unknown
+     */
+    private long estimateDumpSize(String ip) {
+        SshService.CommandResult result = sshService.executeCommand(ip,
+                "docker exec patroni psql -U postgres -h localhost -tAc \"select pg_database_size('postgres')\"",
+                30000);
+        if (result.isSuccess()) {
+            try {
+                return Long.parseLong(result.getStdout().trim());
+            } catch (NumberFormatException e) {
+                log.warn("Could not parse database size: {}", result.getStdout());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Choose part size and part URL count for an estimated dump size.
+     * Parts grow beyond the configured size for very large databases so the dump fits
+     * in S3's part limit; the URL count leaves 2x headroom over the estimate.
+     */
+    PartPlan planParts(long estimatedBytes) {
+        long partSize = Math.max(MIN_PART_SIZE_BYTES, partSizeMb * MIB);
+        if (estimatedBytes <= 0) {
+            return new PartPlan(partSize, MAX_PARTS);
         }
+
+        if (estimatedBytes / partSize >= TARGET_PARTS) {
+            long scaled = (estimatedBytes + TARGET_PARTS - 1) / TARGET_PARTS;
+            partSize = (scaled + MIB - 1) / MIB * MIB;
+        }
+
+        long expectedParts = (estimatedBytes + partSize - 1) / partSize;
+        int partCount = (int) Math.min(MAX_PARTS, Math.max(16, expectedParts * 2 + 1));
+        return new PartPlan(partSize, partCount);
+    }
+
+    /**
+     * Script run by split --filter for each part: data on stdin, part name in $FILE.
+     * Waits for a free upload slot, buffers the part in memory and uploads it in the background.
+     */
+    private String buildPartScript(String workDir, String shmPrefix) {
+        return String.format("""
+                #!/bin/sh
+                N=$(expr "${FILE#part}" + 0)
+                while [ "$(ls %2$s* 2>/dev/null | wc -l)" -ge %3$d ]; do sleep 0.2; done
+                PART="%2$s$N"
+                cat > "$PART"
+                URL=$(sed -n "${N}p" %1$s/urls)
+                (
+                  if [ -n "$URL" ] && curl -sf --retry 3 -X PUT -T "$PART" "$URL" -o /dev/null; then
+                    stat -c %%s "$PART" >> %1$s/done
+                  else
+                    echo "$N" >> %1$s/failed
+                  fi
+                  rm -f "$PART"
+                ) < /dev/null &
+                """, workDir, shmPrefix, Math.max(1, uploadConcurrency));
+    }
+
+    /**
+     * Dump command for directory-format exports: pg_dump -Fd with one job per core
+     * (up to the configured maximum) into the staging directory on the data volume, streamed
+     * out as a tar archive. zstd needs PostgreSQL 16+, older versions use gzip.
+     *
+     * The directory is removed once the tar finishes, whether or not the dump succeeded.
+     * Only one export runs per cluster, so leftovers of an export interrupted before it
+     * could clean up are removed before the dump starts.
+     */
+    private String buildDirectoryDumpCommand(Export export, String ip) {
+        int jobs = Math.max(1, Math.min(directoryMaxJobs, countCores(ip)));
+        String compress = postgresMajorVersion(export.getCluster()) >= 16
+                ? "--compress=zstd:" + zstdLevel
+                : "-Z 6";
+        String dumpDir = containerDumpDir(export);
+
+        // Nodes provisioned before the staging volume existed have nowhere to stage the dump
+        SshService.CommandResult stagingResult = sshService.executeCommand(ip,
+                "docker exec patroni test -w " + CONTAINER_STAGING_DIR, 10000);
+        if (!stagingResult.isSuccess()) {
+            throw new RuntimeException("Directory exports need the export staging volume, which nodes "
+                    + "provisioned before it was added do not have. Use the plain SQL format instead.");
+        }
+
+        log.info("Directory export {} using {} parallel jobs ({})", export.getId(), jobs, compress);
+        return String.format("{ docker exec patroni sh -c 'rm -rf %1$s*' && %3$s 2>pg_dump_err.log && %4$s; "
+                        + "rc=$?; docker exec patroni rm -rf %2$s; exit $rc; }",
+                CONTAINER_DUMP_PREFIX, dumpDir,
+                trackedExec(export, "", String.format("pg_dump -U postgres -h localhost -Fd -j %d %s "
+                        + "--no-owner --no-privileges%s -f %s postgres", jobs, compress, scopeArgs(export), dumpDir)),
+                trackedExec(export, "", "tar -C " + dumpDir + " -cf - ."));
+    }
+
+    /**
+     * Dump command for plain SQL exports.
+     * --no-owner and --no-privileges ensure portability to other DBaaS providers.
+     */
+    private String buildPlainDumpCommand(Export export) {
+        return trackedExec(export, "", "pg_dump -U postgres -h localhost -Fp --no-owner --no-privileges"
+                + scopeArgs(export) + " postgres") + " 2>pg_dump_err.log | gzip";
+    }
+
+    /**
+     * Dump command for incremental exports: rows above the previous high-water mark, as gzipped
+     * CSV. The script reports the new mark, which is stored on the export once the dump succeeds.
+     */
+    private String buildDeltaDumpCommand(Export export, String ip, String workDir) {
+        sshService.uploadContent(ip, buildDeltaScript(export), workDir + "/delta.sql");
+        return trackedExec(export, " -i", "psql -U postgres -h localhost -X -q -v ON_ERROR_STOP=1 -f -")
+                + " < delta.sql 2>pg_dump_err.log | gzip";
+    }
+
+    /**
+     * psql script for an incremental export. The new high-water mark is read and the rows up to it
+     * are copied in one repeatable-read transaction, so both see the same rows.
+     *
+     * The mark is held back for rows that commit after it is read with a lower value, which the
+     * next export would skip for good. For timestamp and date columns it stops watermarkLagSeconds
+     * before now(). For other columns it only counts rows written before the oldest transaction
+     * still in progress. Rows above the mark wait for the next export.
+     */
+    String buildDeltaScript(Export export) {
+        String table = export.getIncludeTables();
+        String column = export.getWatermarkColumn();
+        String from = export.getWatermarkFrom() != null
+                ? column + " > " + sqlLiteral(export.getWatermarkFrom())
+                : "true";
+        String oldestRunningXid = "(pg_snapshot_xmin(pg_current_snapshot())::text::bigint % 4294967296)::text::xid";
+
+        return String.format("""
+                BEGIN ISOLATION LEVEL REPEATABLE READ;
+                SELECT format_type(atttypid, NULL) IN ('timestamp with time zone', 'timestamp without time zone', 'date') AS time_column
+                  FROM pg_attribute WHERE attrelid = %1$s::regclass AND attname = %2$s \\gset
+                \\if :time_column
+                SELECT max(%3$s) IS NOT NULL AS has_rows, coalesce(max(%3$s)::text, '') AS watermark
+                  FROM %4$s WHERE %5$s AND %3$s <= now() - interval '%6$d seconds' \\gset
+                \\else
+                SELECT max(%3$s) IS NOT NULL AS has_rows, coalesce(max(%3$s)::text, '') AS watermark
+                  FROM %4$s WHERE %5$s AND age(xmin) > age(%7$s) \\gset
+                \\endif
+                \\warn %8$s :watermark
+                \\if :has_rows
+                COPY (SELECT * FROM %4$s WHERE %5$s AND %3$s <= :'watermark' ORDER BY %3$s) TO STDOUT WITH (FORMAT csv, HEADER);
+                \\else
+                COPY (SELECT * FROM %4$s WHERE false) TO STDOUT WITH (FORMAT csv, HEADER);
+                \\endif
+                COMMIT;
+                """, sqlLiteral(table), sqlLiteral(column), column, table, from, watermarkLagSeconds,
+                oldestRunningXid, WATERMARK_MARKER);
+    }
+
+    /**
+     * Store the high-water mark the incremental export script reported, keeping the previous
+     * mark when no rows qualified
+     */
+    private void readDeltaWatermark(Export export, String ip, String workDir) {
+        SshService.CommandResult result = sshService.executeCommand(ip,
+                "grep -m1 '^" + WATERMARK_MARKER + "' " + workDir + "/pg_dump_err.log", 10000);
+        String line = result.getStdout().trim();
+        if (!result.isSuccess() || !line.startsWith(WATERMARK_MARKER)) {
+            throw new RuntimeException("Incremental export did not report its high-water mark");
+        }
+        String mark = line.substring(WATERMARK_MARKER.length()).trim();
+        export.setWatermarkTo(mark.isEmpty() ? export.getWatermarkFrom() : mark);
+    }
+
+    private static String sqlLiteral(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    /**
+     * pg_dump -n/-t arguments for a scoped export, empty for a whole-database export
+     */
+    private String scopeArgs(Export export) {
+        StringBuilder args = new StringBuilder();
+        if (export.getIncludeSchemas() != null) {
+            for (String schema : export.getIncludeSchemas().split(",")) {
+                args.append(" -n \"").append(schema).append('"');
+            }
+        }
+        if (export.getIncludeTables() != null) {
+            for (String table : export.getIncludeTables().split(",")) {
+                args.append(" -t \"").append(table).append('"');
+            }
+        }
+        return args.toString();
+    }
+
+    private String containerDumpDir(Export export) {
+        return CONTAINER_DUMP_PREFIX + export.getId();
+    }
+
+    private String containerPidFile(Export export) {
+        return "/tmp/pgcluster-export-" + export.getId() + ".pid";
+    }
+
+    /**
+     * docker exec command running a dump step inside the container with its pid recorded,
+     * so cleanup can stop it there
+     */
+    private String trackedExec(Export export, String execFlags, String command) {
+        return String.format("docker exec%s patroni sh -c 'echo $$ > %s && exec %s'",
+                execFlags, containerPidFile(export), command);
+    }
+
+    private int countCores(String ip) {
+        SshService.CommandResult result = sshService.executeCommand(ip, "nproc", 10000);
+        if (result.isSuccess()) {
+            try {
+                return Integer.parseInt(result.getStdout().trim());
+            } catch (NumberFormatException e) {
+                log.warn("Could not parse core count: {}", result.getStdout());
+            }
+        }
+        return 2;
+    }
+
+    private int postgresMajorVersion(Cluster cluster) {
+        try {
+            return Integer.parseInt(cluster.getPostgresVersion());
+        } catch (NumberFormatException e) {
+            return 16;
+        }
+    }
+
+    /**
+     * Pipeline script: dump command | split into parts, then wait for in-flight uploads.
+     * Writes its exit code to $workDir/exit when done.
+     */
+    private String buildPipelineScript(String workDir, String shmPrefix, long partSizeBytes, String dumpCommand) {
+        return String.format("""
+                #!/bin/bash
+                cd %1$s || exit 1
+                echo $$ > pid
+                touch done
+                set -o pipefail
+                %4$s \\
+                  | split -a 5 --numeric-suffixes=1 -b %3$d --filter 'sh %1$s/part.sh' - part
+                rc=$?
+                while ls %2$s* >/dev/null 2>&1; do sleep 1; done
+                if [ $rc -eq 0 ] && [ -s failed ]; then
+                  echo "upload failed for parts: $(tr '\\n' ' ' < failed)"
+                  rc=1
+                fi
+                echo $rc > exit.tmp && mv exit.tmp exit
+                """, workDir, shmPrefix, partSizeBytes, dumpCommand);
     }
 
     private void markExportFailed(UUID exportId, String errorMessage) {
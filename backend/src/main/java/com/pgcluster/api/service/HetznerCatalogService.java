@@ -0,0 +1,156 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.client.HetznerClient;
+import com.pgcluster.api.client.HetznerRateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory copy of the Hetzner catalog: server types, locations and per-datacenter stock.
+ *
+ * Everything is fetched in bulk (/server_types, /locations, /datacenters) on first use and then
+ * refreshed in the background: availability every minute since stock changes, the rest hourly.
+ * Lookups are answered from memory; a failed refresh keeps serving the previous data.
+ * Refreshes run in the rate limiter's background lane.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HetznerCatalogService {
+
+    private final HetznerClient hetznerClient;
+    private final HetznerRateLimiter hetznerRateLimiter;
+
+    private volatile Catalog catalog;
+    private volatile Availability availability;
+
+    record Catalog(Map<String, HetznerClient.ServerTypeInfo> serverTypes,
+                   List<HetznerClient.LocationInfo> locations,
+                   Instant fetchedAt) {}
+
+    record Availability(Map<Long, Set<String>> locationsByServerTypeId, Instant fetchedAt) {}
+
+    public List<HetznerClient.LocationInfo> getLocations() {
+        return catalog().locations();
+    }
+
+    /**
+     * Get server type details by name.
+     *
+     * @throws RuntimeException if the catalog can't be loaded or the type doesn't exist
+     */
+    public HetznerClient.ServerTypeInfo getServerType(String name) {
+        HetznerClient.ServerTypeInfo info = catalog().serverTypes().get(name);
+        if (info == null) {
+            throw new RuntimeException("Server type not found: " + name);
+        }
+        return info;
+    }
+
+    /**
+     * Get the location names where a server type is currently in stock.
+     */
+    public Set<String> getAvailableLocations(String serverTypeName) {
+        Long serverTypeId = getServerType(serverTypeName).getId();
+        return availability().locationsByServerTypeId().getOrDefault(serverTypeId, Set.of());
+    }
+
+    /**
+     * Refresh server types and locations, once they've been loaded by a lookup.
+     */
+    @Scheduled(fixedDelayString = "${hetzner.catalog.refresh-interval-ms:3600000}",
+               initialDelayString = "${hetzner.catalog.refresh-interval-ms:3600000}")
+    public void refreshCatalog() {
+        if (catalog == null) {
+            return;
+        }
+        try {
+            catalog = hetznerRateLimiter.background(this::loadCatalog);
+        } catch (Exception e) {
+            log.warn("Failed to refresh Hetzner catalog, keeping data from {}: {}",
+                    catalog.fetchedAt(), e.getMessage());
+        }
+    }
+
+    /**
+     * Refresh datacenter stock, once it's been loaded by a lookup.
+     */
+    @Scheduled(fixedDelayString = "${hetzner.catalog.availability-refresh-interval-ms:60000}",
+               initialDelayString = "${hetzner.catalog.availability-refresh-interval-ms:60000}")
+    public void refreshAvailability() {
+        if (availability == null) {
+            return;
+        }
+        try {
+            availability = hetznerRateLimiter.background(this::loadAvailability);
+        } catch (Exception e) {
+            log.warn("Failed to refresh Hetzner availability, keeping data from {}: {}",
+                    availability.fetchedAt(), e.getMessage());
+        }
+    }
+
+    private Catalog catalog() {
+        Catalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null) {
+                    current = loadCatalog();
+                    catalog = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Availability availability() {
+        Availability current = availability;
+        if (current == null) {
+            synchronized (this) {
+                current = availability;
+                if (current == null) {
+                    current = loadAvailability();
+                    availability = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Catalog loadCatalog() {
+        Map<String, HetznerClient.ServerTypeInfo> serverTypes = new HashMap<>();
+        for (HetznerClient.ServerTypeInfo info : hetznerClient.listServerTypes()) {
+            serverTypes.put(info.getName(), info);
+        }
+        List<HetznerClient.LocationInfo> locations = List.copyOf(hetznerClient.getLocations());
+        log.info("Loaded Hetzner catalog: {} server types, {} locations", serverTypes.size(), locations.size());
+        return new Catalog(Map.copyOf(serverTypes), locations, Instant.now());
+    }
+
+    private Availability loadAvailability() {
+        Map<Long, Set<String>> locationsByServerTypeId = new HashMap<>();
+        for (HetznerClient.DatacenterInfo dc : hetznerClient.getDatacenters()) {
+            if (dc.getServerTypes() == null || dc.getServerTypes().getAvailable() == null
+                    || dc.getLocation() == null || dc.getLocation().getName() == null) {
+                continue;
+            }
+            for (Long serverTypeId : dc.getServerTypes().getAvailable()) {
+                locationsByServerTypeId.computeIfAbsent(serverTypeId, id -> new HashSet<>())
+                        .add(dc.getLocation().getName());
+            }
+        }
+        Map<Long, Set<String>> frozen = new HashMap<>();
+        locationsByServerTypeId.forEach((id, locations) -> frozen.put(id, Set.copyOf(locations)));
+        log.debug("Loaded Hetzner availability for {} server types", frozen.size());
+        return new Availability(Map.copyOf(frozen), Instant.now());
+    }
+}
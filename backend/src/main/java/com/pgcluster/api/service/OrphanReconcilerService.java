@@ -0,0 +1,378 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.client.CloudflareClient;
+import com.pgcluster.api.client.HetznerClient;
+import com.pgcluster.api.client.HetznerRateLimiter;
+import com.pgcluster.api.repository.BackupRepository;
+import com.pgcluster.api.repository.ClusterRepository;
+import com.pgcluster.api.repository.ExportRepository;
+import com.pgcluster.api.repository.SshHostKeyRepository;
+import com.pgcluster.api.repository.VpsNodeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Finds and removes resources left behind by clusters that no longer exist: Hetzner servers,
+ * Cloudflare records, S3 prefixes and trusted host keys.
+ *
+ * Each run lists every resource kind in bulk and joins it against the clusters and vps_nodes
+ * tables with hash sets. A resource is only treated as orphaned if it belongs to a cluster this
+ * database knows about and that cluster is deleted, so resources of other environments sharing
+ * the same Hetzner project, zone or bucket are never touched. Orphans are deleted once they've
+ * stayed orphaned for the grace period.
+ *
+ * Diffing is incremental: only resources that are new since the previous run, whose cluster was
+ * deleted since then, or that are already waiting out their grace period get re-evaluated. The
+ * first run after startup sees everything as new, which makes it the full sweep.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrphanReconcilerService {
+
+    public enum Kind { SERVER, DNS, S3, HOST_KEY }
+
+    private static final String PGBACKREST_ROOT = "pgbackrest/";
+    private static final String EXPORTS_ROOT = "exports/";
+
+    private final HetznerClient hetznerClient;
+    private final HetznerRateLimiter hetznerRateLimiter;
+    private final HetznerCatalogService hetznerCatalogService;
+    private final CloudflareClient cloudflareClient;
+    private final S3StorageService s3StorageService;
+    private final HostKeyVerifier hostKeyVerifier;
+    private final ClusterRepository clusterRepository;
+    private final VpsNodeRepository vpsNodeRepository;
+    private final SshHostKeyRepository sshHostKeyRepository;
+    private final BackupRepository backupRepository;
+    private final ExportRepository exportRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reconciler.enabled:false}")
+    private boolean enabled;
+
+    // Longer than the slowest provisioning, so nothing is deleted while a cluster is being set up
+    @Value("${reconciler.grace-period-minutes:120}")
+    private long gracePeriodMinutes;
+
+    @Value("${cluster.base-domain}")
+    private String baseDomain;
+
+    // S3 data is only reclaimed when cluster teardown purges it too
+    @Value("${cluster.teardown.purge-storage:false}")
+    private boolean purgeStorage;
+
+    private final Map<Kind, Tracker> trackers = new EnumMap<>(Kind.class);
+    private final Map<Kind, Counter> deletedCounters = new EnumMap<>(Kind.class);
+    private Counter reclaimedCost;
+    private Counter reclaimedBytes;
+
+    /**
+     * Outcome of one run. Kinds that couldn't be listed are missing from the maps.
+     */
+    public record Report(Map<Kind, Integer> pending, Map<Kind, Integer> deleted,
+                         double reclaimedMonthlyCost, long reclaimedBytes) {}
+
+    @PostConstruct
+    public void init() {
+        for (Kind kind : Kind.values()) {
+            Tracker tracker = new Tracker();
+            trackers.put(kind, tracker);
+            String tag = kind.name().toLowerCase();
+            Gauge.builder("pgcluster.reconciler.pending", tracker, Tracker::pendingCount)
+                    .description("Orphaned resources waiting out the grace period")
+                    .tag("kind", tag)
+                    .register(meterRegistry);
+            deletedCounters.put(kind, Counter.builder("pgcluster.reconciler.deleted")
+                    .description("Orphaned resources deleted by the reconciler")
+                    .tag("kind", tag)
+                    .register(meterRegistry));
+        }
+        reclaimedCost = Counter.builder("pgcluster.reconciler.reclaimed.cost")
+                .description("Monthly server cost (EUR, gross) reclaimed from orphaned servers")
+                .register(meterRegistry);
+        reclaimedBytes = Counter.builder("pgcluster.reconciler.reclaimed.bytes")
+                .description("S3 storage reclaimed from orphaned prefixes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reconciler.interval-ms:900000}",
+               initialDelayString = "${reconciler.interval-ms:900000}")
+    public void scheduledReconcile() {
+        if (!enabled || !isLocalNodeLeader()) {
+            return;
+        }
+        reconcile();
+    }
+
+    /**
+     * Run one reconciliation pass over every resource kind.
+     */
+    public synchronized Report reconcile() {
+        Instant now = Instant.now();
+        Duration grace = Duration.ofMinutes(gracePeriodMinutes);
+        Set<String> knownSlugs = new HashSet<>(clusterRepository.findAllSlugs());
+        Set<String> liveSlugs = new HashSet<>(clusterRepository.findLiveSlugs());
+
+        Map<Kind, Integer> pending = new EnumMap<>(Kind.class);
+        Map<Kind, Integer> deleted = new EnumMap<>(Kind.class);
+        double cost = 0;
+        long bytes = 0;
+
+        // Hetzner servers, keyed by server ID and owned by their cluster label
+        Map<String, HetznerClient.ServerResponse> servers = fetch(Kind.SERVER, () -> hetznerRateLimiter.background(
+                () -> hetznerClient.listServersByLabel("managed-by=pgcluster")).stream()
+                .collect(Collectors.toMap(server -> String.valueOf(server.getId()), Function.identity(), (a, b) -> a)));
+        if (servers != null) {
+            Map<String, String> owners = new HashMap<>();
+            servers.forEach((id, server) -> owners.put(id, server.getLabels() != null ? server.getLabels().get("cluster") : null));
+            int count = 0;
+            for (String id : trackers.get(Kind.SERVER).diff(owners, liveSlugs, knownSlugs, now, grace)) {
+                HetznerClient.ServerResponse server = servers.get(id);
+                if (delete(Kind.SERVER, id, server.getName(), () -> deleteServer(server.getId()))) {
+                    cost += monthlyCost(server);
+                    count++;
+                }
+            }
+            pending.put(Kind.SERVER, trackers.get(Kind.SERVER).pendingCount());
+            deleted.put(Kind.SERVER, count);
+        }
+
+        // Cluster A records, keyed by record ID and owned by the slug in the hostname
+        String suffix = "." + baseDomain;
+        Map<String, CloudflareClient.DnsRecord> records = fetch(Kind.DNS, () -> cloudflareClient.listDnsRecords("A").stream()
+                .filter(record -> record.getName() != null && record.getName().endsWith(suffix))
+                .collect(Collectors.toMap(CloudflareClient.DnsRecord::getId, Function.identity(), (a, b) -> a)));
+        if (records != null) {
+            Map<String, String> owners = new HashMap<>();
+            records.forEach((id, record) -> owners.put(id,
+                    record.getName().substring(0, record.getName().length() - suffix.length())));
+            int count = 0;
+            for (String id : trackers.get(Kind.DNS).diff(owners, liveSlugs, knownSlugs, now, grace)) {
+                if (delete(Kind.DNS, id, records.get(id).getName(), () -> cloudflareClient.deleteDnsRecord(id))) {
+                    count++;
+                }
+            }
+            pending.put(Kind.DNS, trackers.get(Kind.DNS).pendingCount());
+            deleted.put(Kind.DNS, count);
+        }
+
+        // pgBackRest repositories and exports, keyed by prefix and owned by the cluster ID in it
+        if (purgeStorage && s3StorageService.isConfigured()) {
+            Map<String, String> owners = fetch(Kind.S3, () -> {
+                Map<String, String> prefixes = new HashMap<>();
+                for (String root : List.of(PGBACKREST_ROOT, EXPORTS_ROOT)) {
+                    for (String prefix : s3StorageService.listPrefixes(root)) {
+                        prefixes.put(prefix, prefix.substring(root.length(), prefix.length() - 1));
+                    }
+                }
+                return prefixes;
+            });
+            if (owners != null) {
+                Set<String> knownIds = toStrings(clusterRepository.findAllIds());
+                Set<String> liveIds = toStrings(clusterRepository.findLiveIds());
+                int count = 0;
+                for (String prefix : trackers.get(Kind.S3).diff(owners, liveIds, knownIds, now, grace)) {
+                    long size = s3StorageService.getDirectorySize(prefix);
+                    if (delete(Kind.S3, prefix, prefix, () -> purgePrefix(prefix, owners.get(prefix)))) {
+                        bytes += size;
+                        count++;
+                    }
+                }
+                pending.put(Kind.S3, trackers.get(Kind.S3).pendingCount());
+                deleted.put(Kind.S3, count);
+            }
+        }
+
+        // Trusted host keys, owned by their own host; any host that isn't a live node is stale
+        Map<String, String> hosts = fetch(Kind.HOST_KEY, () -> sshHostKeyRepository.findAllHosts().stream()
+                .collect(Collectors.toMap(Function.identity(), Function.identity(), (a, b) -> a)));
+        if (hosts != null) {
+            Set<String> liveIps = new HashSet<>(vpsNodeRepository.findLivePublicIps());
+            int count = 0;
+            for (String host : trackers.get(Kind.HOST_KEY).diff(hosts, liveIps, null, now, grace)) {
+                if (delete(Kind.HOST_KEY, host, host, () -> hostKeyVerifier.removeHost(host))) {
+                    count++;
+                }
+            }
+            pending.put(Kind.HOST_KEY, trackers.get(Kind.HOST_KEY).pendingCount());
+            deleted.put(Kind.HOST_KEY, count);
+        }
+
+        reclaimedCost.increment(cost);
+        reclaimedBytes.increment(bytes);
+        Report report = new Report(pending, deleted, cost, bytes);
+        if (deleted.values().stream().anyMatch(n -> n > 0)) {
+            log.info("Orphan reconciliation deleted {} (pending {}), reclaimed {} EUR/month and {} bytes",
+                    deleted, pending, String.format("%.2f", cost), bytes);
+        } else {
+            log.debug("Orphan reconciliation found nothing to delete (pending {})", pending);
+        }
+        return report;
+    }
+
+    /**
+     * Orphan candidates of one resource kind, carried from run to run.
+     */
+    static final class Tracker {
+
+        private Set<String> lastRemote = Set.of();
+        private Set<String> lastLive = Set.of();
+        // Resource key -> when it was first seen orphaned
+        private final Map<String, Instant> pending = new HashMap<>();
+
+        /**
+         * Update the candidates from the current listing and return the keys past their grace period.
+         *
+         * @param owners resource key -> owning cluster (slug, ID or host); null if unknown
+         * @param live   owners that are still in use
+         * @param known  owners this database knows about, or null to treat every owner as known
+         */
+        synchronized List<String> diff(Map<String, String> owners, Set<String> live, Set<String> known,
+                                       Instant now, Duration grace) {
+            Set<String> vanished = new HashSet<>(lastLive);
+            vanished.removeAll(live);
+            pending.keySet().retainAll(owners.keySet());
+
+            for (Map.Entry<String, String> entry : owners.entrySet()) {
+                String key = entry.getKey();
+                String owner = entry.getValue();
+                boolean changed = !lastRemote.contains(key) || vanished.contains(owner) || pending.containsKey(key);
+                if (!changed) {
+                    continue;
+                }
+                boolean orphaned = owner != null && !live.contains(owner) && (known == null || known.contains(owner));
+                if (orphaned) {
+                    pending.putIfAbsent(key, now);
+                } else {
+                    pending.remove(key);
+                }
+            }
+            lastRemote = Set.copyOf(owners.keySet());
+            lastLive = Set.copyOf(live);
+
+            List<String> expired = new ArrayList<>();
+            pending.forEach((key, firstSeen) -> {
+                if (!firstSeen.plus(grace).isAfter(now)) {
+                    expired.add(key);
+                }
+            });
+            return expired;
+        }
+
+        synchronized void resolved(String key) {
+            pending.remove(key);
+        }
+
+        synchronized int pendingCount() {
+            return pending.size();
+        }
+    }
+
+    private <T> T fetch(Kind kind, Supplier<T> listing) {
+        try {
+            return listing.get();
+        } catch (Exception e) {
+            log.warn("Skipping {} reconciliation, listing failed: {}", kind.name().toLowerCase(), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean delete(Kind kind, String key, String description, Runnable action) {
+        try {
+            action.run();
+            trackers.get(kind).resolved(key);
+            deletedCounters.get(kind).increment();
+            log.info("Deleted orphaned {}: {}", kind.name().toLowerCase(), description);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to delete orphaned {} {}, will retry: {}", kind.name().toLowerCase(), description, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Delete an orphaned S3 prefix, then forget what it held: backups can't be restored once their
+     * pgBackRest repository is gone, and export rows go with their files.
+     */
+    private void purgePrefix(String prefix, String clusterId) {
+        s3StorageService.deleteDirectory(prefix);
+        UUID id = UUID.fromString(clusterId);
+        if (prefix.startsWith(PGBACKREST_ROOT)) {
+            int marked = backupRepository.markAllDeletedByClusterId(id);
+            log.info("Marked {} backup(s) of deleted cluster {} as deleted", marked, clusterId);
+        } else if (prefix.startsWith(EXPORTS_ROOT)) {
+            int removed = exportRepository.deleteByClusterId(id);
+            log.info("Removed {} export(s) of deleted cluster {}", removed, clusterId);
+        }
+    }
+
+    private void deleteServer(Long serverId) {
+        try {
+            hetznerRateLimiter.background(() -> {
+                hetznerClient.deleteServer(serverId);
+                return null;
+            });
+        } catch (HttpClientErrorException.NotFound e) {
+            log.debug("Hetzner server {} already gone", serverId);
+        }
+    }
+
+    private double monthlyCost(HetznerClient.ServerResponse server) {
+        if (server.getServerType() == null || server.getDatacenter() == null
+                || server.getDatacenter().getLocation() == null) {
+            return 0;
+        }
+        try {
+            String location = server.getDatacenter().getLocation().getName();
+            return hetznerCatalogService.getServerType(server.getServerType().getName()).getPrices().stream()
+                    .filter(price -> location.equals(price.getLocation()) && price.getPriceMonthly() != null)
+                    .mapToDouble(price -> Double.parseDouble(price.getPriceMonthly().getGross()))
+                    .findFirst()
+                    .orElse(0);
+        } catch (Exception e) {
+            log.debug("No price for server {}: {}", server.getId(), e.getMessage());
+            return 0;
+        }
+    }
+
+    private static Set<String> toStrings(List<UUID> ids) {
+        return ids.stream().map(UUID::toString).collect(Collectors.toSet());
+    }
+
+    private boolean isLocalNodeLeader() {
+        try {
+            Boolean isInRecovery = jdbcTemplate.queryForObject(
+                "SELECT pg_is_in_recovery()", Boolean.class);
+            return isInRecovery != null && !isInRecovery;
+        } catch (Exception e) {
+            log.debug("Could not determine leader status: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.pgcluster.api.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pgcluster.api.model.entity.Cluster;
 import com.pgcluster.api.model.entity.VpsNode;
 import com.pgcluster.api.repository.VpsNodeRepository;
@@ -12,11 +14,16 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for interacting with Patroni cluster management.
@@ -35,7 +42,11 @@ public class PatroniService {
 
     private static final int PATRONI_PORT = 8008;
     private static final String PATRONI_PATH = "/patroni";
+    private static final String PATRONI_CLUSTER_PATH = "/cluster";
     private static final String PATRONI_API_LOCAL_COMMAND = "curl -s http://localhost:8008/patroni";
+    private static final String PATRONI_CLUSTER_LOCAL_COMMAND = "curl -s http://localhost:8008/cluster";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     public PatroniService(SshService sshService, VpsNodeRepository vpsNodeRepository) {
         this.sshService = sshService;
@@ -57,10 +68,33 @@ public class PatroniService {
             return null;
         }
 
+        return queryPatroni(node, PATRONI_PATH, PATRONI_API_LOCAL_COMMAND);
+    }
+
+    /**
+     * Query the Patroni cluster view (all members with role, state and replication lag).
+     * Any member can answer; the first node that responds wins.
+     *
+     * Returns null when no node could be queried.
+     */
+    public String getClusterStatus(List<VpsNode> nodes) {
+        if (nodes == null) {
+            return null;
+        }
+        for (VpsNode node : nodes) {
+            String output = queryPatroni(node, PATRONI_CLUSTER_PATH, PATRONI_CLUSTER_LOCAL_COMMAND);
+            if (output != null) {
+                return output;
+            }
+        }
+        return null;
+    }
+
+    private String queryPatroni(VpsNode node, String path, String localCommand) {
         String ip = getNodeIp(node);
 
         // 1) Direct HTTP (works in our setup because Patroni uses host networking on port 8008).
-        String httpOutput = queryPatroniOverHttp(ip);
+        String httpOutput = queryPatroniOverHttp(ip, path);
         if (httpOutput != null && !httpOutput.isBlank()) {
             return httpOutput;
         }
@@ -69,7 +103,7 @@ public class PatroniService {
         try {
             SshService.CommandResult result = sshService.executeCommandWithRetry(
                     ip,
-                    PATRONI_API_LOCAL_COMMAND,
+                    localCommand,
                     patroniTimeoutMs
             );
             if (result.isSuccess() && result.getStdout() != null && !result.getStdout().isBlank()) {
@@ -82,7 +116,7 @@ public class PatroniService {
         return null;
     }
 
-    private String queryPatroniOverHttp(String ip) {
+    private String queryPatroniOverHttp(String ip, String path) {
         if (ip == null || ip.isBlank()) {
             return null;
         }
@@ -93,7 +127,7 @@ public class PatroniService {
         }
 
         try {
-            URI uri = URI.create("http://" + ip + ":" + PATRONI_PORT + PATRONI_PATH);
+            URI uri = URI.create("http://" + ip + ":" + PATRONI_PORT + path);
             HttpRequest request = HttpRequest.newBuilder(uri)
                     .timeout(Duration.ofMillis(patroniTimeoutMs))
                     .GET()
@@ -190,6 +224,80 @@ public class PatroniService {
                 .orElse(null);
     }
 
+    /**
+     * Find the healthiest replica of a cluster to offload work (e.g. backups) from the primary.
+     *
+     * @param cluster The cluster to search
+     * @param maxLagBytes Replicas lagging further behind than this are ignored
+     * @return The streaming replica with the lowest lag, or null if none qualifies
+     */
+    public VpsNode findBestReplica(Cluster cluster, long maxLagBytes) {
+        List<VpsNode> nodes = vpsNodeRepository.findByCluster(cluster);
+        if (nodes.size() < 2) {
+            return null;
+        }
+        return selectBestReplica(getClusterStatus(nodes), nodes, maxLagBytes);
+    }
+
+    /**
+     * Pick the best replica from Patroni's /cluster output.
+     * Candidates must be streaming (or running) replicas with a known lag within the limit.
+     * Ties on lag prefer asynchronous replicas so a sync standby doesn't slow down commits.
+     *
+     * @param clusterJson The JSON output from Patroni's /cluster endpoint
+     * @param nodes The cluster's nodes, matched to members by name
+     * @param maxLagBytes Maximum acceptable replication lag in bytes
+     * @return The selected node, or null if no replica qualifies
+     */
+    public VpsNode selectBestReplica(String clusterJson, List<VpsNode> nodes, long maxLagBytes) {
+        if (clusterJson == null || clusterJson.isBlank() || nodes == null) {
+            return null;
+        }
+
+        JsonNode members;
+        try {
+            members = OBJECT_MAPPER.readTree(clusterJson).path("members");
+        } catch (Exception e) {
+            log.warn("Failed to parse Patroni cluster status: {}", e.getMessage());
+            return null;
+        }
+        if (!members.isArray()) {
+            return null;
+        }
+
+        Map<String, VpsNode> nodesByName = nodes.stream()
+                .collect(Collectors.toMap(VpsNode::getName, Function.identity(), (a, b) -> a));
+
+        record Candidate(VpsNode node, long lag, boolean sync) {}
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (JsonNode member : members) {
+            String role = member.path("role").asText();
+            String state = member.path("state").asText();
+            boolean sync = "sync_standby".equals(role);
+            if (!"replica".equals(role) && !sync) {
+                continue;
+            }
+            if (!"streaming".equals(state) && !"running".equals(state)) {
+                continue;
+            }
+            // Lag is reported as "unknown" when Patroni can't determine it
+            JsonNode lagNode = member.path("lag");
+            if (!lagNode.canConvertToLong() || lagNode.asLong() > maxLagBytes) {
+                continue;
+            }
+            VpsNode node = nodesByName.get(member.path("name").asText());
+            if (node != null) {
+                candidates.add(new Candidate(node, lagNode.asLong(), sync));
+            }
+        }
+
+        return candidates.stream()
+                .min(Comparator.comparingLong(Candidate::lag).thenComparing(Candidate::sync))
+                .map(Candidate::node)
+                .orElse(null);
+    }
+
     /**
      * Find the leader node's IP address from a list of nodes.
      * Falls back to first node if no leader is found.
@@ -2,17 +2,24 @@ package com.pgcluster.api.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pgcluster.api.client.HetznerClient;
 import com.pgcluster.api.model.dto.PgBackRestBackupInfo;
 import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.model.entity.RestoreJob;
 import com.pgcluster.api.model.entity.VpsNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Service for managing pgBackRest backup operations.
@@ -30,6 +37,7 @@ public class PgBackRestService {
     private final SshService sshService;
     private final S3StorageService s3StorageService;
     private final ObjectMapper objectMapper;
+    private final HetznerCatalogService hetznerCatalogService;
 
     @Value("${s3.endpoint:}")
     private String s3Endpoint;
@@ -61,6 +69,18 @@ public class PgBackRestService {
     @Value("${timeouts.ssh-command:60000}")
     private int commandTimeoutMs;
 
+    @Value("${backup.from-standby.enabled:false}")
+    private boolean standbyBackupEnabled;
+
+    @Value("${pgbackrest.tls-server-port:8432}")
+    private int tlsServerPort;
+
+    @Value("${pgbackrest.block-incremental:true}")
+    private boolean blockIncremental;
+
+    // Must match the client CN accepted by the TLS server started in the patroni image
+    private static final String TLS_CLIENT_CN = "pgbackrest-client";
+
     // pgBackRest paths (configurable)
     @Value("${pgbackrest.config-path:/etc/pgbackrest/pgbackrest.conf}")
     private String pgbackrestConfigPath;
@@ -81,6 +101,58 @@ public class PgBackRestService {
     @Value("${postgres.socket-path:/var/run/postgresql}")
     private String postgresSocketPath;
 
+    /**
+     * Known Hetzner server type specs (cores, memory MB, disk GB), used when the
+     * Hetzner catalog can't be loaded while generating a config.
+     */
+    private static final Map<String, int[]> SERVER_TYPE_SPECS = Map.ofEntries(
+            Map.entry("cx23", new int[]{2, 4096, 40}),
+            Map.entry("cx33", new int[]{4, 8192, 80}),
+            Map.entry("cx43", new int[]{8, 16384, 160}),
+            Map.entry("cx53", new int[]{16, 32768, 320}),
+            Map.entry("ccx13", new int[]{2, 8192, 80}),
+            Map.entry("ccx23", new int[]{4, 16384, 160}),
+            Map.entry("ccx33", new int[]{8, 32768, 240}),
+            Map.entry("ccx43", new int[]{16, 65536, 360}),
+            Map.entry("ccx53", new int[]{32, 131072, 600}),
+            Map.entry("ccx63", new int[]{48, 196608, 960})
+    );
+
+    // "(440KB, 12.34%)" in pgBackRest's detail-level restore log lines
+    private static final Pattern RESTORE_PERCENT_PATTERN = Pattern.compile("\\(\\S+, ([0-9.]+)%\\)");
+
+    // Server type specs never change, so resolved profiles are kept for the process lifetime
+    private final Map<String, TuningProfile> profileCache = new ConcurrentHashMap<>();
+
+    /**
+     * Progress of a running backup as reported by pgBackRest.
+     */
+    public record BackupProgress(long bytesDone, long bytesTotal) {}
+
+    /**
+     * pgBackRest performance settings derived from a node's hardware.
+     *
+     * @param processMax Parallel processes for backup and archive-get
+     * @param restoreProcessMax Parallel processes for restore (PostgreSQL is down, so all cores)
+     * @param compressType lz4 for small databases, zst for large ones
+     * @param compressLevel Compression level for the chosen type
+     * @param bufferSize Buffer size per process
+     * @param archivePushQueueMax Async archive spool limit before WAL is dropped instead of filling the disk
+     * @param blockIncremental Whether to bundle small files and store block-level incrementals
+     * @param restoreBufferSize Buffer size per process for restores (memory is otherwise idle then)
+     * @param archiveGetQueueMax WAL prefetched by async archive-get, so replay doesn't wait on S3
+     */
+    public record TuningProfile(int processMax, int restoreProcessMax, String compressType, int compressLevel,
+                                String bufferSize, String archivePushQueueMax, boolean blockIncremental,
+                                String restoreBufferSize, String archiveGetQueueMax) {}
+
+    /**
+     * Progress of a running restore as logged by pgBackRest.
+     *
+     * @param percent Percentage of the restore size processed so far
+     */
+    public record RestoreProgress(double percent) {}
+
     /**
      * Generate pgbackrest.conf configuration for a cluster.
      *
@@ -88,9 +160,25 @@ public class PgBackRestService {
      * @return The configuration file content
      */
     public String generateConfig(Cluster cluster) {
+        return generateConfig(cluster, null, List.of());
+    }
+
+    /**
+     * Generate pgbackrest.conf for a specific node of a cluster.
+     * With backup-from-standby enabled, the local instance is pg1 and every other node is
+     * listed as a remote pg host reached through the pgBackRest TLS server, so a backup
+     * started on a replica can coordinate with the primary.
+     *
+     * @param cluster The cluster to generate config for
+     * @param localNode The node the config is written to
+     * @param nodes All nodes of the cluster
+     * @return The configuration file content
+     */
+    public String generateConfig(Cluster cluster, VpsNode localNode, List<VpsNode> nodes) {
         String stanzaName = cluster.getSlug();
+        TuningProfile profile = resolveProfile(cluster.getNodeSize());
 
-        return """
+        StringBuilder config = new StringBuilder("""
             [global]
             repo1-type=s3
             repo1-s3-endpoint=%s
@@ -102,12 +190,23 @@ public class PgBackRestService {
             repo1-retention-full=%d
             repo1-retention-diff=%d
             repo1-s3-uri-style=path
-            process-max=2
-            compress-type=lz4
+            repo1-bundle=%s
+            repo1-block=%s
+            process-max=%d
+            compress-type=%s
+            compress-level=%d
+            buffer-size=%s
             archive-async=y
+            archive-push-queue-max=%s
+            archive-get-queue-max=%s
             spool-path=%s
             log-path=%s
 
+            [global:restore]
+            process-max=%d
+            buffer-size=%s
+            log-level-file=detail
+
             [%s]
             pg1-path=%s
             pg1-port=5432
@@ -121,12 +220,143 @@ public class PgBackRestService {
                 cluster.getId(),
                 retentionFull,
                 retentionDiff,
+                profile.blockIncremental() ? "y" : "n",
+                profile.blockIncremental() ? "y" : "n",
+                profile.processMax(),
+                profile.compressType(),
+                profile.compressLevel(),
+                profile.bufferSize(),
+                profile.archivePushQueueMax(),
+                profile.archiveGetQueueMax(),
                 pgbackrestSpoolPath,
                 pgbackrestLogPath,
+                profile.restoreProcessMax(),
+                profile.restoreBufferSize(),
                 stanzaName,
                 postgresDataPath,
                 postgresSocketPath
-        );
+        ));
+
+        if (usesStandbyHosts(localNode, nodes)) {
+            int index = 2;
+            for (VpsNode peer : nodes) {
+                if (peer.getName().equals(localNode.getName())) {
+                    continue;
+                }
+                config.append("""
+                    pg%1$d-host=%2$s
+                    pg%1$d-host-type=tls
+                    pg%1$d-host-port=%3$d
+                    pg%1$d-host-ca-file=%4$s/ca.crt
+                    pg%1$d-host-cert-file=%4$s/client.crt
+                    pg%1$d-host-key-file=%4$s/client.key
+                    pg%1$d-path=%5$s
+                    pg%1$d-port=5432
+                    pg%1$d-socket-path=%6$s
+                    """.formatted(
+                        index++,
+                        peer.getPublicIp(),
+                        tlsServerPort,
+                        getTlsDir(),
+                        postgresDataPath,
+                        postgresSocketPath
+                ));
+            }
+        }
+
+        return config.toString();
+    }
+
+    /**
+     * Resolve the tuning profile for a Hetzner server type.
+     * Cores, memory and disk come from the cached Hetzner catalog, falling back to known specs.
+     *
+     * @param serverType Hetzner server type name (e.g. cx33, ccx63)
+     * @return The tuning profile for that hardware
+     */
+    public TuningProfile resolveProfile(String serverType) {
+        String key = serverType != null ? serverType.toLowerCase() : "";
+        TuningProfile cached = profileCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            HetznerClient.ServerTypeInfo info = hetznerCatalogService.getServerType(key);
+            // Hetzner reports memory in GB
+            TuningProfile profile = profileFor(info.getCores(), info.getMemory() * 1024, info.getDisk());
+            profileCache.put(key, profile);
+            return profile;
+        } catch (Exception e) {
+            int[] specs = SERVER_TYPE_SPECS.get(key);
+            if (specs != null) {
+                log.warn("Could not look up server type {} in the Hetzner catalog, using known specs: {}",
+                        key, e.getMessage());
+                TuningProfile profile = profileFor(specs[0], specs[1], specs[2]);
+                profileCache.put(key, profile);
+                return profile;
+            }
+            // Unknown types get the smallest profile, uncached so a later catalog load can replace the guess
+            specs = SERVER_TYPE_SPECS.get("cx23");
+            log.warn("Could not look up server type {} in the Hetzner catalog, using cx23 specs: {}",
+                    key, e.getMessage());
+            return profileFor(specs[0], specs[1], specs[2]);
+        }
+    }
+
+    /**
+     * Derive pgBackRest settings from node hardware. Backups use half the cores so the
+     * database keeps headroom; restores use all of them. Nodes with 160GB+ disks can hold
+     * large databases and switch to zstd, which trades CPU for much smaller uploads.
+     *
+     * @param cores vCPU count
+     * @param memoryMb Memory in MB
+     * @param diskGb Local disk in GB
+     * @return The derived profile
+     */
+    TuningProfile profileFor(int cores, int memoryMb, int diskGb) {
+        int processMax = Math.max(2, Math.min(16, cores / 2));
+        int restoreProcessMax = Math.max(2, Math.min(32, cores));
+
+        boolean largeDatabase = diskGb >= 160;
+        String compressType = largeDatabase ? "zst" : "lz4";
+        int compressLevel = largeDatabase ? 3 : 1;
+
+        int bufferMib;
+        if (memoryMb >= 32768) {
+            bufferMib = 8;
+        } else if (memoryMb >= 16384) {
+            bufferMib = 4;
+        } else if (memoryMb >= 8192) {
+            bufferMib = 2;
+        } else {
+            bufferMib = 1;
+        }
+        // PostgreSQL is stopped during a restore, so its memory can go to larger buffers (16MiB is the maximum)
+        int restoreBufferMib = Math.min(16, bufferMib * 2);
+
+        // Cap the async archive spool at ~10% of disk so an unreachable repo can't fill the volume
+        String archivePushQueueMax = Math.max(1, diskGb / 10) + "GiB";
+        // Prefetch up to ~5% of disk (max 32GiB) of WAL ahead of replay
+        String archiveGetQueueMax = Math.max(1, Math.min(32, diskGb / 20)) + "GiB";
+
+        return new TuningProfile(processMax, restoreProcessMax, compressType, compressLevel,
+                bufferMib + "MiB", archivePushQueueMax, blockIncremental,
+                restoreBufferMib + "MiB", archiveGetQueueMax);
+    }
+
+    /**
+     * Whether backups may be taken from a standby.
+     */
+    public boolean isStandbyBackupEnabled() {
+        return standbyBackupEnabled;
+    }
+
+    private boolean usesStandbyHosts(VpsNode localNode, List<VpsNode> nodes) {
+        return standbyBackupEnabled && localNode != null && nodes != null && nodes.size() > 1;
+    }
+
+    private String getTlsDir() {
+        return pgbackrestConfigDir + "/tls";
     }
 
     /**
@@ -136,9 +366,21 @@ public class PgBackRestService {
      * @param node The node to upload to
      */
     public void uploadConfig(Cluster cluster, VpsNode node) {
+        uploadConfig(cluster, node, List.of(node));
+    }
+
+    /**
+     * Upload pgBackRest configuration to a node, listing the other cluster nodes
+     * as pg hosts when backup-from-standby is enabled.
+     *
+     * @param cluster The cluster
+     * @param node The node to upload to
+     * @param nodes All nodes of the cluster
+     */
+    public void uploadConfig(Cluster cluster, VpsNode node, List<VpsNode> nodes) {
         log.info("Uploading pgBackRest config to node {}", node.getName());
 
-        String config = generateConfig(cluster);
+        String config = generateConfig(cluster, node, nodes);
 
         // Ensure config directory exists with correct permissions
         // chown to 999:999 (postgres user in container)
@@ -171,6 +413,113 @@ public class PgBackRestService {
         log.info("pgBackRest config uploaded to node {}", node.getName());
     }
 
+    /**
+     * Re-render and upload pgbackrest.conf on every node of a running cluster,
+     * e.g. to roll out a new tuning profile. pgBackRest reads its config per command,
+     * so no restart is needed. Peers are only listed as TLS pg hosts when the cluster
+     * was provisioned with TLS server certificates.
+     *
+     * @param cluster The cluster
+     * @param nodes All nodes of the cluster
+     */
+    public void pushConfig(Cluster cluster, List<VpsNode> nodes) {
+        boolean withPeers = standbyBackupEnabled && nodes.size() > 1
+                && nodes.stream().allMatch(this::hasTlsCertificates);
+        for (VpsNode node : nodes) {
+            uploadConfig(cluster, node, withPeers ? nodes : List.of(node));
+        }
+    }
+
+    private boolean hasTlsCertificates(VpsNode node) {
+        SshService.CommandResult result = sshService.executeCommand(
+                node.getPublicIp(), "test -f " + getTlsDir() + "/server.crt", commandTimeoutMs);
+        return result.isSuccess();
+    }
+
+    /**
+     * Generate and distribute the TLS material used by the pgBackRest TLS server on each node.
+     * A throwaway CA is created on the first node, signs one client certificate shared by the
+     * cluster and a server certificate per node (SAN = node IP), and is deleted afterwards.
+     * The patroni container starts {@code pgbackrest server} when a server certificate is present.
+     * Call again whenever the node list changes; the whole set is regenerated.
+     *
+     * @param cluster The cluster
+     * @param nodes All nodes of the cluster
+     */
+    public void setupTlsCertificates(Cluster cluster, List<VpsNode> nodes) {
+        if (nodes == null || nodes.size() < 2) {
+            return;
+        }
+
+        VpsNode generator = nodes.get(0);
+        String workDir = "/root/pgbackrest-tls-" + cluster.getSlug();
+        log.info("Generating pgBackRest TLS certificates for cluster {} on node {}",
+                cluster.getSlug(), generator.getName());
+
+        StringBuilder script = new StringBuilder()
+                .append("set -e; rm -rf ").append(workDir).append("; mkdir -p ").append(workDir)
+                .append(" && cd ").append(workDir).append(" && ")
+                .append("openssl req -new -x509 -days 3650 -nodes -newkey rsa:2048 -subj '/CN=pgbackrest-ca-")
+                .append(cluster.getSlug()).append("' -keyout ca.key -out ca.crt 2>/dev/null && ")
+                .append("openssl req -new -nodes -newkey rsa:2048 -subj '/CN=").append(TLS_CLIENT_CN)
+                .append("' -keyout client.key -out client.csr 2>/dev/null && ")
+                .append("openssl x509 -req -days 3650 -in client.csr -CA ca.crt -CAkey ca.key -CAcreateserial -out client.crt 2>/dev/null");
+        for (VpsNode node : nodes) {
+            String name = node.getName();
+            script.append(" && openssl req -new -nodes -newkey rsa:2048 -subj '/CN=").append(name)
+                    .append("' -keyout ").append(name).append(".key -out ").append(name).append(".csr 2>/dev/null")
+                    .append(" && echo 'subjectAltName=IP:").append(node.getPublicIp()).append("' > ").append(name).append(".ext")
+                    .append(" && openssl x509 -req -days 3650 -in ").append(name).append(".csr -CA ca.crt -CAkey ca.key")
+                    .append(" -CAcreateserial -extfile ").append(name).append(".ext -out ").append(name).append(".crt 2>/dev/null");
+        }
+
+        try {
+            SshService.CommandResult result = sshService.executeCommand(
+                    generator.getPublicIp(), script.toString(), commandTimeoutMs);
+            if (!result.isSuccess()) {
+                throw new RuntimeException("Failed to generate pgBackRest TLS certificates: " + result.getStderr());
+            }
+
+            String caCert = readRemoteFile(generator, workDir + "/ca.crt");
+            String clientCert = readRemoteFile(generator, workDir + "/client.crt");
+            String clientKey = readRemoteFile(generator, workDir + "/client.key");
+
+            String tlsDir = getTlsDir();
+            for (VpsNode node : nodes) {
+                String serverCert = readRemoteFile(generator, workDir + "/" + node.getName() + ".crt");
+                String serverKey = readRemoteFile(generator, workDir + "/" + node.getName() + ".key");
+
+                sshService.executeCommand(node.getPublicIp(), "mkdir -p " + tlsDir, commandTimeoutMs);
+                sshService.uploadContent(node.getPublicIp(), caCert, tlsDir + "/ca.crt");
+                sshService.uploadContent(node.getPublicIp(), clientCert, tlsDir + "/client.crt");
+                sshService.uploadContent(node.getPublicIp(), clientKey, tlsDir + "/client.key");
+                sshService.uploadContent(node.getPublicIp(), serverCert, tlsDir + "/server.crt");
+                sshService.uploadContent(node.getPublicIp(), serverKey, tlsDir + "/server.key");
+
+                // pgBackRest refuses keys readable by anyone but the owner (postgres UID 999)
+                sshService.executeCommand(
+                        node.getPublicIp(),
+                        String.format("chown -R 999:999 %s && chmod 750 %s && chmod 644 %s/*.crt && chmod 600 %s/*.key",
+                                tlsDir, tlsDir, tlsDir, tlsDir),
+                        commandTimeoutMs
+                );
+            }
+        } finally {
+            // Never leave the CA key behind
+            sshService.executeCommand(generator.getPublicIp(), "rm -rf " + workDir, commandTimeoutMs);
+        }
+
+        log.info("pgBackRest TLS certificates distributed to {} nodes", nodes.size());
+    }
+
+    private String readRemoteFile(VpsNode node, String path) {
+        SshService.CommandResult result = sshService.executeCommand(node.getPublicIp(), "cat " + path, commandTimeoutMs);
+        if (!result.isSuccess() || result.getStdout() == null || result.getStdout().isBlank()) {
+            throw new RuntimeException("Failed to read " + path + " from node " + node.getName());
+        }
+        return result.getStdout();
+    }
+
     /**
      * Create/initialize the pgBackRest stanza for a cluster.
      * Must be called after PostgreSQL is running.
@@ -254,12 +603,28 @@ public class PgBackRestService {
      * Execute a backup of the specified type.
      */
     private PgBackRestBackupInfo executeBackup(Cluster cluster, VpsNode node, String backupType) {
+        return executeBackup(cluster, node, backupType, false);
+    }
+
+    /**
+     * Execute a backup of the specified type, optionally copying files from a standby.
+     * With {@code fromStandby}, the command runs on the given replica: data files are read,
+     * compressed and uploaded there, while only backup start/stop go through the primary.
+     *
+     * @param cluster The cluster
+     * @param node The node to run the backup on (the leader, or a replica when fromStandby)
+     * @param backupType pgBackRest backup type (full, diff, incr)
+     * @param fromStandby Whether to pass --backup-standby
+     * @return Backup information
+     */
+    public PgBackRestBackupInfo executeBackup(Cluster cluster, VpsNode node, String backupType, boolean fromStandby) {
         String stanzaName = cluster.getSlug();
-        log.info("Starting {} backup for cluster {} on node {}", backupType, stanzaName, node.getName());
+        log.info("Starting {} backup for cluster {} on node {}{}", backupType, stanzaName, node.getName(),
+                fromStandby ? " (from standby)" : "");
 
         String command = String.format(
-                "docker exec patroni pgbackrest --stanza=%s --type=%s backup",
-                stanzaName, backupType
+                "docker exec patroni pgbackrest --stanza=%s --type=%s%s backup",
+                stanzaName, backupType, fromStandby ? " --backup-standby" : ""
         );
 
         SshService.CommandResult result = sshService.executeCommand(
@@ -290,6 +655,52 @@ public class PgBackRestService {
         return latestBackup;
     }
 
+    /**
+     * Get the progress of a backup currently running on a node.
+     * Reads the backup lock status reported by {@code pgbackrest info} (pgBackRest 2.48+).
+     *
+     * @param cluster The cluster
+     * @param node The node the backup runs on
+     * @return Bytes done and total, or null if no backup is running or progress is not reported
+     */
+    public BackupProgress getBackupProgress(Cluster cluster, VpsNode node) {
+        String command = String.format(
+                "docker exec patroni pgbackrest --stanza=%s info --output=json",
+                cluster.getSlug()
+        );
+
+        SshService.CommandResult result = sshService.executeCommand(node.getPublicIp(), command, 15000);
+        if (!result.isSuccess()) {
+            return null;
+        }
+        return parseBackupProgress(result.getStdout());
+    }
+
+    /**
+     * Parse backup progress from pgBackRest info JSON ({@code status.lock.backup}).
+     */
+    BackupProgress parseBackupProgress(String json) {
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            if (!root.isArray() || root.isEmpty()) {
+                return null;
+            }
+            JsonNode lock = root.get(0).path("status").path("lock").path("backup");
+            if (!lock.path("held").asBoolean(false)) {
+                return null;
+            }
+            Long done = getJsonLong(lock, "size-cplt");
+            Long total = getJsonLong(lock, "size");
+            if (done == null || total == null || total <= 0) {
+                return null;
+            }
+            return new BackupProgress(Math.min(done, total), total);
+        } catch (Exception e) {
+            log.debug("Failed to parse pgBackRest backup progress: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Get information about the most recent backup.
      * Optimized for speed with a shorter timeout since info commands are fast.
@@ -331,7 +742,10 @@ public class PgBackRestService {
      * @return List of backup information
      */
     public List<PgBackRestBackupInfo> listBackups(Cluster cluster, VpsNode node) {
-        String stanzaName = cluster.getSlug();
+        return listBackups(cluster.getSlug(), node);
+    }
+
+    private List<PgBackRestBackupInfo> listBackups(String stanzaName, VpsNode node) {
         log.debug("Listing backups for cluster {}", stanzaName);
 
         String command = String.format(
@@ -403,6 +817,7 @@ public class PgBackRestService {
                         // Parse info section for sizes
                         JsonNode infoNode = backupNode.get("info");
                         if (infoNode != null) {
+                            info.setDeltaBytes(getJsonLong(infoNode, "delta"));
                             JsonNode repoNode = infoNode.get("repository");
                             if (repoNode != null) {
                                 info.setBackupSizeBytes(getJsonLong(repoNode, "size"));
@@ -453,11 +868,23 @@ public class PgBackRestService {
                 commandTimeoutMs
         );
 
-        // Build restore command
+        // Keep the previous restore log aside so progress is read from this run only
+        sshService.executeCommand(
+                node.getPublicIp(),
+                String.format("docker exec patroni sh -c 'mv -f %1$s %1$s.1 2>/dev/null || true'",
+                        restoreLogPath(stanzaName)),
+                commandTimeoutMs
+        );
+
+        // Build restore command. Restores are pure RTO, so pass the restore profile explicitly
+        // (clusters configured before it existed don't have a [global:restore] section).
+        TuningProfile profile = resolveProfile(cluster.getNodeSize());
         StringBuilder commandBuilder = new StringBuilder();
         commandBuilder.append(String.format(
-                "docker exec patroni pgbackrest --stanza=%s --delta",
-                stanzaName
+                "docker exec patroni pgbackrest --stanza=%s --delta --process-max=%d --buffer-size=%s --log-level-file=detail",
+                stanzaName,
+                profile.restoreProcessMax(),
+                profile.restoreBufferSize()
         ));
 
         // Add specific backup set if provided
@@ -499,6 +926,101 @@ public class PgBackRestService {
         log.info("Restore completed for cluster {}", stanzaName);
     }
 
+    /**
+     * Get the progress of a restore running on a node.
+     * pgBackRest logs every restored file with the cumulative percentage at log-level-file=detail.
+     *
+     * @param stanzaName The stanza being restored (the source cluster's slug for restores to a new cluster)
+     * @param node The node the restore runs on
+     * @return The latest logged progress, or null if none was logged yet
+     */
+    public RestoreProgress getRestoreProgress(String stanzaName, VpsNode node) {
+        SshService.CommandResult result = sshService.executeCommand(
+                node.getPublicIp(),
+                String.format("docker exec patroni tail -c 4096 %s", restoreLogPath(stanzaName)),
+                15000
+        );
+        if (!result.isSuccess()) {
+            return null;
+        }
+        return parseRestoreProgress(result.getStdout());
+    }
+
+    /**
+     * Parse the last logged percentage from the tail of a pgBackRest restore log.
+     * Lines look like {@code restore file /var/lib/.../base/5/1249 (440KB, 12.34%) checksum ...}.
+     */
+    RestoreProgress parseRestoreProgress(String logTail) {
+        if (logTail == null) {
+            return null;
+        }
+        Matcher matcher = RESTORE_PERCENT_PATTERN.matcher(logTail);
+        Double percent = null;
+        while (matcher.find()) {
+            try {
+                percent = Double.parseDouble(matcher.group(1));
+            } catch (NumberFormatException ignored) {
+                // Keep the last parseable value
+            }
+        }
+        return percent != null ? new RestoreProgress(Math.min(100.0, percent)) : null;
+    }
+
+    /**
+     * Apply a restore progress sample to a restore job.
+     * The data restore phase is mapped onto [floorPercent, ceilingPercent] of the job's progress;
+     * restored bytes and throughput are derived when the restore size is known.
+     *
+     * @param totalBytes Database size of the backup being restored, or null if unknown
+     * @return true if anything user-visible changed and the job should be saved
+     */
+    public boolean applyRestoreProgress(RestoreJob job, RestoreProgress progress, Long totalBytes,
+                                        Instant restoreStartedAt, Instant now, int floorPercent, int ceilingPercent) {
+        int percent = floorPercent + (int) ((ceilingPercent - floorPercent) * progress.percent() / 100.0);
+        boolean changed = job.getProgress() == null || percent > job.getProgress();
+        if (changed) {
+            job.setProgress(percent);
+        }
+
+        if (totalBytes != null && totalBytes > 0) {
+            long restored = (long) (totalBytes * progress.percent() / 100.0);
+            long elapsedSeconds = Math.max(1, Duration.between(restoreStartedAt, now).toSeconds());
+            long throughput = restored / elapsedSeconds;
+            changed |= !Long.valueOf(restored).equals(job.getBytesRestored());
+            job.setBytesRestored(restored);
+            job.setBytesTotal(totalBytes);
+            job.setThroughputBytesPerSec(throughput);
+            job.setEstimatedCompletionAt(throughput > 0 ? now.plusSeconds((totalBytes - restored) / throughput) : null);
+        }
+        return changed;
+    }
+
+    /**
+     * Size of the database in a backup set, as recorded by pgBackRest.
+     *
+     * @param stanzaName The stanza to query
+     * @param node A node whose pgBackRest config can read the stanza's repository
+     * @param backupLabel The backup label, or null for the latest backup
+     * @return The database size in bytes, or null if unknown
+     */
+    public Long getBackupDatabaseSize(String stanzaName, VpsNode node, String backupLabel) {
+        try {
+            List<PgBackRestBackupInfo> backups = listBackups(stanzaName, node);
+            return backups.stream()
+                    .filter(b -> backupLabel == null || backupLabel.equals(b.getLabel()))
+                    .reduce((first, second) -> second)
+                    .map(PgBackRestBackupInfo::getDatabaseSizeBytes)
+                    .orElse(null);
+        } catch (Exception e) {
+            log.debug("Could not read backup size for stanza {}: {}", stanzaName, e.getMessage());
+            return null;
+        }
+    }
+
+    private String restoreLogPath(String stanzaName) {
+        return pgbackrestLogPath + "/" + stanzaName + "-restore.log";
+    }
+
     /**
      * Run retention policy cleanup (expire old backups).
      *
@@ -611,7 +1133,21 @@ public class PgBackRestService {
      * @return The configuration file content
      */
     public String generateRestoreConfig(Cluster sourceCluster) {
+        return generateRestoreConfig(sourceCluster, sourceCluster.getNodeSize());
+    }
+
+    /**
+     * Generate restore config tuned for the node the restore runs on: all cores, large
+     * buffers and async archive-get with a deep prefetch queue so WAL replay (PITR and the
+     * restored cluster's recovery) doesn't stall on S3 round trips.
+     *
+     * @param sourceCluster The source cluster whose backup we're reading from
+     * @param targetNodeSize Server type of the node the restore runs on
+     * @return The configuration file content
+     */
+    public String generateRestoreConfig(Cluster sourceCluster, String targetNodeSize) {
         String stanzaName = sourceCluster.getSlug();  // Use SOURCE cluster's stanza
+        TuningProfile profile = resolveProfile(targetNodeSize);
 
         return """
             [global]
@@ -623,9 +1159,13 @@ public class PgBackRestService {
             repo1-s3-key-secret=%s
             repo1-path=/pgbackrest/%s
             repo1-s3-uri-style=path
-            process-max=2
-            compress-type=lz4
+            process-max=%d
+            buffer-size=%s
+            archive-async=y
+            archive-get-queue-max=%s
+            spool-path=%s
             log-path=%s
+            log-level-file=detail
 
             [%s]
             pg1-path=%s
@@ -638,6 +1178,10 @@ public class PgBackRestService {
                 s3AccessKey,
                 s3SecretKey,
                 sourceCluster.getId(),  // Point to SOURCE cluster's backup path
+                profile.restoreProcessMax(),
+                profile.restoreBufferSize(),
+                profile.archiveGetQueueMax(),
+                pgbackrestSpoolPath,
                 pgbackrestLogPath,
                 stanzaName,             // SOURCE cluster's stanza name
                 postgresDataPath,
@@ -652,10 +1196,21 @@ public class PgBackRestService {
      * @param node The node to upload to
      */
     public void uploadRestoreConfig(Cluster sourceCluster, VpsNode node) {
+        uploadRestoreConfig(sourceCluster, sourceCluster.getNodeSize(), node);
+    }
+
+    /**
+     * Upload restore-specific pgBackRest config tuned for the target node's server type.
+     *
+     * @param sourceCluster The source cluster whose backup we're reading from
+     * @param targetNodeSize Server type of the node the restore runs on
+     * @param node The node to upload to
+     */
+    public void uploadRestoreConfig(Cluster sourceCluster, String targetNodeSize, VpsNode node) {
         log.info("Uploading pgBackRest restore config to node {} (source: {})",
                 node.getName(), sourceCluster.getSlug());
 
-        String config = generateRestoreConfig(sourceCluster);
+        String config = generateRestoreConfig(sourceCluster, targetNodeSize);
 
         // Ensure config directory exists with correct permissions
         sshService.executeCommand(
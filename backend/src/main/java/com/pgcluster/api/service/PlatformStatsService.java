@@ -0,0 +1,310 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.event.ClusterDeleteRequestedEvent;
+import com.pgcluster.api.event.ClusterStatusChangedEvent;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.repository.ClusterRepository;
+import com.pgcluster.api.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory platform statistics for the admin dashboard and the monitoring summary.
+ *
+ * Loaded from one projection query on first use, then kept current from cluster events after
+ * they commit and reconciled against the database in the background to correct any drift
+ * (status changes made without an event, events lost to a restart of another instance).
+ * Reads never touch the database once loaded.
+ *
+ * Provisioning percentiles are the exception to reconciliation: the database records no completion
+ * time, so they come only from the creating to running transitions this instance sees. Each instance
+ * reports its own share of provisions and loses them on restart.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlatformStatsService {
+
+    private final ClusterRepository clusterRepository;
+    private final UserRepository userRepository;
+
+    // Most recent provisioning durations kept for the percentiles
+    @Value("${platform-stats.provisioning-samples:500}")
+    private int provisioningSampleLimit;
+
+    private final Object reconcileLock = new Object();
+
+    // Everything below is guarded by this
+    private final Map<UUID, ClusterFacts> clusters = new HashMap<>();
+    private final Map<String, Long> byStatus = new HashMap<>();
+    private final Map<String, Long> byRegion = new HashMap<>();
+    private final Map<String, Long> byNodeSize = new HashMap<>();
+    private long totalNodes;
+    private long provisionedStorageGb;
+    private long totalUsers;
+    private final Deque<Long> provisioningSeconds = new ArrayDeque<>();
+    private boolean loaded;
+    private Instant reconciledAt;
+    // Clusters changed by events while a reconciliation reads the database, null otherwise
+    private Set<UUID> changedDuringReconcile;
+
+    record ClusterFacts(String status, String region, String nodeSize, int nodeCount, int storageGb,
+                        Instant createdAt) {
+
+        static ClusterFacts of(Cluster cluster, String status) {
+            return new ClusterFacts(status, cluster.getRegion(), cluster.getNodeSize(), cluster.getNodeCount(),
+                    cluster.getStorageGb(), cluster.getCreatedAt());
+        }
+
+        ClusterFacts withStatus(String status) {
+            return new ClusterFacts(status, region, nodeSize, nodeCount, storageGb, createdAt);
+        }
+
+        // createdAt from the entity has more precision than the column, so it's left out
+        boolean countsAs(ClusterFacts other) {
+            return other != null && Objects.equals(status, other.status) && Objects.equals(region, other.region)
+                    && Objects.equals(nodeSize, other.nodeSize) && nodeCount == other.nodeCount
+                    && storageGb == other.storageGb;
+        }
+    }
+
+    /**
+     * Point-in-time copy of the stats. Deleted clusters are not counted.
+     *
+     * @param provisioningP50Seconds null until this instance has seen a cluster provisioned since startup
+     * @param provisioningSamples Provisions seen by this instance that the percentiles cover
+     */
+    public record Snapshot(long totalUsers,
+                           Map<String, Long> clustersByStatus,
+                           Map<String, Long> clustersByRegion,
+                           Map<String, Long> clustersByNodeSize,
+                           long totalNodes,
+                           long provisionedStorageGb,
+                           Long provisioningP50Seconds,
+                           Long provisioningP95Seconds,
+                           int provisioningSamples,
+                           Instant reconciledAt) {
+
+        public long totalClusters() {
+            return clustersByStatus.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long clusters(String status) {
+            return clustersByStatus.getOrDefault(status, 0L);
+        }
+    }
+
+    /**
+     * Current stats, loading them from the database on first use.
+     *
+     * @throws RuntimeException if the initial load fails
+     */
+    public Snapshot getSnapshot() {
+        if (!isLoaded()) {
+            synchronized (reconcileLock) {
+                if (!isLoaded()) {
+                    reconcile();
+                }
+            }
+        }
+        synchronized (this) {
+            long[] samples = provisioningSeconds.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Snapshot(
+                    totalUsers,
+                    Map.copyOf(byStatus),
+                    Map.copyOf(byRegion),
+                    Map.copyOf(byNodeSize),
+                    totalNodes,
+                    provisionedStorageGb,
+                    percentile(samples, 0.50),
+                    percentile(samples, 0.95),
+                    samples.length,
+                    reconciledAt);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClusterStatusChanged(ClusterStatusChangedEvent event) {
+        apply(event.getCluster(), event.getStatus(), event.isCreated());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClusterDeleteRequested(ClusterDeleteRequestedEvent event) {
+        apply(event.getCluster(), Cluster.STATUS_DELETING, false);
+    }
+
+    /**
+     * Reconcile with the database, once the stats have been loaded by a read.
+     */
+    @Scheduled(fixedDelayString = "${platform-stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${platform-stats.reconcile-interval-ms:300000}")
+    public void refresh() {
+        if (!isLoaded()) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Failed to reconcile platform stats, keeping data from {}: {}", reconciledAt, e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the stats from the database. Clusters changed by events while the query runs keep
+     * their event state, since the query may have read them before the change committed.
+     */
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            synchronized (this) {
+                changedDuringReconcile = new HashSet<>();
+            }
+            try {
+                List<ClusterRepository.StatsRow> rows = clusterRepository.findLiveStatsRows();
+                long users = userRepository.count();
+
+                synchronized (this) {
+                    Map<UUID, ClusterFacts> fresh = new HashMap<>();
+                    for (ClusterRepository.StatsRow row : rows) {
+                        fresh.put(row.getId(), new ClusterFacts(row.getStatus(), row.getRegion(), row.getNodeSize(),
+                                row.getNodeCount(), row.getStorageGb(), row.getCreatedAt()));
+                    }
+                    for (UUID id : changedDuringReconcile) {
+                        ClusterFacts current = clusters.get(id);
+                        if (current != null) {
+                            fresh.put(id, current);
+                        } else {
+                            fresh.remove(id);
+                        }
+                    }
+
+                    if (loaded) {
+                        long drifted = drift(clusters, fresh);
+                        if (drifted > 0) {
+                            log.info("Platform stats reconciliation corrected {} cluster(s)", drifted);
+                        }
+                    }
+
+                    clusters.clear();
+                    byStatus.clear();
+                    byRegion.clear();
+                    byNodeSize.clear();
+                    totalNodes = 0;
+                    provisionedStorageGb = 0;
+                    fresh.forEach(this::add);
+                    totalUsers = users;
+                    reconciledAt = Instant.now();
+                    loaded = true;
+                }
+            } finally {
+                synchronized (this) {
+                    changedDuringReconcile = null;
+                }
+            }
+        }
+    }
+
+    synchronized void apply(Cluster cluster, String status, boolean created) {
+        // Nothing to update yet, the first read loads everything from the database
+        if (!loaded && changedDuringReconcile == null) {
+            return;
+        }
+
+        UUID id = cluster.getId();
+        ClusterFacts previous = clusters.get(id);
+        // Provisioning may already have reported a later status by the time creation commits
+        if (created && previous != null) {
+            return;
+        }
+        if (changedDuringReconcile != null) {
+            changedDuringReconcile.add(id);
+        }
+
+        if (previous != null) {
+            remove(id, previous);
+        }
+        if (Cluster.STATUS_DELETED.equals(status)) {
+            return;
+        }
+
+        ClusterFacts next = previous != null ? previous.withStatus(status) : ClusterFacts.of(cluster, status);
+        if (previous != null && Cluster.STATUS_RUNNING.equals(status) && next.createdAt() != null
+                && (Cluster.STATUS_PENDING.equals(previous.status()) || Cluster.STATUS_CREATING.equals(previous.status()))) {
+            recordProvisioning(Duration.between(next.createdAt(), Instant.now()).toSeconds());
+        }
+        add(id, next);
+    }
+
+    private synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private void add(UUID id, ClusterFacts facts) {
+        clusters.put(id, facts);
+        adjust(facts, 1);
+    }
+
+    private void remove(UUID id, ClusterFacts facts) {
+        clusters.remove(id);
+        adjust(facts, -1);
+    }
+
+    private void adjust(ClusterFacts facts, int delta) {
+        increment(byStatus, facts.status(), delta);
+        increment(byRegion, facts.region(), delta);
+        increment(byNodeSize, facts.nodeSize(), delta);
+        totalNodes += (long) delta * facts.nodeCount();
+        provisionedStorageGb += (long) delta * facts.nodeCount() * facts.storageGb();
+    }
+
+    private static void increment(Map<String, Long> counts, String key, int delta) {
+        if (key == null) {
+            return;
+        }
+        // Drop keys that reach zero so regions and sizes no longer in use disappear
+        counts.compute(key, (k, count) -> {
+            long updated = (count != null ? count : 0) + delta;
+            return updated > 0 ? updated : null;
+        });
+    }
+
+    private void recordProvisioning(long seconds) {
+        provisioningSeconds.addLast(seconds);
+        while (provisioningSeconds.size() > provisioningSampleLimit) {
+            provisioningSeconds.removeFirst();
+        }
+    }
+
+    private static long drift(Map<UUID, ClusterFacts> current, Map<UUID, ClusterFacts> fresh) {
+        Set<UUID> ids = new HashSet<>(current.keySet());
+        ids.addAll(fresh.keySet());
+        return ids.stream()
+                .filter(id -> current.get(id) == null ? fresh.get(id) != null : !current.get(id).countsAs(fresh.get(id)))
+                .count();
+    }
+
+    // Nearest-rank percentile of sorted samples
+    static Long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return null;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
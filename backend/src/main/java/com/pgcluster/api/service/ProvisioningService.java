@@ -2,10 +2,12 @@ package com.pgcluster.api.service;
 
 import com.pgcluster.api.client.CloudflareClient;
 import com.pgcluster.api.client.HetznerClient;
+import com.pgcluster.api.event.ClusterStatusChangedEvent;
 import com.pgcluster.api.model.entity.Backup;
 import com.pgcluster.api.model.entity.Cluster;
 import com.pgcluster.api.model.entity.RestoreJob;
 import com.pgcluster.api.model.entity.VpsNode;
+import com.pgcluster.api.repository.BackupRepository;
 import com.pgcluster.api.repository.ClusterRepository;
 import com.pgcluster.api.repository.RestoreJobRepository;
 import com.pgcluster.api.repository.VpsNodeRepository;
@@ -13,12 +15,14 @@ import com.pgcluster.api.util.PasswordGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.HashSet;
@@ -36,6 +40,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProvisioningService {
 
+    // Pipelined restore: pgBackRest restores into a dot-directory of PGDATA ahead of Patroni
+    private static final String PRE_RESTORE_CONTAINER = "pgcluster-prerestore";
+    private static final String PRE_RESTORE_DATA_DIR = "/data/postgresql/.prerestore/pgdata";
+    private static final String PRE_RESTORE_SCRIPT = "/var/spool/pgbackrest/prerestore.sh";
+    private static final String PRE_RESTORE_EXIT_FILE = "/var/spool/pgbackrest/prerestore.exit";
+
+    // Data volume directory outside PGDATA where directory-format exports are staged (see ExportService)
+    private static final String EXPORT_STAGING_DIR = "/data/export-staging";
+
     private final HetznerClient hetznerClient;
     private final CloudflareClient cloudflareClient;
     private final SshService sshService;
@@ -46,6 +59,9 @@ public class ProvisioningService {
     private final HostKeyVerifier hostKeyVerifier;
     private final PatroniService patroniService;
     private final ClusterProgressService clusterProgressService;
+    private final ClusterTeardownService clusterTeardownService;
+    private final BackupRepository backupRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${cluster.base-domain}")
     private String baseDomain;
@@ -68,6 +84,13 @@ public class ProvisioningService {
     @Value("${restore.timeout-minutes:30}")
     private int restoreTimeoutMinutes;
 
+    @Value("${restore.pipeline.enabled:true}")
+    private boolean restorePipelineEnabled;
+
+    // Passed to the patroni container, whose entrypoint starts the pgBackRest TLS server on it
+    @Value("${pgbackrest.tls-server-port:8432}")
+    private int pgbackrestTlsServerPort;
+
     /**
      * Create ALL servers synchronously for a cluster.
      * This blocks until all servers are created successfully.
@@ -278,8 +301,9 @@ public class ProvisioningService {
         // Phase 4a: Upload configs to all nodes
         log.info("Phase 4a: Uploading configs to all nodes...");
         clusterProgressService.updateProgress(cluster.getId(), Cluster.STEP_STARTING_CONTAINERS, 4);
+        setupStandbyBackupTls(cluster, nodes);
         for (VpsNode node : nodes) {
-            uploadNodeConfig(cluster, node, etcdCluster, etcdHosts, replicatorPassword);
+            uploadNodeConfig(cluster, node, nodes, etcdCluster, etcdHosts, replicatorPassword);
         }
 
         // Phase 4b: Start etcd on all nodes (must be running before health checks pass)
@@ -351,6 +375,7 @@ public class ProvisioningService {
         cluster.setProvisioningStep(Cluster.STEP_CREATING_DNS);
         cluster.setProvisioningProgress(Cluster.TOTAL_PROVISIONING_STEPS);
         clusterRepository.save(cluster);
+        eventPublisher.publishEvent(ClusterStatusChangedEvent.changed(this, cluster));
 
         log.info("Cluster {} provisioned successfully in {} nodes", cluster.getSlug(), nodes.size());
     }
@@ -475,7 +500,7 @@ public class ProvisioningService {
     /**
      * Upload configuration files to a node (without starting containers)
      */
-    private void uploadNodeConfig(Cluster cluster, VpsNode node, String etcdCluster,
+    private void uploadNodeConfig(Cluster cluster, VpsNode node, List<VpsNode> clusterNodes, String etcdCluster,
                                   String etcdHosts, String replicatorPassword) {
         log.info("Uploading config to node {}...", node.getName());
 
@@ -550,7 +575,9 @@ public class ProvisioningService {
         // PostgreSQL requires 700 permissions on data directory
         sshService.executeCommand(
                 node.getPublicIp(),
-                "mkdir -p /data/postgresql /data/etcd && chmod 700 /data/postgresql && chown -R 999:999 /data/postgresql"
+                "mkdir -p /data/postgresql /data/etcd " + EXPORT_STAGING_DIR
+                        + " && chmod 700 /data/postgresql " + EXPORT_STAGING_DIR
+                        + " && chown -R 999:999 /data/postgresql && chown 999:999 " + EXPORT_STAGING_DIR
         );
 
         // Generate and upload PgBouncer config
@@ -577,12 +604,24 @@ public class ProvisioningService {
 
         // Upload pgBackRest config if backup is enabled
         if (backupEnabled && s3Endpoint != null && !s3Endpoint.isBlank()) {
-            pgBackRestService.uploadConfig(cluster, node);
+            pgBackRestService.uploadConfig(cluster, node, clusterNodes);
         }
 
         log.info("Node {} config uploaded with secure permissions", node.getName());
     }
 
+    /**
+     * Provision the pgBackRest TLS server certificates needed for backup-from-standby.
+     * Must run before containers start, since the patroni entrypoint only starts the
+     * TLS server when certificates are present.
+     */
+    private void setupStandbyBackupTls(Cluster cluster, List<VpsNode> nodes) {
+        if (backupEnabled && s3Endpoint != null && !s3Endpoint.isBlank()
+                && pgBackRestService.isStandbyBackupEnabled() && nodes.size() > 1) {
+            pgBackRestService.setupTlsCertificates(cluster, nodes);
+        }
+    }
+
     /**
      * Generate .env file with sensitive credentials
      */
@@ -757,7 +796,7 @@ public class ProvisioningService {
      * Generate docker-compose.yml from template.
      * Passwords are loaded from .env file for security.
      */
-    private String generateDockerCompose(String clusterSlug, String nodeName,
+    String generateDockerCompose(String clusterSlug, String nodeName,
                                          String nodeIp, String etcdCluster,
                                          String postgresVersion) {
         return """
@@ -795,14 +834,17 @@ public class ProvisioningService {
                     condition: service_healthy
                 volumes:
                   - /data/postgresql:/var/lib/postgresql/data
+                  - /data/export-staging:/var/lib/pgcluster/export-staging
                   - /opt/pgcluster/patroni.yml:/etc/patroni/patroni.yml:ro
                   - /etc/pgbackrest/pgbackrest.conf:/etc/pgbackrest/pgbackrest.conf:ro
+                  - /etc/pgbackrest/tls:/etc/pgbackrest/tls:ro
                   - /var/log/pgbackrest:/var/log/pgbackrest
                   - /var/spool/pgbackrest:/var/spool/pgbackrest
                 environment:
                   - PATRONI_NAME=%s
                   - PATRONI_RESTAPI_CONNECT_ADDRESS=%s:8008
                   - PATRONI_POSTGRESQL_CONNECT_ADDRESS=%s:5432
+                  - PGBACKREST_TLS_SERVER_PORT=%d
                 healthcheck:
                   test: ["CMD", "curl", "-f", "http://localhost:8008/health"]
                   interval: 10s
@@ -863,7 +905,8 @@ public class ProvisioningService {
                 postgresVersion,    // patroni image version
                 nodeName,           // PATRONI_NAME
                 nodeIp,             // PATRONI_RESTAPI_CONNECT_ADDRESS
-                nodeIp              // PATRONI_POSTGRESQL_CONNECT_ADDRESS
+                nodeIp,             // PATRONI_POSTGRESQL_CONNECT_ADDRESS
+                pgbackrestTlsServerPort // PGBACKREST_TLS_SERVER_PORT
         );
     }
 
@@ -1241,66 +1284,29 @@ public class ProvisioningService {
     }
 
     /**
-     * Delete cluster and all its resources
+     * Delete cluster and all its resources.
+     * Not transactional: teardown takes minutes, and each repository call commits on its own.
      */
-    @Transactional
     public void deleteCluster(Cluster cluster) {
         log.info("Deleting cluster: {}", cluster.getSlug());
 
         // Cancel any pending/in-progress restore jobs involving this cluster
         cancelOrphanedRestoreJobs(cluster);
 
-        // Collect Hetzner IDs from database
-        Set<Long> deletedServerIds = new HashSet<>();
-
-        // Delete VPS nodes from database
+        // Servers, orphans found by label, DNS and host keys are removed in parallel, S3 prefixes after the servers
         List<VpsNode> nodes = vpsNodeRepository.findByCluster(cluster);
-        for (VpsNode node : nodes) {
-            if (node.getHetznerId() != null) {
-                try {
-                    hetznerClient.deleteServer(node.getHetznerId());
-                    deletedServerIds.add(node.getHetznerId());
-                    log.info("Deleted Hetzner server: {}", node.getHetznerId());
-                } catch (Exception e) {
-                    log.warn("Failed to delete Hetzner server {}: {}", node.getHetznerId(), e.getMessage());
-                }
-            }
-        }
+        ClusterTeardownService.Result result = clusterTeardownService.teardown(cluster, nodes);
 
-        // Also query Hetzner directly by label to catch any servers not yet in database
-        // This handles the race condition where server was created but hetznerId not yet saved
-        try {
-            List<HetznerClient.ServerResponse> labeledServers =
-                    hetznerClient.listServersByLabel("cluster=" + cluster.getSlug());
-            for (HetznerClient.ServerResponse server : labeledServers) {
-                if (!deletedServerIds.contains(server.getId())) {
-                    try {
-                        hetznerClient.deleteServer(server.getId());
-                        log.info("Deleted orphaned Hetzner server found by label: {} ({})",
-                                server.getName(), server.getId());
-                    } catch (Exception e) {
-                        log.warn("Failed to delete orphaned server {}: {}", server.getId(), e.getMessage());
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Failed to query Hetzner for orphaned servers: {}", e.getMessage());
-        }
-
-        // Delete DNS record
-        try {
-            String hostname = cluster.getSlug() + "." + baseDomain;
-            CloudflareClient.DnsRecord record = cloudflareClient.findDnsRecord(hostname);
-            if (record != null) {
-                cloudflareClient.deleteDnsRecord(record.getId());
-            }
-        } catch (Exception e) {
-            log.warn("Failed to delete DNS record: {}", e.getMessage());
+        // Backups can't be restored once their pgBackRest repository is gone
+        if (result.succeeded(ClusterTeardownService.STEP_PGBACKREST)) {
+            int markedDeleted = backupRepository.markAllDeleted(cluster);
+            log.info("Marked {} backup(s) of cluster {} as deleted", markedDeleted, cluster.getSlug());
         }
 
         // Delete cluster from database
         cluster.setStatus(Cluster.STATUS_DELETED);
         clusterRepository.save(cluster);
+        eventPublisher.publishEvent(ClusterStatusChangedEvent.changed(this, cluster));
 
         log.info("Cluster {} deleted", cluster.getSlug());
     }
@@ -1389,11 +1395,29 @@ public class ProvisioningService {
             sshService.removeHostKeyTrust(node.getPublicIp());
         }
 
+        VpsNode firstNode = nodes.get(0);
+        boolean preRestoreStarted = false;
+
         // Phase 2: Wait for SSH
-        log.info("Phase 2: Waiting for SSH on all nodes...");
         clusterProgressService.updateProgress(targetCluster.getId(), Cluster.STEP_WAITING_SSH, 2);
         updateRestoreJobProgress(job, "WAITING_SSH", 15);
-        waitForSsh(nodes, targetCluster.getId());
+        if (restorePipelineEnabled) {
+            // Start downloading the backup on the future leader while the other servers are still booting
+            log.info("Phase 2: Waiting for SSH on first node...");
+            waitForSsh(List.of(firstNode), targetCluster.getId());
+            try {
+                startPreRestore(targetCluster, sourceCluster, firstNode, backup.getPgbackrestLabel(), targetTime);
+                preRestoreStarted = true;
+            } catch (Exception e) {
+                log.warn("Failed to start pipelined restore on {}, Patroni will restore during bootstrap: {}",
+                        firstNode.getName(), e.getMessage());
+            }
+            log.info("Phase 2: Waiting for SSH on remaining nodes...");
+            waitForSsh(nodes.subList(1, nodes.size()), targetCluster.getId());
+        } else {
+            log.info("Phase 2: Waiting for SSH on all nodes...");
+            waitForSsh(nodes, targetCluster.getId());
+        }
 
         // Phase 3: Build cluster configuration
         log.info("Phase 3: Building cluster configuration...");
@@ -1410,7 +1434,7 @@ public class ProvisioningService {
         clusterProgressService.updateProgress(targetCluster.getId(), Cluster.STEP_STARTING_CONTAINERS, 4);
         updateRestoreJobProgress(job, "CONFIGURING_NODES", 20);
 
-        VpsNode firstNode = nodes.get(0);
+        setupStandbyBackupTls(targetCluster, nodes);
 
         for (int i = 0; i < nodes.size(); i++) {
             VpsNode node = nodes.get(i);
@@ -1421,11 +1445,15 @@ public class ProvisioningService {
                         etcdHosts, replicatorPassword, backup.getPgbackrestLabel(), targetTime);
             } else {
                 // Replica nodes: will stream from restored leader
-                uploadNodeConfigForReplica(targetCluster, node, etcdCluster, etcdHosts, replicatorPassword);
+                uploadNodeConfigForReplica(targetCluster, node, nodes, etcdCluster, etcdHosts, replicatorPassword);
             }
 
             // Upload pgBackRest config pointing to SOURCE cluster (for reading backup)
-            pgBackRestService.uploadRestoreConfig(sourceCluster, node);
+            // Tuned for the target's server type: the restore runs there with all cores.
+            // A pipelined restore already uploaded it to the first node.
+            if (i > 0 || !preRestoreStarted) {
+                pgBackRestService.uploadRestoreConfig(sourceCluster, targetCluster.getNodeSize(), node);
+            }
         }
 
         // Phase 4b: Start etcd on all nodes
@@ -1438,15 +1466,28 @@ public class ProvisioningService {
         log.info("Phase 4c: Waiting for etcd cluster...");
         waitForEtcdCluster(nodes);
 
-        // Phase 4d: Start Patroni on first node only (restore will happen)
-        log.info("Phase 4d: Starting Patroni on first node (restore mode)...");
         updateRestoreJobProgress(job, "RESTORING_DATA", 30);
+        // One timeout covers the pipelined restore and any Patroni restore falling back from it
+        Instant restoreDeadline = Instant.now().plus(Duration.ofMinutes(restoreTimeoutMinutes));
+        if (preRestoreStarted) {
+            log.info("Phase 4d: Waiting for pipelined restore on first node (timeout: {} minutes)...",
+                    restoreTimeoutMinutes);
+            if (!waitForPreRestore(firstNode, restoreTimeoutMinutes * 60, job,
+                    sourceCluster.getSlug(), backup.getPgbackrestLabel())) {
+                log.warn("Pipelined restore on {} failed, Patroni will restore during bootstrap", firstNode.getName());
+            }
+        }
+        int restoreSecondsLeft = (int) Math.max(0, Duration.between(Instant.now(), restoreDeadline).toSeconds());
+
+        // Phase 4d: Start Patroni on first node only (restore will happen, or adopt the pipelined restore)
+        log.info("Phase 4d: Starting Patroni on first node (restore mode)...");
         // Start only patroni and node-exporter first (without health-check dependent services)
         startCoreContainersForRestore(firstNode);
 
         // Phase 5: Wait for restore to complete (configurable timeout)
-        log.info("Phase 5: Waiting for pgBackRest restore to complete (timeout: {} minutes)...", restoreTimeoutMinutes);
-        waitForPatroniRestore(firstNode, targetCluster.getSlug(), restoreTimeoutMinutes * 60);
+        log.info("Phase 5: Waiting for pgBackRest restore to complete (timeout: {}s)...", restoreSecondsLeft);
+        waitForPatroniRestore(firstNode, targetCluster.getSlug(), restoreSecondsLeft,
+                job, sourceCluster.getSlug(), backup.getPgbackrestLabel());
 
         // Now start the dependent services (pgbouncer, postgres-exporter)
         log.info("Phase 5: Starting dependent containers on first node...");
@@ -1468,7 +1509,7 @@ public class ProvisioningService {
         log.info("Phase 5c: Reconfiguring pgBackRest for new cluster...");
         updateRestoreJobProgress(job, "CONFIGURING_BACKUP", 85);
         for (VpsNode node : nodes) {
-            pgBackRestService.uploadConfig(targetCluster, node);
+            pgBackRestService.uploadConfig(targetCluster, node, nodes);
         }
 
         // Phase 5d: Create new stanza for the restored cluster
@@ -1502,6 +1543,7 @@ public class ProvisioningService {
         targetCluster.setProvisioningStep(Cluster.STEP_CREATING_DNS);
         targetCluster.setProvisioningProgress(Cluster.TOTAL_PROVISIONING_STEPS);
         clusterRepository.save(targetCluster);
+        eventPublisher.publishEvent(ClusterStatusChangedEvent.changed(this, targetCluster));
 
         log.info("Restored cluster {} provisioned successfully in {} nodes", targetCluster.getSlug(), nodes.size());
     }
@@ -1560,9 +1602,12 @@ public class ProvisioningService {
         sshService.uploadContent(node.getPublicIp(), restoreBootstrapScript, "/var/spool/pgbackrest/restore-bootstrap.sh");
         sshService.executeCommand(node.getPublicIp(), "chmod 755 /var/spool/pgbackrest/restore-bootstrap.sh");
 
-        // Ensure data directories exist
+        // Ensure data directories exist.
+        // Not recursive: a pipelined restore may already be writing below /data/postgresql.
         sshService.executeCommand(node.getPublicIp(),
-                "mkdir -p /data/postgresql /data/etcd && chmod 700 /data/postgresql && chown -R 999:999 /data/postgresql");
+                "mkdir -p /data/postgresql /data/etcd " + EXPORT_STAGING_DIR
+                        + " && chmod 700 /data/postgresql " + EXPORT_STAGING_DIR
+                        + " && chown 999:999 /data/postgresql " + EXPORT_STAGING_DIR);
 
         // Generate and upload PgBouncer configs
         String pgbouncerConfig = generatePgBouncerConfig(targetCluster.getNodeSize());
@@ -1578,10 +1623,10 @@ public class ProvisioningService {
     /**
      * Upload configuration for replica nodes (stream from leader)
      */
-    private void uploadNodeConfigForReplica(Cluster cluster, VpsNode node, String etcdCluster,
-                                             String etcdHosts, String replicatorPassword) {
+    private void uploadNodeConfigForReplica(Cluster cluster, VpsNode node, List<VpsNode> clusterNodes,
+                                             String etcdCluster, String etcdHosts, String replicatorPassword) {
         // Use normal config - replicas will stream from restored leader
-        uploadNodeConfig(cluster, node, etcdCluster, etcdHosts, replicatorPassword);
+        uploadNodeConfig(cluster, node, clusterNodes, etcdCluster, etcdHosts, replicatorPassword);
     }
 
     /**
@@ -1706,6 +1751,62 @@ public class ProvisioningService {
      * - allows cleanup steps after restore (e.g. removing patroni.dynamic.json restored from source)
      */
     private String generateRestoreBootstrapScript(String sourceClusterSlug, String backupLabel, Instant targetTime) {
+        String cmd = buildRestoreCommand(sourceClusterSlug, backupLabel, targetTime);
+
+        // NOTE: /var/lib/postgresql/data is PGDATA inside the patroni container (host path /data/postgresql).
+        // A pipelined restore leaves its result in $PGDATA/.prerestore/pgdata. Patroni ignores dot-directories
+        // when deciding whether PGDATA is empty, so it still bootstraps; the staged files are moved into place
+        // (a rename within the same mount) instead of downloading the backup a second time.
+        //
+        // patroni.dynamic.json restored from the SOURCE cluster can override our intended settings on bootstrap.
+        // Remove it so the new cluster doesn't inherit source cluster archiving config, etc.
+        //
+        // pgBackRest restore with --archive-mode=off may write archive_* entries into postgresql.auto.conf.
+        // If left there, they override Patroni runtime config and backups later fail with:
+        //   ERROR: [087]: archive_mode must be enabled
+        // Remove only archive_* overrides while preserving restore_command/recovery_target_*.
+        return ""
+                + "#!/bin/sh\n"
+                + "set -eu\n"
+                + "\n"
+                + "PGDATA=\"/var/lib/postgresql/data\"\n"
+                + "STAGED=\"$PGDATA/.prerestore/pgdata\"\n"
+                + "\n"
+                + "if [ \"$(cat " + PRE_RESTORE_EXIT_FILE + " 2>/dev/null || true)\" = \"0\" ] "
+                + "&& [ -f \"$STAGED/PG_VERSION\" ]; then\n"
+                + "  echo \"[restore-bootstrap] Using data restored ahead of Patroni start\"\n"
+                + "  find \"$STAGED\" -mindepth 1 -maxdepth 1 -exec mv {} \"$PGDATA/\" \\;\n"
+                + "  rm -rf \"$PGDATA/.prerestore\"\n"
+                + "else\n"
+                + "  rm -rf \"$PGDATA/.prerestore\"\n"
+                + "  echo \"[restore-bootstrap] Starting pgBackRest restore...\"\n"
+                + "  " + cmd + "\n"
+                + "  echo \"[restore-bootstrap] pgBackRest restore finished\"\n"
+                + "fi\n"
+                + "\n"
+                + "echo \"[restore-bootstrap] postgresql.auto.conf (after restore)\"\n"
+                + "nl -ba \"$PGDATA/postgresql.auto.conf\" || true\n"
+                + "\n"
+                + "echo \"[restore-bootstrap] Removing restore-time archive_* overrides from postgresql.auto.conf\"\n"
+                + "if [ -f \"$PGDATA/postgresql.auto.conf\" ]; then\n"
+                + "  sed -i -E '/^[[:space:]]*archive_mode[[:space:]]*=/d; "
+                + "/^[[:space:]]*archive_command[[:space:]]*=/d; "
+                + "/^[[:space:]]*archive_timeout[[:space:]]*=/d' \"$PGDATA/postgresql.auto.conf\" || true\n"
+                + "fi\n"
+                + "\n"
+                + "echo \"[restore-bootstrap] postgresql.auto.conf (after archive cleanup)\"\n"
+                + "nl -ba \"$PGDATA/postgresql.auto.conf\" || true\n"
+                + "\n"
+                + "echo \"[restore-bootstrap] Removing restored dynamic Patroni config (patroni.dynamic.json)\"\n"
+                + "rm -f \"$PGDATA/patroni.dynamic.json\" || true\n"
+                + "\n"
+                + "exit 0\n";
+    }
+
+    /**
+     * Build the pgBackRest restore command for the selected backup, configured for PITR when a target time is set.
+     */
+    private String buildRestoreCommand(String sourceClusterSlug, String backupLabel, Instant targetTime) {
         if (sourceClusterSlug == null || !sourceClusterSlug.matches("^[a-z0-9-]+$")) {
             throw new IllegalArgumentException("Invalid source cluster slug: " + sourceClusterSlug);
         }
@@ -1758,50 +1859,146 @@ public class ProvisioningService {
         }
 
         cmd.append(" restore");
+        return cmd.toString();
+    }
 
-        // NOTE: /var/lib/postgresql/data is PGDATA inside the patroni container (host path /data/postgresql).
-        // patroni.dynamic.json restored from the SOURCE cluster can override our intended settings on bootstrap.
-        // Remove it so the new cluster doesn't inherit source cluster archiving config, etc.
-        //
-        // pgBackRest restore with --archive-mode=off may write archive_* entries into postgresql.auto.conf.
-        // If left there, they override Patroni runtime config and backups later fail with:
-        //   ERROR: [087]: archive_mode must be enabled
-        // Remove only archive_* overrides while preserving restore_command/recovery_target_*.
+    /**
+     * Generate the script run by the pipelined restore container.
+     * The exit code is written atomically so the control plane and the bootstrap script can tell
+     * a finished restore from one that is still running or died half-way.
+     */
+    private String generatePreRestoreScript(String sourceClusterSlug, String backupLabel, Instant targetTime) {
+        String cmd = buildRestoreCommand(sourceClusterSlug, backupLabel, targetTime);
         return ""
                 + "#!/bin/sh\n"
-                + "set -eu\n"
+                + "set -u\n"
                 + "\n"
-                + "PGDATA=\"/var/lib/postgresql/data\"\n"
-                + "\n"
-                + "echo \"[restore-bootstrap] Starting pgBackRest restore...\"\n"
+                + "echo \"[pre-restore] Starting pgBackRest restore...\"\n"
                 + cmd + "\n"
-                + "echo \"[restore-bootstrap] pgBackRest restore finished\"\n"
-                + "\n"
-                + "echo \"[restore-bootstrap] postgresql.auto.conf (after restore)\"\n"
-                + "nl -ba \"$PGDATA/postgresql.auto.conf\" || true\n"
-                + "\n"
-                + "echo \"[restore-bootstrap] Removing restore-time archive_* overrides from postgresql.auto.conf\"\n"
-                + "if [ -f \"$PGDATA/postgresql.auto.conf\" ]; then\n"
-                + "  sed -i -E '/^[[:space:]]*archive_mode[[:space:]]*=/d; "
-                + "/^[[:space:]]*archive_command[[:space:]]*=/d; "
-                + "/^[[:space:]]*archive_timeout[[:space:]]*=/d' \"$PGDATA/postgresql.auto.conf\" || true\n"
-                + "fi\n"
-                + "\n"
-                + "echo \"[restore-bootstrap] postgresql.auto.conf (after archive cleanup)\"\n"
-                + "nl -ba \"$PGDATA/postgresql.auto.conf\" || true\n"
-                + "\n"
-                + "echo \"[restore-bootstrap] Removing restored dynamic Patroni config (patroni.dynamic.json)\"\n"
-                + "rm -f \"$PGDATA/patroni.dynamic.json\" || true\n"
-                + "\n"
-                + "exit 0\n";
+                + "rc=$?\n"
+                + "echo \"[pre-restore] pgBackRest restore exited with $rc\"\n"
+                + "echo \"$rc\" > " + PRE_RESTORE_EXIT_FILE + ".tmp && mv " + PRE_RESTORE_EXIT_FILE + ".tmp "
+                + PRE_RESTORE_EXIT_FILE + "\n"
+                + "exit $rc\n";
+    }
+
+    /**
+     * Start the pgBackRest restore on the future leader before the rest of the cluster is ready.
+     *
+     * The restore runs detached in a one-off container from the Patroni image, with the staging
+     * directory mounted as PGDATA so the recovery settings pgBackRest writes match the final location.
+     * Etcd and Patroni need every node, so this lets the download overlap with the other servers booting.
+     */
+    private void startPreRestore(Cluster targetCluster, Cluster sourceCluster, VpsNode node,
+                                 String backupLabel, Instant targetTime) {
+        log.info("Starting pipelined pgBackRest restore on {} (source: {})...", node.getName(), sourceCluster.getSlug());
+        String ip = node.getPublicIp();
+
+        pgBackRestService.uploadRestoreConfig(sourceCluster, targetCluster.getNodeSize(), node);
+
+        sshService.executeCommand(ip, "mkdir -p " + PRE_RESTORE_DATA_DIR + " /var/spool/pgbackrest"
+                + " && chmod 700 /data/postgresql " + PRE_RESTORE_DATA_DIR
+                + " && chown -R 999:999 /data/postgresql && rm -f " + PRE_RESTORE_EXIT_FILE);
+        sshService.uploadContent(ip, generatePreRestoreScript(sourceCluster.getSlug(), backupLabel, targetTime),
+                PRE_RESTORE_SCRIPT);
+        sshService.executeCommand(ip, "chmod 755 " + PRE_RESTORE_SCRIPT);
+
+        String run = "docker rm -f " + PRE_RESTORE_CONTAINER + " >/dev/null 2>&1; "
+                + "docker run -d --name " + PRE_RESTORE_CONTAINER
+                + " --network host --user 999:999 --entrypoint /bin/sh"
+                + " -v " + PRE_RESTORE_DATA_DIR + ":/var/lib/postgresql/data"
+                + " -v /etc/pgbackrest/pgbackrest.conf:/etc/pgbackrest/pgbackrest.conf:ro"
+                + " -v /var/log/pgbackrest:/var/log/pgbackrest"
+                + " -v /var/spool/pgbackrest:/var/spool/pgbackrest"
+                + " denysd1/patroni:" + targetCluster.getPostgresVersion() + " " + PRE_RESTORE_SCRIPT;
+
+        SshService.CommandResult result = sshService.executeCommand(ip, run, 300000); // 5 minutes for image pull
+        if (!result.isSuccess()) {
+            throw new RuntimeException("Failed to start pipelined restore on " + node.getName() + ": "
+                    + result.getStderr());
+        }
+        log.info("Pipelined restore running on {}", node.getName());
+    }
+
+    /**
+     * Wait for the pipelined restore container to finish.
+     * Progress is read from the restore log every 30 seconds, mapped onto 30-69% of the job.
+     *
+     * A restore that fails early (non-zero exit, container gone) leaves the rest of the timeout to a
+     * Patroni restore. One that runs out of time fails the job: restoring again from scratch would only
+     * take as long again.
+     *
+     * @return true if the restore succeeded, false if it failed and Patroni should restore instead
+     * @throws RuntimeException if the restore did not complete within the timeout
+     */
+    boolean waitForPreRestore(VpsNode node, int timeoutSeconds, RestoreJob job,
+                              String sourceStanza, String backupLabel) {
+        String ip = node.getPublicIp();
+        // Exit code once finished, "running" while the container is up, "gone" if it died without one
+        String check = "cat " + PRE_RESTORE_EXIT_FILE + " 2>/dev/null"
+                + " || (docker inspect -f '{{.State.Running}}' " + PRE_RESTORE_CONTAINER
+                + " 2>/dev/null | grep -q true && echo running)"
+                + " || cat " + PRE_RESTORE_EXIT_FILE + " 2>/dev/null"
+                + " || echo gone";
+        int maxAttempts = timeoutSeconds / 5;
+        Instant startedAt = Instant.now();
+        Long restoreBytes = null;
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for restore");
+            }
+
+            SshService.CommandResult result = sshService.executeCommand(ip, check, 10000);
+            String state = result.isSuccess() ? result.getStdout().trim() : "running";
+
+            if (!"running".equals(state)) {
+                if ("0".equals(state)) {
+                    sshService.executeCommand(ip, "docker rm -f " + PRE_RESTORE_CONTAINER);
+                    log.info("Pipelined restore on {} completed in {}s", node.getName(),
+                            Duration.between(startedAt, Instant.now()).toSeconds());
+                    return true;
+                }
+                SshService.CommandResult logs = sshService.executeCommand(ip,
+                        "docker logs --tail 20 " + PRE_RESTORE_CONTAINER + " 2>&1");
+                log.warn("Pipelined restore on {} ended with '{}': {}", node.getName(), state, logs.getStdout());
+                sshService.executeCommand(ip, "docker rm -f " + PRE_RESTORE_CONTAINER);
+                return false;
+            }
+
+            if (job != null && attempt % 6 == 0) {
+                PgBackRestService.RestoreProgress progress = pgBackRestService.getRestoreProgress(sourceStanza, node);
+                if (progress != null) {
+                    if (restoreBytes == null) {
+                        restoreBytes = pgBackRestService.getBackupDatabaseSize(sourceStanza, node, backupLabel);
+                    }
+                    if (pgBackRestService.applyRestoreProgress(job, progress, restoreBytes,
+                            startedAt, Instant.now(), 30, 69)) {
+                        restoreJobRepository.save(job);
+                    }
+                }
+            }
+        }
+
+        sshService.executeCommand(ip, "docker rm -f " + PRE_RESTORE_CONTAINER);
+        throw new RuntimeException("Pipelined restore on " + node.getName() + " did not complete within "
+                + timeoutSeconds + " seconds");
     }
 
     /**
-     * Wait for Patroni to complete pgBackRest restore
+     * Wait for Patroni to complete pgBackRest restore.
+     * Every 30 seconds the restore log is read to report progress and throughput on the job,
+     * mapped onto 30-69% of its progress.
      */
-    private void waitForPatroniRestore(VpsNode node, String clusterSlug, int timeoutSeconds) {
+    private void waitForPatroniRestore(VpsNode node, String clusterSlug, int timeoutSeconds,
+                                       RestoreJob job, String sourceStanza, String backupLabel) {
         int maxAttempts = timeoutSeconds / 5;
         int attempt = 0;
+        Instant restoreStartedAt = Instant.now();
+        Long restoreBytes = null;
 
         log.info("Waiting for Patroni restore to complete (timeout: {}s)...", timeoutSeconds);
 
@@ -1825,6 +2022,19 @@ public class ProvisioningService {
                         return;
                     }
 
+                    if (job != null && attempt % 6 == 0) {
+                        PgBackRestService.RestoreProgress progress = pgBackRestService.getRestoreProgress(sourceStanza, node);
+                        if (progress != null) {
+                            if (restoreBytes == null) {
+                                restoreBytes = pgBackRestService.getBackupDatabaseSize(sourceStanza, node, backupLabel);
+                            }
+                            if (pgBackRestService.applyRestoreProgress(job, progress, restoreBytes,
+                                    restoreStartedAt, Instant.now(), 30, 69)) {
+                                restoreJobRepository.save(job);
+                            }
+                        }
+                    }
+
                     // Log progress
                     if (attempt % 12 == 0) { // Every minute
                         log.info("Restore still in progress... ({}s elapsed, role={}, stateRunning={})",
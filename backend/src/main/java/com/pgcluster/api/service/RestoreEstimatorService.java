@@ -0,0 +1,385 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.model.dto.RestoreEstimateResponse;
+import com.pgcluster.api.model.entity.Backup;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.model.entity.RestoreJob;
+import com.pgcluster.api.model.entity.VpsNode;
+import com.pgcluster.api.repository.BackupRepository;
+import com.pgcluster.api.repository.RestoreJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Predicts how long restoring a backup (optionally to a PITR target) into a new cluster takes.
+ *
+ * An estimate has three parts:
+ * - data restore: the backup's database size over the restore throughput expected on the target
+ *   node size, taken from finished restores and backup verifications (normalised per pgBackRest
+ *   process), falling back to a per-process default
+ * - WAL replay: WAL between the backup start and the target, interpolated from the LSNs stored on
+ *   the cluster's backups and the last archived segment, over a configured replay rate
+ * - overhead: provisioning and startup, measured as the part of finished non-PITR restores that
+ *   wasn't spent restoring data
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RestoreEstimatorService {
+
+    private static final long MIB = 1024L * 1024L;
+    private static final long WAL_SEGMENT_BYTES = 16 * MIB;
+
+    public static final String SOURCE_CLUSTER = "cluster";
+    public static final String SOURCE_FLEET = "fleet";
+    public static final String SOURCE_DEFAULT = "default";
+
+    private final RestoreJobRepository restoreJobRepository;
+    private final BackupRepository backupRepository;
+    private final PgBackRestService pgBackRestService;
+    private final PatroniService patroniService;
+    private final SshService sshService;
+
+    @Value("${restore.estimate.default-throughput-mb-per-process:25}")
+    private long defaultThroughputMbPerProcess;
+
+    @Value("${restore.estimate.max-throughput-mb-per-sec:800}")
+    private long maxThroughputMbPerSec;
+
+    @Value("${restore.estimate.wal-replay-mb-per-sec:48}")
+    private long walReplayMbPerSec;
+
+    @Value("${restore.estimate.default-overhead-seconds:300}")
+    private long defaultOverheadSeconds;
+
+    /**
+     * Restore throughput expected on the target node size and where it came from.
+     */
+    record Throughput(long bytesPerSec, String source) {}
+
+    /**
+     * A known WAL position at a point in time.
+     */
+    record WalPoint(Instant time, long lsn) {}
+
+    /**
+     * Estimate restore time for each candidate backup.
+     *
+     * @param cluster The source cluster
+     * @param candidates Backups that can reach the target
+     * @param completedBackups All completed backups of the cluster (for database sizes and WAL positions)
+     * @param targetTime PITR target, or null to restore each backup to its end
+     * @param nodeSize Server type of the restored cluster
+     */
+    public RestoreEstimateResponse estimate(Cluster cluster, List<Backup> candidates, List<Backup> completedBackups,
+                                            Instant targetTime, String nodeSize) {
+        Throughput throughput = resolveThroughput(cluster, nodeSize);
+        long overhead = resolveOverheadSeconds();
+        List<WalPoint> walPoints = walTimeline(cluster, completedBackups);
+
+        List<RestoreEstimateResponse.BackupEstimate> estimates = candidates.stream()
+                .map(backup -> estimateBackup(backup, completedBackups, walPoints, targetTime, throughput, overhead))
+                .sorted(Comparator.comparing(RestoreEstimateResponse.BackupEstimate::getEstimatedSeconds))
+                .toList();
+
+        return RestoreEstimateResponse.builder()
+                .targetTime(targetTime)
+                .nodeSize(nodeSize)
+                .recommendedBackupId(estimates.isEmpty() ? null : estimates.get(0).getBackupId())
+                .throughputBytesPerSec(throughput.bytesPerSec())
+                .throughputSource(throughput.source())
+                .overheadSeconds(overhead)
+                .estimates(estimates)
+                .asOf(Instant.now())
+                .build();
+    }
+
+    /**
+     * Pick the candidate with the lowest predicted restore time.
+     * Ties go to the backup closest to the target, which replays the least WAL.
+     */
+    public Backup findFastestBackup(Cluster cluster, List<Backup> candidates, List<Backup> completedBackups,
+                                    Instant targetTime, String nodeSize) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        RestoreEstimateResponse response = estimate(cluster, candidates, completedBackups, targetTime, nodeSize);
+        long best = response.getEstimates().get(0).getEstimatedSeconds();
+        return candidates.stream()
+                .filter(b -> response.getEstimates().stream().anyMatch(e ->
+                        e.getBackupId().equals(b.getId()) && e.getEstimatedSeconds() == best))
+                .max(Comparator.comparing(Backup::getEarliestRecoveryTime, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .orElse(null);
+    }
+
+    RestoreEstimateResponse.BackupEstimate estimateBackup(Backup backup, List<Backup> completedBackups,
+                                                          List<WalPoint> walPoints, Instant targetTime,
+                                                          Throughput throughput, long overheadSeconds) {
+        long restoreBytes = restoreBytes(backup, completedBackups);
+        long walBytes = walReplayBytes(backup, walPoints, targetTime);
+        long dataSeconds = restoreBytes / Math.max(1, throughput.bytesPerSec());
+        long walSeconds = walBytes / Math.max(1, walReplayMbPerSec * MIB);
+
+        return RestoreEstimateResponse.BackupEstimate.builder()
+                .backupId(backup.getId())
+                .pgbackrestLabel(backup.getPgbackrestLabel())
+                .backupType(backup.getBackupType())
+                .earliestRecoveryTime(backup.getEarliestRecoveryTime())
+                .latestRecoveryTime(backup.getLatestRecoveryTime())
+                .restoreBytes(restoreBytes)
+                .walReplayBytes(walBytes)
+                .dataRestoreSeconds(dataSeconds)
+                .walReplaySeconds(walSeconds)
+                .estimatedSeconds(overheadSeconds + dataSeconds + walSeconds)
+                .build();
+    }
+
+    /**
+     * Database bytes a restore of this backup writes.
+     * Every restore writes the whole database, so differential and incremental backups are sized by
+     * the nearest preceding full backup, whose copied bytes equal the database size at the time.
+     */
+    long restoreBytes(Backup backup, List<Backup> completedBackups) {
+        if (Backup.BACKUP_TYPE_FULL.equals(backup.getBackupType()) && backup.getBytesTotal() != null) {
+            return backup.getBytesTotal();
+        }
+        Instant start = backup.getEarliestRecoveryTime();
+        return completedBackups.stream()
+                .filter(b -> Backup.BACKUP_TYPE_FULL.equals(b.getBackupType()) && b.getBytesTotal() != null)
+                .filter(b -> start == null || b.getEarliestRecoveryTime() == null || !b.getEarliestRecoveryTime().isAfter(start))
+                .max(Comparator.comparing(Backup::getEarliestRecoveryTime, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(Backup::getBytesTotal)
+                .orElseGet(() -> backup.getSizeBytes() != null ? backup.getSizeBytes() : 0L);
+    }
+
+    /**
+     * WAL replayed from the backup's start position to the target (or to the backup's end).
+     * Unknown positions count as no replay.
+     */
+    long walReplayBytes(Backup backup, List<WalPoint> walPoints, Instant targetTime) {
+        long start = walStartPosition(backup.getWalStartLsn());
+        long end = targetTime != null ? lsnAt(walPoints, targetTime) : walEndPosition(backup.getWalEndLsn());
+        if (start < 0 || end < 0) {
+            return 0;
+        }
+        return Math.max(0, end - start);
+    }
+
+    /**
+     * Known WAL positions over time: each backup's start and stop, plus the last archived segment.
+     */
+    List<WalPoint> walTimeline(Cluster cluster, List<Backup> completedBackups) {
+        List<WalPoint> points = new ArrayList<>();
+        for (Backup backup : completedBackups) {
+            addPoint(points, backup.getEarliestRecoveryTime(), walStartPosition(backup.getWalStartLsn()));
+            addPoint(points, backup.getLatestRecoveryTime(), walEndPosition(backup.getWalEndLsn()));
+        }
+        WalPoint archived = lastArchivedWal(cluster);
+        if (archived != null) {
+            points.add(archived);
+        }
+        points.sort(Comparator.comparing(WalPoint::time));
+        return points;
+    }
+
+    private void addPoint(List<WalPoint> points, Instant time, long lsn) {
+        if (time != null && lsn >= 0) {
+            points.add(new WalPoint(time, lsn));
+        }
+    }
+
+    /**
+     * WAL position at a point in time, interpolated between known positions and extrapolated
+     * past the last one at the average WAL rate. Returns -1 if nothing is known.
+     */
+    long lsnAt(List<WalPoint> points, Instant time) {
+        if (points.isEmpty()) {
+            return -1;
+        }
+        WalPoint first = points.get(0);
+        if (!time.isAfter(first.time())) {
+            return first.lsn();
+        }
+        for (int i = 1; i < points.size(); i++) {
+            WalPoint before = points.get(i - 1);
+            WalPoint after = points.get(i);
+            if (!time.isAfter(after.time())) {
+                return interpolate(before, after, time);
+            }
+        }
+        WalPoint last = points.get(points.size() - 1);
+        if (points.size() < 2 || !last.time().isAfter(first.time())) {
+            return last.lsn();
+        }
+        double bytesPerMilli = (double) (last.lsn() - first.lsn()) / Duration.between(first.time(), last.time()).toMillis();
+        return last.lsn() + (long) (Math.max(0, bytesPerMilli) * Duration.between(last.time(), time).toMillis());
+    }
+
+    private long interpolate(WalPoint before, WalPoint after, Instant time) {
+        long spanMillis = Duration.between(before.time(), after.time()).toMillis();
+        if (spanMillis <= 0) {
+            return after.lsn();
+        }
+        double fraction = (double) Duration.between(before.time(), time).toMillis() / spanMillis;
+        return before.lsn() + (long) ((after.lsn() - before.lsn()) * fraction);
+    }
+
+    /**
+     * Restore throughput for the target node size.
+     * Observations are normalised per pgBackRest process (restores run with the target's restore
+     * profile, verifications with the backup profile) and scaled to the target's restore processes.
+     */
+    Throughput resolveThroughput(Cluster cluster, String nodeSize) {
+        int targetProcesses = pgBackRestService.resolveProfile(nodeSize).restoreProcessMax();
+        long cap = maxThroughputMbPerSec * MIB;
+
+        List<Long> perProcess = new ArrayList<>();
+        restoreJobRepository.findTop5BySourceClusterAndStatusAndThroughputBytesPerSecIsNotNullOrderByCompletedAtDesc(
+                cluster, RestoreJob.STATUS_COMPLETED).forEach(job -> perProcess.add(perProcess(job)));
+        backupRepository.findTop5ByClusterAndVerifyStatusAndVerifyRestoreThroughputBytesPerSecIsNotNullOrderByVerifiedAtDesc(
+                cluster, Backup.VERIFY_STATUS_PASSED).forEach(backup -> perProcess.add(perProcess(backup)));
+        if (!perProcess.isEmpty()) {
+            return new Throughput(Math.min(cap, median(perProcess) * targetProcesses), SOURCE_CLUSTER);
+        }
+
+        restoreJobRepository.findTop20ByStatusAndThroughputBytesPerSecIsNotNullOrderByCompletedAtDesc(
+                RestoreJob.STATUS_COMPLETED).forEach(job -> perProcess.add(perProcess(job)));
+        backupRepository.findTop20ByVerifyStatusAndVerifyRestoreThroughputBytesPerSecIsNotNullOrderByVerifiedAtDesc(
+                Backup.VERIFY_STATUS_PASSED).forEach(backup -> perProcess.add(perProcess(backup)));
+        if (!perProcess.isEmpty()) {
+            return new Throughput(Math.min(cap, median(perProcess) * targetProcesses), SOURCE_FLEET);
+        }
+
+        return new Throughput(Math.min(cap, defaultThroughputMbPerProcess * MIB * targetProcesses), SOURCE_DEFAULT);
+    }
+
+    private long perProcess(RestoreJob job) {
+        Cluster restoredOn = job.getTargetCluster() != null ? job.getTargetCluster() : job.getSourceCluster();
+        int processes = pgBackRestService.resolveProfile(restoredOn.getNodeSize()).restoreProcessMax();
+        return job.getThroughputBytesPerSec() / Math.max(1, processes);
+    }
+
+    private long perProcess(Backup backup) {
+        int processes = pgBackRestService.resolveProfile(backup.getCluster().getNodeSize()).processMax();
+        return backup.getVerifyRestoreThroughputBytesPerSec() / Math.max(1, processes);
+    }
+
+    /**
+     * Provisioning and startup time of a restore to a new cluster: wall time of recent full
+     * (non-PITR) restores minus the time their data restore took at the observed throughput.
+     */
+    long resolveOverheadSeconds() {
+        List<Long> overheads = restoreJobRepository
+                .findTop20ByStatusAndThroughputBytesPerSecIsNotNullOrderByCompletedAtDesc(RestoreJob.STATUS_COMPLETED)
+                .stream()
+                .filter(job -> RestoreJob.TYPE_FULL.equals(job.getRestoreType()) && job.getTargetCluster() != null)
+                .filter(job -> job.getCreatedAt() != null && job.getCompletedAt() != null
+                        && job.getBytesTotal() != null && job.getThroughputBytesPerSec() > 0)
+                .map(job -> Duration.between(job.getCreatedAt(), job.getCompletedAt()).toSeconds()
+                        - job.getBytesTotal() / job.getThroughputBytesPerSec())
+                .map(seconds -> Math.max(0L, seconds))
+                .toList();
+        return overheads.isEmpty() ? defaultOverheadSeconds : median(overheads);
+    }
+
+    private long median(List<Long> values) {
+        List<Long> sorted = values.stream().filter(Objects::nonNull).sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Position and time of the last WAL segment archived by the cluster's primary (end of segment).
+     */
+    private WalPoint lastArchivedWal(Cluster cluster) {
+        try {
+            VpsNode leader = patroniService.findLeaderNode(cluster);
+            if (leader == null || leader.getPublicIp() == null) {
+                return null;
+            }
+            SshService.CommandResult result = sshService.executeCommand(leader.getPublicIp(),
+                    "docker exec patroni psql -U postgres -At -F ' ' -c \"SELECT last_archived_wal, "
+                            + "(extract(epoch from last_archived_time) * 1000)::bigint FROM pg_stat_archiver;\"",
+                    10000);
+            if (result == null || !result.isSuccess()) {
+                return null;
+            }
+            String[] parts = result.getStdout().trim().split("\\s+");
+            if (parts.length < 2) {
+                return null;
+            }
+            long lsn = segmentEndLsn(parts[0]);
+            return lsn < 0 ? null : new WalPoint(Instant.ofEpochMilli(Long.parseLong(parts[1])), lsn);
+        } catch (Exception e) {
+            log.debug("Could not read archiver state for cluster {}: {}", cluster.getSlug(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Byte position where a backup's WAL starts. Backups store pgBackRest's archive.start, a WAL
+     * segment name, so the position is the start of that segment; an LSN is used as-is.
+     */
+    static long walStartPosition(String value) {
+        return isLsn(value) ? parseLsn(value) : segmentStartLsn(value);
+    }
+
+    /**
+     * Byte position where a backup's WAL ends: the end of its archive.stop segment, or an LSN as-is.
+     */
+    static long walEndPosition(String value) {
+        return isLsn(value) ? parseLsn(value) : segmentEndLsn(value);
+    }
+
+    private static boolean isLsn(String value) {
+        return value != null && value.indexOf('/') > 0;
+    }
+
+    /**
+     * Start LSN of a WAL segment file name (TTTTTTTTXXXXXXXXYYYYYYYY: timeline, log, segment;
+     * 16MB segments). LSNs continue across timelines, so the timeline doesn't shift the position.
+     * History and partial files return -1.
+     */
+    static long segmentStartLsn(String walFileName) {
+        if (walFileName == null || !walFileName.matches("^[0-9A-Fa-f]{24}$")) {
+            return -1;
+        }
+        long logId = Long.parseLong(walFileName.substring(8, 16), 16);
+        long segment = Long.parseLong(walFileName.substring(16, 24), 16);
+        return (logId << 32) + segment * WAL_SEGMENT_BYTES;
+    }
+
+    /**
+     * End LSN of a WAL segment file name, or -1 for history and partial files.
+     */
+    static long segmentEndLsn(String walFileName) {
+        long start = segmentStartLsn(walFileName);
+        return start < 0 ? -1 : start + WAL_SEGMENT_BYTES;
+    }
+
+    /**
+     * Parse a PostgreSQL LSN ("16/B374D848") into a byte position, or -1 if absent or malformed.
+     */
+    static long parseLsn(String lsn) {
+        if (lsn == null) {
+            return -1;
+        }
+        int slash = lsn.indexOf('/');
+        if (slash <= 0) {
+            return -1;
+        }
+        try {
+            return (Long.parseLong(lsn.substring(0, slash), 16) << 32) | Long.parseLong(lsn.substring(slash + 1), 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -12,12 +12,14 @@ import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.io.InputStream;
 import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -264,13 +266,7 @@ public class S3StorageService {
     public List<String> listFiles(String prefix) {
         checkConfigured();
         try {
-            ListObjectsV2Request request = ListObjectsV2Request.builder()
-                    .bucket(bucket)
-                    .prefix(prefix)
-                    .build();
-
-            ListObjectsV2Response response = s3Client.listObjectsV2(request);
-            return response.contents().stream()
+            return listObjects(prefix).stream()
                     .map(S3Object::key)
                     .collect(Collectors.toList());
         } catch (Exception e) {
@@ -279,16 +275,41 @@ public class S3StorageService {
         }
     }
 
-    public long getDirectorySize(String prefix) {
+    /**
+     * List the "directories" directly below a prefix, e.g. "pgbackrest/{clusterId}/" for "pgbackrest/".
+     */
+    public List<String> listPrefixes(String prefix) {
         checkConfigured();
         try {
-            ListObjectsV2Request request = ListObjectsV2Request.builder()
-                    .bucket(bucket)
-                    .prefix(prefix)
-                    .build();
+            List<String> prefixes = new ArrayList<>();
+            String continuationToken = null;
+            do {
+                ListObjectsV2Request request = ListObjectsV2Request.builder()
+                        .bucket(bucket)
+                        .prefix(prefix)
+                        .delimiter("/")
+                        .continuationToken(continuationToken)
+                        .build();
 
-            ListObjectsV2Response response = s3Client.listObjectsV2(request);
-            return response.contents().stream()
+                ListObjectsV2Response response = s3Client.listObjectsV2(request);
+                response.commonPrefixes().stream()
+                        .map(CommonPrefix::prefix)
+                        .forEach(prefixes::add);
+                continuationToken = Boolean.TRUE.equals(response.isTruncated())
+                        ? response.nextContinuationToken()
+                        : null;
+            } while (continuationToken != null);
+            return prefixes;
+        } catch (Exception e) {
+            log.error("Failed to list prefixes from S3: {}", prefix, e);
+            throw new RuntimeException("Failed to list prefixes from S3: " + prefix, e);
+        }
+    }
+
+    public long getDirectorySize(String prefix) {
+        checkConfigured();
+        try {
+            return listObjects(prefix).stream()
                     .mapToLong(S3Object::size)
                     .sum();
         } catch (Exception e) {
@@ -297,6 +318,26 @@ public class S3StorageService {
         }
     }
 
+    // A single listing returns at most 1000 keys; pgBackRest repos hold far more WAL segments
+    private List<S3Object> listObjects(String prefix) {
+        List<S3Object> objects = new ArrayList<>();
+        String continuationToken = null;
+        do {
+            ListObjectsV2Request request = ListObjectsV2Request.builder()
+                    .bucket(bucket)
+                    .prefix(prefix)
+                    .continuationToken(continuationToken)
+                    .build();
+
+            ListObjectsV2Response response = s3Client.listObjectsV2(request);
+            objects.addAll(response.contents());
+            continuationToken = Boolean.TRUE.equals(response.isTruncated())
+                    ? response.nextContinuationToken()
+                    : null;
+        } while (continuationToken != null);
+        return objects;
+    }
+
     public String generatePresignedUrl(String key, Duration expiration) {
         checkConfigured();
         try {
@@ -349,6 +390,129 @@ public class S3StorageService {
         return generatePresignedPutUrl(key, Duration.ofMinutes(minutes));
     }
 
+    /**
+     * Start a multipart upload.
+     * Parts are then uploaded by remote servers through presigned part URLs.
+     *
+     * @param key The S3 key
+     * @return The upload ID
+     */
+    public String createMultipartUpload(String key) {
+        checkConfigured();
+        try {
+            CreateMultipartUploadRequest request = CreateMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build();
+
+            return s3Client.createMultipartUpload(request).uploadId();
+        } catch (Exception e) {
+            log.error("Failed to create multipart upload for: {}", key, e);
+            throw new RuntimeException("Failed to create multipart upload: " + key, e);
+        }
+    }
+
+    /**
+     * Generate presigned PUT URLs for parts 1..partCount of a multipart upload.
+     *
+     * @param key The S3 key
+     * @param uploadId The multipart upload ID
+     * @param partCount Number of part URLs to generate (max 10,000)
+     * @param expiration How long each URL stays valid
+     * @return URLs in part-number order
+     */
+    public List<String> generatePresignedUploadPartUrls(String key, String uploadId, int partCount, Duration expiration) {
+        checkConfigured();
+        try {
+            List<String> urls = new ArrayList<>(partCount);
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .build();
+
+                UploadPartPresignRequest presignRequest = UploadPartPresignRequest.builder()
+                        .signatureDuration(expiration)
+                        .uploadPartRequest(uploadPartRequest)
+                        .build();
+
+                urls.add(s3Presigner.presignUploadPart(presignRequest).url().toString());
+            }
+            return urls;
+        } catch (Exception e) {
+            log.error("Failed to generate presigned part URLs for: {}", key, e);
+            throw new RuntimeException("Failed to generate presigned part URLs: " + key, e);
+        }
+    }
+
+    /**
+     * Complete a multipart upload from the parts S3 has received.
+     * Part ETags are read back with ListParts, so uploaders don't need to report them.
+     *
+     * @param key The S3 key
+     * @param uploadId The multipart upload ID
+     * @return Number of parts in the completed object
+     */
+    public int completeMultipartUpload(String key, String uploadId) {
+        checkConfigured();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            Integer marker = null;
+            ListPartsResponse response;
+            do {
+                response = s3Client.listParts(ListPartsRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumberMarker(marker)
+                        .build());
+                for (Part part : response.parts()) {
+                    parts.add(CompletedPart.builder()
+                            .partNumber(part.partNumber())
+                            .eTag(part.eTag())
+                            .build());
+                }
+                marker = response.nextPartNumberMarker();
+            } while (Boolean.TRUE.equals(response.isTruncated()));
+
+            if (parts.isEmpty()) {
+                throw new IllegalStateException("No parts uploaded");
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+
+            log.debug("Completed multipart upload {} with {} parts", key, parts.size());
+            return parts.size();
+        } catch (Exception e) {
+            log.error("Failed to complete multipart upload for: {}", key, e);
+            throw new RuntimeException("Failed to complete multipart upload: " + key, e);
+        }
+    }
+
+    /**
+     * Abort a multipart upload so S3 discards the parts uploaded so far.
+     */
+    public void abortMultipartUpload(String key, String uploadId) {
+        checkConfigured();
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            log.debug("Aborted multipart upload: {}", key);
+        } catch (Exception e) {
+            log.warn("Failed to abort multipart upload for {}: {}", key, e.getMessage());
+        }
+    }
+
     public boolean fileExists(String key) {
         checkConfigured();
         try {
@@ -0,0 +1,12 @@
+-- Spread scheduled backups across a window instead of firing them all at once
+ALTER TABLE backups ADD COLUMN scheduled_at TIMESTAMP WITH TIME ZONE;
+
+-- Dispatcher polls queued backups in slot order
+CREATE INDEX idx_backups_queued_scheduled_at ON backups(scheduled_at)
+    WHERE status = 'pending' AND scheduled_at IS NOT NULL;
+
+-- Optional per-cluster preferred backup window start (HH:mm, UTC)
+ALTER TABLE clusters ADD COLUMN backup_window_start VARCHAR(5);
+
+COMMENT ON COLUMN backups.scheduled_at IS 'Slot at which a scheduled backup becomes eligible for dispatch (NULL for manual backups)';
+COMMENT ON COLUMN clusters.backup_window_start IS 'Preferred start of the nightly backup window in UTC (HH:mm), NULL for fleet default';
@@ -0,0 +1,4 @@
+-- Record which node a backup was taken from (primary or a standby)
+ALTER TABLE backups ADD COLUMN source_node VARCHAR(255);
+
+COMMENT ON COLUMN backups.source_node IS 'Name of the node pgBackRest ran the backup on';
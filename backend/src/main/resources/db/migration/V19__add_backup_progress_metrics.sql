@@ -0,0 +1,10 @@
+-- Live backup progress and throughput reported by pgBackRest
+ALTER TABLE backups ADD COLUMN bytes_done BIGINT;
+ALTER TABLE backups ADD COLUMN bytes_total BIGINT;
+ALTER TABLE backups ADD COLUMN throughput_bytes_per_sec BIGINT;
+ALTER TABLE backups ADD COLUMN estimated_completion_at TIMESTAMP WITH TIME ZONE;
+
+COMMENT ON COLUMN backups.bytes_done IS 'Bytes copied so far (final: bytes copied by the backup)';
+COMMENT ON COLUMN backups.bytes_total IS 'Bytes pgBackRest has to process for this backup';
+COMMENT ON COLUMN backups.throughput_bytes_per_sec IS 'Observed backup throughput (running average while in progress)';
+COMMENT ON COLUMN backups.estimated_completion_at IS 'ETA extrapolated from current throughput, NULL when not running';
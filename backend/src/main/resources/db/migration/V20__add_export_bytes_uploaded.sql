@@ -0,0 +1,4 @@
+-- Running byte count for streaming exports
+ALTER TABLE exports ADD COLUMN bytes_uploaded BIGINT;
+
+COMMENT ON COLUMN exports.bytes_uploaded IS 'Compressed bytes uploaded to S3 so far (final: size of the export)';
@@ -0,0 +1,4 @@
+-- Record which node an export was dumped from (primary or a replica)
+ALTER TABLE exports ADD COLUMN source_node VARCHAR(255);
+
+COMMENT ON COLUMN exports.source_node IS 'Name of the node pg_dump ran against';
@@ -0,0 +1,15 @@
+-- Table/schema-scoped and incremental (watermark) exports
+ALTER TABLE exports ADD COLUMN include_schemas TEXT;
+ALTER TABLE exports ADD COLUMN include_tables TEXT;
+ALTER TABLE exports ADD COLUMN watermark_column VARCHAR(255);
+ALTER TABLE exports ADD COLUMN watermark_from VARCHAR(500);
+ALTER TABLE exports ADD COLUMN watermark_to VARCHAR(500);
+
+COMMENT ON COLUMN exports.include_schemas IS 'Comma-separated pg_dump -n patterns, NULL for all schemas';
+COMMENT ON COLUMN exports.include_tables IS 'Comma-separated pg_dump -t patterns, NULL for all tables';
+COMMENT ON COLUMN exports.watermark_column IS 'Column incremental exports are sliced on';
+COMMENT ON COLUMN exports.watermark_from IS 'Exclusive lower bound (previous high-water mark), NULL for the first export';
+COMMENT ON COLUMN exports.watermark_to IS 'Inclusive upper bound: the high-water mark the next export starts from';
+
+CREATE INDEX idx_exports_watermark ON exports(cluster_id, include_tables, watermark_column, created_at DESC)
+    WHERE watermark_column IS NOT NULL;
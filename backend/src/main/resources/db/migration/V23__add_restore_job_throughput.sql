@@ -0,0 +1,10 @@
+-- Live restore progress and throughput reported by pgBackRest
+ALTER TABLE restore_jobs ADD COLUMN bytes_restored BIGINT;
+ALTER TABLE restore_jobs ADD COLUMN bytes_total BIGINT;
+ALTER TABLE restore_jobs ADD COLUMN throughput_bytes_per_sec BIGINT;
+ALTER TABLE restore_jobs ADD COLUMN estimated_completion_at TIMESTAMP WITH TIME ZONE;
+
+COMMENT ON COLUMN restore_jobs.bytes_restored IS 'Bytes of the backup restored so far';
+COMMENT ON COLUMN restore_jobs.bytes_total IS 'Database size of the backup being restored';
+COMMENT ON COLUMN restore_jobs.throughput_bytes_per_sec IS 'Observed restore throughput (running average)';
+COMMENT ON COLUMN restore_jobs.estimated_completion_at IS 'ETA of the data restore extrapolated from current throughput';
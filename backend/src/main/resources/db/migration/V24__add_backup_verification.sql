@@ -0,0 +1,18 @@
+-- Scheduled test restores of completed backups
+ALTER TABLE backups ADD COLUMN verify_status VARCHAR(20);
+ALTER TABLE backups ADD COLUMN verified_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE backups ADD COLUMN verify_duration_seconds BIGINT;
+ALTER TABLE backups ADD COLUMN verify_restore_throughput_bytes_per_sec BIGINT;
+ALTER TABLE backups ADD COLUMN verify_table_count INTEGER;
+ALTER TABLE backups ADD COLUMN verify_row_count BIGINT;
+ALTER TABLE backups ADD COLUMN verify_error TEXT;
+
+CREATE INDEX idx_backups_verified_at ON backups(cluster_id, verified_at DESC) WHERE verified_at IS NOT NULL;
+
+COMMENT ON COLUMN backups.verify_status IS 'Test restore result: running, passed or failed (NULL if never verified)';
+COMMENT ON COLUMN backups.verified_at IS 'When the test restore started';
+COMMENT ON COLUMN backups.verify_duration_seconds IS 'Wall time of the test restore including consistency checks';
+COMMENT ON COLUMN backups.verify_restore_throughput_bytes_per_sec IS 'Database bytes restored per second during the test restore';
+COMMENT ON COLUMN backups.verify_table_count IS 'User tables found in the restored databases';
+COMMENT ON COLUMN backups.verify_row_count IS 'Estimated rows (pg_class.reltuples) across restored user tables';
+COMMENT ON COLUMN backups.verify_error IS 'Why the test restore or consistency check failed';
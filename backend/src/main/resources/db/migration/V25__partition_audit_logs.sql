@@ -0,0 +1,72 @@
+-- Convert audit_logs into a table range-partitioned by month on timestamp, and move the cluster
+-- reference out of details->>'cluster_id' into an indexed cluster_id column.
+-- AuditLogPartitionService keeps creating partitions ahead of time and applies retention;
+-- the default partition only catches rows outside the created ranges.
+
+ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+ALTER TABLE audit_logs_unpartitioned RENAME CONSTRAINT audit_logs_pkey TO audit_logs_unpartitioned_pkey;
+
+DROP INDEX IF EXISTS idx_audit_logs_timestamp;
+DROP INDEX IF EXISTS idx_audit_logs_user_id;
+DROP INDEX IF EXISTS idx_audit_logs_action;
+DROP INDEX IF EXISTS idx_audit_logs_resource_type;
+DROP INDEX IF EXISTS idx_audit_logs_resource_id;
+DROP INDEX IF EXISTS idx_audit_logs_user_action;
+DROP INDEX IF EXISTS idx_audit_logs_timestamp_action;
+
+-- The partition key has to be part of the primary key
+CREATE TABLE audit_logs (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    timestamp TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    user_id UUID REFERENCES users(id) ON DELETE SET NULL,
+    user_email VARCHAR(255),
+    action VARCHAR(100) NOT NULL,
+    resource_type VARCHAR(50),
+    resource_id UUID,
+    cluster_id UUID,
+    details JSONB,
+    ip_address VARCHAR(45),
+    user_agent TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- Monthly partitions (UTC) from the oldest existing entry through three months ahead
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month',
+            COALESCE((SELECT MIN(timestamp) FROM audit_logs_unpartitioned), NOW()) AT TIME ZONE 'UTC')::date;
+    last_month DATE := (date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                'audit_logs_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM'),
+                month_start::text || ' 00:00:00+00',
+                (month_start + INTERVAL '1 month')::date::text || ' 00:00:00+00');
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_logs (id, timestamp, user_id, user_email, action, resource_type, resource_id,
+                        cluster_id, details, ip_address, user_agent, created_at)
+SELECT id, timestamp, user_id, user_email, action, resource_type, resource_id,
+       CASE
+           WHEN details->>'cluster_id' ~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$'
+               THEN CAST(details->>'cluster_id' AS UUID)
+           WHEN resource_type = 'cluster' THEN resource_id
+       END,
+       details, ip_address, user_agent, created_at
+FROM audit_logs_unpartitioned;
+
+DROP TABLE audit_logs_unpartitioned;
+
+-- Indexes are created on the parent and cascade to every partition (including future ones).
+-- (timestamp, id) backs keyset pagination; the other filters are paired with timestamp for the same order.
+CREATE INDEX idx_audit_logs_timestamp_id ON audit_logs(timestamp DESC, id DESC);
+CREATE INDEX idx_audit_logs_cluster_timestamp ON audit_logs(cluster_id, timestamp DESC) WHERE cluster_id IS NOT NULL;
+CREATE INDEX idx_audit_logs_user_timestamp ON audit_logs(user_id, timestamp DESC);
+CREATE INDEX idx_audit_logs_action_timestamp ON audit_logs(action, timestamp DESC);
+CREATE INDEX idx_audit_logs_resource_type ON audit_logs(resource_type);
+CREATE INDEX idx_audit_logs_resource_id ON audit_logs(resource_id);
@@ -0,0 +1,7 @@
+-- Keyset pagination of the admin cluster listing on (sort column, id), see AdminClusterQueryRepository
+CREATE INDEX IF NOT EXISTS idx_clusters_created_at_id ON clusters(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_clusters_name_id ON clusters(name, id);
+CREATE INDEX IF NOT EXISTS idx_clusters_status_id ON clusters(status, id);
+
+-- Per-cluster backup totals are computed for every listed row
+CREATE INDEX IF NOT EXISTS idx_backups_cluster_status ON backups(cluster_id, status);
@@ -0,0 +1,10 @@
+-- Logged-out JWTs, shared by all control plane instances until the tokens expire
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_hash VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+
+COMMENT ON COLUMN revoked_tokens.token_hash IS 'Base64 SHA-256 of the token, the raw token is never stored';
@@ -0,0 +1,66 @@
+package com.pgcluster.api.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ConnectionLimitInterceptor")
+class ConnectionLimitInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionLimitInterceptor interceptor;
+    private ClientHttpRequestExecution execution;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new ConnectionLimitInterceptor("test", 1, 20, meterRegistry);
+        execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenAnswer(invocation -> mock(ClientHttpResponse.class));
+    }
+
+    @Test
+    @DisplayName("should hold the slot until the response is closed")
+    void shouldHoldSlotUntilClosed() throws IOException {
+        ClientHttpResponse first = interceptor.intercept(mock(HttpRequest.class), new byte[0], execution);
+        assertThat(interceptor.activeRequests()).isEqualTo(1);
+        assertThat(meterRegistry.get("pgcluster.http.client.active").tag("client", "test").gauge().value())
+                .isEqualTo(1.0);
+
+        assertThatThrownBy(() -> interceptor.intercept(mock(HttpRequest.class), new byte[0], execution))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasMessageContaining("test");
+
+        first.close();
+        first.close();
+        assertThat(interceptor.activeRequests()).isZero();
+
+        interceptor.intercept(mock(HttpRequest.class), new byte[0], execution).close();
+        assertThat(interceptor.activeRequests()).isZero();
+    }
+
+    @Test
+    @DisplayName("should free the slot when the request fails")
+    void shouldReleaseOnFailure() throws IOException {
+        ClientHttpRequestExecution failing = mock(ClientHttpRequestExecution.class);
+        when(failing.execute(any(), any())).thenThrow(new IOException("connection reset"));
+
+        assertThatThrownBy(() -> interceptor.intercept(mock(HttpRequest.class), new byte[0], failing))
+                .isInstanceOf(IOException.class);
+
+        assertThat(interceptor.activeRequests()).isZero();
+        interceptor.intercept(mock(HttpRequest.class), new byte[0], execution).close();
+    }
+}
@@ -0,0 +1,151 @@
+package com.pgcluster.api.client;
+
+import com.pgcluster.api.exception.ApiException;
+import com.pgcluster.api.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("HetznerRateLimiter")
+class HetznerRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HetznerRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new HetznerRateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "limit", 3600);
+        ReflectionTestUtils.setField(rateLimiter, "backgroundReserve", 100);
+        ReflectionTestUtils.setField(rateLimiter, "maxWaitMs", 20L);
+        rateLimiter.init();
+    }
+
+    @Nested
+    @DisplayName("budget")
+    class Budget {
+
+        @Test
+        @DisplayName("should follow the remaining budget reported by Hetzner")
+        void shouldSyncFromHeaders() {
+            rateLimiter.update(200, rateLimitHeaders(3600, 1200));
+
+            assertThat(rateLimiter.remaining()).isBetween(1200.0, 1201.0);
+            assertThat(meterRegistry.get("pgcluster.hetzner.ratelimit.remaining").gauge().value())
+                    .isBetween(1200.0, 1201.0);
+        }
+
+        @Test
+        @DisplayName("should keep the reserve for interactive requests")
+        void shouldReserveForInteractive() {
+            rateLimiter.update(200, rateLimitHeaders(3600, 50));
+
+            rateLimiter.acquire(HetznerRateLimiter.Lane.INTERACTIVE);
+            assertThatThrownBy(() -> rateLimiter.acquire(HetznerRateLimiter.Lane.BACKGROUND))
+                    .isInstanceOf(RateLimitExceededException.class)
+                    .satisfies(e -> assertThat(((ApiException) e).getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+
+        @Test
+        @DisplayName("should let background requests through above the reserve")
+        void shouldAllowBackgroundAboveReserve() {
+            rateLimiter.update(200, rateLimitHeaders(3600, 500));
+
+            rateLimiter.acquire(HetznerRateLimiter.Lane.BACKGROUND);
+
+            assertThat(rateLimiter.remaining()).isLessThan(500.0);
+        }
+
+        @Test
+        @DisplayName("should hold all requests after a 429 until Retry-After")
+        void shouldPauseAfterTooManyRequests() {
+            HttpHeaders headers = rateLimitHeaders(3600, 0);
+            headers.set(HttpHeaders.RETRY_AFTER, "30");
+
+            rateLimiter.update(429, headers);
+
+            assertThatThrownBy(() -> rateLimiter.acquire(HetznerRateLimiter.Lane.INTERACTIVE))
+                    .isInstanceOf(RateLimitExceededException.class)
+                    .hasMessageContaining("retry in");
+            assertThat(meterRegistry.get("pgcluster.hetzner.ratelimit.throttled").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not wait when disabled")
+        void shouldPassThroughWhenDisabled() throws Exception {
+            ReflectionTestUtils.setField(rateLimiter, "enabled", false);
+            rateLimiter.update(200, rateLimitHeaders(3600, 0));
+
+            intercept();
+        }
+    }
+
+    @Nested
+    @DisplayName("lanes")
+    class Lanes {
+
+        @Test
+        @DisplayName("should count requests per lane")
+        void shouldCountPerLane() throws Exception {
+            intercept();
+            rateLimiter.background(() -> {
+                try {
+                    return intercept();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertThat(meterRegistry.get("pgcluster.hetzner.requests").tag("lane", "interactive").counter().count())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get("pgcluster.hetzner.requests").tag("lane", "background").counter().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should restore the interactive lane after a background call")
+        void shouldRestoreLane() {
+            rateLimiter.update(200, rateLimitHeaders(3600, 50));
+
+            assertThatThrownBy(() -> rateLimiter.background(() -> {
+                throw new IllegalStateException("boom");
+            })).isInstanceOf(IllegalStateException.class);
+
+            // Would fail in the background lane, which can't touch the reserve
+            rateLimiter.acquire(HetznerRateLimiter.Lane.INTERACTIVE);
+        }
+    }
+
+    private ClientHttpResponse intercept() throws Exception {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(response.getHeaders()).thenReturn(rateLimitHeaders(3600, 3000));
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenReturn(response);
+
+        return rateLimiter.intercept(mock(HttpRequest.class), new byte[0], execution);
+    }
+
+    private static HttpHeaders rateLimitHeaders(int limit, int remaining) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("RateLimit-Limit", String.valueOf(limit));
+        headers.set("RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 60));
+        return headers;
+    }
+}
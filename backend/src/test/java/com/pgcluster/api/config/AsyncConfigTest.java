@@ -28,6 +28,20 @@ class AsyncConfigTest {
         }
     }
 
+    @Nested
+    @DisplayName("teardownExecutor")
+    class TeardownExecutor {
+
+        @Test
+        @DisplayName("should create a separate executor for teardown steps")
+        void shouldCreateSeparateExecutor() {
+            AsyncConfig config = new AsyncConfig();
+            Executor executor = config.teardownExecutor();
+
+            assertThat(executor).isNotNull().isNotSameAs(config.getAsyncExecutor());
+        }
+    }
+
     @Nested
     @DisplayName("CustomAsyncExceptionHandler")
     class CustomAsyncExceptionHandlerTest {
@@ -10,6 +10,7 @@ import com.pgcluster.api.repository.ClusterRepository;
 import com.pgcluster.api.repository.ExportRepository;
 import com.pgcluster.api.repository.UserRepository;
 import com.pgcluster.api.security.JwtTokenProvider;
+import com.pgcluster.api.service.PlatformStatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -45,6 +46,7 @@ class AdminControllerTest {
     @Autowired private ExportRepository exportRepository;
     @Autowired private JwtTokenProvider jwtTokenProvider;
     @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private PlatformStatsService platformStatsService;
 
     private User adminUser;
     private User regularUser;
@@ -90,7 +92,7 @@ class AdminControllerTest {
                 .port(5432)
                 .postgresPassword("test-password")
                 .build();
-        cluster = clusterRepository.save(cluster);
+        cluster = clusterRepository.saveAndFlush(cluster);
     }
 
     @Nested
@@ -128,12 +130,17 @@ class AdminControllerTest {
         @Test
         @DisplayName("should return platform statistics")
         void shouldReturnStats() throws Exception {
+            // The stats are shared across tests, pick up this test's (uncommitted) rows
+            platformStatsService.reconcile();
+
             mockMvc.perform(get("/api/v1/admin/stats")
                             .header("Authorization", "Bearer " + adminToken))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.total_clusters", greaterThanOrEqualTo(0)))
                     .andExpect(jsonPath("$.running_clusters", greaterThanOrEqualTo(0)))
-                    .andExpect(jsonPath("$.total_users", greaterThanOrEqualTo(1)));
+                    .andExpect(jsonPath("$.total_users", greaterThanOrEqualTo(1)))
+                    .andExpect(jsonPath("$.clusters_by_region.fsn1", greaterThanOrEqualTo(1)))
+                    .andExpect(jsonPath("$.total_nodes", greaterThanOrEqualTo(3)));
         }
     }
 
@@ -150,6 +157,75 @@ class AdminControllerTest {
                     .andExpect(jsonPath("$.clusters", hasSize(greaterThanOrEqualTo(1))))
                     .andExpect(jsonPath("$.count", greaterThanOrEqualTo(1)));
         }
+
+        @Test
+        @DisplayName("should filter by search term with owner and backup totals")
+        void shouldFilterBySearch() throws Exception {
+            backupRepository.saveAndFlush(Backup.builder()
+                    .cluster(cluster)
+                    .type("full")
+                    .status(Backup.STATUS_COMPLETED)
+                    .sizeBytes(1024L)
+                    .build());
+
+            mockMvc.perform(get("/api/v1/admin/clusters")
+                            .param("search", "ADMIN-TEST")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.clusters", hasSize(1)))
+                    .andExpect(jsonPath("$.clusters[0].owner_email", is("regular-ctrl@test.com")))
+                    .andExpect(jsonPath("$.clusters[0].backup_count", is(1)))
+                    .andExpect(jsonPath("$.clusters[0].backup_size_bytes", is(1024)))
+                    .andExpect(jsonPath("$.total_elements", is(1)));
+        }
+
+        @Test
+        @DisplayName("should page through clusters with a cursor")
+        void shouldPageWithCursor() throws Exception {
+            clusterRepository.saveAndFlush(Cluster.builder()
+                    .user(regularUser)
+                    .name("Admin Test Cluster B")
+                    .slug("admin-test-5678")
+                    .plan("starter")
+                    .status("running")
+                    .postgresVersion("16")
+                    .nodeCount(1)
+                    .nodeSize("cx23")
+                    .region("fsn1")
+                    .build());
+
+            String body = mockMvc.perform(get("/api/v1/admin/clusters")
+                            .param("search", "admin test cluster")
+                            .param("sort", "name")
+                            .param("order", "asc")
+                            .param("size", "1")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.clusters[0].slug", is("admin-test-1234")))
+                    .andExpect(jsonPath("$.has_more", is(true)))
+                    .andReturn().getResponse().getContentAsString();
+            String cursor = objectMapper.readTree(body).get("next_cursor").asText();
+
+            mockMvc.perform(get("/api/v1/admin/clusters")
+                            .param("search", "admin test cluster")
+                            .param("sort", "name")
+                            .param("order", "asc")
+                            .param("size", "1")
+                            .param("cursor", cursor)
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.clusters[0].slug", is("admin-test-5678")))
+                    .andExpect(jsonPath("$.has_more", is(false)));
+        }
+
+        @Test
+        @DisplayName("should reject an unknown sort column")
+        void shouldRejectUnknownSort() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/clusters")
+                            .param("sort", "postgres_password")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -161,5 +161,17 @@ class AuthControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.message", is("Logged out successfully")));
         }
+
+        @Test
+        @DisplayName("should revoke the token")
+        void shouldRevokeToken() throws Exception {
+            mockMvc.perform(post("/api/v1/auth/logout")
+                            .header("Authorization", "Bearer " + validToken))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/v1/auth/me")
+                            .header("Authorization", "Bearer " + validToken))
+                    .andExpect(status().isUnauthorized());
+        }
     }
 }
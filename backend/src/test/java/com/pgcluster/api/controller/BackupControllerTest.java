@@ -329,6 +329,34 @@ class BackupControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/clusters/{clusterId}/backups/restore-estimates")
+    class GetRestoreEstimates {
+
+        @Test
+        @DisplayName("should return an estimate per candidate backup")
+        void shouldReturnEstimates() throws Exception {
+            mockMvc.perform(get("/api/v1/clusters/" + cluster.getId() + "/backups/restore-estimates")
+                            .param("nodeSize", "cx33")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nodeSize", is("cx33")))
+                    .andExpect(jsonPath("$.recommendedBackupId", is(backup.getId().toString())))
+                    .andExpect(jsonPath("$.throughputSource", is("default")))
+                    .andExpect(jsonPath("$.estimates", hasSize(1)))
+                    .andExpect(jsonPath("$.estimates[0].estimatedSeconds", notNullValue()));
+        }
+
+        @Test
+        @DisplayName("should return 400 for an unknown node size")
+        void shouldRejectInvalidNodeSize() throws Exception {
+            mockMvc.perform(get("/api/v1/clusters/" + cluster.getId() + "/backups/restore-estimates")
+                            .param("nodeSize", "huge")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("POST /api/v1/clusters/{clusterId}/backups/pitr/restore")
     class RestoreFromPitr {
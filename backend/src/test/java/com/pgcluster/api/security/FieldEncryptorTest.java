@@ -6,7 +6,12 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -127,5 +132,34 @@ class FieldEncryptorTest {
             assertThatThrownBy(() -> encryptor.decrypt(tampered))
                     .isInstanceOf(RuntimeException.class);
         }
+
+        @Test
+        @DisplayName("should keep working after a failed decrypt on the same thread")
+        void shouldRecoverAfterFailure() {
+            String encrypted = encryptor.encrypt("test");
+            String tampered = encrypted.substring(0, encrypted.length() - 2) + "AA";
+            assertThatThrownBy(() -> encryptor.decrypt(tampered)).isInstanceOf(RuntimeException.class);
+
+            assertThat(encryptor.decrypt(encryptor.encrypt("after"))).isEqualTo("after");
+            assertThat(encryptor.decrypt(encrypted)).isEqualTo("test");
+        }
+
+        @Test
+        @DisplayName("should round-trip concurrently from multiple threads")
+        void shouldRoundTripConcurrently() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    String value = "secret-" + i;
+                    results.add(executor.submit(() -> value.equals(encryptor.decrypt(encryptor.encrypt(value)))));
+                }
+                for (Future<Boolean> result : results) {
+                    assertThat(result.get()).isTrue();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
     }
 }
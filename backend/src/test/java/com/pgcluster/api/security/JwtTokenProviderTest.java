@@ -1,20 +1,29 @@
 package com.pgcluster.api.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @DisplayName("JwtTokenProvider")
 class JwtTokenProviderTest {
@@ -22,13 +31,15 @@ class JwtTokenProviderTest {
     private static final String VALID_SECRET = "test-jwt-secret-that-is-at-least-32-characters-long-for-testing";
     private static final long EXPIRATION_MS = 86400000L; // 24 hours
 
+    private final RevokedTokenStore revokedTokenStore = mock(RevokedTokenStore.class);
     private JwtTokenProvider jwtTokenProvider;
 
     @BeforeEach
     void setUp() {
-        jwtTokenProvider = new JwtTokenProvider();
+        jwtTokenProvider = new JwtTokenProvider(revokedTokenStore);
         ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", VALID_SECRET);
         ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", EXPIRATION_MS);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verificationCacheMaxEntries", 100);
         jwtTokenProvider.init();
     }
 
@@ -39,7 +50,7 @@ class JwtTokenProviderTest {
         @Test
         @DisplayName("should throw exception when JWT secret is null")
         void shouldThrowWhenSecretIsNull() {
-            JwtTokenProvider provider = new JwtTokenProvider();
+            JwtTokenProvider provider = new JwtTokenProvider(revokedTokenStore);
             ReflectionTestUtils.setField(provider, "jwtSecret", null);
             ReflectionTestUtils.setField(provider, "jwtExpiration", EXPIRATION_MS);
 
@@ -51,7 +62,7 @@ class JwtTokenProviderTest {
         @Test
         @DisplayName("should throw exception when JWT secret is blank")
         void shouldThrowWhenSecretIsBlank() {
-            JwtTokenProvider provider = new JwtTokenProvider();
+            JwtTokenProvider provider = new JwtTokenProvider(revokedTokenStore);
             ReflectionTestUtils.setField(provider, "jwtSecret", "   ");
             ReflectionTestUtils.setField(provider, "jwtExpiration", EXPIRATION_MS);
 
@@ -63,7 +74,7 @@ class JwtTokenProviderTest {
         @Test
         @DisplayName("should throw exception when JWT secret is too short")
         void shouldThrowWhenSecretIsTooShort() {
-            JwtTokenProvider provider = new JwtTokenProvider();
+            JwtTokenProvider provider = new JwtTokenProvider(revokedTokenStore);
             ReflectionTestUtils.setField(provider, "jwtSecret", "short-secret");
             ReflectionTestUtils.setField(provider, "jwtExpiration", EXPIRATION_MS);
 
@@ -75,7 +86,7 @@ class JwtTokenProviderTest {
         @Test
         @DisplayName("should initialize successfully with valid secret")
         void shouldInitializeWithValidSecret() {
-            JwtTokenProvider provider = new JwtTokenProvider();
+            JwtTokenProvider provider = new JwtTokenProvider(revokedTokenStore);
             ReflectionTestUtils.setField(provider, "jwtSecret", VALID_SECRET);
             ReflectionTestUtils.setField(provider, "jwtExpiration", EXPIRATION_MS);
 
@@ -235,4 +246,103 @@ class JwtTokenProviderTest {
             assertThat(claims.get("active", Boolean.class)).isEqualTo(active);
         }
     }
+
+    @Nested
+    @DisplayName("Verification Cache")
+    class VerificationCache {
+
+        @Test
+        @DisplayName("should return cached claims for a token verified before")
+        void shouldServeCachedClaims() {
+            UUID userId = UUID.randomUUID();
+            String token = jwtTokenProvider.generateToken(userId, "test@example.com", "USER", true);
+
+            Claims first = jwtTokenProvider.validateAndGetClaims(token);
+            Claims second = jwtTokenProvider.validateAndGetClaims(token);
+
+            assertThat(first.getSubject()).isEqualTo(userId.toString());
+            assertThat(second).isSameAs(first);
+            assertThat(jwtTokenProvider.verificationCacheSize()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not cache invalid tokens")
+        void shouldNotCacheInvalidTokens() {
+            assertThat(jwtTokenProvider.validateAndGetClaims("not.a.valid.token")).isNull();
+            assertThat(jwtTokenProvider.validateAndGetClaims(null)).isNull();
+
+            assertThat(jwtTokenProvider.verificationCacheSize()).isZero();
+        }
+
+        @Test
+        @DisplayName("should reject revoked tokens even when cached")
+        void shouldRejectRevokedTokens() {
+            String token = jwtTokenProvider.generateToken(UUID.randomUUID(), "test@example.com", "USER", true);
+            String other = jwtTokenProvider.generateToken(UUID.randomUUID(), "other@example.com", "USER", true);
+            assertThat(jwtTokenProvider.validateToken(token)).isTrue();
+
+            jwtTokenProvider.revokeToken(token);
+
+            assertThat(jwtTokenProvider.validateToken(token)).isFalse();
+            assertThat(jwtTokenProvider.validateAndGetClaims(token)).isNull();
+            assertThat(jwtTokenProvider.validateToken(other)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should reject tokens revoked on another instance once revocations are loaded")
+        void shouldRejectTokensRevokedElsewhere() {
+            String token = jwtTokenProvider.generateToken(UUID.randomUUID(), "test@example.com", "USER", true);
+            jwtTokenProvider.revokeToken(token);
+            ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<Long> expiresAt = ArgumentCaptor.forClass(Long.class);
+            verify(revokedTokenStore).save(hash.capture(), expiresAt.capture());
+
+            RevokedTokenStore sharedStore = mock(RevokedTokenStore.class);
+            when(sharedStore.findActive()).thenReturn(Map.of(hash.getValue(), expiresAt.getValue()));
+            JwtTokenProvider otherInstance = new JwtTokenProvider(sharedStore);
+            ReflectionTestUtils.setField(otherInstance, "jwtSecret", VALID_SECRET);
+            ReflectionTestUtils.setField(otherInstance, "jwtExpiration", EXPIRATION_MS);
+            ReflectionTestUtils.setField(otherInstance, "verificationCacheMaxEntries", 100);
+            otherInstance.init();
+            assertThat(otherInstance.validateToken(token)).isTrue();
+
+            otherInstance.loadRevocations();
+
+            assertThat(otherInstance.validateToken(token)).isFalse();
+        }
+
+        @Test
+        @DisplayName("should not store revocations for invalid tokens")
+        void shouldIgnoreInvalidRevocations() {
+            jwtTokenProvider.revokeToken("not.a.valid.token");
+
+            verify(revokedTokenStore, never()).save(eq("not.a.valid.token"), anyLong());
+        }
+
+        @Test
+        @DisplayName("should stay within the entry limit")
+        void shouldStayBounded() {
+            ReflectionTestUtils.setField(jwtTokenProvider, "verificationCacheMaxEntries", 2);
+
+            for (int i = 0; i < 5; i++) {
+                String token = jwtTokenProvider.generateToken(UUID.randomUUID(), "test@example.com", "USER", true);
+                assertThat(jwtTokenProvider.validateToken(token)).isTrue();
+            }
+
+            assertThat(jwtTokenProvider.verificationCacheSize()).isLessThanOrEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should verify every time when disabled")
+        void shouldBypassWhenDisabled() {
+            ReflectionTestUtils.setField(jwtTokenProvider, "verificationCacheMaxEntries", 0);
+            String token = jwtTokenProvider.generateToken(UUID.randomUUID(), "test@example.com", "USER", true);
+
+            Claims first = jwtTokenProvider.validateAndGetClaims(token);
+            Claims second = jwtTokenProvider.validateAndGetClaims(token);
+
+            assertThat(second).isNotSameAs(first);
+            assertThat(jwtTokenProvider.verificationCacheSize()).isZero();
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package com.pgcluster.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LazyEncryptedStringConverter")
+@ExtendWith(MockitoExtension.class)
+class LazyEncryptedStringConverterTest {
+
+    @Mock
+    private FieldEncryptor fieldEncryptor;
+
+    private LazyEncryptedStringConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new LazyEncryptedStringConverter();
+        converter.setFieldEncryptor(fieldEncryptor);
+    }
+
+    @Test
+    @DisplayName("convertToEntityAttribute should not decrypt until the value is read")
+    void shouldDecryptLazily() {
+        when(fieldEncryptor.decrypt("encrypted-secret")).thenReturn("secret");
+
+        EncryptedString value = converter.convertToEntityAttribute("encrypted-secret");
+        verifyNoInteractions(fieldEncryptor);
+        assertThat(value.isDecrypted()).isFalse();
+
+        assertThat(value.get()).isEqualTo("secret");
+        assertThat(value.get()).isEqualTo("secret");
+        verify(fieldEncryptor, times(1)).decrypt("encrypted-secret");
+    }
+
+    @Test
+    @DisplayName("convertToDatabaseColumn should reuse the stored ciphertext")
+    void shouldReuseCiphertext() {
+        EncryptedString loaded = converter.convertToEntityAttribute("encrypted-secret");
+
+        assertThat(converter.convertToDatabaseColumn(loaded)).isEqualTo("encrypted-secret");
+        verifyNoInteractions(fieldEncryptor);
+    }
+
+    @Test
+    @DisplayName("convertToDatabaseColumn should encrypt new values")
+    void shouldEncryptNewValue() {
+        when(fieldEncryptor.encrypt("secret")).thenReturn("encrypted-secret");
+
+        assertThat(converter.convertToDatabaseColumn(EncryptedString.of("secret"))).isEqualTo("encrypted-secret");
+    }
+
+    @Test
+    @DisplayName("should map null in both directions")
+    void shouldHandleNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThat(EncryptedString.of(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("values with the same ciphertext should be equal without decrypting")
+    void shouldCompareWithoutDecrypting() {
+        EncryptedString first = converter.convertToEntityAttribute("encrypted-secret");
+        EncryptedString second = converter.convertToEntityAttribute("encrypted-secret");
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+        assertThat(first).isNotEqualTo(converter.convertToEntityAttribute("other-ciphertext"));
+        assertThat(first.toString()).doesNotContain("secret");
+        verifyNoInteractions(fieldEncryptor);
+    }
+
+    @Test
+    @DisplayName("new values should compare by plaintext")
+    void shouldCompareNewValues() {
+        assertThat(EncryptedString.of("secret")).isEqualTo(EncryptedString.of("secret"));
+        assertThat(EncryptedString.of("secret").hashCode()).isEqualTo(EncryptedString.of("secret").hashCode());
+        assertThat(EncryptedString.of("secret")).isNotEqualTo(converter.convertToEntityAttribute("encrypted-secret"));
+        verifyNoInteractions(fieldEncryptor);
+    }
+}
@@ -0,0 +1,129 @@
+package com.pgcluster.api.security;
+
+import com.pgcluster.api.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PrincipalCache")
+class PrincipalCacheTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PrincipalCache cache;
+    private User user;
+    private AtomicInteger loads;
+    private Function<UUID, User> loader;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        cache = new PrincipalCache(jdbcTemplate);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        ReflectionTestUtils.setField(cache, "datasourceUrl", "jdbc:h2:mem:test");
+
+        user = User.builder().id(UUID.randomUUID()).email("user@test.com").passwordHash("hash").role("user").build();
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return id.equals(user.getId()) ? user : null;
+        };
+    }
+
+    @Nested
+    @DisplayName("get")
+    class Get {
+
+        @Test
+        @DisplayName("should load once and serve copies until invalidated")
+        void cachesUntilInvalidated() {
+            User first = cache.get(user.getId(), loader);
+            User second = cache.get(user.getId(), loader);
+
+            assertThat(loads).hasValue(1);
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getEmail()).isEqualTo("user@test.com");
+
+            second.setRole("admin");
+            assertThat(cache.get(user.getId(), loader).getRole()).isEqualTo("user");
+
+            cache.invalidate(user.getId());
+            cache.get(user.getId(), loader);
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("should not cache unknown users")
+        void doesNotCacheMisses() {
+            UUID unknown = UUID.randomUUID();
+
+            assertThat(cache.get(unknown, loader)).isNull();
+            assertThat(cache.get(unknown, loader)).isNull();
+
+            assertThat(loads).hasValue(2);
+            assertThat(cache.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("should bypass the cache when the TTL is zero")
+        void disabledWithZeroTtl() {
+            ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+
+            cache.get(user.getId(), loader);
+            cache.get(user.getId(), loader);
+
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("should stay within the entry limit")
+        void boundedSize() {
+            for (int i = 0; i < 5; i++) {
+                UUID id = UUID.randomUUID();
+                cache.get(id, ignored -> User.builder().id(id).email(id + "@test.com").passwordHash("x").build());
+            }
+
+            assertThat(cache.size()).isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("invalidate")
+    class Invalidate {
+
+        @Test
+        @DisplayName("should broadcast with pg_notify on PostgreSQL")
+        @SuppressWarnings("unchecked")
+        void notifiesOtherInstances() {
+            ReflectionTestUtils.setField(cache, "datasourceUrl", "jdbc:postgresql://localhost:5432/pgcluster");
+
+            cache.invalidate(user.getId());
+
+            verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class),
+                    eq(PrincipalCache.NOTIFY_CHANNEL), eq(user.getId().toString()));
+        }
+
+        @Test
+        @DisplayName("should only evict locally on other databases")
+        @SuppressWarnings("unchecked")
+        void localOnlyWithoutPostgres() {
+            cache.invalidate(user.getId());
+
+            verify(jdbcTemplate, never()).query(anyString(), any(ResultSetExtractor.class), any(Object[].class));
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.pgcluster.api.service;
 
+import com.pgcluster.api.event.BackupConfigRolloutRequestedEvent;
 import com.pgcluster.api.event.ClusterDeleteRequestedEvent;
 import com.pgcluster.api.exception.ApiException;
+import com.pgcluster.api.model.dto.AdminClusterFilter;
+import com.pgcluster.api.model.dto.AdminClusterResponse;
 import com.pgcluster.api.model.dto.AdminStatsResponse;
 import com.pgcluster.api.model.dto.AdminUserResponse;
 import com.pgcluster.api.model.dto.ClusterHealthResponse;
@@ -13,6 +16,7 @@ import com.pgcluster.api.model.entity.Cluster;
 import com.pgcluster.api.model.entity.Export;
 import com.pgcluster.api.model.entity.User;
 import com.pgcluster.api.repository.*;
+import com.pgcluster.api.security.PrincipalCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -25,7 +29,9 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -51,6 +57,9 @@ class AdminServiceTest {
     @Mock private VpsNodeRepository vpsNodeRepository;
     @Mock private SshService sshService;
     @Mock private PatroniService patroniService;
+    @Mock private PrincipalCache principalCache;
+    @Mock private AdminClusterQueryRepository adminClusterQueryRepository;
+    @Mock private PlatformStatsService platformStatsService;
 
     @InjectMocks
     private AdminService adminService;
@@ -62,15 +71,19 @@ class AdminServiceTest {
         @Test
         @DisplayName("should aggregate platform statistics excluding deleted clusters")
         void shouldAggregateStats() {
-            when(clusterRepository.countByStatusNot(Cluster.STATUS_DELETED)).thenReturn(5L);
-            when(clusterRepository.countByStatus(Cluster.STATUS_RUNNING)).thenReturn(3L);
-            when(userRepository.count()).thenReturn(10L);
+            when(platformStatsService.getSnapshot()).thenReturn(new PlatformStatsService.Snapshot(10,
+                    Map.of(Cluster.STATUS_RUNNING, 3L, Cluster.STATUS_CREATING, 1L, Cluster.STATUS_ERROR, 1L),
+                    Map.of("fsn1", 4L, "nbg1", 1L), Map.of("cx23", 5L),
+                    13, 520, 240L, 410L, 12, Instant.now()));
 
             AdminStatsResponse stats = adminService.getStats();
 
             assertThat(stats.getTotalClusters()).isEqualTo(5);
             assertThat(stats.getRunningClusters()).isEqualTo(3);
             assertThat(stats.getTotalUsers()).isEqualTo(10);
+            assertThat(stats.getClustersByRegion()).containsEntry("fsn1", 4L);
+            assertThat(stats.getProvisioningP95Seconds()).isEqualTo(410L);
+            verifyNoInteractions(clusterRepository, userRepository);
         }
     }
 
@@ -205,6 +218,7 @@ class AdminServiceTest {
             AdminUserResponse response = adminService.disableUser(target.getId(), admin);
 
             assertThat(response.isActive()).isFalse();
+            verify(principalCache).invalidate(target.getId());
             verify(auditLogService).log(eq(AuditLog.USER_DISABLED), eq(admin), eq("user"), eq(target.getId()), any());
         }
 
@@ -254,6 +268,7 @@ class AdminServiceTest {
             AdminUserResponse response = adminService.enableUser(target.getId(), admin);
 
             assertThat(response.isActive()).isTrue();
+            verify(principalCache).invalidate(target.getId());
             verify(auditLogService).log(eq(AuditLog.USER_ENABLED), eq(admin), eq("user"), eq(target.getId()), any());
         }
     }
@@ -278,6 +293,7 @@ class AdminServiceTest {
             ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
             verify(userRepository).save(captor.capture());
             assertThat(captor.getValue().getPasswordHash()).isEqualTo("new-encoded-hash");
+            verify(principalCache).invalidate(target.getId());
 
             verify(auditLogService).log(eq(AuditLog.USER_PASSWORD_RESET), eq(admin), eq("user"), eq(target.getId()), any());
         }
@@ -378,30 +394,118 @@ class AdminServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("rolloutBackupConfig")
+    class RolloutBackupConfig {
+
+        @Test
+        @DisplayName("should audit log and publish rollout event")
+        void shouldPublishRolloutEvent() {
+            User admin = createAdmin();
+            when(clusterRepository.countByStatus(Cluster.STATUS_RUNNING)).thenReturn(3L);
+
+            adminService.rolloutBackupConfig(admin);
+
+            verify(auditLogService).log(eq(AuditLog.BACKUP_CONFIG_ROLLOUT), eq(admin), eq("cluster"), isNull(), any());
+            verify(eventPublisher).publishEvent(any(BackupConfigRolloutRequestedEvent.class));
+        }
+    }
+
     @Nested
     @DisplayName("listAllClusters")
     class ListAllClusters {
 
+        private AdminClusterResponse summary(String name, Instant createdAt) {
+            return AdminClusterResponse.builder()
+                    .id(UUID.randomUUID())
+                    .name(name)
+                    .status(Cluster.STATUS_RUNNING)
+                    .createdAt(createdAt)
+                    .build();
+        }
+
         @Test
-        @DisplayName("should return clusters excluding deleted by default")
-        void shouldExcludeDeleted() {
-            when(clusterRepository.findAllWithUser()).thenReturn(List.of());
+        @DisplayName("should pass the filter through and return the first page")
+        void shouldReturnFirstPage() {
+            AdminClusterFilter filter = new AdminClusterFilter();
+            when(adminClusterQueryRepository.findPage(filter, AdminClusterQueryRepository.Sort.CREATED_AT, false,
+                    null, null, 51)).thenReturn(List.of(summary("a", Instant.now())));
+            when(adminClusterQueryRepository.count(filter)).thenReturn(1L);
 
-            var response = adminService.listAllClusters(false);
+            var response = adminService.listAllClusters(filter, "created_at", false, null, 50);
 
-            assertThat(response.getCount()).isEqualTo(0);
-            verify(clusterRepository).findAllWithUser();
-            verify(clusterRepository, never()).findAllWithUserIncludingDeleted();
+            assertThat(response.getCount()).isEqualTo(1);
+            assertThat(response.getTotalElements()).isEqualTo(1);
+            assertThat(response.isHasMore()).isFalse();
+            assertThat(response.getNextCursor()).isNull();
         }
 
         @Test
-        @DisplayName("should include deleted clusters when requested")
-        void shouldIncludeDeleted() {
-            when(clusterRepository.findAllWithUserIncludingDeleted()).thenReturn(List.of());
+        @DisplayName("should cap the page size at 200")
+        void shouldCapPageSize() {
+            AdminClusterFilter filter = new AdminClusterFilter();
+            when(adminClusterQueryRepository.findPage(filter, AdminClusterQueryRepository.Sort.CREATED_AT, false,
+                    null, null, 201)).thenReturn(List.of());
+            when(adminClusterQueryRepository.count(filter)).thenReturn(0L);
 
-            var response = adminService.listAllClusters(true);
+            var response = adminService.listAllClusters(filter, "created_at", false, null, 100_000);
+
+            assertThat(response.getSize()).isEqualTo(200);
+        }
 
-            verify(clusterRepository).findAllWithUserIncludingDeleted();
+        @Test
+        @DisplayName("should continue after the last row of the previous page")
+        void shouldFollowCursor() {
+            AdminClusterFilter filter = new AdminClusterFilter();
+            Instant t1 = Instant.parse("2026-01-03T00:00:00Z");
+            Instant t2 = Instant.parse("2026-01-02T00:00:00Z");
+            AdminClusterResponse second = summary("b", t2);
+            when(adminClusterQueryRepository.findPage(eq(filter), eq(AdminClusterQueryRepository.Sort.CREATED_AT),
+                    eq(false), isNull(), isNull(), eq(3)))
+                    .thenReturn(List.of(summary("a", t1), second, summary("c", Instant.parse("2026-01-01T00:00:00Z"))));
+
+            var first = adminService.listAllClusters(filter, "created_at", false, null, 2);
+
+            assertThat(first.getClusters()).hasSize(2);
+            assertThat(first.isHasMore()).isTrue();
+            assertThat(first.getNextCursor()).isNotNull();
+
+            adminService.listAllClusters(filter, "created_at", false, first.getNextCursor(), 2);
+
+            verify(adminClusterQueryRepository).findPage(filter, AdminClusterQueryRepository.Sort.CREATED_AT, false,
+                    t2, second.getId(), 3);
+        }
+
+        @Test
+        @DisplayName("should keep names containing the cursor separator intact")
+        void shouldRoundTripNameCursor() {
+            AdminClusterResponse cluster = summary("prod|eu", Instant.now());
+
+            String encoded = AdminService.AdminClusterCursor.after(cluster, AdminClusterQueryRepository.Sort.NAME, true).encode();
+            AdminService.AdminClusterCursor decoded = AdminService.AdminClusterCursor.decode(encoded);
+
+            assertThat(decoded.sortValue()).isEqualTo("prod|eu");
+            assertThat(decoded.id()).isEqualTo(cluster.getId());
+            assertThat(decoded.ascending()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should reject a cursor issued for another sort order")
+        void shouldRejectMismatchedCursor() {
+            String cursor = AdminService.AdminClusterCursor.after(summary("a", Instant.now()),
+                    AdminClusterQueryRepository.Sort.NAME, true).encode();
+
+            assertThatThrownBy(() -> adminService.listAllClusters(new AdminClusterFilter(), "created_at", false, cursor, 50))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should reject unknown sort columns and malformed cursors")
+        void shouldRejectInvalidInput() {
+            assertThatThrownBy(() -> adminService.listAllClusters(new AdminClusterFilter(), "owner_password", false, null, 50))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> adminService.listAllClusters(new AdminClusterFilter(), "name", true, "not-a-cursor", 50))
+                    .isInstanceOf(IllegalArgumentException.class);
         }
     }
 
@@ -457,7 +561,8 @@ class AdminServiceTest {
         void shouldReturnUserDetail() {
             User user = createTargetUser();
             when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-            when(clusterRepository.findByUserAndStatusNotOrderByCreatedAtDesc(user, Cluster.STATUS_DELETED))
+            when(adminClusterQueryRepository.findPage(any(AdminClusterFilter.class),
+                    eq(AdminClusterQueryRepository.Sort.CREATED_AT), eq(false), isNull(), isNull(), anyInt()))
                     .thenReturn(List.of());
 
             var response = adminService.getUserDetail(user.getId());
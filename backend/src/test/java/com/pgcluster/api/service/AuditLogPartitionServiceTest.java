@@ -0,0 +1,104 @@
+package com.pgcluster.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AuditLogPartitionService")
+@ExtendWith(MockitoExtension.class)
+class AuditLogPartitionServiceTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private AuditLogPartitionService partitionService;
+
+    @BeforeEach
+    void setUp() {
+        partitionService = new AuditLogPartitionService(jdbcTemplate);
+        ReflectionTestUtils.setField(partitionService, "enabled", true);
+        ReflectionTestUtils.setField(partitionService, "monthsAhead", 2);
+    }
+
+    @Nested
+    @DisplayName("maintainPartitions")
+    class MaintainPartitions {
+
+        @Test
+        @DisplayName("should create the current and upcoming monthly partitions on the primary")
+        void createsUpcomingPartitions() {
+            when(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)).thenReturn(false);
+            when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class))).thenReturn(true);
+            YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+            partitionService.maintainPartitions();
+
+            verify(jdbcTemplate).execute(contains("CREATE TABLE IF NOT EXISTS "
+                    + AuditLogPartitionService.partitionName(current) + " PARTITION OF audit_logs FOR VALUES FROM ('"
+                    + current.atDay(1) + " 00:00:00+00') TO ('" + current.plusMonths(1).atDay(1) + " 00:00:00+00')"));
+            verify(jdbcTemplate).execute(contains(AuditLogPartitionService.partitionName(current.plusMonths(2))));
+            verify(jdbcTemplate, times(3)).execute(anyString());
+        }
+
+        @Test
+        @DisplayName("should do nothing on a replica")
+        void skipsReplica() {
+            when(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)).thenReturn(true);
+
+            partitionService.maintainPartitions();
+
+            verify(jdbcTemplate, never()).execute(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("applyRetention")
+    class ApplyRetention {
+
+        @Test
+        @DisplayName("should detach only monthly partitions older than the retention period")
+        void detachesExpiredPartitions() {
+            when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                    "audit_logs_default", "audit_logs_y2025m12", "audit_logs_y2026m01", "audit_logs_y2026m02"));
+
+            partitionService.applyRetention(YearMonth.of(2026, 2));
+
+            verify(jdbcTemplate).execute("ALTER TABLE audit_logs DETACH PARTITION audit_logs_y2025m12");
+            verify(jdbcTemplate).execute("ALTER TABLE audit_logs DETACH PARTITION audit_logs_y2026m01");
+            verify(jdbcTemplate, times(2)).execute(anyString());
+        }
+
+        @Test
+        @DisplayName("should drop detached partitions when configured")
+        void dropsExpiredPartitions() {
+            ReflectionTestUtils.setField(partitionService, "dropExpired", true);
+            when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("audit_logs_y2025m01"));
+
+            partitionService.applyRetention(YearMonth.of(2026, 1));
+
+            verify(jdbcTemplate).execute("DROP TABLE audit_logs_y2025m01");
+        }
+
+        @Test
+        @DisplayName("should parse partition names")
+        void parsesPartitionNames() {
+            assertThat(AuditLogPartitionService.parsePartitionMonth("audit_logs_y2026m03")).isEqualTo(YearMonth.of(2026, 3));
+            assertThat(AuditLogPartitionService.parsePartitionMonth("audit_logs_default")).isNull();
+        }
+    }
+}
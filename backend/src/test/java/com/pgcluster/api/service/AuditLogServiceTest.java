@@ -6,6 +6,7 @@ import com.pgcluster.api.model.dto.AuditLogResponse;
 import com.pgcluster.api.model.entity.AuditLog;
 import com.pgcluster.api.model.entity.User;
 import com.pgcluster.api.repository.AuditLogRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,13 +19,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +45,15 @@ class AuditLogServiceTest {
     @Mock
     private AuditLogRepository auditLogRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
     @InjectMocks
     private AuditLogService auditLogService;
 
@@ -52,7 +71,7 @@ class AuditLogServiceTest {
             auditLogService.log(AuditLog.CLUSTER_CREATED, user, "cluster", resourceId, details);
 
             ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-            verify(auditLogRepository).save(captor.capture());
+            verify(auditLogWriter).write(captor.capture());
 
             AuditLog saved = captor.getValue();
             assertThat(saved.getUserId()).isEqualTo(user.getId());
@@ -70,7 +89,7 @@ class AuditLogServiceTest {
             auditLogService.log("SOME_ACTION", null, "resource", null, null);
 
             ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-            verify(auditLogRepository).save(captor.capture());
+            verify(auditLogWriter).write(captor.capture());
 
             AuditLog saved = captor.getValue();
             assertThat(saved.getUserId()).isNull();
@@ -85,7 +104,7 @@ class AuditLogServiceTest {
             auditLogService.log(AuditLog.CLUSTER_CREATED, user, "cluster", null, null);
 
             ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-            verify(auditLogRepository).save(captor.capture());
+            verify(auditLogWriter).write(captor.capture());
 
             AuditLog saved = captor.getValue();
             assertThat(saved.getIpAddress()).isNull();
@@ -93,6 +112,28 @@ class AuditLogServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("cluster_id")
+    class ClusterIdColumn {
+
+        @Test
+        @DisplayName("should take the cluster from the resource or the details")
+        void shouldResolveClusterId() {
+            UUID clusterId = UUID.randomUUID();
+
+            auditLogService.log(AuditLog.CLUSTER_CREATED, null, "cluster", clusterId, null);
+            auditLogService.log(AuditLog.BACKUP_INITIATED, null, "backup", UUID.randomUUID(),
+                    Map.of("cluster_id", clusterId.toString()));
+            auditLogService.log(AuditLog.USER_CREATED, null, "user", UUID.randomUUID(),
+                    Map.of("cluster_id", "not-a-uuid"));
+
+            ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+            verify(auditLogWriter, times(3)).write(captor.capture());
+            assertThat(captor.getAllValues()).extracting(AuditLog::getClusterId)
+                    .containsExactly(clusterId, clusterId, null);
+        }
+    }
+
     @Nested
     @DisplayName("logAsync with IP")
     class LogAsyncWithIp {
@@ -108,7 +149,7 @@ class AuditLogServiceTest {
                     "192.168.1.100", "TestBrowser/1.0");
 
             ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-            verify(auditLogRepository).save(captor.capture());
+            verify(auditLogWriter).write(captor.capture());
 
             AuditLog saved = captor.getValue();
             assertThat(saved.getIpAddress()).isEqualTo("192.168.1.100");
@@ -119,7 +160,7 @@ class AuditLogServiceTest {
         @Test
         @DisplayName("should not throw when repository fails")
         void shouldSwallowException() {
-            when(auditLogRepository.save(any())).thenThrow(new RuntimeException("DB error"));
+            doThrow(new RuntimeException("DB error")).when(auditLogWriter).write(any());
 
             auditLogService.logAsync("ACTION", createTestUser(), "resource", null, null,
                     "127.0.0.1", "Agent");
@@ -161,7 +202,7 @@ class AuditLogServiceTest {
             auditLogService.logAuth(AuditLog.AUTH_LOGIN_SUCCESS, "test@test.com", true, null);
 
             ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-            verify(auditLogRepository).save(captor.capture());
+            verify(auditLogWriter).write(captor.capture());
 
             AuditLog saved = captor.getValue();
             assertThat(saved.getUserEmail()).isEqualTo("test@test.com");
@@ -176,7 +217,7 @@ class AuditLogServiceTest {
             auditLogService.logAuth(AuditLog.AUTH_LOGIN_FAILURE, "test@test.com", false, "Invalid password");
 
             ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-            verify(auditLogRepository).save(captor.capture());
+            verify(auditLogWriter).write(captor.capture());
 
             AuditLog saved = captor.getValue();
             assertThat(saved.getDetails()).containsEntry("success", false);
@@ -189,7 +230,7 @@ class AuditLogServiceTest {
             auditLogService.logAuth(AuditLog.AUTH_LOGIN_FAILURE, "test@test.com", false, null);
 
             ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-            verify(auditLogRepository).save(captor.capture());
+            verify(auditLogWriter).write(captor.capture());
 
             AuditLog saved = captor.getValue();
             assertThat(saved.getDetails()).containsEntry("reason", "unknown");
@@ -198,7 +239,7 @@ class AuditLogServiceTest {
         @Test
         @DisplayName("should not throw when repository throws exception")
         void shouldSwallowRepositoryException() {
-            when(auditLogRepository.save(any())).thenThrow(new RuntimeException("DB error"));
+            doThrow(new RuntimeException("DB error")).when(auditLogWriter).write(any());
 
             // Should not propagate exception
             auditLogService.logAuth(AuditLog.AUTH_LOGIN_SUCCESS, "test@test.com", true, null);
@@ -296,6 +337,78 @@ class AuditLogServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getAuditLogsPage")
+    class GetAuditLogsPage {
+
+        @Test
+        @DisplayName("should return a cursor that continues after the last row")
+        void shouldReturnNextCursor() {
+            AuditLog log1 = createTestAuditLog(AuditLog.AUTH_LOGIN_SUCCESS, "a@test.com");
+            AuditLog log2 = createTestAuditLog(AuditLog.CLUSTER_CREATED, "b@test.com");
+            AuditLog log3 = createTestAuditLog(AuditLog.BACKUP_INITIATED, "c@test.com");
+            when(auditLogRepository.findPageWithFilters(any(), any(), any(), any(), any(), any(), isNull(), isNull(), eq(3)))
+                    .thenReturn(List.of(log1, log2, log3));
+            when(auditLogRepository.countWithFilters(any(), any(), any(), any(), any(), any())).thenReturn(3L);
+
+            AuditLogListResponse first = auditLogService.getAuditLogsPage(new AuditLogFilterRequest(), null, 2, false);
+
+            assertThat(first.getLogs()).hasSize(2);
+            assertThat(first.isHasMore()).isTrue();
+            assertThat(first.getTotalPages()).isEqualTo(2);
+            assertThat(first.getNextCursor()).isNotNull();
+
+            when(auditLogRepository.findPageWithFilters(any(), any(), any(), any(), any(), any(),
+                    eq(log2.getTimestamp()), eq(log2.getId()), eq(3))).thenReturn(List.of(log3));
+
+            AuditLogListResponse second = auditLogService.getAuditLogsPage(
+                    new AuditLogFilterRequest(), first.getNextCursor(), 2, false);
+
+            assertThat(second.getLogs()).extracting(AuditLogResponse::getId).containsExactly(log3.getId());
+            assertThat(second.isHasMore()).isFalse();
+            assertThat(second.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("should reject a malformed cursor")
+        void shouldRejectInvalidCursor() {
+            assertThatThrownBy(() -> auditLogService.getAuditLogsPage(new AuditLogFilterRequest(), "not-a-cursor", 50, false))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should use the planner estimate for large results")
+        void shouldUseEstimateForLargeResults() {
+            ReflectionTestUtils.setField(auditLogService, "exactCountThreshold", 10000L);
+            when(auditLogRepository.findPageWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of());
+            when(namedParameterJdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(String.class)))
+                    .thenReturn(List.of("Seq Scan on audit_logs_y2026m01 a  (cost=0.00..5500000.00 rows=250000000 width=4)"));
+
+            AuditLogListResponse response = auditLogService.getAuditLogsPage(new AuditLogFilterRequest(), null, 50, true);
+
+            assertThat(response.getTotalElements()).isEqualTo(250_000_000L);
+            assertThat(response.isCountEstimated()).isTrue();
+            verify(auditLogRepository, never()).countWithFilters(any(), any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should count exactly when the estimate is small")
+        void shouldCountSmallResultsExactly() {
+            ReflectionTestUtils.setField(auditLogService, "exactCountThreshold", 10000L);
+            when(auditLogRepository.findPageWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of());
+            when(namedParameterJdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(String.class)))
+                    .thenReturn(List.of("Index Scan using idx on audit_logs a  (cost=0.42..8.44 rows=12 width=4)"));
+            when(auditLogRepository.countWithFilters(any(), any(), any(), any(), any(), any())).thenReturn(11L);
+
+            AuditLogListResponse response = auditLogService.getAuditLogsPage(new AuditLogFilterRequest(), null, 50, true);
+
+            assertThat(response.getTotalElements()).isEqualTo(11L);
+            assertThat(response.isCountEstimated()).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("exportAuditLogsCsv")
     class ExportAuditLogsCsv {
@@ -303,10 +416,10 @@ class AuditLogServiceTest {
         @Test
         @DisplayName("should generate valid CSV header")
         void shouldGenerateHeader() {
-            when(auditLogRepository.findWithFiltersForExport(any(), any(), any(), any(), any(), any()))
-                    .thenReturn(List.of());
+            when(auditLogRepository.streamWithFiltersForExport(any(), any(), any(), any(), any(), any()))
+                    .thenReturn(Stream.of());
 
-            String csv = auditLogService.exportAuditLogsCsv(new AuditLogFilterRequest());
+            String csv = exportCsv(new AuditLogFilterRequest());
 
             assertThat(csv).startsWith("timestamp,user_email,action,resource_type,resource_id,ip_address,user_agent,details\n");
         }
@@ -317,10 +430,10 @@ class AuditLogServiceTest {
             AuditLog log = createTestAuditLog(AuditLog.AUTH_LOGIN_SUCCESS, "test@test.com");
             log.setUserAgent("Mozilla/5.0, Chrome");
 
-            when(auditLogRepository.findWithFiltersForExport(any(), any(), any(), any(), any(), any()))
-                    .thenReturn(List.of(log));
+            when(auditLogRepository.streamWithFiltersForExport(any(), any(), any(), any(), any(), any()))
+                    .thenReturn(Stream.of(log));
 
-            String csv = auditLogService.exportAuditLogsCsv(new AuditLogFilterRequest());
+            String csv = exportCsv(new AuditLogFilterRequest());
 
             assertThat(csv).contains("\"Mozilla/5.0, Chrome\"");
         }
@@ -331,10 +444,10 @@ class AuditLogServiceTest {
             AuditLog log = createTestAuditLog(AuditLog.AUTH_LOGIN_SUCCESS, "test@test.com");
             log.setUserAgent("value\"with\"quotes");
 
-            when(auditLogRepository.findWithFiltersForExport(any(), any(), any(), any(), any(), any()))
-                    .thenReturn(List.of(log));
+            when(auditLogRepository.streamWithFiltersForExport(any(), any(), any(), any(), any(), any()))
+                    .thenReturn(Stream.of(log));
 
-            String csv = auditLogService.exportAuditLogsCsv(new AuditLogFilterRequest());
+            String csv = exportCsv(new AuditLogFilterRequest());
 
             assertThat(csv).contains("\"value\"\"with\"\"quotes\"");
         }
@@ -345,10 +458,10 @@ class AuditLogServiceTest {
             AuditLog log = createTestAuditLog(AuditLog.AUTH_LOGIN_SUCCESS, "test@test.com");
             log.setUserAgent("line1\nline2");
 
-            when(auditLogRepository.findWithFiltersForExport(any(), any(), any(), any(), any(), any()))
-                    .thenReturn(List.of(log));
+            when(auditLogRepository.streamWithFiltersForExport(any(), any(), any(), any(), any(), any()))
+                    .thenReturn(Stream.of(log));
 
-            String csv = auditLogService.exportAuditLogsCsv(new AuditLogFilterRequest());
+            String csv = exportCsv(new AuditLogFilterRequest());
 
             assertThat(csv).contains("\"line1\nline2\"");
         }
@@ -360,10 +473,10 @@ class AuditLogServiceTest {
                     .timestamp(Instant.now())
                     .build();
 
-            when(auditLogRepository.findWithFiltersForExport(any(), any(), any(), any(), any(), any()))
-                    .thenReturn(List.of(log));
+            when(auditLogRepository.streamWithFiltersForExport(any(), any(), any(), any(), any(), any()))
+                    .thenReturn(Stream.of(log));
 
-            String csv = auditLogService.exportAuditLogsCsv(new AuditLogFilterRequest());
+            String csv = exportCsv(new AuditLogFilterRequest());
 
             // Should not throw NPE and should have data row
             String[] lines = csv.split("\n");
@@ -377,14 +490,32 @@ class AuditLogServiceTest {
             AuditLog log2 = createTestAuditLog(AuditLog.CLUSTER_CREATED, "user2@test.com");
             AuditLog log3 = createTestAuditLog(AuditLog.BACKUP_INITIATED, "user3@test.com");
 
-            when(auditLogRepository.findWithFiltersForExport(any(), any(), any(), any(), any(), any()))
-                    .thenReturn(List.of(log1, log2, log3));
+            when(auditLogRepository.streamWithFiltersForExport(any(), any(), any(), any(), any(), any()))
+                    .thenReturn(Stream.of(log1, log2, log3));
 
-            String csv = auditLogService.exportAuditLogsCsv(new AuditLogFilterRequest());
+            String csv = exportCsv(new AuditLogFilterRequest());
 
             String[] lines = csv.split("\n");
             assertThat(lines).hasSize(4); // header + 3 data rows
         }
+
+        @Test
+        @DisplayName("should close the cursor and detach written rows")
+        void shouldCloseStreamAndDetachRows() throws IOException {
+            AuditLog log1 = createTestAuditLog(AuditLog.AUTH_LOGIN_SUCCESS, "user1@test.com");
+            AuditLog log2 = createTestAuditLog(AuditLog.CLUSTER_CREATED, "user2@test.com");
+            AtomicBoolean closed = new AtomicBoolean();
+
+            when(auditLogRepository.streamWithFiltersForExport(any(), any(), any(), any(), any(), any()))
+                    .thenReturn(Stream.of(log1, log2).onClose(() -> closed.set(true)));
+
+            long rows = auditLogService.exportAuditLogsCsv(new AuditLogFilterRequest(), new StringWriter());
+
+            assertThat(rows).isEqualTo(2);
+            assertThat(closed).isTrue();
+            verify(entityManager).detach(log1);
+            verify(entityManager).detach(log2);
+        }
     }
 
     @Nested
@@ -443,4 +574,14 @@ class AuditLogServiceTest {
                 .ipAddress("127.0.0.1")
                 .build();
     }
+
+    private String exportCsv(AuditLogFilterRequest filter) {
+        StringWriter writer = new StringWriter();
+        try {
+            auditLogService.exportAuditLogsCsv(filter, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
 }
@@ -0,0 +1,187 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.model.entity.AuditLog;
+import com.pgcluster.api.repository.AuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AuditLogWriter")
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock private AuditLogRepository auditLogRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new AuditLogWriter(auditLogRepository, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(writer, "capacity", 2);
+        ReflectionTestUtils.setField(writer, "batchSize", 100);
+        // Long interval so batches only flush on shutdown
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(writer, "enqueueTimeoutMs", 1L);
+        ReflectionTestUtils.setField(writer, "maxAttempts", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Nested
+    @DisplayName("when disabled")
+    class Disabled {
+
+        @Test
+        @DisplayName("should write each entry immediately in its own transaction")
+        void writesImmediately() {
+            writer.start();
+            AuditLog entry = entry("ACTION");
+
+            writer.write(entry);
+
+            verify(auditLogRepository).saveAll(List.of(entry));
+            verify(transactionManager).commit(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("when enabled")
+    class Enabled {
+
+        @BeforeEach
+        void enable() {
+            ReflectionTestUtils.setField(writer, "enabled", true);
+        }
+
+        @Test
+        @DisplayName("should queue entries and flush them as one batch")
+        @SuppressWarnings("unchecked")
+        void batchesEntries() {
+            ReflectionTestUtils.setField(writer, "capacity", 10);
+            writer.start();
+            AuditLog first = entry("FIRST");
+            AuditLog second = entry("SECOND");
+
+            writer.write(first);
+            writer.write(second);
+            writer.stop();
+
+            ArgumentCaptor<List<AuditLog>> captor = ArgumentCaptor.forClass(List.class);
+            verify(auditLogRepository, atLeastOnce()).saveAll(captor.capture());
+            assertThat(captor.getAllValues().stream().flatMap(List::stream))
+                    .containsExactly(first, second);
+            assertThat(writer.queueSize()).isZero();
+        }
+
+        @Test
+        @DisplayName("should write in the caller thread when the queue is full")
+        void writesInCallerWhenFull() {
+            writer.start();
+            // Stop the drain loop but keep accepting entries
+            ReflectionTestUtils.setField(writer, "running", false);
+            joinWriterThread();
+            ReflectionTestUtils.setField(writer, "running", true);
+
+            writer.write(entry("ONE"));
+            writer.write(entry("TWO"));
+            AuditLog overflow = entry("THREE");
+            writer.write(overflow);
+
+            verify(auditLogRepository).saveAll(List.of(overflow));
+            assertThat(writer.queueSize()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should flush queued entries on shutdown")
+        @SuppressWarnings("unchecked")
+        void flushesOnShutdown() {
+            writer.start();
+            ReflectionTestUtils.setField(writer, "running", false);
+            joinWriterThread();
+            ReflectionTestUtils.setField(writer, "running", true);
+            writer.write(entry("ONE"));
+            writer.write(entry("TWO"));
+
+            writer.stop();
+
+            ArgumentCaptor<List<AuditLog>> captor = ArgumentCaptor.forClass(List.class);
+            verify(auditLogRepository).saveAll(captor.capture());
+            assertThat(captor.getValue()).hasSize(2);
+            assertThat(writer.queueSize()).isZero();
+        }
+
+        @Test
+        @DisplayName("should write the rest of a failed batch one at a time and count entries it drops")
+        @SuppressWarnings("unchecked")
+        void retriesFailedBatchPerEntry() {
+            ReflectionTestUtils.setField(writer, "capacity", 10);
+            writer.start();
+            ReflectionTestUtils.setField(writer, "running", false);
+            joinWriterThread();
+            ReflectionTestUtils.setField(writer, "running", true);
+            AuditLog good = entry("GOOD");
+            AuditLog bad = entry("BAD");
+            when(auditLogRepository.saveAll(any())).thenAnswer(invocation -> {
+                List<AuditLog> batch = invocation.getArgument(0);
+                if (batch.contains(bad)) {
+                    throw new IllegalStateException("value too long for type character varying(100)");
+                }
+                return batch;
+            });
+            writer.write(good);
+            writer.write(bad);
+
+            writer.stop();
+
+            verify(auditLogRepository).saveAll(List.of(good));
+            // The batch, then the entry on its own, then its requeued retry
+            verify(auditLogRepository, times(3)).saveAll(argThat(batch -> ((List<AuditLog>) batch).contains(bad)));
+            assertThat(meterRegistry.counter("pgcluster.audit.dropped").count()).isEqualTo(1.0);
+            assertThat(writer.queueSize()).isZero();
+        }
+
+        private void joinWriterThread() {
+            Thread thread = (Thread) ReflectionTestUtils.getField(writer, "writerThread");
+            try {
+                // The loop exits at its next poll timeout; interrupt to skip the wait
+                thread.interrupt();
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static AuditLog entry(String action) {
+        return AuditLog.builder()
+                .timestamp(Instant.now())
+                .action(action)
+                .resourceType("test")
+                .build();
+    }
+}
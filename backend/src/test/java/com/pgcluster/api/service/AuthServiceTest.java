@@ -184,6 +184,27 @@ class AuthServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("logout")
+    class Logout {
+
+        @Test
+        @DisplayName("should revoke the presented token")
+        void shouldRevokeToken() {
+            authService.logout("token");
+
+            verify(jwtTokenProvider).revokeToken("token");
+        }
+
+        @Test
+        @DisplayName("should ignore a missing token")
+        void shouldIgnoreMissingToken() {
+            authService.logout(null);
+
+            verifyNoInteractions(jwtTokenProvider);
+        }
+    }
+
     private User createTestUser() {
         return User.builder()
                 .id(UUID.randomUUID())
@@ -0,0 +1,250 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.event.BackupCreatedEvent;
+import com.pgcluster.api.model.entity.Backup;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.repository.BackupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BackupSchedulerService")
+@ExtendWith(MockitoExtension.class)
+class BackupSchedulerServiceTest {
+
+    @Mock private BackupRepository backupRepository;
+    @Mock private S3StorageService s3StorageService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BackupSchedulerService schedulerService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        schedulerService = new BackupSchedulerService(backupRepository, s3StorageService, eventPublisher, meterRegistry);
+        ReflectionTestUtils.setField(schedulerService, "windowMinutes", 180);
+        ReflectionTestUtils.setField(schedulerService, "clusterWindowMinutes", 60);
+        ReflectionTestUtils.setField(schedulerService, "slotting", BackupSchedulerService.SLOTTING_HASH);
+        ReflectionTestUtils.setField(schedulerService, "maxConcurrent", 2);
+        ReflectionTestUtils.setField(schedulerService, "maxConcurrentPerEndpoint", 2);
+        ReflectionTestUtils.setField(schedulerService, "backupTimeoutMs", 3600000L);
+        schedulerService.registerMetrics();
+    }
+
+    @Nested
+    @DisplayName("computeSlot")
+    class ComputeSlot {
+
+        @Test
+        @DisplayName("should place hash slot inside the fleet window and keep it stable")
+        void shouldPlaceStableHashSlotInWindow() {
+            Cluster cluster = createCluster(null);
+            Instant windowStart = Instant.parse("2026-01-10T02:00:00Z");
+
+            Instant slot = schedulerService.computeSlot(cluster, windowStart);
+
+            assertThat(slot).isBetween(windowStart, windowStart.plusSeconds(180 * 60));
+            assertThat(schedulerService.computeSlot(cluster, windowStart)).isEqualTo(slot);
+        }
+
+        @Test
+        @DisplayName("should place jitter slot inside the fleet window")
+        void shouldPlaceJitterSlotInWindow() {
+            ReflectionTestUtils.setField(schedulerService, "slotting", BackupSchedulerService.SLOTTING_JITTER);
+            Instant windowStart = Instant.parse("2026-01-10T02:00:00Z");
+
+            Instant slot = schedulerService.computeSlot(createCluster(null), windowStart);
+
+            assertThat(slot).isBetween(windowStart, windowStart.plusSeconds(180 * 60));
+        }
+
+        @Test
+        @DisplayName("should honour the cluster's preferred window")
+        void shouldHonourPreferredWindow() {
+            Cluster cluster = createCluster("05:30");
+            Instant windowStart = Instant.parse("2026-01-10T02:00:00Z");
+
+            Instant slot = schedulerService.computeSlot(cluster, windowStart);
+
+            Instant preferred = Instant.parse("2026-01-10T05:30:00Z");
+            assertThat(slot).isBetween(preferred, preferred.plusSeconds(60 * 60));
+        }
+
+        @Test
+        @DisplayName("should roll a preferred window that already passed to the next day")
+        void shouldRollPassedPreferredWindow() {
+            Cluster cluster = createCluster("01:00");
+            Instant windowStart = Instant.parse("2026-01-10T02:00:00Z");
+
+            Instant slot = schedulerService.computeSlot(cluster, windowStart);
+
+            Instant preferred = Instant.parse("2026-01-11T01:00:00Z");
+            assertThat(slot).isBetween(preferred, preferred.plusSeconds(60 * 60));
+        }
+
+        @Test
+        @DisplayName("should fall back to the fleet window for an invalid preferred window")
+        void shouldIgnoreInvalidPreferredWindow() {
+            Instant windowStart = Instant.parse("2026-01-10T02:00:00Z");
+
+            Instant slot = schedulerService.computeSlot(createCluster("25:99"), windowStart);
+
+            assertThat(slot).isBetween(windowStart, windowStart.plusSeconds(180 * 60));
+        }
+    }
+
+    @Nested
+    @DisplayName("dispatchDueBackups")
+    class DispatchDueBackups {
+
+        @Test
+        @DisplayName("should dispatch due backups and leave future slots queued")
+        void shouldDispatchDueBackups() {
+            Backup due = createQueuedBackup(createCluster(null), Instant.now().minusSeconds(60));
+            Backup future = createQueuedBackup(createCluster(null), Instant.now().plusSeconds(600));
+
+            when(backupRepository.lockQueuedScheduledBackups()).thenReturn(List.of(due, future));
+            when(backupRepository.findRunningBackupsStartedAfter(any())).thenReturn(List.of());
+            when(backupRepository.claimPendingBackup(eq(due.getId()), any())).thenReturn(1);
+
+            schedulerService.dispatchDueBackups();
+
+            verify(backupRepository).claimPendingBackup(eq(due.getId()), any());
+            verify(backupRepository, never()).claimPendingBackup(eq(future.getId()), any());
+            verify(eventPublisher).publishEvent(any(BackupCreatedEvent.class));
+            assertThat(meterRegistry.get("pgcluster.backup.queue.size").gauge().value()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should not exceed the global concurrency cap")
+        void shouldRespectGlobalCap() {
+            Backup running = createRunningBackup(createCluster(null));
+            Backup first = createQueuedBackup(createCluster(null), Instant.now().minusSeconds(120));
+            Backup second = createQueuedBackup(createCluster(null), Instant.now().minusSeconds(60));
+
+            when(backupRepository.lockQueuedScheduledBackups()).thenReturn(List.of(first, second));
+            when(backupRepository.findRunningBackupsStartedAfter(any())).thenReturn(List.of(running));
+            when(backupRepository.claimPendingBackup(eq(first.getId()), any())).thenReturn(1);
+
+            schedulerService.dispatchDueBackups();
+
+            verify(backupRepository, never()).claimPendingBackup(eq(second.getId()), any());
+            verify(eventPublisher, times(1)).publishEvent(any(BackupCreatedEvent.class));
+            assertThat(meterRegistry.get("pgcluster.backup.queue.due").gauge().value()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("pgcluster.backup.queue.lag.seconds").gauge().value()).isGreaterThan(0.0);
+        }
+
+        @Test
+        @DisplayName("should not exceed the per-endpoint concurrency cap")
+        void shouldRespectEndpointCap() {
+            ReflectionTestUtils.setField(schedulerService, "maxConcurrent", 10);
+            ReflectionTestUtils.setField(schedulerService, "maxConcurrentPerEndpoint", 1);
+            Backup running = createRunningBackup(createCluster(null));
+            Backup queued = createQueuedBackup(createCluster(null), Instant.now().minusSeconds(60));
+
+            when(s3StorageService.getEndpoint()).thenReturn("https://fsn1.example.com");
+            when(backupRepository.lockQueuedScheduledBackups()).thenReturn(List.of(queued));
+            when(backupRepository.findRunningBackupsStartedAfter(any())).thenReturn(List.of(running));
+
+            schedulerService.dispatchDueBackups();
+
+            verify(backupRepository, never()).claimPendingBackup(any(), any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("should not start a second backup for a cluster that is already backing up")
+        void shouldSerializePerCluster() {
+            Cluster cluster = createCluster(null);
+            Backup running = createRunningBackup(cluster);
+            Backup queued = createQueuedBackup(cluster, Instant.now().minusSeconds(60));
+
+            when(backupRepository.lockQueuedScheduledBackups()).thenReturn(List.of(queued));
+            when(backupRepository.findRunningBackupsStartedAfter(any())).thenReturn(List.of(running));
+
+            schedulerService.dispatchDueBackups();
+
+            verify(backupRepository, never()).claimPendingBackup(any(), any());
+        }
+
+        @Test
+        @DisplayName("should skip backups claimed by another instance")
+        void shouldSkipAlreadyClaimed() {
+            Backup queued = createQueuedBackup(createCluster(null), Instant.now().minusSeconds(60));
+
+            when(backupRepository.lockQueuedScheduledBackups()).thenReturn(List.of(queued));
+            when(backupRepository.findRunningBackupsStartedAfter(any())).thenReturn(List.of());
+            when(backupRepository.claimPendingBackup(eq(queued.getId()), any())).thenReturn(0);
+
+            schedulerService.dispatchDueBackups();
+
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("should fail queued backups for clusters that are no longer running")
+        void shouldFailBackupsForStoppedClusters() {
+            Cluster cluster = createCluster(null);
+            cluster.setStatus(Cluster.STATUS_DELETING);
+            Backup queued = createQueuedBackup(cluster, Instant.now().minusSeconds(60));
+
+            when(backupRepository.lockQueuedScheduledBackups()).thenReturn(List.of(queued));
+            when(backupRepository.findRunningBackupsStartedAfter(any())).thenReturn(List.of());
+
+            schedulerService.dispatchDueBackups();
+
+            assertThat(queued.getStatus()).isEqualTo(Backup.STATUS_FAILED);
+            verify(backupRepository).save(queued);
+            verify(backupRepository, never()).claimPendingBackup(any(), any());
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private Cluster createCluster(String backupWindowStart) {
+        return Cluster.builder()
+                .id(UUID.randomUUID())
+                .name("test-cluster")
+                .slug("test-cluster-" + UUID.randomUUID().toString().substring(0, 6))
+                .status(Cluster.STATUS_RUNNING)
+                .backupWindowStart(backupWindowStart)
+                .build();
+    }
+
+    private Backup createQueuedBackup(Cluster cluster, Instant scheduledAt) {
+        return Backup.builder()
+                .id(UUID.randomUUID())
+                .cluster(cluster)
+                .type(Backup.TYPE_SCHEDULED_DAILY)
+                .status(Backup.STATUS_PENDING)
+                .scheduledAt(scheduledAt)
+                .build();
+    }
+
+    private Backup createRunningBackup(Cluster cluster) {
+        return Backup.builder()
+                .id(UUID.randomUUID())
+                .cluster(cluster)
+                .type(Backup.TYPE_MANUAL)
+                .status(Backup.STATUS_IN_PROGRESS)
+                .startedAt(Instant.now().minusSeconds(300))
+                .build();
+    }
+}
@@ -1,7 +1,8 @@
 package com.pgcluster.api.service;
 
-import com.pgcluster.api.client.HetznerClient;
 import com.pgcluster.api.event.BackupCreatedEvent;
+import com.pgcluster.api.event.ClusterStatusChangedEvent;
+import com.pgcluster.api.event.RestoreRequestedEvent;
 import com.pgcluster.api.exception.PitrValidationException;
 import com.pgcluster.api.model.dto.PitrRestoreRequest;
 import com.pgcluster.api.model.entity.AuditLog;
@@ -49,9 +50,11 @@ class BackupServiceTest {
     @Mock private ProvisioningService provisioningService;
     @Mock private PatroniService patroniService;
     @Mock private SshService sshService;
-    @Mock private HetznerClient hetznerClient;
+    @Mock private HetznerCatalogService hetznerCatalogService;
     @Mock private ApplicationEventPublisher eventPublisher;
     @Mock private AuditLogService auditLogService;
+    @Mock private BackupSchedulerService backupSchedulerService;
+    @Mock private RestoreEstimatorService restoreEstimatorService;
 
     @InjectMocks
     private BackupService backupService;
@@ -154,6 +157,35 @@ class BackupServiceTest {
                     .hasMessageContaining("already in progress");
         }
 
+        @Test
+        @DisplayName("should not be blocked by a scheduled backup queued for a later slot")
+        void shouldNotBlockOnQueuedScheduledBackup() {
+            User user = createTestUser();
+            Cluster cluster = createRunningCluster();
+            Backup queued = Backup.builder()
+                    .type(Backup.TYPE_SCHEDULED_DAILY)
+                    .status(Backup.STATUS_PENDING)
+                    .scheduledAt(Instant.now().plusSeconds(7200))
+                    .build();
+
+            when(s3StorageService.isConfigured()).thenReturn(true);
+            when(clusterRepository.findByIdAndUser(cluster.getId(), user)).thenReturn(Optional.of(cluster));
+            when(backupRepository.findByClusterAndStatusOrderByCreatedAtDesc(cluster, Backup.STATUS_IN_PROGRESS))
+                    .thenReturn(List.of());
+            when(backupRepository.findByClusterAndStatusOrderByCreatedAtDesc(cluster, Backup.STATUS_PENDING))
+                    .thenReturn(List.of(queued));
+            when(backupRepository.save(any(Backup.class))).thenAnswer(inv -> {
+                Backup b = inv.getArgument(0);
+                b.setId(UUID.randomUUID());
+                return b;
+            });
+
+            Backup result = backupService.createBackup(cluster.getId(), user, "full");
+
+            assertThat(result.getType()).isEqualTo(Backup.TYPE_MANUAL);
+            verify(eventPublisher).publishEvent(any(BackupCreatedEvent.class));
+        }
+
         @Test
         @DisplayName("should default to incremental backup type when null")
         void shouldDefaultToIncremental() {
@@ -730,7 +762,7 @@ class BackupServiceTest {
             when(backupRepository.findByClusterAndStatusOrderByCreatedAtDesc(sourceCluster, Backup.STATUS_COMPLETED))
                     .thenReturn(List.of(newer, older));
             when(restoreJobRepository.findPendingJobsForCluster(sourceCluster.getId())).thenReturn(List.of());
-            when(hetznerClient.getAvailableLocationsForServerType("cx23")).thenReturn(Set.of("fsn1"));
+            when(hetznerCatalogService.getAvailableLocations("cx23")).thenReturn(Set.of("fsn1"));
 
             when(clusterRepository.save(any(Cluster.class))).thenAnswer(invocation -> {
                 Cluster saved = invocation.getArgument(0);
@@ -757,7 +789,7 @@ class BackupServiceTest {
 
             verify(auditLogService).logAsync(eq(AuditLog.BACKUP_RESTORE_INITIATED), eq(user), eq("backup"),
                     eq(newer.getId()), any(), any(), any());
-            verify(eventPublisher).publishEvent(any());
+            verify(eventPublisher).publishEvent(any(RestoreRequestedEvent.class));
         }
 
         @Test
@@ -935,6 +967,26 @@ class BackupServiceTest {
             verify(clusterRepository, never()).findByStatus(any());
         }
 
+        @Test
+        @DisplayName("scheduledDailyBackup should queue backups with a slot instead of starting them")
+        void shouldQueueScheduledBackupsWithSlot() {
+            Cluster cluster = createRunningCluster();
+            Instant slot = Instant.now().plusSeconds(1800);
+
+            when(s3StorageService.isConfigured()).thenReturn(true);
+            when(clusterRepository.findByStatus(Cluster.STATUS_RUNNING)).thenReturn(List.of(cluster));
+            when(backupSchedulerService.computeSlot(eq(cluster), any(Instant.class))).thenReturn(slot);
+            when(backupRepository.save(any(Backup.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            backupService.scheduledDailyBackup();
+
+            verify(backupRepository).save(argThat(b ->
+                    Backup.STATUS_PENDING.equals(b.getStatus())
+                            && Backup.TYPE_SCHEDULED_DAILY.equals(b.getType())
+                            && slot.equals(b.getScheduledAt())));
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
         @Test
         @DisplayName("cleanupExpiredBackups should skip when backup disabled")
         void shouldSkipCleanupWhenDisabled() {
@@ -1248,6 +1300,82 @@ class BackupServiceTest {
             verify(pgBackRestService).executeFullBackup(cluster, leader);
         }
 
+        @Test
+        @DisplayName("should run backup on the best replica when backup-from-standby is enabled")
+        void shouldExecuteFromStandby() {
+            Cluster cluster = createRunningCluster();
+            cluster.setNodeCount(3);
+            Backup backup = Backup.builder()
+                    .id(UUID.randomUUID())
+                    .cluster(cluster)
+                    .status(Backup.STATUS_PENDING)
+                    .type(Backup.TYPE_SCHEDULED_DAILY)
+                    .retentionType(Backup.RETENTION_DAILY)
+                    .build();
+
+            VpsNode leader = VpsNode.builder().name("node-1").publicIp("10.0.0.1").build();
+            VpsNode replica = VpsNode.builder().name("node-2").publicIp("10.0.0.2").build();
+
+            com.pgcluster.api.model.dto.PgBackRestBackupInfo result =
+                    com.pgcluster.api.model.dto.PgBackRestBackupInfo.builder()
+                            .label("20260101-020000D")
+                            .type("diff")
+                            .backupSizeBytes(512L * 1024L)
+                            .build();
+
+            when(backupRepository.findById(backup.getId())).thenReturn(Optional.of(backup));
+            when(patroniService.findLeaderNode(cluster)).thenReturn(leader);
+            when(pgBackRestService.isStandbyBackupEnabled()).thenReturn(true);
+            when(patroniService.findBestReplica(eq(cluster), anyLong())).thenReturn(replica);
+            when(pgBackRestService.executeBackup(cluster, replica, Backup.BACKUP_TYPE_DIFF, true)).thenReturn(result);
+            when(backupRepository.save(any(Backup.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            backupService.executeBackup(backup.getId());
+
+            verify(pgBackRestService, never()).executeDifferentialBackup(any(), any());
+            assertThat(backup.getSourceNode()).isEqualTo("node-2");
+            assertThat(backup.getStatus()).isEqualTo(Backup.STATUS_COMPLETED);
+        }
+
+        @Test
+        @DisplayName("should fall back to the primary when the standby backup fails")
+        void shouldFallBackToPrimaryWhenStandbyFails() {
+            Cluster cluster = createRunningCluster();
+            cluster.setNodeCount(3);
+            Backup backup = Backup.builder()
+                    .id(UUID.randomUUID())
+                    .cluster(cluster)
+                    .status(Backup.STATUS_PENDING)
+                    .type(Backup.TYPE_SCHEDULED_WEEKLY)
+                    .retentionType(Backup.RETENTION_WEEKLY)
+                    .build();
+
+            VpsNode leader = VpsNode.builder().name("node-1").publicIp("10.0.0.1").build();
+            VpsNode replica = VpsNode.builder().name("node-2").publicIp("10.0.0.2").build();
+
+            com.pgcluster.api.model.dto.PgBackRestBackupInfo result =
+                    com.pgcluster.api.model.dto.PgBackRestBackupInfo.builder()
+                            .label("20260101-030000F")
+                            .type("full")
+                            .backupSizeBytes(2048L * 1024L)
+                            .build();
+
+            when(backupRepository.findById(backup.getId())).thenReturn(Optional.of(backup));
+            when(patroniService.findLeaderNode(cluster)).thenReturn(leader);
+            when(pgBackRestService.isStandbyBackupEnabled()).thenReturn(true);
+            when(patroniService.findBestReplica(eq(cluster), anyLong())).thenReturn(replica);
+            when(pgBackRestService.executeBackup(cluster, replica, Backup.BACKUP_TYPE_FULL, true))
+                    .thenThrow(new RuntimeException("Backup failed: standby not reachable"));
+            when(pgBackRestService.executeFullBackup(cluster, leader)).thenReturn(result);
+            when(backupRepository.save(any(Backup.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            backupService.executeBackup(backup.getId());
+
+            verify(pgBackRestService).executeFullBackup(cluster, leader);
+            assertThat(backup.getSourceNode()).isEqualTo("node-1");
+            assertThat(backup.getStatus()).isEqualTo(Backup.STATUS_COMPLETED);
+        }
+
         @Test
         @DisplayName("should mark backup as failed when no leader node found")
         void shouldMarkFailedWhenNoLeader() {
@@ -1307,7 +1435,7 @@ class BackupServiceTest {
             when(clusterRepository.findByIdAndUser(sourceCluster.getId(), user)).thenReturn(Optional.of(sourceCluster));
             when(backupRepository.findByIdAndCluster(backup.getId(), sourceCluster)).thenReturn(Optional.of(backup));
             when(restoreJobRepository.findPendingJobsForCluster(sourceCluster.getId())).thenReturn(List.of());
-            when(hetznerClient.getAvailableLocationsForServerType("cx23")).thenReturn(java.util.Set.of("fsn1"));
+            when(hetznerCatalogService.getAvailableLocations("cx23")).thenReturn(java.util.Set.of("fsn1"));
 
             when(clusterRepository.save(any(Cluster.class))).thenAnswer(inv -> {
                 Cluster c = inv.getArgument(0);
@@ -1325,7 +1453,8 @@ class BackupServiceTest {
             assertThat(job.getRestoreType()).isEqualTo(RestoreJob.TYPE_FULL);
             assertThat(job.getTargetCluster()).isNotNull();
             assertThat(job.getStatus()).isEqualTo(RestoreJob.STATUS_PENDING);
-            verify(eventPublisher).publishEvent(any());
+            verify(eventPublisher).publishEvent(any(RestoreRequestedEvent.class));
+            verify(eventPublisher).publishEvent(any(ClusterStatusChangedEvent.class));
         }
 
         @Test
@@ -1453,6 +1582,116 @@ class BackupServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("backup progress")
+    class BackupProgressTracking {
+
+        @Test
+        @DisplayName("should map bytes onto the copy phase and extrapolate an ETA")
+        void shouldApplyProgress() {
+            Backup backup = Backup.builder().progressPercent(30).build();
+            Instant start = Instant.parse("2026-01-01T02:00:00Z");
+            Instant now = start.plusSeconds(100);
+
+            boolean changed = backupService.applyProgress(backup,
+                    new PgBackRestService.BackupProgress(500L * 1024 * 1024, 1000L * 1024 * 1024), start, now);
+
+            assertThat(changed).isTrue();
+            assertThat(backup.getProgressPercent()).isEqualTo(59);
+            assertThat(backup.getThroughputBytesPerSec()).isEqualTo(5L * 1024 * 1024);
+            assertThat(backup.getEstimatedCompletionAt()).isEqualTo(now.plusSeconds(100));
+        }
+
+        @Test
+        @DisplayName("should report no change when the percentage did not move")
+        void shouldSkipUnchangedPercent() {
+            Backup backup = Backup.builder().progressPercent(59).build();
+            Instant start = Instant.parse("2026-01-01T02:00:00Z");
+
+            boolean changed = backupService.applyProgress(backup,
+                    new PgBackRestService.BackupProgress(501, 1000), start, start.plusSeconds(10));
+
+            assertThat(changed).isFalse();
+            assertThat(backup.getBytesDone()).isEqualTo(501);
+        }
+
+        @Test
+        @DisplayName("should poll progress while the backup runs and record final throughput")
+        void shouldPollDuringBackup() {
+            ReflectionTestUtils.setField(backupService, "progressPollIntervalMs", 10L);
+            Cluster cluster = createRunningCluster();
+            Backup backup = Backup.builder()
+                    .id(UUID.randomUUID())
+                    .cluster(cluster)
+                    .status(Backup.STATUS_PENDING)
+                    .type(Backup.TYPE_MANUAL)
+                    .requestedBackupType(Backup.BACKUP_TYPE_FULL)
+                    .retentionType(Backup.RETENTION_MANUAL)
+                    .build();
+            VpsNode leader = VpsNode.builder().name("node-1").publicIp("10.0.0.1").build();
+
+            com.pgcluster.api.model.dto.PgBackRestBackupInfo result =
+                    com.pgcluster.api.model.dto.PgBackRestBackupInfo.builder()
+                            .label("20260101-120000F")
+                            .type("full")
+                            .deltaBytes(600L * 1024 * 1024)
+                            .startTime(Instant.parse("2026-01-01T12:00:00Z"))
+                            .stopTime(Instant.parse("2026-01-01T12:01:00Z"))
+                            .build();
+
+            when(backupRepository.findById(backup.getId())).thenReturn(Optional.of(backup));
+            when(patroniService.findLeaderNode(cluster)).thenReturn(leader);
+            when(pgBackRestService.getBackupProgress(cluster, leader))
+                    .thenReturn(new PgBackRestService.BackupProgress(100, 1000));
+            when(pgBackRestService.executeFullBackup(cluster, leader)).thenAnswer(inv -> {
+                Thread.sleep(200);
+                return result;
+            });
+            when(backupRepository.save(any(Backup.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            backupService.executeBackup(backup.getId());
+
+            verify(pgBackRestService, atLeastOnce()).getBackupProgress(cluster, leader);
+            assertThat(backup.getStatus()).isEqualTo(Backup.STATUS_COMPLETED);
+            assertThat(backup.getBytesDone()).isEqualTo(600L * 1024 * 1024);
+            assertThat(backup.getThroughputBytesPerSec()).isEqualTo(10L * 1024 * 1024);
+            assertThat(backup.getEstimatedCompletionAt()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("rolloutPgBackRestConfig")
+    class RolloutPgBackRestConfig {
+
+        @Test
+        @DisplayName("should push config to every running cluster and continue past failures")
+        void shouldPushToRunningClusters() {
+            Cluster healthy = createRunningCluster();
+            Cluster broken = createRunningCluster();
+            VpsNode node = VpsNode.builder().name("node-1").publicIp("10.0.0.1").build();
+
+            when(clusterRepository.findByStatus(Cluster.STATUS_RUNNING)).thenReturn(List.of(broken, healthy));
+            when(vpsNodeRepository.findByCluster(any())).thenReturn(List.of(node));
+            doThrow(new RuntimeException("SSH unreachable"))
+                    .doNothing()
+                    .when(pgBackRestService).pushConfig(any(), any());
+
+            int updated = backupService.rolloutPgBackRestConfig();
+
+            assertThat(updated).isEqualTo(1);
+            verify(pgBackRestService, times(2)).pushConfig(any(), eq(List.of(node)));
+        }
+
+        @Test
+        @DisplayName("should do nothing when backups are disabled")
+        void shouldSkipWhenDisabled() {
+            ReflectionTestUtils.setField(backupService, "backupEnabled", false);
+
+            assertThat(backupService.rolloutPgBackRestConfig()).isZero();
+            verify(clusterRepository, never()).findByStatus(any());
+        }
+    }
+
     // ==================== Helpers ====================
 
     private User createTestUser() {
@@ -0,0 +1,243 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.event.BackupVerificationRequestedEvent;
+import com.pgcluster.api.model.entity.Backup;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.model.entity.VpsNode;
+import com.pgcluster.api.repository.BackupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BackupVerificationService")
+@ExtendWith(MockitoExtension.class)
+class BackupVerificationServiceTest {
+
+    @Mock private BackupRepository backupRepository;
+    @Mock private PgBackRestService pgBackRestService;
+    @Mock private PatroniService patroniService;
+    @Mock private SshService sshService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private BackupVerificationService verificationService;
+
+    @BeforeEach
+    void setUp() {
+        verificationService = new BackupVerificationService(backupRepository, pgBackRestService, patroniService,
+                sshService, eventPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(verificationService, "enabled", true);
+        ReflectionTestUtils.setField(verificationService, "intervalHours", 168);
+        ReflectionTestUtils.setField(verificationService, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(verificationService, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(verificationService, "pollIntervalMs", 1L);
+        ReflectionTestUtils.setField(verificationService, "backupTimeoutMs", 3600000L);
+    }
+
+    @Nested
+    @DisplayName("dispatchVerifications")
+    class DispatchVerifications {
+
+        @Test
+        @DisplayName("should claim one backup per cluster within the cap")
+        void claimsWithinCap() {
+            ReflectionTestUtils.setField(verificationService, "maxConcurrent", 2);
+            Cluster cluster = createCluster(3);
+            Backup latest = createCompletedBackup(cluster);
+            Backup older = createCompletedBackup(cluster);
+            Backup other = createCompletedBackup(createCluster(3));
+
+            when(backupRepository.findRunningBackupsStartedAfter(any())).thenReturn(List.of());
+            when(backupRepository.findQueuedScheduledBackups()).thenReturn(List.of());
+            when(backupRepository.countByVerifyStatus(Backup.VERIFY_STATUS_RUNNING)).thenReturn(0L);
+            when(backupRepository.findVerificationCandidates(any())).thenReturn(List.of(latest, older, other));
+            when(backupRepository.claimVerification(any(), any())).thenReturn(1);
+
+            verificationService.dispatchVerifications();
+
+            verify(backupRepository).claimVerification(eq(latest.getId()), any());
+            verify(backupRepository).claimVerification(eq(other.getId()), any());
+            verify(backupRepository, never()).claimVerification(eq(older.getId()), any());
+            verify(eventPublisher, times(2)).publishEvent(any(BackupVerificationRequestedEvent.class));
+        }
+
+        @Test
+        @DisplayName("should defer while a production backup is running")
+        void defersToBackups() {
+            Backup running = createCompletedBackup(createCluster(3));
+            running.setStatus(Backup.STATUS_IN_PROGRESS);
+            when(backupRepository.findRunningBackupsStartedAfter(any())).thenReturn(List.of(running));
+
+            verificationService.dispatchVerifications();
+
+            verify(backupRepository, never()).findVerificationCandidates(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("should skip single-node clusters")
+        void skipsSingleNode() {
+            when(backupRepository.findRunningBackupsStartedAfter(any())).thenReturn(List.of());
+            when(backupRepository.findQueuedScheduledBackups()).thenReturn(List.of());
+            when(backupRepository.findVerificationCandidates(any()))
+                    .thenReturn(List.of(createCompletedBackup(createCluster(1))));
+
+            verificationService.dispatchVerifications();
+
+            verify(backupRepository, never()).claimVerification(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("verifyBackup")
+    class VerifyBackup {
+
+        @Test
+        @DisplayName("should record the check results and restore throughput")
+        void recordsResult() {
+            Backup backup = createCompletedBackup(createCluster(3));
+            backup.setVerifyStatus(Backup.VERIFY_STATUS_RUNNING);
+            VpsNode replica = VpsNode.builder().name("node-2").publicIp("10.0.0.2").build();
+            PgBackRestService.TuningProfile profile = new PgBackRestService.TuningProfile(
+                    1, 2, "lz4", 1, "1MiB", "4GiB", true, "2MiB", "2GiB");
+
+            when(backupRepository.findById(backup.getId())).thenReturn(Optional.of(backup));
+            when(patroniService.findBestReplica(any(), anyLong())).thenReturn(replica);
+            when(pgBackRestService.getBackupDatabaseSize(anyString(), eq(replica), eq("20260110-020000F")))
+                    .thenReturn(1000L * 1024 * 1024);
+            when(pgBackRestService.resolveProfile(any())).thenReturn(profile);
+            when(sshService.executeCommand(anyString(), anyString(), anyInt())).thenAnswer(inv -> {
+                String command = inv.getArgument(1);
+                if (command.startsWith("df ")) {
+                    return result("107374182400");
+                }
+                if (command.startsWith("cat ")) {
+                    return result("restore_seconds=100\ncheck_seconds=20\ntables=12\nrows=34000\nstatus=passed\n");
+                }
+                return result("");
+            });
+
+            verificationService.verifyBackup(backup.getId());
+
+            assertThat(backup.getVerifyStatus()).isEqualTo(Backup.VERIFY_STATUS_PASSED);
+            assertThat(backup.getVerifyTableCount()).isEqualTo(12);
+            assertThat(backup.getVerifyRowCount()).isEqualTo(34000L);
+            assertThat(backup.getVerifyRestoreThroughputBytesPerSec()).isEqualTo(10L * 1024 * 1024);
+            assertThat(backup.getVerifyError()).isNull();
+            verify(backupRepository).recordVerification(backup.getId(), Backup.VERIFY_STATUS_PASSED, null,
+                    backup.getVerifyDurationSeconds(), 12, 34000L, 10L * 1024 * 1024);
+            // Only the verification columns are written, never the whole (possibly stale) entity
+            verify(backupRepository, never()).save(any());
+            verify(sshService).executeCommand(eq("10.0.0.2"), contains("2>&1; rm -rf /data/verify-"), anyInt());
+        }
+
+        @Test
+        @DisplayName("should fail without restoring when the replica lacks disk space")
+        void failsOnLowDisk() {
+            Backup backup = createCompletedBackup(createCluster(3));
+            backup.setVerifyStatus(Backup.VERIFY_STATUS_RUNNING);
+            VpsNode replica = VpsNode.builder().name("node-2").publicIp("10.0.0.2").build();
+
+            when(backupRepository.findById(backup.getId())).thenReturn(Optional.of(backup));
+            when(patroniService.findBestReplica(any(), anyLong())).thenReturn(replica);
+            when(pgBackRestService.getBackupDatabaseSize(anyString(), eq(replica), any())).thenReturn(10_000L);
+            when(sshService.executeCommand(anyString(), anyString(), anyInt())).thenReturn(result("15000"));
+
+            verificationService.verifyBackup(backup.getId());
+
+            assertThat(backup.getVerifyStatus()).isEqualTo(Backup.VERIFY_STATUS_FAILED);
+            assertThat(backup.getVerifyError()).contains("Not enough free disk");
+            verify(backupRepository).recordVerification(eq(backup.getId()), eq(Backup.VERIFY_STATUS_FAILED),
+                    contains("Not enough free disk"), anyLong(), isNull(), isNull(), isNull());
+            verify(sshService, never()).executeCommand(anyString(), contains("docker run"), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("verification script")
+    class Script {
+
+        @Test
+        @DisplayName("should restore the backup set and run pg_amcheck on a private socket")
+        void buildsScript() {
+            String script = verificationService.buildVerifyScript("test-cluster", "20260110-020000F", "16");
+
+            assertThat(script)
+                    .contains("pgbackrest --stanza=test-cluster --set=20260110-020000F")
+                    .contains("--type=immediate --target-action=promote restore")
+                    .contains("/usr/lib/postgresql/16/bin")
+                    .contains("listen_addresses=''")
+                    .contains("pg_amcheck\" -h /verify -p 54329")
+                    .contains("status=passed");
+        }
+
+        @Test
+        @DisplayName("should reject unsafe arguments")
+        void rejectsUnsafeArguments() {
+            assertThatThrownBy(() -> verificationService.buildVerifyScript("x; rm -rf /", "20260110-020000F", "16"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> verificationService.buildVerifyScript("test", "$(id)", "16"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should parse passed and failed results")
+        void parsesResults() {
+            BackupVerificationService.VerifyResult failed = verificationService.parseVerifyResult(
+                    "restore_seconds=50\nerror=pg_amcheck reported problems: heap table \"t\" block 3\nstatus=failed");
+
+            assertThat(failed.passed()).isFalse();
+            assertThat(failed.restoreSeconds()).isEqualTo(50L);
+            assertThat(failed.error()).startsWith("pg_amcheck reported problems");
+            assertThat(verificationService.parseVerifyResult("garbage").error()).isNotNull();
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private static SshService.CommandResult result(String stdout) {
+        return new SshService.CommandResult(0, stdout, "");
+    }
+
+    private Cluster createCluster(int nodeCount) {
+        return Cluster.builder()
+                .id(UUID.randomUUID())
+                .slug("test-cluster")
+                .status(Cluster.STATUS_RUNNING)
+                .nodeCount(nodeCount)
+                .nodeSize("cx23")
+                .postgresVersion("16")
+                .build();
+    }
+
+    private Backup createCompletedBackup(Cluster cluster) {
+        return Backup.builder()
+                .id(UUID.randomUUID())
+                .cluster(cluster)
+                .type(Backup.TYPE_SCHEDULED_DAILY)
+                .status(Backup.STATUS_COMPLETED)
+                .pgbackrestLabel("20260110-020000F")
+                .completedAt(Instant.now().minusSeconds(3600))
+                .build();
+    }
+}
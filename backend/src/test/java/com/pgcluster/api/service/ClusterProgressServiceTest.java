@@ -1,14 +1,17 @@
 package com.pgcluster.api.service;
 
+import com.pgcluster.api.event.ClusterStatusChangedEvent;
 import com.pgcluster.api.model.entity.Cluster;
 import com.pgcluster.api.repository.ClusterRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +25,7 @@ import static org.mockito.Mockito.*;
 class ClusterProgressServiceTest {
 
     @Mock private ClusterRepository clusterRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ClusterProgressService clusterProgressService;
@@ -81,6 +85,10 @@ class ClusterProgressServiceTest {
             assertThat(cluster.getStatus()).isEqualTo(Cluster.STATUS_ERROR);
             assertThat(cluster.getErrorMessage()).isEqualTo("SSH failed");
             verify(clusterRepository).save(cluster);
+            ArgumentCaptor<ClusterStatusChangedEvent> event = ArgumentCaptor.forClass(ClusterStatusChangedEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertThat(event.getValue().getStatus()).isEqualTo(Cluster.STATUS_ERROR);
+            assertThat(event.getValue().isCreated()).isFalse();
         }
 
         @Test
@@ -99,6 +107,7 @@ class ClusterProgressServiceTest {
 
             assertThat(cluster.getStatus()).isEqualTo(Cluster.STATUS_DELETING);
             verify(clusterRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any());
         }
 
         @Test
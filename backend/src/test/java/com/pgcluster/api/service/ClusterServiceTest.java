@@ -40,7 +40,7 @@ class ClusterServiceTest {
 
     @Mock private ClusterRepository clusterRepository;
     @Mock private VpsNodeRepository vpsNodeRepository;
-    @Mock private HetznerClient hetznerClient;
+    @Mock private HetznerCatalogService hetznerCatalogService;
     @Mock private ProvisioningService provisioningService;
     @Mock private SshService sshService;
     @Mock private PatroniService patroniService;
@@ -60,7 +60,7 @@ class ClusterServiceTest {
             User user = createTestUser();
             ClusterCreateRequest request = createClusterCreateRequest();
 
-            when(hetznerClient.getAvailableLocationsForServerType("cx23"))
+            when(hetznerCatalogService.getAvailableLocations("cx23"))
                     .thenReturn(Set.of("fsn1", "nbg1", "hel1"));
             when(clusterRepository.existsBySlug(any())).thenReturn(false);
             when(clusterRepository.saveAndFlush(any(Cluster.class))).thenAnswer(inv -> {
@@ -84,7 +84,7 @@ class ClusterServiceTest {
             ClusterCreateRequest request = createClusterCreateRequest();
             request.setSlug("my-cluster");
 
-            when(hetznerClient.getAvailableLocationsForServerType("cx23"))
+            when(hetznerCatalogService.getAvailableLocations("cx23"))
                     .thenReturn(Set.of("fsn1"));
             when(clusterRepository.existsBySlug("my-cluster")).thenReturn(true);
 
@@ -100,7 +100,7 @@ class ClusterServiceTest {
             ClusterCreateRequest request = createClusterCreateRequest();
             request.setNodeRegions(List.of("invalid-region"));
 
-            when(hetznerClient.getAvailableLocationsForServerType("cx23"))
+            when(hetznerCatalogService.getAvailableLocations("cx23"))
                     .thenReturn(Set.of("fsn1", "nbg1"));
 
             assertThatThrownBy(() -> clusterService.createCluster(request, user))
@@ -117,7 +117,7 @@ class ClusterServiceTest {
             User user = createTestUser();
             ClusterCreateRequest request = createClusterCreateRequest();
 
-            when(hetznerClient.getAvailableLocationsForServerType("cx23"))
+            when(hetznerCatalogService.getAvailableLocations("cx23"))
                     .thenReturn(Set.of("fsn1"));
             when(clusterRepository.existsBySlug(any())).thenReturn(false);
             when(clusterRepository.saveAndFlush(any(Cluster.class))).thenAnswer(inv -> {
@@ -141,7 +141,7 @@ class ClusterServiceTest {
             User user = createTestUser();
             ClusterCreateRequest request = createClusterCreateRequest();
 
-            when(hetznerClient.getAvailableLocationsForServerType("cx23"))
+            when(hetznerCatalogService.getAvailableLocations("cx23"))
                     .thenReturn(Set.of("fsn1"));
             when(clusterRepository.existsBySlug(any())).thenReturn(false);
             when(clusterRepository.saveAndFlush(any(Cluster.class))).thenAnswer(inv -> {
@@ -340,8 +340,8 @@ class ClusterServiceTest {
             loc.setCity("Falkenstein");
             loc.setCountry("DE");
 
-            when(hetznerClient.getLocations()).thenReturn(List.of(loc));
-            when(hetznerClient.getAvailableLocationsForServerType("cx23")).thenReturn(Set.of("fsn1"));
+            when(hetznerCatalogService.getLocations()).thenReturn(List.of(loc));
+            when(hetznerCatalogService.getAvailableLocations("cx23")).thenReturn(Set.of("fsn1"));
 
             var result = clusterService.getAvailableLocations("cx23");
 
@@ -360,8 +360,8 @@ class ClusterServiceTest {
             loc.setCity("Falkenstein");
             loc.setCountry("DE");
 
-            when(hetznerClient.getLocations()).thenReturn(List.of(loc));
-            when(hetznerClient.getAvailableLocationsForServerType("cx23"))
+            when(hetznerCatalogService.getLocations()).thenReturn(List.of(loc));
+            when(hetznerCatalogService.getAvailableLocations("cx23"))
                     .thenThrow(new RuntimeException("API error"));
 
             var result = clusterService.getAvailableLocations("cx23");
@@ -384,9 +384,9 @@ class ClusterServiceTest {
             sharedInfo.setMemory(4);
             sharedInfo.setDisk(40);
 
-            when(hetznerClient.getServerType("cx23")).thenReturn(sharedInfo);
-            when(hetznerClient.getServerType(argThat(n -> !n.equals("cx23")))).thenThrow(new RuntimeException("Not found"));
-            when(hetznerClient.getAvailableLocationsForServerType("cx23")).thenReturn(Set.of("fsn1", "nbg1"));
+            when(hetznerCatalogService.getServerType("cx23")).thenReturn(sharedInfo);
+            when(hetznerCatalogService.getServerType(argThat(n -> !n.equals("cx23")))).thenThrow(new RuntimeException("Not found"));
+            when(hetznerCatalogService.getAvailableLocations("cx23")).thenReturn(Set.of("fsn1", "nbg1"));
 
             var response = clusterService.getServerTypes();
 
@@ -399,7 +399,7 @@ class ClusterServiceTest {
         @Test
         @DisplayName("should skip server types that fail to fetch")
         void shouldSkipFailedTypes() {
-            when(hetznerClient.getServerType(anyString())).thenThrow(new RuntimeException("API error"));
+            when(hetznerCatalogService.getServerType(anyString())).thenThrow(new RuntimeException("API error"));
 
             var response = clusterService.getServerTypes();
 
@@ -413,7 +413,7 @@ class ClusterServiceTest {
     class ParseHetznerError {
 
         private void setupCreateClusterToFail(String errorMessage) {
-            when(hetznerClient.getAvailableLocationsForServerType("cx23"))
+            when(hetznerCatalogService.getAvailableLocations("cx23"))
                     .thenReturn(Set.of("fsn1"));
             when(clusterRepository.existsBySlug(any())).thenReturn(false);
             when(clusterRepository.saveAndFlush(any(Cluster.class))).thenAnswer(inv -> {
@@ -503,7 +503,7 @@ class ClusterServiceTest {
             User user = createTestUser();
             ClusterCreateRequest request = createClusterCreateRequest();
 
-            when(hetznerClient.getAvailableLocationsForServerType("cx23"))
+            when(hetznerCatalogService.getAvailableLocations("cx23"))
                     .thenReturn(Set.of("fsn1"));
             when(clusterRepository.existsBySlug(any())).thenReturn(false);
             when(clusterRepository.saveAndFlush(any(Cluster.class))).thenAnswer(inv -> {
@@ -531,7 +531,7 @@ class ClusterServiceTest {
             ClusterCreateRequest request = createClusterCreateRequest();
             request.setName("a-very-long-cluster-name-that-exceeds-the-fifty-character-limit-for-slugs");
 
-            when(hetznerClient.getAvailableLocationsForServerType("cx23"))
+            when(hetznerCatalogService.getAvailableLocations("cx23"))
                     .thenReturn(Set.of("fsn1"));
             when(clusterRepository.existsBySlug(any())).thenReturn(false);
             when(clusterRepository.saveAndFlush(any(Cluster.class))).thenAnswer(inv -> {
@@ -683,13 +683,13 @@ class ClusterServiceTest {
             loc.setCity("Falkenstein");
             loc.setCountry("DE");
 
-            when(hetznerClient.getLocations()).thenReturn(List.of(loc));
-            when(hetznerClient.getAvailableLocationsForServerType("cx23")).thenReturn(Set.of("fsn1"));
+            when(hetznerCatalogService.getLocations()).thenReturn(List.of(loc));
+            when(hetznerCatalogService.getAvailableLocations("cx23")).thenReturn(Set.of("fsn1"));
 
             var result = clusterService.getAvailableLocations();
 
             assertThat(result).hasSize(1);
-            verify(hetznerClient).getAvailableLocationsForServerType("cx23");
+            verify(hetznerCatalogService).getAvailableLocations("cx23");
         }
     }
 
@@ -0,0 +1,218 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.client.CloudflareClient;
+import com.pgcluster.api.client.HetznerClient;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.model.entity.VpsNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ClusterTeardownService")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ClusterTeardownServiceTest {
+
+    @Mock private HetznerClient hetznerClient;
+    @Mock private CloudflareClient cloudflareClient;
+    @Mock private S3StorageService s3StorageService;
+    @Mock private HostKeyVerifier hostKeyVerifier;
+
+    private ExecutorService executor;
+    private ClusterTeardownService teardownService;
+    private Cluster cluster;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        teardownService = new ClusterTeardownService(hetznerClient, cloudflareClient, s3StorageService,
+                hostKeyVerifier, executor);
+        ReflectionTestUtils.setField(teardownService, "baseDomain", "db.example.com");
+        ReflectionTestUtils.setField(teardownService, "purgeStorage", true);
+        ReflectionTestUtils.setField(teardownService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(teardownService, "retryBackoffMs", 0L);
+        ReflectionTestUtils.setField(teardownService, "timeoutSeconds", 10L);
+
+        cluster = Cluster.builder().id(UUID.randomUUID()).slug("my-cluster").build();
+        when(s3StorageService.isConfigured()).thenReturn(true);
+        when(hetznerClient.listServersByLabel("cluster=my-cluster")).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private VpsNode node(Long hetznerId, String ip) {
+        VpsNode node = new VpsNode();
+        node.setHetznerId(hetznerId);
+        node.setPublicIp(ip);
+        return node;
+    }
+
+    @Nested
+    @DisplayName("teardown")
+    class Teardown {
+
+        @Test
+        @DisplayName("should remove servers, DNS, S3 prefixes and host keys")
+        void shouldRemoveEverything() {
+            CloudflareClient.DnsRecord record = new CloudflareClient.DnsRecord();
+            record.setId("rec-1");
+            when(cloudflareClient.findDnsRecord("my-cluster.db.example.com")).thenReturn(record);
+
+            ClusterTeardownService.Result result = teardownService.teardown(cluster,
+                    List.of(node(1L, "10.0.0.1"), node(2L, "10.0.0.2")));
+
+            assertThat(result.isClean()).isTrue();
+            assertThat(result.completed()).containsExactlyInAnyOrder("server 1", "server 2", "orphan sweep",
+                    "dns", "host keys", ClusterTeardownService.STEP_PGBACKREST, ClusterTeardownService.STEP_EXPORTS);
+            verify(hetznerClient).deleteServer(1L);
+            verify(hetznerClient).deleteServer(2L);
+            verify(cloudflareClient).deleteDnsRecord("rec-1");
+            verify(s3StorageService).deleteDirectory("pgbackrest/" + cluster.getId() + "/");
+            verify(s3StorageService).deleteDirectory("exports/" + cluster.getId() + "/");
+            verify(hostKeyVerifier).removeHost("10.0.0.1");
+            verify(hostKeyVerifier).removeHost("10.0.0.2");
+        }
+
+        @Test
+        @DisplayName("should run server deletes concurrently")
+        void shouldRunConcurrently() throws InterruptedException {
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            doAnswer(invocation -> {
+                bothStarted.countDown();
+                // Only returns once the other delete is running too
+                if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("deletes ran sequentially");
+                }
+                return null;
+            }).when(hetznerClient).deleteServer(anyLong());
+
+            ClusterTeardownService.Result result = teardownService.teardown(cluster,
+                    List.of(node(1L, null), node(2L, null)));
+
+            assertThat(result.isClean()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should delete servers found only by label, once")
+        void shouldSweepOrphans() {
+            HetznerClient.ServerResponse known = new HetznerClient.ServerResponse();
+            known.setId(1L);
+            HetznerClient.ServerResponse orphan = new HetznerClient.ServerResponse();
+            orphan.setId(3L);
+            orphan.setName("my-cluster-node-3");
+            when(hetznerClient.listServersByLabel("cluster=my-cluster")).thenReturn(List.of(known, orphan));
+
+            teardownService.teardown(cluster, List.of(node(1L, null)));
+
+            verify(hetznerClient, times(1)).deleteServer(1L);
+            verify(hetznerClient, times(1)).deleteServer(3L);
+        }
+
+        @Test
+        @DisplayName("should treat servers that are already gone as deleted")
+        void shouldTreatNotFoundAsDeleted() {
+            doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null))
+                    .when(hetznerClient).deleteServer(1L);
+
+            ClusterTeardownService.Result result = teardownService.teardown(cluster, List.of(node(1L, null)));
+
+            assertThat(result.succeeded("server 1")).isTrue();
+            verify(hetznerClient, times(1)).deleteServer(1L);
+        }
+
+        @Test
+        @DisplayName("should retry a failing step and succeed")
+        void shouldRetry() {
+            doThrow(new ResourceAccessException("timeout"))
+                    .doNothing()
+                    .when(s3StorageService).deleteDirectory(startsWith("pgbackrest/"));
+
+            ClusterTeardownService.Result result = teardownService.teardown(cluster, List.of());
+
+            assertThat(result.succeeded(ClusterTeardownService.STEP_PGBACKREST)).isTrue();
+            verify(s3StorageService, times(2)).deleteDirectory(startsWith("pgbackrest/"));
+        }
+
+        @Test
+        @DisplayName("should report failed steps without stopping the others")
+        void shouldAggregateFailures() {
+            doThrow(new RuntimeException("hetzner down")).when(hetznerClient).deleteServer(1L);
+            when(cloudflareClient.findDnsRecord(anyString())).thenThrow(new RuntimeException("cloudflare down"));
+
+            ClusterTeardownService.Result result = teardownService.teardown(cluster,
+                    List.of(node(1L, null), node(2L, null)));
+
+            assertThat(result.isClean()).isFalse();
+            assertThat(result.failed()).containsOnlyKeys("server 1", "dns",
+                    ClusterTeardownService.STEP_PGBACKREST, ClusterTeardownService.STEP_EXPORTS);
+            assertThat(result.failed().get("server 1")).isEqualTo("hetzner down");
+            assertThat(result.succeeded("server 2")).isTrue();
+            verify(hetznerClient, times(3)).deleteServer(1L);
+        }
+
+        @Test
+        @DisplayName("should keep S3 data while a server may still be running")
+        void shouldKeepStorageWhenServerDeleteFails() {
+            doThrow(new RuntimeException("hetzner down")).when(hetznerClient).deleteServer(1L);
+
+            ClusterTeardownService.Result result = teardownService.teardown(cluster, List.of(node(1L, null)));
+
+            assertThat(result.succeeded(ClusterTeardownService.STEP_PGBACKREST)).isFalse();
+            assertThat(result.failed()).containsKey(ClusterTeardownService.STEP_EXPORTS);
+            verify(s3StorageService, never()).deleteDirectory(anyString());
+        }
+
+        @Test
+        @DisplayName("should purge S3 only after every server delete has finished")
+        void shouldPurgeStorageAfterServers() {
+            // A slow delete would let a concurrent purge get ahead of it
+            doAnswer(invocation -> {
+                Thread.sleep(200);
+                return null;
+            }).when(hetznerClient).deleteServer(1L);
+
+            teardownService.teardown(cluster, List.of(node(1L, null)));
+
+            InOrder inOrder = inOrder(hetznerClient, s3StorageService);
+            inOrder.verify(hetznerClient).deleteServer(1L);
+            inOrder.verify(s3StorageService).deleteDirectory(startsWith("pgbackrest/"));
+        }
+
+        @Test
+        @DisplayName("should leave S3 alone when purging is disabled")
+        void shouldSkipStorageWhenDisabled() {
+            ReflectionTestUtils.setField(teardownService, "purgeStorage", false);
+
+            ClusterTeardownService.Result result = teardownService.teardown(cluster, List.of());
+
+            assertThat(result.completed()).doesNotContain(ClusterTeardownService.STEP_PGBACKREST);
+            verify(s3StorageService, never()).deleteDirectory(anyString());
+        }
+    }
+}
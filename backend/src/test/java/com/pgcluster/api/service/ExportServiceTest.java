@@ -1,6 +1,7 @@
 package com.pgcluster.api.service;
 
 import com.pgcluster.api.event.ExportCreatedEvent;
+import com.pgcluster.api.model.dto.ExportRequest;
 import com.pgcluster.api.model.entity.AuditLog;
 import com.pgcluster.api.model.entity.Cluster;
 import com.pgcluster.api.model.entity.Export;
@@ -19,12 +20,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalMatchers.and;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.spy;
@@ -75,6 +79,76 @@ class ExportServiceTest {
             verify(auditLogService).logAsync(eq(AuditLog.EXPORT_INITIATED), eq(user), eq("export"), any(), any(), any(), any());
         }
 
+        @Test
+        @DisplayName("should create export with requested directory format")
+        void shouldCreateDirectoryExport() {
+            User user = createTestUser();
+            Cluster cluster = createRunningCluster();
+
+            when(s3StorageService.isConfigured()).thenReturn(true);
+            when(clusterRepository.findByIdAndUser(cluster.getId(), user)).thenReturn(Optional.of(cluster));
+            when(exportRepository.findByClusterAndStatusOrderByCreatedAtDesc(eq(cluster), anyString()))
+                    .thenReturn(List.of());
+            when(exportRepository.save(any(Export.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            Export result = exportService.createExport(cluster.getId(), user,
+                    ExportRequest.builder().format(Export.FORMAT_DIRECTORY).build());
+
+            assertThat(result.getFormat()).isEqualTo(Export.FORMAT_DIRECTORY);
+        }
+
+        @Test
+        @DisplayName("should continue an incremental export from the last completed high-water mark")
+        void shouldContinueFromLastWatermark() {
+            User user = createTestUser();
+            Cluster cluster = createRunningCluster();
+            Export previous = createExport(Export.STATUS_COMPLETED);
+            previous.setWatermarkTo("1500");
+
+            when(s3StorageService.isConfigured()).thenReturn(true);
+            when(clusterRepository.findByIdAndUser(cluster.getId(), user)).thenReturn(Optional.of(cluster));
+            when(exportRepository.findByClusterAndStatusOrderByCreatedAtDesc(eq(cluster), anyString()))
+                    .thenReturn(List.of());
+            when(exportRepository.findFirstByClusterAndIncludeTablesAndWatermarkColumnAndStatusOrderByCreatedAtDesc(
+                    cluster, "public.events", "id", Export.STATUS_COMPLETED)).thenReturn(Optional.of(previous));
+            when(exportRepository.save(any(Export.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            Export result = exportService.createExport(cluster.getId(), user, ExportRequest.builder()
+                    .tables(List.of("public.events"))
+                    .watermarkColumn("id")
+                    .build());
+
+            assertThat(result.getFormat()).isEqualTo(Export.FORMAT_CSV);
+            assertThat(result.getIncludeTables()).isEqualTo("public.events");
+            assertThat(result.getWatermarkFrom()).isEqualTo("1500");
+        }
+
+        @Test
+        @DisplayName("should reject unsafe table names and multi-table incremental exports")
+        void shouldRejectInvalidScope() {
+            User user = createTestUser();
+            Cluster cluster = createRunningCluster();
+
+            when(s3StorageService.isConfigured()).thenReturn(true);
+            when(clusterRepository.findByIdAndUser(cluster.getId(), user)).thenReturn(Optional.of(cluster));
+            when(exportRepository.findByClusterAndStatusOrderByCreatedAtDesc(eq(cluster), anyString()))
+                    .thenReturn(List.of());
+
+            assertThatThrownBy(() -> exportService.createExport(cluster.getId(), user,
+                    ExportRequest.builder().tables(List.of("orders; rm -rf /")).build()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Invalid schema or table name");
+
+            assertThatThrownBy(() -> exportService.createExport(cluster.getId(), user, ExportRequest.builder()
+                    .tables(List.of("orders", "events"))
+                    .watermarkColumn("id")
+                    .build()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("exactly one table");
+
+            verify(exportRepository, never()).save(any());
+        }
+
         @Test
         @DisplayName("should throw when S3 not configured")
         void shouldThrowWhenS3NotConfigured() {
@@ -647,6 +721,499 @@ class ExportServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("executeExport (streaming)")
+    class ExecuteStreamingExport {
+
+        private static final String UPLOAD_ID = "upload-1";
+
+        @BeforeEach
+        void setUpFields() {
+            ReflectionTestUtils.setField(exportService, "exportTimeoutMs", 5000);
+            ReflectionTestUtils.setField(exportService, "downloadExpiryHours", 24);
+            ReflectionTestUtils.setField(exportService, "streamingEnabled", true);
+            ReflectionTestUtils.setField(exportService, "partSizeMb", 64);
+            ReflectionTestUtils.setField(exportService, "uploadConcurrency", 3);
+            ReflectionTestUtils.setField(exportService, "pollIntervalMs", 0L);
+            ReflectionTestUtils.setField(exportService, "directoryMaxJobs", 8);
+            ReflectionTestUtils.setField(exportService, "zstdLevel", 3);
+            ReflectionTestUtils.setField(exportService, "watermarkLagSeconds", 300L);
+        }
+
+        @Test
+        @DisplayName("should stream parts, report bytes uploaded and complete the multipart upload")
+        void shouldStreamAndComplete() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setCluster(createRunningCluster());
+            stubLeader(exportId, export);
+
+            when(sshService.executeCommand(anyString(), anyString(), anyInt())).thenAnswer(inv -> {
+                String command = inv.getArgument(1);
+                if (command.contains("pg_database_size")) {
+                    return new SshService.CommandResult(0, "104857600", "");
+                }
+                if (command.contains("echo running")) {
+                    return new SshService.CommandResult(0, "0\n3145728", "");
+                }
+                return new SshService.CommandResult(0, "", "");
+            });
+            when(s3StorageService.createMultipartUpload(anyString())).thenReturn(UPLOAD_ID);
+            when(s3StorageService.generatePresignedUploadPartUrls(anyString(), eq(UPLOAD_ID), anyInt(), any()))
+                    .thenReturn(List.of("https://s3.example.com/part-1", "https://s3.example.com/part-2"));
+            when(s3StorageService.completeMultipartUpload(anyString(), eq(UPLOAD_ID))).thenReturn(1);
+            when(s3StorageService.getFileSize(anyString())).thenReturn(3145728L);
+            when(s3StorageService.generatePresignedUrl(anyString(), anyInt()))
+                    .thenReturn("https://s3.example.com/download-url");
+
+            exportService.executeExport(exportId);
+
+            assertThat(export.getStatus()).isEqualTo(Export.STATUS_COMPLETED);
+            assertThat(export.getSizeBytes()).isEqualTo(3145728L);
+            assertThat(export.getBytesUploaded()).isEqualTo(3145728L);
+            verify(sshService).uploadContent(eq("10.0.0.1"),
+                    eq("https://s3.example.com/part-1\nhttps://s3.example.com/part-2\n"), endsWith("/urls"));
+            verify(s3StorageService, never()).abortMultipartUpload(anyString(), anyString());
+            // Nothing is written to a temp file inside the container
+            verify(sshService, never()).executeCommand(anyString(), contains("/tmp/export.sql.gz"), anyInt());
+        }
+
+        @Test
+        @DisplayName("should abort the multipart upload and mark failed when the pipeline fails")
+        void shouldAbortWhenPipelineFails() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setCluster(createRunningCluster());
+            stubLeader(exportId, export);
+
+            when(sshService.executeCommand(anyString(), anyString(), anyInt())).thenAnswer(inv -> {
+                String command = inv.getArgument(1);
+                if (command.contains("echo running")) {
+                    return new SshService.CommandResult(0, "1\n0", "");
+                }
+                if (command.contains("pg_dump_err.log")) {
+                    return new SshService.CommandResult(0, "pg_dump: connection refused", "");
+                }
+                return new SshService.CommandResult(0, "", "");
+            });
+            when(s3StorageService.createMultipartUpload(anyString())).thenReturn(UPLOAD_ID);
+            when(s3StorageService.generatePresignedUploadPartUrls(anyString(), eq(UPLOAD_ID), anyInt(), any()))
+                    .thenReturn(List.of("https://s3.example.com/part-1"));
+
+            assertThatThrownBy(() -> exportService.executeExport(exportId))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("pg_dump: connection refused");
+
+            assertThat(export.getStatus()).isEqualTo(Export.STATUS_FAILED);
+            verify(s3StorageService).abortMultipartUpload(anyString(), eq(UPLOAD_ID));
+            verify(s3StorageService, never()).completeMultipartUpload(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("should stop pg_dump inside the container when the pipeline times out")
+        void shouldKillRemoteDumpOnTimeout() {
+            ReflectionTestUtils.setField(exportService, "exportTimeoutMs", 0);
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setCluster(createRunningCluster());
+            stubLeader(exportId, export);
+
+            when(sshService.executeCommand(anyString(), anyString(), anyInt())).thenAnswer(inv -> {
+                String command = inv.getArgument(1);
+                if (command.contains("echo running")) {
+                    return new SshService.CommandResult(0, "running\n0", "");
+                }
+                return new SshService.CommandResult(0, "", "");
+            });
+            when(s3StorageService.createMultipartUpload(anyString())).thenReturn(UPLOAD_ID);
+            when(s3StorageService.generatePresignedUploadPartUrls(anyString(), eq(UPLOAD_ID), anyInt(), any()))
+                    .thenReturn(List.of("https://s3.example.com/part-1"));
+
+            assertThatThrownBy(() -> exportService.executeExport(exportId))
+                    .hasMessageContaining("timed out");
+
+            String pidFile = "/tmp/pgcluster-export-" + export.getId() + ".pid";
+            verify(sshService).uploadContent(eq("10.0.0.1"),
+                    contains("sh -c 'echo $$ > " + pidFile + " && exec pg_dump"), endsWith("/run.sh"));
+            verify(sshService).executeCommand(eq("10.0.0.1"),
+                    contains("docker exec patroni sh -c 'kill $(cat " + pidFile + ")"), anyInt());
+            verify(s3StorageService).abortMultipartUpload(anyString(), eq(UPLOAD_ID));
+        }
+
+        @Test
+        @DisplayName("should grow parts for very large databases and size URLs to the estimate")
+        void shouldPlanParts() {
+            ExportService.PartPlan small = exportService.planParts(100L * 1024 * 1024);
+            assertThat(small.partSizeBytes()).isEqualTo(64L * 1024 * 1024);
+            assertThat(small.partCount()).isEqualTo(16);
+
+            ExportService.PartPlan large = exportService.planParts(2L * 1024 * 1024 * 1024 * 1024);
+            assertThat(large.partSizeBytes()).isGreaterThan(64L * 1024 * 1024);
+            assertThat(large.partCount()).isLessThanOrEqualTo(ExportService.MAX_PARTS);
+
+            assertThat(exportService.planParts(0).partCount()).isEqualTo(ExportService.MAX_PARTS);
+        }
+
+        @Test
+        @DisplayName("should dump directory format with parallel jobs and zstd into a tar archive")
+        void shouldStreamDirectoryFormat() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setFormat(Export.FORMAT_DIRECTORY);
+            export.setCluster(createRunningCluster());
+            stubLeader(exportId, export);
+
+            when(sshService.executeCommand(anyString(), anyString(), anyInt())).thenAnswer(inv -> {
+                String command = inv.getArgument(1);
+                if (command.equals("nproc")) {
+                    return new SshService.CommandResult(0, "4", "");
+                }
+                if (command.contains("echo running")) {
+                    return new SshService.CommandResult(0, "0\n1048576", "");
+                }
+                return new SshService.CommandResult(0, "", "");
+            });
+            when(s3StorageService.createMultipartUpload(anyString())).thenReturn(UPLOAD_ID);
+            when(s3StorageService.generatePresignedUploadPartUrls(anyString(), eq(UPLOAD_ID), anyInt(), any()))
+                    .thenReturn(List.of("https://s3.example.com/part-1"));
+            when(s3StorageService.completeMultipartUpload(anyString(), eq(UPLOAD_ID))).thenReturn(1);
+            when(s3StorageService.getFileSize(anyString())).thenReturn(1048576L);
+            when(s3StorageService.generatePresignedUrl(anyString(), anyInt()))
+                    .thenReturn("https://s3.example.com/download-url");
+
+            exportService.executeExport(exportId);
+
+            assertThat(export.getStatus()).isEqualTo(Export.STATUS_COMPLETED);
+            assertThat(export.getS3Path()).endsWith(".tar");
+            verify(sshService).uploadContent(eq("10.0.0.1"),
+                    argThat(script -> script.contains("-Fd -j 4 --compress=zstd:3")
+                            && script.contains("-f /var/lib/pgcluster/export-staging/export-" + export.getId())
+                            && script.contains("tar -C")
+                            && script.contains("docker exec patroni rm -rf /var/lib/pgcluster/export-staging/export-"
+                                    + export.getId() + "; exit $rc")),
+                    endsWith("/run.sh"));
+            // Staged outside PGDATA, where backups and replica clones would pick it up
+            verify(sshService, never()).uploadContent(anyString(), contains("/var/lib/postgresql/data"), anyString());
+        }
+
+        @Test
+        @DisplayName("should fail a directory export on a node without the staging volume")
+        void shouldFailDirectoryExportWithoutStagingVolume() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setFormat(Export.FORMAT_DIRECTORY);
+            export.setCluster(createRunningCluster());
+            stubLeader(exportId, export);
+
+            when(sshService.executeCommand(anyString(), anyString(), anyInt())).thenAnswer(inv -> {
+                String command = inv.getArgument(1);
+                if (command.contains("test -w /var/lib/pgcluster/export-staging")) {
+                    return new SshService.CommandResult(1, "", "");
+                }
+                return new SshService.CommandResult(0, "", "");
+            });
+            when(s3StorageService.createMultipartUpload(anyString())).thenReturn(UPLOAD_ID);
+            when(s3StorageService.generatePresignedUploadPartUrls(anyString(), eq(UPLOAD_ID), anyInt(), any()))
+                    .thenReturn(List.of("https://s3.example.com/part-1"));
+
+            assertThatThrownBy(() -> exportService.executeExport(exportId))
+                    .hasMessageContaining("export staging volume");
+
+            assertThat(export.getStatus()).isEqualTo(Export.STATUS_FAILED);
+            verify(sshService, never()).uploadContent(anyString(), anyString(), endsWith("/run.sh"));
+            verify(s3StorageService).abortMultipartUpload(anyString(), eq(UPLOAD_ID));
+        }
+
+        @Test
+        @DisplayName("should pass table and schema filters to pg_dump")
+        void shouldScopePlainDump() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setIncludeSchemas("billing");
+            export.setIncludeTables("public.orders,public.order_*");
+            export.setCluster(createRunningCluster());
+            stubLeader(exportId, export);
+            stubCompletedPipeline();
+
+            exportService.executeExport(exportId);
+
+            verify(sshService).uploadContent(eq("10.0.0.1"),
+                    argThat(script -> script.contains("-n \"billing\" -t \"public.orders\" -t \"public.order_*\" postgres")),
+                    endsWith("/run.sh"));
+        }
+
+        @Test
+        @DisplayName("should ship the rows above the previous watermark as CSV and record the new mark")
+        void shouldExportDeltaAsCsv() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setFormat(Export.FORMAT_CSV);
+            export.setIncludeTables("public.events");
+            export.setWatermarkColumn("id");
+            export.setWatermarkFrom("1500");
+            export.setCluster(createRunningCluster());
+            stubLeader(exportId, export);
+            stubCompletedPipeline();
+            when(sshService.executeCommand(anyString(), contains("grep -m1 '^PGCLUSTER_WATERMARK'"), anyInt()))
+                    .thenReturn(new SshService.CommandResult(0, "PGCLUSTER_WATERMARK 2750\n", ""));
+
+            exportService.executeExport(exportId);
+
+            assertThat(export.getStatus()).isEqualTo(Export.STATUS_COMPLETED);
+            assertThat(export.getWatermarkTo()).isEqualTo("2750");
+            assertThat(export.getS3Path()).endsWith(".csv.gz");
+            verify(sshService).uploadContent(eq("10.0.0.1"),
+                    argThat(script -> script.startsWith("BEGIN ISOLATION LEVEL REPEATABLE READ;")
+                            && script.contains("SELECT * FROM public.events WHERE id > '1500' AND id <= :'watermark' ORDER BY id")
+                            && script.contains("\\warn PGCLUSTER_WATERMARK :watermark")),
+                    endsWith("/delta.sql"));
+        }
+
+        @Test
+        @DisplayName("should keep the previous watermark when no rows qualified")
+        void shouldKeepWatermarkWhenNoRows() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setFormat(Export.FORMAT_CSV);
+            export.setIncludeTables("public.events");
+            export.setWatermarkColumn("id");
+            export.setWatermarkFrom("1500");
+            export.setCluster(createRunningCluster());
+            stubLeader(exportId, export);
+            stubCompletedPipeline();
+            when(sshService.executeCommand(anyString(), contains("grep -m1 '^PGCLUSTER_WATERMARK'"), anyInt()))
+                    .thenReturn(new SshService.CommandResult(0, "PGCLUSTER_WATERMARK \n", ""));
+
+            exportService.executeExport(exportId);
+
+            assertThat(export.getStatus()).isEqualTo(Export.STATUS_COMPLETED);
+            assertThat(export.getWatermarkTo()).isEqualTo("1500");
+        }
+
+        @Test
+        @DisplayName("should fail an incremental export that reported no watermark")
+        void shouldFailWithoutWatermark() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setFormat(Export.FORMAT_CSV);
+            export.setIncludeTables("public.events");
+            export.setWatermarkColumn("id");
+            export.setCluster(createRunningCluster());
+            stubLeader(exportId, export);
+            when(sshService.executeCommand(anyString(), anyString(), anyInt())).thenAnswer(inv -> {
+                String command = inv.getArgument(1);
+                if (command.contains("echo running")) {
+                    return new SshService.CommandResult(0, "0\n1024", "");
+                }
+                if (command.contains("PGCLUSTER_WATERMARK")) {
+                    return new SshService.CommandResult(1, "", "");
+                }
+                return new SshService.CommandResult(0, "", "");
+            });
+            when(s3StorageService.createMultipartUpload(anyString())).thenReturn(UPLOAD_ID);
+            when(s3StorageService.generatePresignedUploadPartUrls(anyString(), eq(UPLOAD_ID), anyInt(), any()))
+                    .thenReturn(List.of("https://s3.example.com/part-1"));
+
+            assertThatThrownBy(() -> exportService.executeExport(exportId))
+                    .hasMessageContaining("did not report its high-water mark");
+
+            assertThat(export.getStatus()).isEqualTo(Export.STATUS_FAILED);
+            assertThat(export.getWatermarkTo()).isNull();
+            verify(s3StorageService).abortMultipartUpload(anyString(), eq(UPLOAD_ID));
+            verify(s3StorageService, never()).completeMultipartUpload(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("should hold a timestamp watermark back by the configured lag")
+        void shouldHoldBackTimestampWatermark() {
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setIncludeTables("audit");
+            export.setWatermarkColumn("created_at");
+            ReflectionTestUtils.setField(exportService, "watermarkLagSeconds", 600L);
+
+            String script = exportService.buildDeltaScript(export);
+
+            assertThat(script).contains("attrelid = 'audit'::regclass AND attname = 'created_at'");
+            assertThat(script).contains("FROM audit WHERE true AND created_at <= now() - interval '600 seconds' \\gset");
+        }
+
+        @Test
+        @DisplayName("should hold other watermarks below rows of transactions still in progress")
+        void shouldHoldBackBelowRunningTransactions() {
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setIncludeTables("public.events");
+            export.setWatermarkColumn("id");
+            export.setWatermarkFrom("it's");
+
+            assertThat(exportService.buildDeltaScript(export))
+                    .contains("FROM public.events WHERE id > 'it''s' AND age(xmin) > age(")
+                    .contains("pg_snapshot_xmin(pg_current_snapshot())")
+                    .contains("COPY (SELECT * FROM public.events WHERE false) TO STDOUT");
+        }
+
+        private void stubCompletedPipeline() {
+            when(sshService.executeCommand(anyString(), anyString(), anyInt())).thenAnswer(inv -> {
+                String command = inv.getArgument(1);
+                if (command.contains("echo running")) {
+                    return new SshService.CommandResult(0, "0\n1024", "");
+                }
+                return new SshService.CommandResult(0, "", "");
+            });
+            when(s3StorageService.createMultipartUpload(anyString())).thenReturn(UPLOAD_ID);
+            when(s3StorageService.generatePresignedUploadPartUrls(anyString(), eq(UPLOAD_ID), anyInt(), any()))
+                    .thenReturn(List.of("https://s3.example.com/part-1"));
+            when(s3StorageService.completeMultipartUpload(anyString(), eq(UPLOAD_ID))).thenReturn(1);
+            when(s3StorageService.getFileSize(anyString())).thenReturn(1024L);
+            when(s3StorageService.generatePresignedUrl(anyString(), anyInt()))
+                    .thenReturn("https://s3.example.com/download-url");
+        }
+
+        private void stubLeader(UUID exportId, Export export) {
+            VpsNode leader = new VpsNode();
+            leader.setPublicIp("10.0.0.1");
+            when(exportRepository.findById(exportId)).thenReturn(Optional.of(export));
+            when(patroniService.findLeaderNode(export.getCluster())).thenReturn(leader);
+            when(exportRepository.save(any(Export.class))).thenAnswer(inv -> inv.getArgument(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("executeExport (from replica)")
+    class ExecuteReplicaExport {
+
+        @BeforeEach
+        void setUpFields() {
+            ReflectionTestUtils.setField(exportService, "exportTimeoutMs", 5000);
+            ReflectionTestUtils.setField(exportService, "downloadExpiryHours", 24);
+            ReflectionTestUtils.setField(exportService, "replicaExportEnabled", true);
+            ReflectionTestUtils.setField(exportService, "replicaMaxLagBytes", 16777216L);
+        }
+
+        @Test
+        @DisplayName("should dump from the best replica with WAL replay paused, then resume replay")
+        void shouldExportFromReplica() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setCluster(createRunningCluster());
+            VpsNode replica = createNode("replica-1", "10.0.0.2");
+            stubLegacyExport(exportId, export);
+            when(patroniService.findBestReplica(export.getCluster(), 16777216L)).thenReturn(replica);
+
+            exportService.executeExport(exportId);
+
+            assertThat(export.getStatus()).isEqualTo(Export.STATUS_COMPLETED);
+            assertThat(export.getSourceNode()).isEqualTo("replica-1");
+            verify(sshService).executeCommand(eq("10.0.0.2"),
+                    and(contains("pg_wal_replay_pause()"), contains("sleep 5;")), anyInt());
+            verify(sshService).executeCommand(eq("10.0.0.2"), contains("pg_dump"), anyInt());
+            verify(sshService).executeCommand(eq("10.0.0.2"),
+                    and(contains("select pg_wal_replay_resume()"), contains("kill $(cat /tmp/wal-replay-watchdog.pid)")),
+                    anyInt());
+            verify(sshService, never()).executeCommand(eq("10.0.0.1"), contains("pg_dump"), anyInt());
+        }
+
+        @Test
+        @DisplayName("should fall back to the primary when no replica qualifies")
+        void shouldFallBackToPrimary() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setCluster(createRunningCluster());
+            stubLegacyExport(exportId, export);
+            when(patroniService.findBestReplica(any(Cluster.class), anyLong())).thenReturn(null);
+
+            exportService.executeExport(exportId);
+
+            assertThat(export.getSourceNode()).isEqualTo("leader-1");
+            verify(sshService).executeCommand(eq("10.0.0.1"), contains("pg_dump"), anyInt());
+            verify(sshService, never()).executeCommand(anyString(), contains("pg_wal_replay"), anyInt());
+        }
+
+        @Test
+        @DisplayName("should export single-node clusters from the primary without asking Patroni")
+        void shouldUsePrimaryForSingleNode() {
+            UUID exportId = UUID.randomUUID();
+            Export export = createExport(Export.STATUS_PENDING);
+            export.setCluster(createRunningCluster());
+            export.getCluster().setNodeCount(1);
+            stubLegacyExport(exportId, export);
+
+            exportService.executeExport(exportId);
+
+            assertThat(export.getSourceNode()).isEqualTo("leader-1");
+            verify(patroniService, never()).findBestReplica(any(Cluster.class), anyLong());
+        }
+
+        private void stubLegacyExport(UUID exportId, Export export) {
+            when(exportRepository.findById(exportId)).thenReturn(Optional.of(export));
+            when(patroniService.findLeaderNode(export.getCluster())).thenReturn(createNode("leader-1", "10.0.0.1"));
+            when(exportRepository.save(any(Export.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(sshService.executeCommand(anyString(), anyString(), anyInt())).thenAnswer(inv -> {
+                String command = inv.getArgument(1);
+                return new SshService.CommandResult(0, command.contains("wc -c") ? "2097152" : "", "");
+            });
+            when(s3StorageService.generatePresignedPutUrl(anyString(), anyInt()))
+                    .thenReturn("https://s3.example.com/put-url");
+            when(s3StorageService.getFileSize(anyString())).thenReturn(2097152L);
+            when(s3StorageService.generatePresignedUrl(anyString(), anyInt()))
+                    .thenReturn("https://s3.example.com/download-url");
+        }
+
+        private VpsNode createNode(String name, String ip) {
+            VpsNode node = new VpsNode();
+            node.setName(name);
+            node.setPublicIp(ip);
+            return node;
+        }
+    }
+
+    @Nested
+    @DisplayName("resumeIdleReplicaReplay")
+    class ResumeIdleReplicaReplay {
+
+        @BeforeEach
+        void setUpFields() {
+            ReflectionTestUtils.setField(exportService, "exportTimeoutMs", 5000);
+        }
+
+        @Test
+        @DisplayName("should resume replay on nodes recent exports left idle")
+        void shouldResumeIdleNodes() {
+            VpsNode replica = new VpsNode();
+            replica.setName("replica-1");
+            replica.setPublicIp("10.0.0.2");
+            when(exportRepository.findIdleExportSourceNodes(any(Instant.class), any(Instant.class)))
+                    .thenReturn(List.of(replica));
+            when(sshService.executeCommand(anyString(), anyString(), anyInt()))
+                    .thenReturn(new SshService.CommandResult(0, "1\n", ""));
+
+            exportService.resumeIdleReplicaReplay(Instant.now().minus(1, ChronoUnit.DAYS));
+
+            verify(sshService).executeCommand(eq("10.0.0.2"),
+                    and(contains("pg_is_wal_replay_paused()"), contains("pg_wal_replay_resume()")), eq(30000));
+        }
+
+        @Test
+        @DisplayName("should leave nodes alone when the lookup fails")
+        void shouldSkipWhenLookupFails() {
+            when(exportRepository.findIdleExportSourceNodes(any(Instant.class), any(Instant.class)))
+                    .thenThrow(new RuntimeException("connection refused"));
+
+            exportService.resumeIdleReplicaReplay(Instant.now());
+
+            verifyNoInteractions(sshService);
+        }
+
+        @Test
+        @DisplayName("should not sweep on a schedule when replica exports are disabled")
+        void shouldSkipSweepWhenDisabled() {
+            ReflectionTestUtils.setField(exportService, "replicaExportEnabled", false);
+
+            exportService.sweepPausedReplicas();
+
+            verifyNoInteractions(exportRepository, sshService);
+        }
+    }
+
     // ==================== Helpers ====================
 
     private User createTestUser() {
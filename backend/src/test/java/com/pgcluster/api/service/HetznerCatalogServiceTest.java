@@ -0,0 +1,166 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.client.HetznerClient;
+import com.pgcluster.api.client.HetznerRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("HetznerCatalogService")
+@ExtendWith(MockitoExtension.class)
+class HetznerCatalogServiceTest {
+
+    @Mock
+    private HetznerClient hetznerClient;
+
+    private HetznerCatalogService catalogService;
+
+    @BeforeEach
+    void setUp() {
+        catalogService = new HetznerCatalogService(hetznerClient, new HetznerRateLimiter(new SimpleMeterRegistry()));
+    }
+
+    @Nested
+    @DisplayName("lookups")
+    class Lookups {
+
+        @Test
+        @DisplayName("should load the catalog once and answer every lookup from memory")
+        void shouldLoadOnce() {
+            stubCatalog();
+            stubDatacenters(datacenter("fsn1", 1L, 2L), datacenter("nbg1", 1L));
+
+            for (int i = 0; i < 3; i++) {
+                assertThat(catalogService.getServerType("cx23").getCores()).isEqualTo(2);
+                assertThat(catalogService.getAvailableLocations("cx23")).containsExactlyInAnyOrder("fsn1", "nbg1");
+                assertThat(catalogService.getAvailableLocations("cx33")).containsExactly("fsn1");
+                assertThat(catalogService.getLocations()).hasSize(2);
+            }
+
+            verify(hetznerClient, times(1)).listServerTypes();
+            verify(hetznerClient, times(1)).getLocations();
+            verify(hetznerClient, times(1)).getDatacenters();
+        }
+
+        @Test
+        @DisplayName("should return no locations for a server type out of stock everywhere")
+        void shouldHandleOutOfStock() {
+            stubCatalog();
+            stubDatacenters(datacenter("fsn1", 2L));
+
+            assertThat(catalogService.getAvailableLocations("cx23")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should throw for unknown server types")
+        void shouldThrowForUnknownType() {
+            stubCatalog();
+
+            assertThatThrownBy(() -> catalogService.getServerType("cx99"))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("cx99");
+        }
+
+        @Test
+        @DisplayName("should retry loading on the next lookup after a failure")
+        void shouldRetryAfterFailure() {
+            when(hetznerClient.listServerTypes())
+                    .thenThrow(new RuntimeException("timeout"))
+                    .thenReturn(List.of(serverType(1L, "cx23", 2)));
+            when(hetznerClient.getLocations()).thenReturn(List.of(location("fsn1")));
+
+            assertThatThrownBy(() -> catalogService.getServerType("cx23")).hasMessage("timeout");
+            assertThat(catalogService.getServerType("cx23").getId()).isEqualTo(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("background refresh")
+    class BackgroundRefresh {
+
+        @Test
+        @DisplayName("should not call Hetzner before the catalog is first used")
+        void shouldSkipWhenUnused() {
+            catalogService.refreshCatalog();
+            catalogService.refreshAvailability();
+
+            verifyNoInteractions(hetznerClient);
+        }
+
+        @Test
+        @DisplayName("should pick up stock changes")
+        void shouldRefreshAvailability() {
+            stubCatalog();
+            when(hetznerClient.getDatacenters())
+                    .thenReturn(List.of(datacenter("fsn1", 1L)))
+                    .thenReturn(List.of(datacenter("hel1", 1L)));
+            assertThat(catalogService.getAvailableLocations("cx23")).containsExactly("fsn1");
+
+            catalogService.refreshAvailability();
+
+            assertThat(catalogService.getAvailableLocations("cx23")).containsExactly("hel1");
+        }
+
+        @Test
+        @DisplayName("should keep serving previous data when a refresh fails")
+        void shouldKeepDataOnFailure() {
+            when(hetznerClient.listServerTypes())
+                    .thenReturn(List.of(serverType(1L, "cx23", 2)))
+                    .thenThrow(new RuntimeException("rate limited"));
+            when(hetznerClient.getLocations()).thenReturn(List.of(location("fsn1")));
+            catalogService.getServerType("cx23");
+
+            catalogService.refreshCatalog();
+
+            assertThat(catalogService.getServerType("cx23").getCores()).isEqualTo(2);
+        }
+    }
+
+    private void stubCatalog() {
+        when(hetznerClient.listServerTypes()).thenReturn(List.of(
+                serverType(1L, "cx23", 2),
+                serverType(2L, "cx33", 4)));
+        lenient().when(hetznerClient.getLocations()).thenReturn(List.of(location("fsn1"), location("nbg1")));
+    }
+
+    private void stubDatacenters(HetznerClient.DatacenterInfo... datacenters) {
+        when(hetznerClient.getDatacenters()).thenReturn(List.of(datacenters));
+    }
+
+    private static HetznerClient.ServerTypeInfo serverType(Long id, String name, int cores) {
+        HetznerClient.ServerTypeInfo info = new HetznerClient.ServerTypeInfo();
+        info.setId(id);
+        info.setName(name);
+        info.setCores(cores);
+        return info;
+    }
+
+    private static HetznerClient.LocationInfo location(String name) {
+        HetznerClient.LocationInfo info = new HetznerClient.LocationInfo();
+        info.setName(name);
+        return info;
+    }
+
+    private static HetznerClient.DatacenterInfo datacenter(String location, Long... availableTypeIds) {
+        HetznerClient.DatacenterLocation dcLocation = new HetznerClient.DatacenterLocation();
+        dcLocation.setName(location);
+        HetznerClient.DatacenterServerTypes serverTypes = new HetznerClient.DatacenterServerTypes();
+        serverTypes.setAvailable(List.of(availableTypeIds));
+        HetznerClient.DatacenterInfo dc = new HetznerClient.DatacenterInfo();
+        dc.setName(location + "-dc1");
+        dc.setLocation(dcLocation);
+        dc.setServerTypes(serverTypes);
+        return dc;
+    }
+}
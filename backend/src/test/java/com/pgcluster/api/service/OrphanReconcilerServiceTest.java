@@ -0,0 +1,297 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.client.CloudflareClient;
+import com.pgcluster.api.client.HetznerClient;
+import com.pgcluster.api.client.HetznerRateLimiter;
+import com.pgcluster.api.repository.BackupRepository;
+import com.pgcluster.api.repository.ClusterRepository;
+import com.pgcluster.api.repository.ExportRepository;
+import com.pgcluster.api.repository.SshHostKeyRepository;
+import com.pgcluster.api.repository.VpsNodeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OrphanReconcilerService")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrphanReconcilerServiceTest {
+
+    @Mock private HetznerClient hetznerClient;
+    @Mock private HetznerCatalogService hetznerCatalogService;
+    @Mock private CloudflareClient cloudflareClient;
+    @Mock private S3StorageService s3StorageService;
+    @Mock private HostKeyVerifier hostKeyVerifier;
+    @Mock private ClusterRepository clusterRepository;
+    @Mock private VpsNodeRepository vpsNodeRepository;
+    @Mock private SshHostKeyRepository sshHostKeyRepository;
+    @Mock private BackupRepository backupRepository;
+    @Mock private ExportRepository exportRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private final UUID liveId = UUID.randomUUID();
+    private final UUID deletedId = UUID.randomUUID();
+    private OrphanReconcilerService reconciler;
+
+    @BeforeEach
+    void setUp() {
+        HetznerRateLimiter rateLimiter = new HetznerRateLimiter(new SimpleMeterRegistry());
+        rateLimiter.init();
+        reconciler = new OrphanReconcilerService(hetznerClient, rateLimiter, hetznerCatalogService,
+                cloudflareClient, s3StorageService, hostKeyVerifier, clusterRepository, vpsNodeRepository,
+                sshHostKeyRepository, backupRepository, exportRepository, jdbcTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(reconciler, "gracePeriodMinutes", 0L);
+        ReflectionTestUtils.setField(reconciler, "baseDomain", "db.example.com");
+        ReflectionTestUtils.setField(reconciler, "purgeStorage", true);
+        reconciler.init();
+
+        when(clusterRepository.findAllSlugs()).thenReturn(List.of("live-abc123", "gone-def456"));
+        when(clusterRepository.findLiveSlugs()).thenReturn(List.of("live-abc123"));
+        when(clusterRepository.findAllIds()).thenReturn(List.of(liveId, deletedId));
+        when(clusterRepository.findLiveIds()).thenReturn(List.of(liveId));
+        when(hetznerClient.listServersByLabel("managed-by=pgcluster")).thenReturn(List.of());
+        when(cloudflareClient.listDnsRecords("A")).thenReturn(List.of());
+        when(s3StorageService.isConfigured()).thenReturn(true);
+        when(s3StorageService.listPrefixes(anyString())).thenReturn(List.of());
+        when(sshHostKeyRepository.findAllHosts()).thenReturn(List.of());
+        when(vpsNodeRepository.findLivePublicIps()).thenReturn(List.of());
+    }
+
+    private HetznerClient.ServerResponse server(long id, String clusterSlug) {
+        HetznerClient.ServerResponse server = new HetznerClient.ServerResponse();
+        server.setId(id);
+        server.setName(clusterSlug + "-node-1");
+        server.setLabels(Map.of("cluster", clusterSlug, "managed-by", "pgcluster"));
+        HetznerClient.ServerType type = new HetznerClient.ServerType();
+        type.setName("cx23");
+        server.setServerType(type);
+        HetznerClient.Location location = new HetznerClient.Location();
+        location.setName("fsn1");
+        HetznerClient.Datacenter datacenter = new HetznerClient.Datacenter();
+        datacenter.setLocation(location);
+        server.setDatacenter(datacenter);
+        return server;
+    }
+
+    private CloudflareClient.DnsRecord record(String id, String name) {
+        CloudflareClient.DnsRecord record = new CloudflareClient.DnsRecord();
+        record.setId(id);
+        record.setName(name);
+        return record;
+    }
+
+    @Nested
+    @DisplayName("reconcile")
+    class Reconcile {
+
+        @Test
+        @DisplayName("should delete servers of deleted clusters and report the reclaimed cost")
+        void shouldDeleteOrphanedServers() {
+            when(hetznerClient.listServersByLabel("managed-by=pgcluster"))
+                    .thenReturn(List.of(server(1L, "live-abc123"), server(2L, "gone-def456")));
+            HetznerClient.PriceDetail monthly = new HetznerClient.PriceDetail();
+            monthly.setGross("5.93");
+            HetznerClient.ServerTypePrice price = new HetznerClient.ServerTypePrice();
+            price.setLocation("fsn1");
+            price.setPriceMonthly(monthly);
+            HetznerClient.ServerTypeInfo info = new HetznerClient.ServerTypeInfo();
+            info.setPrices(List.of(price));
+            when(hetznerCatalogService.getServerType("cx23")).thenReturn(info);
+
+            OrphanReconcilerService.Report report = reconciler.reconcile();
+
+            verify(hetznerClient).deleteServer(2L);
+            verify(hetznerClient, never()).deleteServer(1L);
+            assertThat(report.deleted()).containsEntry(OrphanReconcilerService.Kind.SERVER, 1);
+            assertThat(report.reclaimedMonthlyCost()).isEqualTo(5.93);
+        }
+
+        @Test
+        @DisplayName("should never touch resources of clusters this database doesn't know")
+        void shouldIgnoreUnknownClusters() {
+            when(hetznerClient.listServersByLabel("managed-by=pgcluster"))
+                    .thenReturn(List.of(server(3L, "staging-xyz789")));
+            when(cloudflareClient.listDnsRecords("A")).thenReturn(List.of(
+                    record("r1", "api.db.example.com"), record("r2", "staging-xyz789.db.example.com")));
+
+            OrphanReconcilerService.Report report = reconciler.reconcile();
+
+            verify(hetznerClient, never()).deleteServer(anyLong());
+            verify(cloudflareClient, never()).deleteDnsRecord(anyString());
+            assertThat(report.pending()).containsEntry(OrphanReconcilerService.Kind.SERVER, 0);
+        }
+
+        @Test
+        @DisplayName("should wait for the grace period before deleting")
+        void shouldRespectGracePeriod() {
+            ReflectionTestUtils.setField(reconciler, "gracePeriodMinutes", 60L);
+            when(cloudflareClient.listDnsRecords("A")).thenReturn(List.of(
+                    record("r1", "live-abc123.db.example.com"), record("r2", "gone-def456.db.example.com")));
+
+            OrphanReconcilerService.Report report = reconciler.reconcile();
+
+            verify(cloudflareClient, never()).deleteDnsRecord(anyString());
+            assertThat(report.pending()).containsEntry(OrphanReconcilerService.Kind.DNS, 1);
+        }
+
+        @Test
+        @DisplayName("should purge S3 prefixes of deleted clusters and report reclaimed bytes")
+        void shouldPurgeOrphanedPrefixes() {
+            String orphan = "pgbackrest/" + deletedId + "/";
+            when(s3StorageService.listPrefixes("pgbackrest/"))
+                    .thenReturn(List.of("pgbackrest/" + liveId + "/", orphan));
+            when(s3StorageService.getDirectorySize(orphan)).thenReturn(1024L);
+
+            OrphanReconcilerService.Report report = reconciler.reconcile();
+
+            verify(s3StorageService).deleteDirectory(orphan);
+            verify(s3StorageService, never()).deleteDirectory("pgbackrest/" + liveId + "/");
+            assertThat(report.reclaimedBytes()).isEqualTo(1024L);
+        }
+
+        @Test
+        @DisplayName("should retire the backups and exports of purged prefixes")
+        void shouldRetireBackupsAndExportsOfPurgedPrefixes() {
+            when(s3StorageService.listPrefixes("pgbackrest/")).thenReturn(List.of("pgbackrest/" + deletedId + "/"));
+            when(s3StorageService.listPrefixes("exports/")).thenReturn(List.of("exports/" + deletedId + "/"));
+
+            reconciler.reconcile();
+
+            verify(backupRepository).markAllDeletedByClusterId(deletedId);
+            verify(exportRepository).deleteByClusterId(deletedId);
+            verify(backupRepository, never()).markAllDeletedByClusterId(liveId);
+        }
+
+        @Test
+        @DisplayName("should keep backups offered when the repository purge fails")
+        void shouldKeepBackupsWhenPurgeFails() {
+            String orphan = "pgbackrest/" + deletedId + "/";
+            when(s3StorageService.listPrefixes("pgbackrest/")).thenReturn(List.of(orphan));
+            doThrow(new RuntimeException("access denied")).when(s3StorageService).deleteDirectory(orphan);
+
+            OrphanReconcilerService.Report report = reconciler.reconcile();
+
+            verify(backupRepository, never()).markAllDeletedByClusterId(any());
+            assertThat(report.pending()).containsEntry(OrphanReconcilerService.Kind.S3, 1);
+        }
+
+        @Test
+        @DisplayName("should leave S3 alone when storage purging is disabled")
+        void shouldSkipStorageWhenDisabled() {
+            ReflectionTestUtils.setField(reconciler, "purgeStorage", false);
+
+            OrphanReconcilerService.Report report = reconciler.reconcile();
+
+            verify(s3StorageService, never()).listPrefixes(anyString());
+            assertThat(report.deleted()).doesNotContainKey(OrphanReconcilerService.Kind.S3);
+        }
+
+        @Test
+        @DisplayName("should remove host keys of IPs no live node uses")
+        void shouldRemoveStaleHostKeys() {
+            when(sshHostKeyRepository.findAllHosts()).thenReturn(List.of("10.0.0.1", "10.0.0.9"));
+            when(vpsNodeRepository.findLivePublicIps()).thenReturn(List.of("10.0.0.1"));
+
+            reconciler.reconcile();
+
+            verify(hostKeyVerifier).removeHost("10.0.0.9");
+            verify(hostKeyVerifier, never()).removeHost("10.0.0.1");
+        }
+
+        @Test
+        @DisplayName("should keep reconciling other kinds when one listing fails")
+        void shouldIsolateListingFailures() {
+            when(hetznerClient.listServersByLabel("managed-by=pgcluster")).thenThrow(new RuntimeException("down"));
+            when(cloudflareClient.listDnsRecords("A"))
+                    .thenReturn(List.of(record("r2", "gone-def456.db.example.com")));
+
+            OrphanReconcilerService.Report report = reconciler.reconcile();
+
+            verify(cloudflareClient).deleteDnsRecord("r2");
+            assertThat(report.deleted()).doesNotContainKey(OrphanReconcilerService.Kind.SERVER);
+        }
+
+        @Test
+        @DisplayName("should retry a failed delete on the next run")
+        void shouldRetryFailedDelete() {
+            when(cloudflareClient.listDnsRecords("A"))
+                    .thenReturn(List.of(record("r2", "gone-def456.db.example.com")));
+            doThrow(new RuntimeException("cloudflare down")).doNothing()
+                    .when(cloudflareClient).deleteDnsRecord("r2");
+
+            assertThat(reconciler.reconcile().pending()).containsEntry(OrphanReconcilerService.Kind.DNS, 1);
+            assertThat(reconciler.reconcile().pending()).containsEntry(OrphanReconcilerService.Kind.DNS, 0);
+
+            verify(cloudflareClient, times(2)).deleteDnsRecord("r2");
+        }
+    }
+
+    @Nested
+    @DisplayName("Tracker")
+    class TrackerDiff {
+
+        private final Duration grace = Duration.ofMinutes(10);
+
+        @Test
+        @DisplayName("should pick up resources whose cluster was deleted since the last run")
+        void shouldDetectVanishedOwners() {
+            OrphanReconcilerService.Tracker tracker = new OrphanReconcilerService.Tracker();
+            Instant start = Instant.now();
+            Map<String, String> owners = Map.of("s1", "a", "s2", "b");
+
+            tracker.diff(owners, Set.of("a", "b"), Set.of("a", "b"), start, grace);
+            assertThat(tracker.pendingCount()).isZero();
+
+            tracker.diff(owners, Set.of("a"), Set.of("a", "b"), start.plusSeconds(60), grace);
+            assertThat(tracker.pendingCount()).isEqualTo(1);
+
+            List<String> expired = tracker.diff(owners, Set.of("a"), Set.of("a", "b"),
+                    start.plus(grace).plusSeconds(60), grace);
+            assertThat(expired).containsExactly("s2");
+        }
+
+        @Test
+        @DisplayName("should drop candidates that disappeared on their own")
+        void shouldDropVanishedResources() {
+            OrphanReconcilerService.Tracker tracker = new OrphanReconcilerService.Tracker();
+            Instant now = Instant.now();
+
+            tracker.diff(Map.of("s1", "b"), Set.of(), Set.of("b"), now, grace);
+            assertThat(tracker.pendingCount()).isEqualTo(1);
+
+            tracker.diff(Map.of(), Set.of(), Set.of("b"), now.plusSeconds(60), grace);
+            assertThat(tracker.pendingCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("should keep the first time a resource was seen orphaned")
+        void shouldKeepFirstSeen() {
+            OrphanReconcilerService.Tracker tracker = new OrphanReconcilerService.Tracker();
+            Instant now = Instant.now();
+
+            tracker.diff(Map.of("s1", "b"), Set.of(), Set.of("b"), now, grace);
+            List<String> expired = tracker.diff(Map.of("s1", "b"), Set.of(), Set.of("b"), now.plus(grace), grace);
+
+            assertThat(expired).containsExactly("s1");
+        }
+    }
+}
@@ -374,6 +374,69 @@ class PatroniServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("selectBestReplica")
+    class SelectBestReplica {
+
+        private final VpsNode leader = createNode("10.0.0.1");
+        private final VpsNode replicaA = createNode("10.0.0.2");
+        private final VpsNode replicaB = createNode("10.0.0.3");
+        private final List<VpsNode> nodes = List.of(leader, replicaA, replicaB);
+
+        private String clusterJson(String members) {
+            return "{\"members\": [" + members + "]}";
+        }
+
+        private String member(VpsNode node, String role, String state, String lag) {
+            return "{\"name\": \"" + node.getName() + "\", \"role\": \"" + role
+                    + "\", \"state\": \"" + state + "\", \"lag\": " + lag + "}";
+        }
+
+        @Test
+        @DisplayName("should pick the streaming replica with the lowest lag")
+        void lowestLag() {
+            String json = clusterJson(String.join(",",
+                    member(leader, "leader", "running", "0"),
+                    member(replicaA, "replica", "streaming", "4096"),
+                    member(replicaB, "replica", "streaming", "128")));
+
+            assertThat(patroniService.selectBestReplica(json, nodes, 1024 * 1024)).isEqualTo(replicaB);
+        }
+
+        @Test
+        @DisplayName("should prefer an async replica over the sync standby on equal lag")
+        void preferAsyncOnTie() {
+            String json = clusterJson(String.join(",",
+                    member(leader, "leader", "running", "0"),
+                    member(replicaA, "sync_standby", "streaming", "0"),
+                    member(replicaB, "replica", "streaming", "0")));
+
+            assertThat(patroniService.selectBestReplica(json, nodes, 1024 * 1024)).isEqualTo(replicaB);
+        }
+
+        @Test
+        @DisplayName("should skip replicas that are lagging, stopped or of unknown lag")
+        void skipUnhealthy() {
+            String json = clusterJson(String.join(",",
+                    member(leader, "leader", "running", "0"),
+                    member(replicaA, "replica", "streaming", "999999999"),
+                    member(replicaB, "replica", "stopped", "0")));
+
+            assertThat(patroniService.selectBestReplica(json, nodes, 1024 * 1024)).isNull();
+
+            String unknownLag = clusterJson(member(replicaA, "replica", "streaming", "\"unknown\""));
+            assertThat(patroniService.selectBestReplica(unknownLag, nodes, 1024 * 1024)).isNull();
+        }
+
+        @Test
+        @DisplayName("should return null for missing or malformed output")
+        void invalidOutput() {
+            assertThat(patroniService.selectBestReplica(null, nodes, 1024)).isNull();
+            assertThat(patroniService.selectBestReplica("not json", nodes, 1024)).isNull();
+            assertThat(patroniService.selectBestReplica("{}", nodes, 1024)).isNull();
+        }
+    }
+
     // ==================== Helpers ====================
 
     private VpsNode createNode(String ip) {
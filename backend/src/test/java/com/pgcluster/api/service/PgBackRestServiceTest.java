@@ -0,0 +1,266 @@
+package com.pgcluster.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pgcluster.api.client.HetznerClient;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.model.entity.RestoreJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PgBackRestService")
+@ExtendWith(MockitoExtension.class)
+class PgBackRestServiceTest {
+
+    @Mock
+    private SshService sshService;
+
+    @Mock
+    private S3StorageService s3StorageService;
+
+    @Mock
+    private HetznerCatalogService hetznerCatalogService;
+
+    private PgBackRestService pgBackRestService;
+
+    @BeforeEach
+    void setUp() {
+        pgBackRestService = new PgBackRestService(sshService, s3StorageService, new ObjectMapper(), hetznerCatalogService);
+        ReflectionTestUtils.setField(pgBackRestService, "s3Endpoint", "https://fsn1.example.com");
+        ReflectionTestUtils.setField(pgBackRestService, "s3Bucket", "pgcluster-backups");
+        ReflectionTestUtils.setField(pgBackRestService, "s3Region", "eu-central-1");
+        ReflectionTestUtils.setField(pgBackRestService, "s3AccessKey", "key");
+        ReflectionTestUtils.setField(pgBackRestService, "s3SecretKey", "secret");
+        ReflectionTestUtils.setField(pgBackRestService, "retentionFull", 2);
+        ReflectionTestUtils.setField(pgBackRestService, "retentionDiff", 7);
+        ReflectionTestUtils.setField(pgBackRestService, "pgbackrestSpoolPath", "/var/spool/pgbackrest");
+        ReflectionTestUtils.setField(pgBackRestService, "pgbackrestLogPath", "/var/log/pgbackrest");
+        ReflectionTestUtils.setField(pgBackRestService, "pgbackrestConfigDir", "/etc/pgbackrest");
+        ReflectionTestUtils.setField(pgBackRestService, "postgresDataPath", "/var/lib/postgresql/data");
+        ReflectionTestUtils.setField(pgBackRestService, "postgresSocketPath", "/var/run/postgresql");
+        ReflectionTestUtils.setField(pgBackRestService, "blockIncremental", true);
+    }
+
+    @Nested
+    @DisplayName("profileFor")
+    class ProfileFor {
+
+        @Test
+        @DisplayName("should keep small nodes on lz4 with two processes")
+        void smallNode() {
+            PgBackRestService.TuningProfile profile = pgBackRestService.profileFor(2, 4096, 40);
+
+            assertThat(profile.processMax()).isEqualTo(2);
+            assertThat(profile.restoreProcessMax()).isEqualTo(2);
+            assertThat(profile.compressType()).isEqualTo("lz4");
+            assertThat(profile.bufferSize()).isEqualTo("1MiB");
+            assertThat(profile.archivePushQueueMax()).isEqualTo("4GiB");
+        }
+
+        @Test
+        @DisplayName("should scale processes and switch to zstd on large nodes")
+        void largeNode() {
+            PgBackRestService.TuningProfile profile = pgBackRestService.profileFor(48, 196608, 960);
+
+            assertThat(profile.processMax()).isEqualTo(16);
+            assertThat(profile.restoreProcessMax()).isEqualTo(32);
+            assertThat(profile.compressType()).isEqualTo("zst");
+            assertThat(profile.compressLevel()).isEqualTo(3);
+            assertThat(profile.bufferSize()).isEqualTo("8MiB");
+            assertThat(profile.archivePushQueueMax()).isEqualTo("96GiB");
+            assertThat(profile.blockIncremental()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should give restores larger buffers and a deep archive-get queue")
+        void restoreSettings() {
+            PgBackRestService.TuningProfile small = pgBackRestService.profileFor(2, 4096, 40);
+            PgBackRestService.TuningProfile large = pgBackRestService.profileFor(48, 196608, 960);
+
+            assertThat(small.restoreBufferSize()).isEqualTo("2MiB");
+            assertThat(small.archiveGetQueueMax()).isEqualTo("2GiB");
+            assertThat(large.restoreBufferSize()).isEqualTo("16MiB");
+            assertThat(large.archiveGetQueueMax()).isEqualTo("32GiB");
+        }
+    }
+
+    @Nested
+    @DisplayName("resolveProfile")
+    class ResolveProfile {
+
+        @Test
+        @DisplayName("should use the catalog's server type specs and cache the result")
+        void fromCatalog() {
+            HetznerClient.ServerTypeInfo info = new HetznerClient.ServerTypeInfo();
+            info.setCores(8);
+            info.setMemory(16);
+            info.setDisk(160);
+            when(hetznerCatalogService.getServerType("cx43")).thenReturn(info);
+
+            PgBackRestService.TuningProfile profile = pgBackRestService.resolveProfile("cx43");
+            pgBackRestService.resolveProfile("cx43");
+
+            assertThat(profile.processMax()).isEqualTo(4);
+            assertThat(profile.compressType()).isEqualTo("zst");
+            assertThat(profile.bufferSize()).isEqualTo("4MiB");
+            verify(hetznerCatalogService, times(1)).getServerType("cx43");
+        }
+
+        @Test
+        @DisplayName("should fall back to and cache known specs when the catalog can't be loaded")
+        void fallbackSpecs() {
+            when(hetznerCatalogService.getServerType(anyString())).thenThrow(new RuntimeException("timeout"));
+
+            PgBackRestService.TuningProfile profile = pgBackRestService.resolveProfile("cx53");
+            pgBackRestService.resolveProfile("cx53");
+
+            assertThat(profile.processMax()).isEqualTo(8);
+            assertThat(profile.bufferSize()).isEqualTo("8MiB");
+            verify(hetznerCatalogService, times(1)).getServerType("cx53");
+        }
+
+        @Test
+        @DisplayName("should not cache the guessed profile of an unknown server type")
+        void unknownTypeNotCached() {
+            HetznerClient.ServerTypeInfo info = new HetznerClient.ServerTypeInfo();
+            info.setCores(8);
+            info.setMemory(16);
+            info.setDisk(160);
+            when(hetznerCatalogService.getServerType("cx63"))
+                    .thenThrow(new RuntimeException("timeout"))
+                    .thenReturn(info);
+
+            PgBackRestService.TuningProfile guessed = pgBackRestService.resolveProfile("cx63");
+            PgBackRestService.TuningProfile profile = pgBackRestService.resolveProfile("cx63");
+            pgBackRestService.resolveProfile("cx63");
+
+            assertThat(guessed.processMax()).isEqualTo(2);
+            assertThat(profile.bufferSize()).isEqualTo("4MiB");
+            verify(hetznerCatalogService, times(2)).getServerType("cx63");
+        }
+    }
+
+    @Nested
+    @DisplayName("parseBackupProgress")
+    class ParseBackupProgress {
+
+        @Test
+        @DisplayName("should read bytes done and total from the held backup lock")
+        void heldLock() {
+            String json = "[{\"name\":\"test\",\"status\":{\"code\":0,\"lock\":{\"backup\":"
+                    + "{\"held\":true,\"size-cplt\":2048,\"size\":8192}}}}]";
+
+            PgBackRestService.BackupProgress progress = pgBackRestService.parseBackupProgress(json);
+
+            assertThat(progress).isNotNull();
+            assertThat(progress.bytesDone()).isEqualTo(2048);
+            assertThat(progress.bytesTotal()).isEqualTo(8192);
+        }
+
+        @Test
+        @DisplayName("should return null when no backup is running or sizes are missing")
+        void noProgress() {
+            assertThat(pgBackRestService.parseBackupProgress(
+                    "[{\"status\":{\"lock\":{\"backup\":{\"held\":false}}}}]")).isNull();
+            assertThat(pgBackRestService.parseBackupProgress(
+                    "[{\"status\":{\"lock\":{\"backup\":{\"held\":true}}}}]")).isNull();
+            assertThat(pgBackRestService.parseBackupProgress("not json")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("restore progress")
+    class ParseRestoreProgress {
+
+        @Test
+        @DisplayName("should read the last logged percentage from the restore log")
+        void parsesLastPercent() {
+            String log = "P01 DETAIL: restore file /var/lib/postgresql/data/base/5/1249 (440KB, 12.34%) checksum a\n"
+                    + "P02 DETAIL: restore file /var/lib/postgresql/data/base/5/2608 (1.2MB, 57.5%) checksum b\n";
+
+            PgBackRestService.RestoreProgress progress = pgBackRestService.parseRestoreProgress(log);
+
+            assertThat(progress).isNotNull();
+            assertThat(progress.percent()).isEqualTo(57.5);
+            assertThat(pgBackRestService.parseRestoreProgress("INFO: restore command begin")).isNull();
+        }
+
+        @Test
+        @DisplayName("should map progress onto the job range and derive throughput")
+        void appliesProgress() {
+            RestoreJob job = RestoreJob.builder().progress(40).build();
+            Instant start = Instant.parse("2026-01-10T02:00:00Z");
+
+            boolean changed = pgBackRestService.applyRestoreProgress(job, new PgBackRestService.RestoreProgress(50.0),
+                    200L * 1024 * 1024 * 1024, start, start.plusSeconds(1024), 40, 80);
+
+            assertThat(changed).isTrue();
+            assertThat(job.getProgress()).isEqualTo(60);
+            assertThat(job.getBytesRestored()).isEqualTo(100L * 1024 * 1024 * 1024);
+            assertThat(job.getThroughputBytesPerSec()).isEqualTo(100L * 1024 * 1024);
+            assertThat(job.getEstimatedCompletionAt()).isEqualTo(start.plusSeconds(2048));
+        }
+    }
+
+    @Nested
+    @DisplayName("generateConfig")
+    class GenerateConfig {
+
+        @Test
+        @DisplayName("should render the tuning profile into the config")
+        void rendersProfile() {
+            when(hetznerCatalogService.getServerType(anyString())).thenThrow(new RuntimeException("timeout"));
+            Cluster cluster = Cluster.builder()
+                    .id(UUID.randomUUID())
+                    .slug("test-cluster")
+                    .nodeSize("cx43")
+                    .build();
+
+            String config = pgBackRestService.generateConfig(cluster);
+
+            assertThat(config)
+                    .contains("process-max=4")
+                    .contains("compress-type=zst")
+                    .contains("buffer-size=4MiB")
+                    .contains("archive-push-queue-max=16GiB")
+                    .contains("repo1-bundle=y")
+                    .contains("repo1-block=y")
+                    .contains("[global:restore]\nprocess-max=8")
+                    .contains("archive-get-queue-max=8GiB")
+                    .contains("[test-cluster]");
+        }
+
+        @Test
+        @DisplayName("should tune the restore config for the target node")
+        void restoreConfigUsesTargetProfile() {
+            when(hetznerCatalogService.getServerType(anyString())).thenThrow(new RuntimeException("timeout"));
+            Cluster source = Cluster.builder()
+                    .id(UUID.randomUUID())
+                    .slug("source-cluster")
+                    .nodeSize("cx23")
+                    .build();
+
+            String config = pgBackRestService.generateRestoreConfig(source, "ccx63");
+
+            assertThat(config)
+                    .contains("process-max=32")
+                    .contains("buffer-size=16MiB")
+                    .contains("archive-async=y")
+                    .contains("archive-get-queue-max=32GiB")
+                    .contains("[source-cluster]")
+                    .doesNotContain("process-max=2\n");
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.event.ClusterDeleteRequestedEvent;
+import com.pgcluster.api.event.ClusterStatusChangedEvent;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.repository.ClusterRepository;
+import com.pgcluster.api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PlatformStatsService")
+@ExtendWith(MockitoExtension.class)
+class PlatformStatsServiceTest {
+
+    @Mock private ClusterRepository clusterRepository;
+    @Mock private UserRepository userRepository;
+
+    private PlatformStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new PlatformStatsService(clusterRepository, userRepository);
+        ReflectionTestUtils.setField(statsService, "provisioningSampleLimit", 500);
+    }
+
+    private ClusterRepository.StatsRow row(UUID id, String status, String region, String nodeSize, int nodeCount) {
+        return new ClusterRepository.StatsRow() {
+            public UUID getId() { return id; }
+            public String getStatus() { return status; }
+            public String getRegion() { return region; }
+            public String getNodeSize() { return nodeSize; }
+            public int getNodeCount() { return nodeCount; }
+            public int getStorageGb() { return 40; }
+            public Instant getCreatedAt() { return Instant.parse("2026-01-01T00:00:00Z"); }
+        };
+    }
+
+    private Cluster cluster(UUID id, String status) {
+        return Cluster.builder()
+                .id(id)
+                .slug("cluster-" + id)
+                .status(status)
+                .region("fsn1")
+                .nodeSize("cx23")
+                .nodeCount(3)
+                .storageGb(40)
+                .createdAt(Instant.now().minus(Duration.ofMinutes(10)))
+                .build();
+    }
+
+    private void changed(Cluster cluster, String status) {
+        cluster.setStatus(status);
+        statsService.onClusterStatusChanged(ClusterStatusChangedEvent.changed(this, cluster));
+    }
+
+    @Nested
+    @DisplayName("getSnapshot")
+    class GetSnapshot {
+
+        @Test
+        @DisplayName("should load once and answer every read from memory")
+        void shouldLoadOnce() {
+            when(clusterRepository.findLiveStatsRows()).thenReturn(List.of(
+                    row(UUID.randomUUID(), Cluster.STATUS_RUNNING, "fsn1", "cx23", 3),
+                    row(UUID.randomUUID(), Cluster.STATUS_RUNNING, "nbg1", "cx33", 1),
+                    row(UUID.randomUUID(), Cluster.STATUS_ERROR, "fsn1", "cx23", 3)));
+            when(userRepository.count()).thenReturn(4L);
+
+            for (int i = 0; i < 3; i++) {
+                PlatformStatsService.Snapshot stats = statsService.getSnapshot();
+
+                assertThat(stats.totalClusters()).isEqualTo(3);
+                assertThat(stats.clusters(Cluster.STATUS_RUNNING)).isEqualTo(2);
+                assertThat(stats.clusters(Cluster.STATUS_CREATING)).isZero();
+                assertThat(stats.clustersByRegion()).containsEntry("fsn1", 2L).containsEntry("nbg1", 1L);
+                assertThat(stats.clustersByNodeSize()).containsEntry("cx23", 2L).containsEntry("cx33", 1L);
+                assertThat(stats.totalNodes()).isEqualTo(7);
+                assertThat(stats.provisionedStorageGb()).isEqualTo(280);
+                assertThat(stats.totalUsers()).isEqualTo(4);
+                assertThat(stats.provisioningP50Seconds()).isNull();
+            }
+
+            verify(clusterRepository, times(1)).findLiveStatsRows();
+            verify(userRepository, times(1)).count();
+        }
+    }
+
+    @Nested
+    @DisplayName("events")
+    class Events {
+
+        @Test
+        @DisplayName("should move counts on status changes without querying")
+        void shouldApplyTransitions() {
+            UUID id = UUID.randomUUID();
+            when(clusterRepository.findLiveStatsRows()).thenReturn(List.of(row(id, Cluster.STATUS_RUNNING, "fsn1", "cx23", 3)));
+            statsService.getSnapshot();
+
+            changed(cluster(id, Cluster.STATUS_RUNNING), Cluster.STATUS_ERROR);
+
+            PlatformStatsService.Snapshot stats = statsService.getSnapshot();
+            assertThat(stats.clustersByStatus()).containsOnlyKeys(Cluster.STATUS_ERROR);
+            assertThat(stats.totalClusters()).isEqualTo(1);
+            verify(clusterRepository, times(1)).findLiveStatsRows();
+        }
+
+        @Test
+        @DisplayName("should count new clusters and drop deleted ones")
+        void shouldTrackLifecycle() {
+            when(clusterRepository.findLiveStatsRows()).thenReturn(List.of());
+            statsService.getSnapshot();
+
+            Cluster cluster = cluster(UUID.randomUUID(), Cluster.STATUS_PENDING);
+            statsService.onClusterStatusChanged(ClusterStatusChangedEvent.created(this, cluster));
+            assertThat(statsService.getSnapshot().clusters(Cluster.STATUS_PENDING)).isEqualTo(1);
+            assertThat(statsService.getSnapshot().totalNodes()).isEqualTo(3);
+
+            statsService.onClusterDeleteRequested(new ClusterDeleteRequestedEvent(this, cluster));
+            assertThat(statsService.getSnapshot().clusters(Cluster.STATUS_DELETING)).isEqualTo(1);
+
+            changed(cluster, Cluster.STATUS_DELETED);
+            PlatformStatsService.Snapshot stats = statsService.getSnapshot();
+            assertThat(stats.totalClusters()).isZero();
+            assertThat(stats.clustersByRegion()).isEmpty();
+            assertThat(stats.totalNodes()).isZero();
+        }
+
+        @Test
+        @DisplayName("should not let a late creation event overwrite a newer status")
+        void shouldIgnoreLateCreation() {
+            when(clusterRepository.findLiveStatsRows()).thenReturn(List.of());
+            statsService.getSnapshot();
+
+            Cluster cluster = cluster(UUID.randomUUID(), Cluster.STATUS_PENDING);
+            ClusterStatusChangedEvent creation = ClusterStatusChangedEvent.created(this, cluster);
+            changed(cluster, Cluster.STATUS_CREATING);
+            statsService.onClusterStatusChanged(creation);
+
+            PlatformStatsService.Snapshot stats = statsService.getSnapshot();
+            assertThat(stats.clustersByStatus()).containsOnlyKeys(Cluster.STATUS_CREATING);
+        }
+
+        @Test
+        @DisplayName("should record provisioning durations when clusters start running")
+        void shouldRecordProvisioningDurations() {
+            when(clusterRepository.findLiveStatsRows()).thenReturn(List.of());
+            statsService.getSnapshot();
+
+            for (int minutes = 1; minutes <= 20; minutes++) {
+                Cluster cluster = cluster(UUID.randomUUID(), Cluster.STATUS_PENDING);
+                cluster.setCreatedAt(Instant.now().minus(Duration.ofMinutes(minutes)));
+                statsService.onClusterStatusChanged(ClusterStatusChangedEvent.created(this, cluster));
+                changed(cluster, Cluster.STATUS_CREATING);
+                changed(cluster, Cluster.STATUS_RUNNING);
+                // Running again after a restore isn't a second provision
+                changed(cluster, Cluster.STATUS_RUNNING);
+            }
+
+            PlatformStatsService.Snapshot stats = statsService.getSnapshot();
+            assertThat(stats.provisioningSamples()).isEqualTo(20);
+            assertThat(stats.provisioningP50Seconds()).isBetween(600L, 601L);
+            assertThat(stats.provisioningP95Seconds()).isBetween(1140L, 1141L);
+        }
+
+        @Test
+        @DisplayName("should ignore events until the stats have been loaded")
+        void shouldIgnoreEventsBeforeLoad() {
+            changed(cluster(UUID.randomUUID(), Cluster.STATUS_CREATING), Cluster.STATUS_RUNNING);
+
+            verifyNoInteractions(clusterRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("reconcile")
+    class Reconcile {
+
+        @Test
+        @DisplayName("should correct drift from changes made without an event")
+        void shouldCorrectDrift() {
+            UUID id = UUID.randomUUID();
+            when(clusterRepository.findLiveStatsRows())
+                    .thenReturn(List.of(row(id, Cluster.STATUS_CREATING, "fsn1", "cx23", 3)))
+                    .thenReturn(List.of(row(id, Cluster.STATUS_RUNNING, "fsn1", "cx23", 3)));
+            statsService.getSnapshot();
+
+            statsService.refresh();
+
+            assertThat(statsService.getSnapshot().clustersByStatus()).containsOnlyKeys(Cluster.STATUS_RUNNING);
+        }
+
+        @Test
+        @DisplayName("should keep changes that commit while the query runs")
+        void shouldKeepConcurrentChanges() {
+            UUID id = UUID.randomUUID();
+            Cluster cluster = cluster(id, Cluster.STATUS_RUNNING);
+            when(clusterRepository.findLiveStatsRows())
+                    .thenReturn(List.of(row(id, Cluster.STATUS_RUNNING, "fsn1", "cx23", 3)))
+                    .thenAnswer(invocation -> {
+                        // The delete commits after the query has read the cluster as running
+                        statsService.onClusterDeleteRequested(new ClusterDeleteRequestedEvent(this, cluster));
+                        return List.of(row(id, Cluster.STATUS_RUNNING, "fsn1", "cx23", 3));
+                    });
+            statsService.getSnapshot();
+
+            statsService.reconcile();
+
+            assertThat(statsService.getSnapshot().clustersByStatus()).containsOnlyKeys(Cluster.STATUS_DELETING);
+        }
+
+        @Test
+        @DisplayName("should keep the previous stats when the query fails")
+        void shouldKeepStatsOnFailure() {
+            when(clusterRepository.findLiveStatsRows())
+                    .thenReturn(List.of(row(UUID.randomUUID(), Cluster.STATUS_RUNNING, "fsn1", "cx23", 3)))
+                    .thenThrow(new RuntimeException("connection refused"));
+            statsService.getSnapshot();
+
+            statsService.refresh();
+
+            assertThat(statsService.getSnapshot().clusters(Cluster.STATUS_RUNNING)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not query before the stats have been loaded")
+        void shouldSkipRefreshBeforeLoad() {
+            statsService.refresh();
+
+            verifyNoInteractions(clusterRepository, userRepository);
+        }
+    }
+}
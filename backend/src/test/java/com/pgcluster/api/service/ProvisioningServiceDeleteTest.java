@@ -0,0 +1,101 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.model.entity.Backup;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.model.entity.User;
+import com.pgcluster.api.repository.BackupRepository;
+import com.pgcluster.api.repository.ClusterRepository;
+import com.pgcluster.api.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs cluster deletion the way the event listener does, through the @Async entry point and
+ * without a surrounding test transaction, so the repository updates need their own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ProvisioningService deletion")
+class ProvisioningServiceDeleteTest {
+
+    @Autowired private ProvisioningService provisioningService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ClusterRepository clusterRepository;
+    @Autowired private BackupRepository backupRepository;
+
+    @MockitoBean private ClusterTeardownService clusterTeardownService;
+
+    private User user;
+    private Cluster cluster;
+    private Backup backup;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("delete-async@test.com")
+                .passwordHash("$2a$10$dummy")
+                .role("USER")
+                .active(true)
+                .build());
+
+        cluster = clusterRepository.save(Cluster.builder()
+                .user(user)
+                .name("Delete Async Cluster")
+                .slug("delete-async-1234")
+                .plan("starter")
+                .status(Cluster.STATUS_DELETING)
+                .postgresVersion("16")
+                .nodeCount(1)
+                .nodeSize("cx23")
+                .region("fsn1")
+                .build());
+
+        backup = backupRepository.save(Backup.builder()
+                .cluster(cluster)
+                .type("full")
+                .status(Backup.STATUS_COMPLETED)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        backupRepository.deleteAll(backupRepository.findAllById(List.of(backup.getId())));
+        clusterRepository.deleteById(cluster.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("should mark the cluster deleted and its backups deleted once storage is purged")
+    void shouldDeleteThroughAsyncPath() throws InterruptedException {
+        when(clusterTeardownService.teardown(any(), any())).thenReturn(new ClusterTeardownService.Result(
+                List.of("dns", ClusterTeardownService.STEP_PGBACKREST, ClusterTeardownService.STEP_EXPORTS), Map.of()));
+
+        provisioningService.deleteClusterAsync(cluster);
+
+        String status = null;
+        for (int i = 0; i < 100; i++) {
+            status = clusterRepository.findById(cluster.getId()).orElseThrow().getStatus();
+            if (!Cluster.STATUS_DELETING.equals(status)) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+
+        assertThat(status).isEqualTo(Cluster.STATUS_DELETED);
+        assertThat(backupRepository.findById(backup.getId()).orElseThrow().getStatus())
+                .isEqualTo(Backup.STATUS_DELETED);
+    }
+}
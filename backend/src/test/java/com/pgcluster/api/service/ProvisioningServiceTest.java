@@ -0,0 +1,118 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.client.CloudflareClient;
+import com.pgcluster.api.client.HetznerClient;
+import com.pgcluster.api.model.entity.VpsNode;
+import com.pgcluster.api.repository.BackupRepository;
+import com.pgcluster.api.repository.ClusterRepository;
+import com.pgcluster.api.repository.RestoreJobRepository;
+import com.pgcluster.api.repository.VpsNodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ProvisioningService")
+@ExtendWith(MockitoExtension.class)
+class ProvisioningServiceTest {
+
+    @Mock private HetznerClient hetznerClient;
+    @Mock private CloudflareClient cloudflareClient;
+    @Mock private SshService sshService;
+    @Mock private ClusterRepository clusterRepository;
+    @Mock private VpsNodeRepository vpsNodeRepository;
+    @Mock private RestoreJobRepository restoreJobRepository;
+    @Mock private PgBackRestService pgBackRestService;
+    @Mock private HostKeyVerifier hostKeyVerifier;
+    @Mock private PatroniService patroniService;
+    @Mock private ClusterProgressService clusterProgressService;
+    @Mock private ClusterTeardownService clusterTeardownService;
+    @Mock private BackupRepository backupRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ProvisioningService provisioningService;
+
+    private VpsNode node;
+
+    @BeforeEach
+    void setUp() {
+        node = new VpsNode();
+        node.setName("restore-1");
+        node.setPublicIp("10.0.0.1");
+    }
+
+    @Nested
+    @DisplayName("waitForPreRestore")
+    class WaitForPreRestore {
+
+        @Test
+        @DisplayName("should report success once the restore container exits cleanly")
+        void shouldReturnTrueOnSuccess() {
+            when(sshService.executeCommand(eq("10.0.0.1"), contains("prerestore.exit"), eq(10000)))
+                    .thenReturn(new SshService.CommandResult(0, "0\n", ""));
+
+            assertThat(provisioningService.waitForPreRestore(node, 5, null, "source", "label")).isTrue();
+            verify(sshService).executeCommand(eq("10.0.0.1"), startsWith("docker rm -f"));
+        }
+
+        @Test
+        @DisplayName("should return false so Patroni restores instead when the restore fails early")
+        void shouldReturnFalseOnFailure() {
+            when(sshService.executeCommand(eq("10.0.0.1"), contains("prerestore.exit"), eq(10000)))
+                    .thenReturn(new SshService.CommandResult(0, "gone\n", ""));
+            when(sshService.executeCommand(eq("10.0.0.1"), startsWith("docker logs")))
+                    .thenReturn(new SshService.CommandResult(0, "", ""));
+
+            assertThat(provisioningService.waitForPreRestore(node, 5, null, "source", "label")).isFalse();
+            verify(sshService).executeCommand(eq("10.0.0.1"), startsWith("docker rm -f"));
+        }
+
+        @Test
+        @DisplayName("should fail and remove the container when the restore times out")
+        void shouldFailOnTimeout() {
+            when(sshService.executeCommand(eq("10.0.0.1"), contains("prerestore.exit"), eq(10000)))
+                    .thenReturn(new SshService.CommandResult(0, "running\n", ""));
+
+            assertThatThrownBy(() -> provisioningService.waitForPreRestore(node, 5, null, "source", "label"))
+                    .hasMessageContaining("did not complete within 5 seconds");
+            verify(sshService).executeCommand(eq("10.0.0.1"), startsWith("docker rm -f"));
+        }
+    }
+
+    @Nested
+    @DisplayName("generateDockerCompose")
+    class GenerateDockerCompose {
+
+        @Test
+        @DisplayName("should pass the pgBackRest TLS server port to the patroni container")
+        void shouldPassTlsServerPort() {
+            ReflectionTestUtils.setField(provisioningService, "pgbackrestTlsServerPort", 9432);
+
+            String compose = provisioningService.generateDockerCompose("cluster-1", "node-1", "10.0.0.1",
+                    "node-1=http://10.0.0.1:2380", "16");
+
+            assertThat(compose).contains("- PGBACKREST_TLS_SERVER_PORT=9432");
+        }
+
+        @Test
+        @DisplayName("should mount the export staging directory outside PGDATA")
+        void shouldMountExportStaging() {
+            String compose = provisioningService.generateDockerCompose("cluster-1", "node-1", "10.0.0.1",
+                    "node-1=http://10.0.0.1:2380", "16");
+
+            assertThat(compose).contains("- /data/export-staging:/var/lib/pgcluster/export-staging");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.pgcluster.api.service;
+
+import com.pgcluster.api.model.dto.RestoreEstimateResponse;
+import com.pgcluster.api.model.entity.Backup;
+import com.pgcluster.api.model.entity.Cluster;
+import com.pgcluster.api.model.entity.RestoreJob;
+import com.pgcluster.api.repository.BackupRepository;
+import com.pgcluster.api.repository.RestoreJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RestoreEstimatorService")
+@ExtendWith(MockitoExtension.class)
+class RestoreEstimatorServiceTest {
+
+    private static final long MIB = 1024L * 1024L;
+    private static final long GIB = 1024L * MIB;
+
+    @Mock private RestoreJobRepository restoreJobRepository;
+    @Mock private BackupRepository backupRepository;
+    @Mock private PgBackRestService pgBackRestService;
+    @Mock private PatroniService patroniService;
+    @Mock private SshService sshService;
+
+    private RestoreEstimatorService estimatorService;
+    private Cluster cluster;
+
+    @BeforeEach
+    void setUp() {
+        estimatorService = new RestoreEstimatorService(restoreJobRepository, backupRepository,
+                pgBackRestService, patroniService, sshService);
+        ReflectionTestUtils.setField(estimatorService, "defaultThroughputMbPerProcess", 25L);
+        ReflectionTestUtils.setField(estimatorService, "maxThroughputMbPerSec", 800L);
+        ReflectionTestUtils.setField(estimatorService, "walReplayMbPerSec", 48L);
+        ReflectionTestUtils.setField(estimatorService, "defaultOverheadSeconds", 300L);
+
+        cluster = Cluster.builder()
+                .id(UUID.randomUUID())
+                .slug("test-cluster")
+                .nodeSize("cx23")
+                .build();
+    }
+
+    @Nested
+    @DisplayName("throughput")
+    class ThroughputResolution {
+
+        @Test
+        @DisplayName("should scale measured per-process throughput to the target node size")
+        void scalesMeasuredThroughput() {
+            when(pgBackRestService.resolveProfile("cx23")).thenReturn(profile(1, 2));
+            when(pgBackRestService.resolveProfile("cx43")).thenReturn(profile(4, 8));
+            RestoreJob job = RestoreJob.builder()
+                    .sourceCluster(cluster)
+                    .targetCluster(cluster)
+                    .status(RestoreJob.STATUS_COMPLETED)
+                    .throughputBytesPerSec(100 * MIB)
+                    .build();
+            when(restoreJobRepository.findTop5BySourceClusterAndStatusAndThroughputBytesPerSecIsNotNullOrderByCompletedAtDesc(
+                    cluster, RestoreJob.STATUS_COMPLETED)).thenReturn(List.of(job));
+
+            RestoreEstimatorService.Throughput throughput = estimatorService.resolveThroughput(cluster, "cx43");
+
+            assertThat(throughput.bytesPerSec()).isEqualTo(400 * MIB);
+            assertThat(throughput.source()).isEqualTo(RestoreEstimatorService.SOURCE_CLUSTER);
+        }
+
+        @Test
+        @DisplayName("should fall back to the default without any measurements")
+        void fallsBackToDefault() {
+            when(pgBackRestService.resolveProfile("cx23")).thenReturn(profile(1, 2));
+
+            RestoreEstimatorService.Throughput throughput = estimatorService.resolveThroughput(cluster, "cx23");
+
+            assertThat(throughput.bytesPerSec()).isEqualTo(50 * MIB);
+            assertThat(throughput.source()).isEqualTo(RestoreEstimatorService.SOURCE_DEFAULT);
+        }
+    }
+
+    @Nested
+    @DisplayName("estimate")
+    class Estimate {
+
+        @Test
+        @DisplayName("should prefer a later differential when replaying WAL from the full backup costs more")
+        void prefersLessWalReplay() {
+            when(pgBackRestService.resolveProfile(any())).thenReturn(profile(1, 2));
+            Instant base = Instant.parse("2026-02-01T00:00:00Z");
+            Backup full = backup(Backup.BACKUP_TYPE_FULL, base, "000000010000000000000010", base.plusSeconds(600), "00000001000000000000001F");
+            full.setBytesTotal(10 * GIB);
+            Backup diff = backup(Backup.BACKUP_TYPE_DIFF, base.plusSeconds(43200), "000000010000000A00000000", base.plusSeconds(43500), "000000010000000A0000000F");
+            diff.setBytesTotal(GIB);
+            List<Backup> backups = List.of(diff, full);
+
+            RestoreEstimateResponse response = estimatorService.estimate(
+                    cluster, backups, backups, base.plusSeconds(50000), "cx23");
+
+            assertThat(response.getRecommendedBackupId()).isEqualTo(diff.getId());
+            assertThat(response.getEstimates()).hasSize(2);
+            RestoreEstimateResponse.BackupEstimate diffEstimate = response.getEstimates().get(0);
+            assertThat(diffEstimate.getRestoreBytes()).isEqualTo(10 * GIB);
+            assertThat(diffEstimate.getWalReplayBytes()).isLessThan(response.getEstimates().get(1).getWalReplayBytes());
+            assertThat(diffEstimate.getEstimatedSeconds()).isEqualTo(300 + diffEstimate.getDataRestoreSeconds()
+                    + diffEstimate.getWalReplaySeconds());
+        }
+
+        @Test
+        @DisplayName("should pick the closest backup when estimates tie")
+        void breaksTiesByClosest() {
+            when(pgBackRestService.resolveProfile(any())).thenReturn(profile(1, 2));
+            Instant base = Instant.parse("2026-02-01T00:00:00Z");
+            Backup first = backup(Backup.BACKUP_TYPE_FULL, base, null, base.plusSeconds(60), null);
+            Backup second = backup(Backup.BACKUP_TYPE_FULL, base.plusSeconds(3600), null, base.plusSeconds(3660), null);
+            List<Backup> backups = List.of(first, second);
+
+            Backup fastest = estimatorService.findFastestBackup(cluster, backups, backups, base.plusSeconds(7200), "cx23");
+
+            assertThat(fastest).isSameAs(second);
+        }
+    }
+
+    @Nested
+    @DisplayName("WAL positions")
+    class WalPositions {
+
+        @Test
+        @DisplayName("should parse LSNs and WAL segment names")
+        void parsesPositions() {
+            assertThat(RestoreEstimatorService.parseLsn("16/B374D848")).isEqualTo(0x16B374D848L);
+            assertThat(RestoreEstimatorService.parseLsn("garbage")).isEqualTo(-1);
+            assertThat(RestoreEstimatorService.segmentEndLsn("000000010000000A00000003")).isEqualTo(0xA04000000L);
+            assertThat(RestoreEstimatorService.segmentEndLsn("00000002.history")).isEqualTo(-1);
+            assertThat(RestoreEstimatorService.segmentStartLsn("000000020000000A00000003")).isEqualTo(0xA03000000L);
+            assertThat(RestoreEstimatorService.walStartPosition("000000010000000A00000003")).isEqualTo(0xA03000000L);
+            assertThat(RestoreEstimatorService.walEndPosition("000000010000000A00000003")).isEqualTo(0xA04000000L);
+            assertThat(RestoreEstimatorService.walEndPosition("16/B374D848")).isEqualTo(0x16B374D848L);
+        }
+
+        @Test
+        @DisplayName("should interpolate between known positions and extrapolate past the last one")
+        void interpolates() {
+            Instant base = Instant.parse("2026-02-01T00:00:00Z");
+            List<RestoreEstimatorService.WalPoint> points = List.of(
+                    new RestoreEstimatorService.WalPoint(base, 0),
+                    new RestoreEstimatorService.WalPoint(base.plusSeconds(100), 1000));
+
+            assertThat(estimatorService.lsnAt(points, base.plusSeconds(50))).isEqualTo(500);
+            assertThat(estimatorService.lsnAt(points, base.plusSeconds(200))).isEqualTo(2000);
+            assertThat(estimatorService.lsnAt(points, base.minusSeconds(10))).isZero();
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private static PgBackRestService.TuningProfile profile(int processMax, int restoreProcessMax) {
+        return new PgBackRestService.TuningProfile(processMax, restoreProcessMax, "lz4", 1, "1MiB", "4GiB",
+                true, "2MiB", "2GiB");
+    }
+
+    private Backup backup(String backupType, Instant start, String startLsn, Instant stop, String stopLsn) {
+        return Backup.builder()
+                .id(UUID.randomUUID())
+                .cluster(cluster)
+                .status(Backup.STATUS_COMPLETED)
+                .backupType(backupType)
+                .earliestRecoveryTime(start)
+                .walStartLsn(startLsn)
+                .latestRecoveryTime(stop)
+                .walEndLsn(stopLsn)
+                .build();
+    }
+}
@@ -16,5 +16,23 @@ while [ ! -f /etc/patroni/patroni.yml ]; do
     fi
 done
 
+# Start the pgBackRest TLS server when certificates were provisioned (backup-from-standby).
+# Peers connect to it to reach this node's data directory; restarted if it exits.
+if [ -f /etc/pgbackrest/tls/server.crt ]; then
+    echo "Starting pgBackRest TLS server..."
+    (
+        while true; do
+            pgbackrest server \
+                "--tls-server-address=*" \
+                --tls-server-port="${PGBACKREST_TLS_SERVER_PORT:-8432}" \
+                --tls-server-ca-file=/etc/pgbackrest/tls/ca.crt \
+                --tls-server-cert-file=/etc/pgbackrest/tls/server.crt \
+                --tls-server-key-file=/etc/pgbackrest/tls/server.key \
+                "--tls-server-auth=pgbackrest-client=*" || true
+            sleep 5
+        done
+    ) &
+fi
+
 echo "Configuration found, starting Patroni..."
 exec "$@"
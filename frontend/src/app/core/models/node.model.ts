@@ -11,6 +11,10 @@ export interface PlatformStats {
 export interface AdminClustersResponse {
   clusters: AdminCluster[];
   count: number;
+  size: number;
+  total_elements: number;
+  next_cursor?: string | null;
+  has_more: boolean;
 }
 
 export interface AdminUsersResponse {
@@ -26,9 +26,13 @@ import {
 })
 export class AdminService {
   private clustersSignal = signal<AdminCluster[]>([]);
+  private clustersNextCursorSignal = signal<string | null>(null);
+  private clustersTotalSignal = signal(0);
   private usersSignal = signal<User[]>([]);
 
   readonly clusters = this.clustersSignal.asReadonly();
+  readonly clustersNextCursor = this.clustersNextCursorSignal.asReadonly();
+  readonly clustersTotal = this.clustersTotalSignal.asReadonly();
   readonly users = this.usersSignal.asReadonly();
 
   constructor(private http: HttpClient) {}
@@ -41,12 +45,30 @@ export class AdminService {
 
   // ==================== Cluster Management ====================
 
-  getAdminClusters(): Observable<AdminClustersResponse> {
-    return this.http.get<AdminClustersResponse>(`${environment.apiUrl}/api/v1/admin/clusters`).pipe(
-      tap(response => this.clustersSignal.set(response.clusters || []))
+  // Without a cursor, loads the first page and replaces the list; with the previous page's
+  // next_cursor, appends the following page
+  getAdminClusters(cursor?: string): Observable<AdminClustersResponse> {
+    let httpParams = new HttpParams();
+    if (cursor) httpParams = httpParams.set('cursor', cursor);
+
+    return this.http.get<AdminClustersResponse>(`${environment.apiUrl}/api/v1/admin/clusters`, { params: httpParams }).pipe(
+      tap(response => {
+        const page = response.clusters || [];
+        this.clustersSignal.update(current => cursor ? [...current, ...page] : page);
+        this.clustersNextCursorSignal.set(response.has_more ? response.next_cursor ?? null : null);
+        if (!cursor) this.clustersTotalSignal.set(response.total_elements);
+      })
     );
   }
 
+  // One page of clusters matching a name or slug, without touching the shared list
+  searchAdminClusters(search: string): Observable<AdminClustersResponse> {
+    let httpParams = new HttpParams();
+    if (search) httpParams = httpParams.set('search', search);
+
+    return this.http.get<AdminClustersResponse>(`${environment.apiUrl}/api/v1/admin/clusters`, { params: httpParams });
+  }
+
   getAdminCluster(id: string): Observable<AdminClusterDetail> {
     return this.http.get<AdminClusterDetail>(`${environment.apiUrl}/api/v1/admin/clusters/${id}`);
   }
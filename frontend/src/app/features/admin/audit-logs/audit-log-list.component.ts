@@ -288,11 +288,8 @@ export class AuditLogListComponent implements OnInit {
     return this.users().filter(u => u.email.toLowerCase().includes(search)).slice(0, 10);
   });
 
-  filteredClusters = computed(() => {
-    const search = this.clusterSearchTerm().toLowerCase();
-    if (!search) return this.clusters().slice(0, 10);
-    return this.clusters().filter(c => c.slug.toLowerCase().includes(search)).slice(0, 10);
-  });
+  // Already filtered by the server on name, slug and owner email
+  filteredClusters = computed(() => this.clusters().slice(0, 10));
 
   constructor() {
     this.filterForm = this.fb.group({
@@ -315,8 +312,15 @@ export class AuditLogListComponent implements OnInit {
       next: (res) => this.users.set(res.users || []),
       error: () => {}
     });
-    this.adminService.getAdminClusters().subscribe({
-      next: (res) => this.clusters.set(res.clusters || []),
+    this.loadClusterOptions('');
+  }
+
+  // The cluster listing is paged, so matches are looked up on the server rather than filtered locally
+  private loadClusterOptions(search: string): void {
+    this.adminService.searchAdminClusters(search).subscribe({
+      next: (res) => {
+        if (search === this.clusterSearchTerm()) this.clusters.set(res.clusters || []);
+      },
       error: () => {}
     });
   }
@@ -332,6 +336,7 @@ export class AuditLogListComponent implements OnInit {
 
   onClusterSearchChange(): void {
     this.clusterSearchTerm.set(this.filterForm.get('clusterSearch')?.value || '');
+    this.loadClusterOptions(this.clusterSearchTerm());
     // Clear selection if user types something different
     if (this.selectedCluster() && this.filterForm.get('clusterSearch')?.value !== this.selectedCluster()!.slug) {
       this.selectedCluster.set(null);
@@ -362,6 +367,7 @@ export class AuditLogListComponent implements OnInit {
     this.selectedCluster.set(null);
     this.filterForm.patchValue({ clusterSearch: '' });
     this.clusterSearchTerm.set('');
+    this.loadClusterOptions('');
   }
 
   hideUserDropdown(): void {
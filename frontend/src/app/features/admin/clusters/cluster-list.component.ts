@@ -74,6 +74,22 @@ import { SpinnerComponent, EmptyStateComponent } from '../../../shared/component
             </tbody>
           </table>
         </div>
+
+        <div class="flex items-center justify-between mt-4">
+          <div class="text-sm text-muted-foreground">
+            Showing {{ clusters().length }} of {{ total() }} clusters
+          </div>
+          @if (nextCursor()) {
+            <button
+              (click)="loadMore()"
+              [disabled]="loadingMore()"
+              class="btn-secondary text-sm"
+              [class.opacity-50]="loadingMore()"
+            >
+              Load more
+            </button>
+          }
+        </div>
       }
     </div>
   `
@@ -82,7 +98,10 @@ export class AdminClusterListComponent implements OnInit {
   private adminService = inject(AdminService);
 
   loading = signal(true);
+  loadingMore = signal(false);
   clusters = this.adminService.clusters;
+  nextCursor = this.adminService.clustersNextCursor;
+  total = this.adminService.clustersTotal;
 
   ngOnInit(): void {
     this.adminService.getAdminClusters().subscribe({
@@ -91,6 +110,17 @@ export class AdminClusterListComponent implements OnInit {
     });
   }
 
+  loadMore(): void {
+    const cursor = this.nextCursor();
+    if (!cursor || this.loadingMore()) return;
+
+    this.loadingMore.set(true);
+    this.adminService.getAdminClusters(cursor).subscribe({
+      next: () => this.loadingMore.set(false),
+      error: () => this.loadingMore.set(false)
+    });
+  }
+
   getStatusClass(status: string): string {
     switch (status) {
       case 'running':